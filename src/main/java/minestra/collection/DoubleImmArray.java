@@ -1,11 +1,19 @@
 package minestra.collection;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.OptionalDouble;
+import java.util.PrimitiveIterator;
 import java.util.Random;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.DoubleBinaryOperator;
 import java.util.function.DoubleConsumer;
 import java.util.function.DoubleFunction;
@@ -15,6 +23,7 @@ import java.util.function.DoubleToIntFunction;
 import java.util.function.DoubleToLongFunction;
 import java.util.function.DoubleUnaryOperator;
 import java.util.stream.DoubleStream;
+import java.util.stream.StreamSupport;
 
 /**
  * An immutable array of primitive <code>double</code>.
@@ -36,7 +45,13 @@ public interface DoubleImmArray {
      * @return new array
      */
     static DoubleImmArray of(Collection<Double> collection) {
-        return ImmArray.of(collection).mapToDouble(Double::doubleValue);
+        // the snapshot is consistent even if the collection is modified concurrently
+        final Double[] values = collection.toArray(new Double[0]);
+        double[] a = new double[values.length];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = values[i];
+        }
+        return new DoubleImmArrayImpl(true, a);
     }
 
     /**
@@ -48,6 +63,39 @@ public interface DoubleImmArray {
         return of(stream.toArray());
     }
 
+    /**
+     * Returns an array backed by the remaining content of the specified buffer, in the byte order of the buffer.
+     * The buffer is not copied, so its content must not be modified while the array is in use.
+     * @param buffer buffer, such as a direct buffer
+     * @return the array
+     */
+    static DoubleImmArray wrap(ByteBuffer buffer) {
+        return DoubleImmArrayBuffer.wrap(buffer);
+    }
+
+    /**
+     * Returns an array backed by the memory-mapped file of big-endian doubles.
+     * The file is mapped as read-only, so it must not be modified while the array is in use.
+     * @param path the file
+     * @return the array
+     * @throws IOException if an I/O error occurs
+     */
+    static DoubleImmArray mapFile(Path path) throws IOException {
+        return mapFile(path, ByteOrder.BIG_ENDIAN);
+    }
+
+    /**
+     * Returns an array backed by the memory-mapped file of doubles.
+     * The file is mapped as read-only, so it must not be modified while the array is in use.
+     * @param path the file
+     * @param order the byte order of the file
+     * @return the array
+     * @throws IOException if an I/O error occurs
+     */
+    static DoubleImmArray mapFile(Path path, ByteOrder order) throws IOException {
+        return DoubleImmArrayBuffer.map(path, order);
+    }
+
     /**
      * Returns a new array of generating with specified size and generator.
      * @param size array size to generate
@@ -82,29 +130,13 @@ public interface DoubleImmArray {
 
     /**
      * Returns the concatenated array of all specified arrays.
+     * The result refers to the specified arrays instead of copying their elements.
      * @param first the first array
      * @param rest the rest of arrays
      * @return the concatenated array
      */
     default DoubleImmArray concat(DoubleImmArray first, DoubleImmArray... rest) {
-        final int selfLength = size();
-        final int firstLength = first.size();
-        int newLength = selfLength;
-        newLength += firstLength;
-        for (DoubleImmArray o : rest) {
-            newLength += o.size();
-        }
-        // XXX copy twice
-        double[] a = Arrays.copyOf(toArray(), newLength);
-        int p = selfLength;
-        System.arraycopy(first.toArray(), 0, a, p, firstLength);
-        p += firstLength;
-        for (DoubleImmArray o : rest) {
-            final int length = o.size();
-            System.arraycopy(o.toArray(), 0, a, p, length);
-            p += length;
-        }
-        return of(a);
+        return DoubleImmArrayConcat.concat(this, first, rest);
     }
 
     /**
@@ -120,6 +152,25 @@ public interface DoubleImmArray {
      */
     double at(int index);
 
+    /**
+     * Returns a new builder of the array.
+     * @return the builder
+     */
+    static DoubleImmArrayBuilder builder() {
+        return new DoubleImmArrayBuilder(0);
+    }
+
+    /**
+     * Returns a new builder of the array with the specified initial capacity.
+     * If exactly that number of elements are added, the array is built without copying.
+     * @param capacity the initial capacity
+     * @return the builder
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    static DoubleImmArrayBuilder builder(int capacity) {
+        return new DoubleImmArrayBuilder(capacity);
+    }
+
     /**
      * Returns an empty array.
      * @return the empty array
@@ -270,6 +321,25 @@ public interface DoubleImmArray {
         return new DoubleImmArrayImpl(true, Arrays.copyOfRange(toArray(), from, to0 + 1));
     }
 
+    /**
+     * Returns an array which does not share the storage with any other array.
+     * A slice shares the storage with its original array, so use this to release the original one.
+     * @return the array
+     */
+    default DoubleImmArray compact() {
+        return this;
+    }
+
+    /**
+     * Returns the canonical array which has the same elements as this array.
+     * The canonical arrays are held by weak references in a pool, so that equal arrays can share an instance.
+     * @return the canonical array
+     */
+    default DoubleImmArray intern() {
+        DoubleImmArrayImpl a = (this instanceof DoubleImmArrayImpl) ? (DoubleImmArrayImpl) this : new DoubleImmArrayImpl(true, toArray());
+        return InternPool.DOUBLE.intern(a);
+    }
+
     /**
      * Returns an array created by applying a function to each of the elements of this array.
      * @param mapper function as a mapper
@@ -281,7 +351,7 @@ public interface DoubleImmArray {
         for (int i = 0; i < n; i++) {
             a[i] = mapper.applyAsDouble(at(i));
         }
-        return of(a);
+        return new DoubleImmArrayImpl(true, a);
     }
 
     /**
@@ -310,7 +380,7 @@ public interface DoubleImmArray {
         for (int i = 0; i < n; i++) {
             a[i] = mapper.applyAsInt(at(i));
         }
-        return IntImmArray.of(a);
+        return new IntImmArrayImpl(true, a);
     }
 
     /**
@@ -324,7 +394,7 @@ public interface DoubleImmArray {
         for (int i = 0; i < n; i++) {
             a[i] = mapper.applyAsLong(at(i));
         }
-        return LongImmArray.of(a);
+        return new LongImmArrayImpl(true, a);
     }
 
     /**
@@ -372,19 +442,81 @@ public interface DoubleImmArray {
 
     /**
      * Returns the result of folding the elements of this array by the specified operator.
+     * The result is <code>f(value, f(at(0), ...f(at(n - 2), at(n - 1))...))</code>.
      * @param value initial value
      * @param f binary operator
      * @return the result
      */
     default double fold(double value, DoubleBinaryOperator f) {
-        switch (size()) {
-            case 0:
-                return value;
-            case 1:
-                return f.applyAsDouble(value, at(0));
-            default:
-                return f.applyAsDouble(value, tail().fold(at(0), f));
+        final int n = size();
+        if (n == 0) {
+            return value;
+        }
+        double result = at(n - 1);
+        for (int i = n - 2; i >= 0; i--) {
+            result = f.applyAsDouble(at(i), result);
+        }
+        return f.applyAsDouble(value, result);
+    }
+
+    /**
+     * Returns the result of folding the elements of this array from the left.
+     * The result is <code>f(...f(f(value, at(0)), at(1))..., at(n - 1))</code>.
+     * @param value initial value
+     * @param f binary operator which takes the accumulated value and an element
+     * @return the result
+     */
+    default double foldLeft(double value, DoubleBinaryOperator f) {
+        final int n = size();
+        double result = value;
+        for (int i = 0; i < n; i++) {
+            result = f.applyAsDouble(result, at(i));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the result of folding the elements of this array from the right.
+     * The result is <code>f(at(0), f(at(1), ...f(at(n - 1), value)...))</code>.
+     * @param value initial value
+     * @param f binary operator which takes an element and the accumulated value
+     * @return the result
+     */
+    default double foldRight(double value, DoubleBinaryOperator f) {
+        double result = value;
+        for (int i = size() - 1; i >= 0; i--) {
+            result = f.applyAsDouble(at(i), result);
         }
+        return result;
+    }
+
+    /**
+     * Returns the result of folding the elements of this array in parallel, using the common pool.
+     * The array is split into the chunks, each chunk is folded from the left starting with the identity,
+     * and then the results are combined in order of the chunks.
+     * So the identity must be an identity for the combiner, and the operators must be associative.
+     * @param identity the identity value
+     * @param f binary operator which takes the accumulated value and an element
+     * @param combiner binary operator to combine the results of the chunks
+     * @return the result
+     */
+    default double parallelFold(double identity, DoubleBinaryOperator f, DoubleBinaryOperator combiner) {
+        return parallelFold(identity, f, combiner, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns the result of folding the elements of this array in parallel.
+     * The array is split into the chunks, each chunk is folded from the left starting with the identity,
+     * and then the results are combined in order of the chunks.
+     * So the identity must be an identity for the combiner, and the operators must be associative.
+     * @param identity the identity value
+     * @param f binary operator which takes the accumulated value and an element
+     * @param combiner binary operator to combine the results of the chunks
+     * @param pool pool to run folding tasks
+     * @return the result
+     */
+    default double parallelFold(double identity, DoubleBinaryOperator f, DoubleBinaryOperator combiner, ForkJoinPool pool) {
+        return ParallelReductions.fold(this, identity, f, combiner, pool);
     }
 
     /**
@@ -392,7 +524,7 @@ public interface DoubleImmArray {
      * @return the array
      */
     default DoubleImmArray distinct() {
-        return of(stream().distinct());
+        return new DoubleImmArrayImpl(true, LongHashTable.distinct(toArray(), new LongHashTable()));
     }
 
     /**
@@ -448,14 +580,166 @@ public interface DoubleImmArray {
      */
     OptionalDouble min();
 
+    /**
+     * Returns the sum of elements in this array by compensated summation, which is more accurate than <code>sum()</code>.
+     * The elements are summed in blocks, so the result is same as <code>parallelSum()</code>.
+     * @return the sum
+     */
+    default double compensatedSum() {
+        return ParallelReductions.sum(this, null);
+    }
+
+    /**
+     * Returns the sum of elements in this array by compensated summation in parallel, using the common pool.
+     * The result is same as <code>compensatedSum()</code> regardless of the parallelism.
+     * @return the sum
+     */
+    default double parallelSum() {
+        return parallelSum(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns the sum of elements in this array by compensated summation in parallel.
+     * The result is same as <code>compensatedSum()</code> regardless of the parallelism.
+     * @param pool pool to run reduction tasks
+     * @return the sum
+     */
+    default double parallelSum(ForkJoinPool pool) {
+        return ParallelReductions.sum(this, pool);
+    }
+
+    /**
+     * Returns the mean value of elements in this array in parallel, using the common pool.
+     * @return the mean value
+     */
+    default double parallelAverage() {
+        return parallelAverage(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns the mean value of elements in this array in parallel.
+     * @param pool pool to run reduction tasks
+     * @return the mean value
+     */
+    default double parallelAverage(ForkJoinPool pool) {
+        return parallelSum(pool) / size();
+    }
+
+    /**
+     * Returns a maximum value as optional in this array in parallel, using the common pool.
+     * @return the maximum value
+     */
+    default OptionalDouble parallelMax() {
+        return parallelMax(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns a maximum value as optional in this array in parallel.
+     * @param pool pool to run reduction tasks
+     * @return the maximum value
+     */
+    default OptionalDouble parallelMax(ForkJoinPool pool) {
+        return ParallelReductions.max(this, pool);
+    }
+
+    /**
+     * Returns a minimum value as optional in this array in parallel, using the common pool.
+     * @return the minimum value
+     */
+    default OptionalDouble parallelMin() {
+        return parallelMin(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns a minimum value as optional in this array in parallel.
+     * @param pool pool to run reduction tasks
+     * @return the minimum value
+     */
+    default OptionalDouble parallelMin(ForkJoinPool pool) {
+        return ParallelReductions.min(this, pool);
+    }
+
+    /**
+     * Returns the median of elements in this array.
+     * If the size is even, returns the mean of the two middle elements.
+     * @return the median, or empty optional if this array is empty
+     */
+    default OptionalDouble median() {
+        return quantile(0.5d);
+    }
+
+    /**
+     * Returns the quantile of elements in this array, in expected linear time without sorting.
+     * The value is interpolated linearly between the closest ranks, as the default of R and NumPy.
+     * NaN is greater than any other value.
+     * @param q the quantile, between 0 and 1
+     * @return the quantile, or empty optional if this array is empty
+     * @throws IllegalArgumentException if q is not between 0 and 1
+     */
+    default OptionalDouble quantile(double q) {
+        Selection.checkQuantile(q);
+        if (isEmpty()) {
+            return OptionalDouble.empty();
+        }
+        return OptionalDouble.of(Selection.quantile(toArray(), q));
+    }
+
+    /**
+     * Returns the quantiles of elements in this array at once, which partitions a copy of this array only once.
+     * Each value is same as <code>quantile(q)</code>, or NaN if this array is empty.
+     * @param qs the quantiles, between 0 and 1
+     * @return the array of quantiles in the specified order
+     * @throws IllegalArgumentException if any of qs is not between 0 and 1
+     */
+    default DoubleImmArray quantiles(double... qs) {
+        return new DoubleImmArrayImpl(true, Selection.quantiles(toArray(), qs));
+    }
+
+    /**
+     * Returns the summary statistics of elements in this array, which are computed in one pass.
+     * @return the statistics
+     */
+    default Statistics stats() {
+        return Statistics.of(this, null);
+    }
+
+    /**
+     * Returns the summary statistics of elements in this array in parallel, using the common pool.
+     * The result is same as <code>stats()</code> regardless of the parallelism.
+     * @return the statistics
+     */
+    default Statistics parallelStats() {
+        return parallelStats(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns the summary statistics of elements in this array in parallel.
+     * The result is same as <code>stats()</code> regardless of the parallelism.
+     * @param pool pool to run reduction tasks
+     * @return the statistics
+     */
+    default Statistics parallelStats(ForkJoinPool pool) {
+        return Statistics.of(this, pool);
+    }
+
     /**
      * Returns new array which is sorted this array in natural order.
      * @return the sorted array
      */
-    default DoubleImmArray sort() {
+    default SortedDoubleImmArray sort() {
         double[] a = toArray();
-        Arrays.sort(a);
-        return of(a);
+        Sorting.sortNatural(a, 0, a.length, false);
+        return new SortedDoubleImmArrayImpl(a, 0, a.length);
+    }
+
+    /**
+     * Returns this array as a sorted array, which supports the lookups by binary search.
+     * This checks that the elements are in ascending order.
+     * @return the sorted array
+     * @throws IllegalStateException if this array is not sorted
+     */
+    default SortedDoubleImmArray asSorted() {
+        return SortedDoubleImmArrayImpl.checked(toArray());
     }
 
     /**
@@ -476,6 +760,105 @@ public interface DoubleImmArray {
      */
     DoubleImmArray sortWith(int fromIndex, int toIndex, DoubleComparator cmp);
 
+    /**
+     * Returns new array which is sorted this array in natural order in parallel.
+     * @return the sorted array
+     */
+    default DoubleImmArray parallelSort() {
+        return parallelSortWith(DoubleComparator.NATURAL);
+    }
+
+    /**
+     * Returns new array which is sorted this array with specified order in parallel, using the common pool.
+     * @param cmp order
+     * @return the sorted array
+     */
+    default DoubleImmArray parallelSortWith(DoubleComparator cmp) {
+        final ForkJoinPool pool = ForkJoinPool.commonPool();
+        return parallelSortWith(cmp, pool, ParallelSorting.defaultThreshold(size(), pool));
+    }
+
+    /**
+     * Returns new array which is sorted this array with specified order in parallel.
+     * The ranges whose length is not greater than the threshold are sorted sequentially.
+     * @param cmp order
+     * @param pool pool to run sorting tasks
+     * @param threshold maximum length of the range to sort sequentially
+     * @return the sorted array
+     * @throws IllegalArgumentException if the threshold is not positive
+     */
+    default DoubleImmArray parallelSortWith(DoubleComparator cmp, ForkJoinPool pool, int threshold) {
+        double[] a = toArray();
+        ParallelSorting.sort(a, cmp, pool, threshold);
+        return new DoubleImmArrayImpl(true, a);
+    }
+
+    /**
+     * Returns the k smallest elements of this array in ascending order, without sorting the whole array.
+     * @param k number of elements
+     * @return the array, which has the same elements as <code>sort().take(k)</code>
+     * @throws IllegalArgumentException if k is negative
+     */
+    default DoubleImmArray bottomK(int k) {
+        return bottomK(k, Selection.DOUBLE_TOTAL_ORDER);
+    }
+
+    /**
+     * Returns the k smallest elements of this array with specified order, without sorting the whole array.
+     * @param k number of elements
+     * @param cmp order
+     * @return the array, which has the same elements as <code>sortWith(cmp).take(k)</code>
+     * @throws IllegalArgumentException if k is negative
+     */
+    default DoubleImmArray bottomK(int k, DoubleComparator cmp) {
+        return new DoubleImmArrayImpl(true, Selection.smallest(this, k, cmp, null));
+    }
+
+    /**
+     * Returns the k largest elements of this array in descending order, without sorting the whole array.
+     * @param k number of elements
+     * @return the array, which has the same elements as <code>sort().reverse().take(k)</code>
+     * @throws IllegalArgumentException if k is negative
+     */
+    default DoubleImmArray topK(int k) {
+        return bottomK(k, Selection.DOUBLE_TOTAL_REVERSE);
+    }
+
+    /**
+     * Returns the k largest elements of this array with specified order, the result is in descending order.
+     * @param k number of elements
+     * @param cmp order
+     * @return the array
+     * @throws IllegalArgumentException if k is negative
+     */
+    default DoubleImmArray topK(int k, DoubleComparator cmp) {
+        return bottomK(k, Selection.reversedDouble(cmp));
+    }
+
+    /**
+     * Returns the k smallest elements of this array with specified order in parallel, using the common pool.
+     * The results of the chunks are merged.
+     * @param k number of elements
+     * @param cmp order
+     * @return the array
+     * @throws IllegalArgumentException if k is negative
+     */
+    default DoubleImmArray parallelBottomK(int k, DoubleComparator cmp) {
+        return new DoubleImmArrayImpl(true, Selection.smallest(this, k, cmp, ForkJoinPool.commonPool()));
+    }
+
+    /**
+     * Returns the k largest elements of this array with specified order in parallel, using the common pool.
+     * The results of the chunks are merged.
+     * @param k number of elements
+     * @param cmp order
+     * @return the array
+     * @throws IllegalArgumentException if k is negative
+     */
+    default DoubleImmArray parallelTopK(int k, DoubleComparator cmp) {
+        return parallelBottomK(k, Selection.reversedDouble(cmp));
+    }
+
     /**
      * Returns new array which is reversed the order of elements in this array.
      * @return the array
@@ -489,7 +872,7 @@ public interface DoubleImmArray {
             a[j] = a[i];
             a[i] = x;
         }
-        return of(a);
+        return new DoubleImmArrayImpl(true, a);
     }
 
     /**
@@ -498,12 +881,45 @@ public interface DoubleImmArray {
      */
     double[] toArray();
 
+    /**
+     * Returns the iterator over the elements in this array.
+     * @return the iterator
+     */
+    default PrimitiveIterator.OfDouble iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    /**
+     * Returns the spliterator over the elements in this array.
+     * @return the spliterator
+     */
+    default Spliterator.OfDouble spliterator() {
+        return new ImmArraySpliterators.DoubleSpliterator(this, 0, size());
+    }
+
     /**
      * Returns the stream which consist same elements in this array.
      * @return the stream
      */
     default DoubleStream stream() {
-        return DoubleStream.of(toArray());
+        return StreamSupport.doubleStream(spliterator(), false);
+    }
+
+    /**
+     * Returns the parallel stream which consist same elements in this array.
+     * @return the parallel stream
+     */
+    default DoubleStream parallelStream() {
+        return StreamSupport.doubleStream(spliterator(), true);
+    }
+
+    /**
+     * Returns a lazy view of this array.
+     * The operations of the view are not evaluated until a terminal operation is called.
+     * @return the view
+     */
+    default DoubleImmArrayView view() {
+        return DoubleImmArrayView.of(this);
     }
 
 }
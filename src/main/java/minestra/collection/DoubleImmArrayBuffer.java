@@ -0,0 +1,218 @@
+package minestra.collection;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.OptionalDouble;
+import java.util.function.DoubleConsumer;
+
+/**
+ * A double array backed by buffers, such as direct buffers or memory-mapped files.
+ * The elements are split into the chunks of <code>1 &lt;&lt; CHUNK_SHIFT</code> elements,
+ * because a buffer cannot be larger than 2GB.
+ */
+final class DoubleImmArrayBuffer implements DoubleImmArray {
+
+    static final int CHUNK_SHIFT = 26;
+    static final int CHUNK_MASK = (1 << CHUNK_SHIFT) - 1;
+
+    private final DoubleBuffer[] chunks;
+    private final int offset;
+    private final int length;
+
+    private DoubleImmArrayBuffer(DoubleBuffer[] chunks, int offset, int length) {
+        this.chunks = chunks;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    static DoubleImmArray wrap(ByteBuffer buffer) {
+        DoubleBuffer b = buffer.duplicate().order(buffer.order()).asDoubleBuffer().asReadOnlyBuffer();
+        final int n = b.remaining();
+        if (n > CHUNK_MASK + 1) {
+            DoubleBuffer[] chunks = new DoubleBuffer[((n - 1) >>> CHUNK_SHIFT) + 1];
+            for (int i = 0; i < chunks.length; i++) {
+                b.limit(Math.min(n, (i + 1) << CHUNK_SHIFT)).position(i << CHUNK_SHIFT);
+                chunks[i] = b.slice();
+            }
+            return new DoubleImmArrayBuffer(chunks, 0, n);
+        }
+        return new DoubleImmArrayBuffer(new DoubleBuffer[] { b.slice() }, 0, n);
+    }
+
+    static DoubleImmArray map(Path path, ByteOrder order) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long bytes = channel.size();
+            if (bytes % Double.BYTES != 0) {
+                throw new IllegalArgumentException("file size is not a multiple of " + Double.BYTES + ": " + bytes);
+            }
+            final long n = bytes / Double.BYTES;
+            if (n > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("too many elements: " + n);
+            }
+            final int chunkCount = (n == 0) ? 0 : (int) ((n - 1) >>> CHUNK_SHIFT) + 1;
+            DoubleBuffer[] chunks = new DoubleBuffer[chunkCount];
+            for (int i = 0; i < chunkCount; i++) {
+                final long position = ((long) i << CHUNK_SHIFT) * Double.BYTES;
+                final long size = Math.min(bytes - position, (long) (CHUNK_MASK + 1) * Double.BYTES);
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, size).order(order).asDoubleBuffer();
+            }
+            return new DoubleImmArrayBuffer(chunks, 0, (int) n);
+        }
+    }
+
+    private double get(int index) {
+        final int i = offset + index;
+        return chunks[i >>> CHUNK_SHIFT].get(i & CHUNK_MASK);
+    }
+
+    @Override
+    public int size() {
+        return length;
+    }
+
+    @Override
+    public double at(int index) {
+        if (index < 0 || index >= length) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+        return get(index);
+    }
+
+    @Override
+    public DoubleImmArray slice(int from, int to) {
+        final int to0 = ((to < length - 1) ? to : length - 1) + 1;
+        if (from > to0) {
+            throw new IllegalArgumentException(from + " > " + to0);
+        }
+        if (from < 0) {
+            throw new ArrayIndexOutOfBoundsException(from);
+        }
+        final int n = to0 - from;
+        return (n == 0) ? DoubleImmArrayImpl.EMPTY : new DoubleImmArrayBuffer(chunks, offset + from, n);
+    }
+
+    @Override
+    public DoubleImmArray compact() {
+        return new DoubleImmArrayImpl(true, toArray());
+    }
+
+    @Override
+    public void forEach(DoubleConsumer action) {
+        for (int i = 0; i < length; i++) {
+            action.accept(get(i));
+        }
+    }
+
+    @Override
+    public double sum() {
+        final int n = size();
+        if (n == 0) {
+            return 0;
+        }
+        double sum = get(0);
+        for (int i = 1; i < n; i++) {
+            sum += get(i);
+        }
+        return sum;
+    }
+
+    @Override
+    public double product() {
+        final int n = size();
+        if (n == 0) {
+            return 0;
+        }
+        double product = get(0);
+        for (int i = 1; i < n; i++) {
+            product *= get(i);
+        }
+        return product;
+    }
+
+    @Override
+    public OptionalDouble max() {
+        final int n = size();
+        if (n == 0) {
+            return OptionalDouble.empty();
+        }
+        double max = get(0);
+        for (int i = 1; i < n; i++) {
+            final double x = get(i);
+            if (x > max) {
+                max = x;
+            }
+        }
+        return OptionalDouble.of(max);
+    }
+
+    @Override
+    public OptionalDouble min() {
+        final int n = size();
+        if (n == 0) {
+            return OptionalDouble.empty();
+        }
+        double min = get(0);
+        for (int i = 1; i < n; i++) {
+            final double x = get(i);
+            if (x < min) {
+                min = x;
+            }
+        }
+        return OptionalDouble.of(min);
+    }
+
+    @Override
+    public DoubleImmArray sortWith(int fromIndex, int toIndex, DoubleComparator cmp) {
+        double[] a = toArray();
+        DoubleImmArrayImpl.sortWith0(a, fromIndex, toIndex, cmp);
+        return new DoubleImmArrayImpl(true, a);
+    }
+
+    /**
+     * Copies the elements in the range into the array.
+     */
+    void copyTo(int from, int to, double[] dst, int dstPos) {
+        for (int p = from; p < to;) {
+            final int i = offset + p;
+            final int start = i & CHUNK_MASK;
+            // the duplicate keeps the position of the shared buffer
+            DoubleBuffer chunk = chunks[i >>> CHUNK_SHIFT].duplicate();
+            final int n = Math.min(chunk.limit() - start, to - p);
+            chunk.position(start);
+            chunk.get(dst, dstPos + p - from, n);
+            p += n;
+        }
+    }
+
+    @Override
+    public double[] toArray() {
+        double[] a = new double[length];
+        copyTo(0, length, a, 0);
+        return a;
+    }
+
+    @Override
+    public int hashCode() {
+        return DoubleImmArrayImpl.contentHashCode(this);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        return (obj instanceof DoubleImmArray) && DoubleImmArrayImpl.contentEquals(this, (DoubleImmArray) obj);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+}
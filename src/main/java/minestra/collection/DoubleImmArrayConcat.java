@@ -0,0 +1,287 @@
+package minestra.collection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+
+/**
+ * A concatenation of double arrays which keeps the references to its parts instead of copying them.
+ * The element at an index is found by the binary search of the cumulative offsets of the parts.
+ */
+final class DoubleImmArrayConcat implements DoubleImmArray {
+
+    private final DoubleImmArray[] parts;
+    private final int[] offsets;
+    private final int depth;
+
+    private DoubleImmArrayConcat(DoubleImmArray[] parts, int[] offsets, int depth) {
+        this.parts = parts;
+        this.offsets = offsets;
+        this.depth = depth;
+    }
+
+    static DoubleImmArray concat(DoubleImmArray self, DoubleImmArray first, DoubleImmArray... rest) {
+        List<DoubleImmArray> a = new ArrayList<>(rest.length + 2);
+        a.add(self);
+        a.add(first);
+        Collections.addAll(a, rest);
+        return of(a);
+    }
+
+    static DoubleImmArray of(List<DoubleImmArray> list) {
+        List<DoubleImmArray> a = new ArrayList<>(list.size());
+        long length = 0L;
+        int depth = 0;
+        for (DoubleImmArray o : list) {
+            final int n = o.size();
+            if (n > 0) {
+                a.add(o);
+                length += n;
+                depth = Math.max(depth, depthOf(o));
+            }
+        }
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("too large to concatenate: " + length);
+        }
+        if (a.size() == 1) {
+            return a.get(0);
+        }
+        if (length <= ImmArrayConcat.MIN_LENGTH) {
+            return new DoubleImmArrayImpl(true, copyOf(a, (int) length));
+        }
+        if (depth >= ImmArrayConcat.MAX_DEPTH) {
+            List<DoubleImmArray> leaves = new ArrayList<>();
+            for (DoubleImmArray o : a) {
+                addLeaves(leaves, o);
+            }
+            a = coalesce(leaves);
+            depth = 0;
+        }
+        DoubleImmArray[] parts = a.toArray(new DoubleImmArray[a.size()]);
+        int[] offsets = new int[parts.length + 1];
+        for (int i = 0; i < parts.length; i++) {
+            offsets[i + 1] = offsets[i] + parts[i].size();
+        }
+        return new DoubleImmArrayConcat(parts, offsets, depth + 1);
+    }
+
+    private static int depthOf(DoubleImmArray a) {
+        return (a instanceof DoubleImmArrayConcat) ? ((DoubleImmArrayConcat) a).depth : 0;
+    }
+
+    private static void addLeaves(List<DoubleImmArray> leaves, DoubleImmArray a) {
+        if (a instanceof DoubleImmArrayConcat) {
+            for (DoubleImmArray o : ((DoubleImmArrayConcat) a).parts) {
+                addLeaves(leaves, o);
+            }
+        }
+        else {
+            leaves.add(a);
+        }
+    }
+
+    /**
+     * Returns the list that the adjacent short arrays are joined into one array.
+     * @param leaves the arrays which are not the concatenation
+     * @return the list
+     */
+    private static List<DoubleImmArray> coalesce(List<DoubleImmArray> leaves) {
+        List<DoubleImmArray> a = new ArrayList<>(leaves.size());
+        List<DoubleImmArray> run = new ArrayList<>();
+        int runLength = 0;
+        for (DoubleImmArray o : leaves) {
+            final int n = o.size();
+            if (n < ImmArrayConcat.MIN_LENGTH && runLength + n <= ImmArrayConcat.MIN_LENGTH) {
+                run.add(o);
+                runLength += n;
+                continue;
+            }
+            flush(a, run, runLength);
+            runLength = 0;
+            if (n < ImmArrayConcat.MIN_LENGTH) {
+                run.add(o);
+                runLength = n;
+            }
+            else {
+                a.add(o);
+            }
+        }
+        flush(a, run, runLength);
+        return a;
+    }
+
+    private static void flush(List<DoubleImmArray> a, List<DoubleImmArray> run, int runLength) {
+        if (run.size() == 1) {
+            a.add(run.get(0));
+        }
+        else if (run.size() > 1) {
+            a.add(new DoubleImmArrayImpl(true, copyOf(run, runLength)));
+        }
+        run.clear();
+    }
+
+    private static double[] copyOf(List<DoubleImmArray> list, int length) {
+        double[] a = new double[length];
+        int p = 0;
+        for (DoubleImmArray o : list) {
+            p = copyTo(o, a, p);
+        }
+        return a;
+    }
+
+    /**
+     * Copies the elements of the array into the destination without the defensive copy if possible.
+     * @param src the array
+     * @param dest the destination
+     * @param pos the start position in the destination
+     * @return the next position in the destination
+     */
+    static int copyTo(DoubleImmArray src, double[] dest, int pos) {
+        if (src instanceof DoubleImmArrayImpl) {
+            double[] values = ((DoubleImmArrayImpl) src).values;
+            System.arraycopy(values, 0, dest, pos, values.length);
+            return pos + values.length;
+        }
+        if (src instanceof DoubleImmArraySlice) {
+            DoubleImmArraySlice o = (DoubleImmArraySlice) src;
+            System.arraycopy(o.values, o.offset, dest, pos, o.length);
+            return pos + o.length;
+        }
+        if (src instanceof DoubleImmArrayConcat) {
+            int p = pos;
+            for (DoubleImmArray o : ((DoubleImmArrayConcat) src).parts) {
+                p = copyTo(o, dest, p);
+            }
+            return p;
+        }
+        double[] values = src.toArray();
+        System.arraycopy(values, 0, dest, pos, values.length);
+        return pos + values.length;
+    }
+
+    private int partIndex(int index) {
+        final int i = Arrays.binarySearch(offsets, 0, parts.length, index);
+        return (i >= 0) ? i : -i - 2;
+    }
+
+    @Override
+    public int size() {
+        return offsets[parts.length];
+    }
+
+    @Override
+    public double at(int index) {
+        if (index < 0 || index >= size()) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+        final int k = partIndex(index);
+        return parts[k].at(index - offsets[k]);
+    }
+
+    @Override
+    public DoubleImmArray slice(int from, int to) {
+        final int length = size();
+        final int to0 = ((to < length - 1) ? to : length - 1) + 1;
+        if (from > to0) {
+            throw new IllegalArgumentException(from + " > " + to0);
+        }
+        if (from < 0) {
+            throw new ArrayIndexOutOfBoundsException(from);
+        }
+        if (from == to0) {
+            return DoubleImmArrayImpl.EMPTY;
+        }
+        final int k1 = partIndex(from);
+        final int k2 = partIndex(to0 - 1);
+        if (k1 == k2) {
+            return parts[k1].slice(from - offsets[k1], to0 - 1 - offsets[k1]);
+        }
+        List<DoubleImmArray> a = new ArrayList<>(k2 - k1 + 1);
+        a.add(parts[k1].slice(from - offsets[k1], Integer.MAX_VALUE));
+        for (int k = k1 + 1; k < k2; k++) {
+            a.add(parts[k]);
+        }
+        a.add(parts[k2].slice(0, to0 - 1 - offsets[k2]));
+        return of(a);
+    }
+
+    @Override
+    public DoubleImmArray compact() {
+        return new DoubleImmArrayImpl(true, toArray());
+    }
+
+    @Override
+    public void forEach(DoubleConsumer action) {
+        for (DoubleImmArray o : parts) {
+            o.forEach(action);
+        }
+    }
+
+    @Override
+    public OptionalDouble reduce(DoubleBinaryOperator op) {
+        double[] result = { 0d };
+        boolean[] present = { false };
+        forEach(x -> {
+            result[0] = present[0] ? op.applyAsDouble(result[0], x) : x;
+            present[0] = true;
+        });
+        return present[0] ? OptionalDouble.of(result[0]) : OptionalDouble.empty();
+    }
+
+    @Override
+    public double sum() {
+        return reduce(Double::sum).orElse(0);
+    }
+
+    @Override
+    public double product() {
+        return reduce((x, y) -> x * y).orElse(0);
+    }
+
+    @Override
+    public OptionalDouble max() {
+        return reduce((x, y) -> (y > x) ? y : x);
+    }
+
+    @Override
+    public OptionalDouble min() {
+        return reduce((x, y) -> (y < x) ? y : x);
+    }
+
+    @Override
+    public DoubleImmArray sortWith(int fromIndex, int toIndex, DoubleComparator cmp) {
+        double[] a = toArray();
+        DoubleImmArrayImpl.sortWith0(a, fromIndex, toIndex, cmp);
+        return new DoubleImmArrayImpl(true, a);
+    }
+
+    @Override
+    public double[] toArray() {
+        double[] a = new double[size()];
+        copyTo(this, a, 0);
+        return a;
+    }
+
+    @Override
+    public int hashCode() {
+        return DoubleImmArrayImpl.contentHashCode(this);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        return (obj instanceof DoubleImmArray) && DoubleImmArrayImpl.contentEquals(this, (DoubleImmArray) obj);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+}
@@ -2,12 +2,23 @@ package minestra.collection;
 
 import java.util.Arrays;
 import java.util.OptionalDouble;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleToIntFunction;
+import java.util.function.DoubleToLongFunction;
+import java.util.function.DoubleUnaryOperator;
 
 final class DoubleImmArrayImpl implements DoubleImmArray {
 
     static final DoubleImmArray EMPTY = new DoubleImmArrayImpl();
 
     final double[] values;
+    private int hash;
+    private long contentHash;
 
     DoubleImmArrayImpl(double... a) {
         this(false, a);
@@ -27,6 +38,138 @@ final class DoubleImmArrayImpl implements DoubleImmArray {
         return values.length;
     }
 
+    @Override
+    public void forEach(DoubleConsumer action) {
+        for (final double x : values) {
+            action.accept(x);
+        }
+    }
+
+    @Override
+    public boolean exists(DoublePredicate pred) {
+        for (final double x : values) {
+            if (pred.test(x)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public OptionalDouble find(DoublePredicate pred, int start) {
+        final int n = values.length;
+        for (int i = start; i < n; i++) {
+            final double value = values[i];
+            if (pred.test(value)) {
+                return OptionalDouble.of(value);
+            }
+        }
+        return OptionalDouble.empty();
+    }
+
+    @Override
+    public int indexWhere(DoublePredicate pred) {
+        final int n = values.length;
+        for (int i = 0; i < n; i++) {
+            if (pred.test(values[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public DoubleImmArray map(DoubleUnaryOperator mapper) {
+        final int n = values.length;
+        double[] a = new double[n];
+        for (int i = 0; i < n; i++) {
+            a[i] = mapper.applyAsDouble(values[i]);
+        }
+        return new DoubleImmArrayImpl(true, a);
+    }
+
+    @Override
+    public <R> ImmArray<R> mapToObj(DoubleFunction<R> mapper) {
+        final int n = values.length;
+        @SuppressWarnings("unchecked")
+        R[] a = (R[]) new Object[n];
+        for (int i = 0; i < n; i++) {
+            a[i] = mapper.apply(values[i]);
+        }
+        return new ImmArrayImpl<>(true, a);
+    }
+
+    @Override
+    public IntImmArray mapToInt(DoubleToIntFunction mapper) {
+        final int n = values.length;
+        int[] a = new int[n];
+        for (int i = 0; i < n; i++) {
+            a[i] = mapper.applyAsInt(values[i]);
+        }
+        return new IntImmArrayImpl(true, a);
+    }
+
+    @Override
+    public LongImmArray mapToLong(DoubleToLongFunction mapper) {
+        final int n = values.length;
+        long[] a = new long[n];
+        for (int i = 0; i < n; i++) {
+            a[i] = mapper.applyAsLong(values[i]);
+        }
+        return new LongImmArrayImpl(true, a);
+    }
+
+    @Override
+    public OptionalDouble reduce(DoubleBinaryOperator op) {
+        final int n = values.length;
+        if (n == 0) {
+            return OptionalDouble.empty();
+        }
+        double result = values[0];
+        for (int i = 1; i < n; i++) {
+            result = op.applyAsDouble(result, values[i]);
+        }
+        return OptionalDouble.of(result);
+    }
+
+    @Override
+    public double reduce(double identity, DoubleBinaryOperator op) {
+        double result = identity;
+        for (final double x : values) {
+            result = op.applyAsDouble(result, x);
+        }
+        return result;
+    }
+
+    @Override
+    public DoubleImmArray distinct() {
+        return new DoubleImmArrayImpl(true, LongHashTable.distinct(values, new LongHashTable()));
+    }
+
+    @Override
+    public DoubleImmArray reverse() {
+        final int n = values.length;
+        double[] a = new double[n];
+        for (int i = 0, j = n - 1; i < n; i++, j--) {
+            a[i] = values[j];
+        }
+        return new DoubleImmArrayImpl(true, a);
+    }
+
+    @Override
+    public DoubleImmArray filter(DoublePredicate pred) {
+        final int n = values.length;
+        int p = 0;
+        double[] a = new double[n];
+        for (int i = 0; i < n; i++) {
+            final double x = values[i];
+            if (pred.test(x)) {
+                a[p++] = x;
+            }
+        }
+        return new DoubleImmArrayImpl(true, Arrays.copyOf(a, p));
+    }
+
     @Override
     public double sum() {
         final int n = size();
@@ -95,55 +238,25 @@ final class DoubleImmArrayImpl implements DoubleImmArray {
         return OptionalDouble.of(min);
     }
 
+    @Override
+    public DoubleImmArray slice(int from, int to) {
+        return DoubleImmArraySlice.slice(values, 0, values.length, from, to);
+    }
+
     @Override
     public DoubleImmArray sortWith(int fromIndex, int toIndex, DoubleComparator cmp) {
         double[] a = toArray();
         sortWith0(a, fromIndex, toIndex, cmp);
-        return new DoubleImmArrayImpl(a);
+        return new DoubleImmArrayImpl(true, a);
     }
 
     static void sortWith0(double[] a, int fromIndex, int toIndex, DoubleComparator cmp) {
-        final int length = toIndex - fromIndex + 1;
-        if (length < 2) {
-            return;
-        }
-        if (length == 2) {
-            if (cmp.gt(a[fromIndex], a[toIndex])) {
-                double x = a[fromIndex];
-                a[fromIndex] = a[toIndex];
-                a[toIndex] = x;
-            }
-            return;
-        }
-        // FIXME bad performance
-        final double pivot = a[fromIndex];
-        int p1 = 0;
-        int p2 = 0;
-        double[] a1 = new double[length];
-        double[] a2 = new double[length];
-        for (int i = fromIndex + 1; i <= toIndex; i++) {
-            final double v = a[i];
-            if (cmp.lt(v, pivot)) {
-                a1[p1++] = v;
-            }
-            else {
-                a2[p2++] = v;
-            }
-        }
-        int p = fromIndex;
-        for (int i = 0; i < p1; i++) {
-            a[p++] = a1[i];
-        }
-        a[p++] = pivot;
-        for (int i = 0; i < p2; i++) {
-            a[p++] = a2[i];
-        }
-        if (p1 > 0) {
-            sortWith0(a, fromIndex, fromIndex + p1 - 1, cmp);
-        }
-        if (p2 > 0) {
-            sortWith0(a, fromIndex + p1 + 1, toIndex, cmp);
-        }
+        Sorting.sort(a, fromIndex, toIndex + 1, cmp);
+    }
+
+    @Override
+    public Spliterator.OfDouble spliterator() {
+        return Spliterators.spliterator(values, 0, values.length, ImmArraySpliterators.PRIMITIVE_CHARACTERISTICS);
     }
 
     @Override
@@ -153,12 +266,28 @@ final class DoubleImmArrayImpl implements DoubleImmArray {
 
     @Override
     public int hashCode() {
-        final int prime = 31;
-        int result = 1;
-        result = prime * result + Arrays.hashCode(values);
+        int result = hash;
+        if (result == 0) {
+            final int prime = 31;
+            result = prime + Arrays.hashCode(values);
+            hash = result;
+        }
         return result;
     }
 
+    /**
+     * Returns the 64-bit hash of the elements, which is computed once and cached.
+     * @return the hash
+     */
+    long contentHash() {
+        long h = contentHash;
+        if (h == 0L) {
+            h = InternPool.hash(values);
+            contentHash = h;
+        }
+        return h;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) {
@@ -167,16 +296,61 @@ final class DoubleImmArrayImpl implements DoubleImmArray {
         if (obj == null) {
             return false;
         }
+        if (obj instanceof DoubleImmArraySlice) {
+            return obj.equals(this);
+        }
         if (getClass() != obj.getClass()) {
-            return false;
+            return (obj instanceof DoubleImmArray) && contentEquals(this, (DoubleImmArray) obj);
         }
         DoubleImmArrayImpl other = (DoubleImmArrayImpl) obj;
+        if (hash != 0 && other.hash != 0 && hash != other.hash) {
+            return false;
+        }
+        if (contentHash != 0L && other.contentHash != 0L && contentHash != other.contentHash) {
+            return false;
+        }
         if (!Arrays.equals(values, other.values)) {
             return false;
         }
         return true;
     }
 
+    /**
+     * Returns whether the two arrays have the same elements in the same order.
+     * This is used to compare the arrays which have the different implementations.
+     * @param a the array
+     * @param b the other array
+     * @return <code>true</code> if these are equal
+     */
+    static boolean contentEquals(DoubleImmArray a, DoubleImmArray b) {
+        final int n = a.size();
+        if (n != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < n; i++) {
+            if (Double.doubleToLongBits(a.at(i)) != Double.doubleToLongBits(b.at(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the hash code of the elements which is consistent with <code>hashCode()</code> of this class.
+     * @param a the array
+     * @return the hash code
+     */
+    static int contentHashCode(DoubleImmArray a) {
+        final int prime = 31;
+        final int n = a.size();
+        int h = 1;
+        for (int i = 0; i < n; i++) {
+            final long x = Double.doubleToLongBits(a.at(i));
+            h = prime * h + (int) (x ^ (x >>> 32));
+        }
+        return prime + h;
+    }
+
     @Override
     public String toString() {
         return Arrays.toString(values);
@@ -0,0 +1,177 @@
+package minestra.collection;
+
+import java.util.Arrays;
+import java.util.OptionalDouble;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.DoublePredicate;
+
+/**
+ * A view of the part of a double array.
+ * This shares the storage with its original array, use <code>compact()</code> to release it.
+ */
+final class DoubleImmArraySlice implements DoubleImmArray {
+
+    final double[] values;
+    final int offset;
+    final int length;
+
+    DoubleImmArraySlice(double[] values, int offset, int length) {
+        this.values = values;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    static DoubleImmArray slice(double[] values, int offset, int length, int from, int to) {
+        final int to0 = ((to < length - 1) ? to : length - 1) + 1;
+        if (from > to0) {
+            throw new IllegalArgumentException(from + " > " + to0);
+        }
+        if (from < 0) {
+            throw new ArrayIndexOutOfBoundsException(from);
+        }
+        final int n = to0 - from;
+        return (n == 0) ? DoubleImmArrayImpl.EMPTY : new DoubleImmArraySlice(values, offset + from, n);
+    }
+
+    @Override
+    public double at(int index) {
+        if (index < 0 || index >= length) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+        return values[offset + index];
+    }
+
+    @Override
+    public int size() {
+        return length;
+    }
+
+    @Override
+    public DoubleImmArray filter(DoublePredicate pred) {
+        final int end = offset + length;
+        int p = 0;
+        double[] a = new double[length];
+        for (int i = offset; i < end; i++) {
+            final double x = values[i];
+            if (pred.test(x)) {
+                a[p++] = x;
+            }
+        }
+        return new DoubleImmArrayImpl(true, Arrays.copyOf(a, p));
+    }
+
+    @Override
+    public double sum() {
+        final int end = offset + length;
+        double sum = values[offset];
+        for (int i = offset + 1; i < end; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public double product() {
+        final int end = offset + length;
+        double product = values[offset];
+        for (int i = offset + 1; i < end; i++) {
+            product *= values[i];
+        }
+        return product;
+    }
+
+    @Override
+    public OptionalDouble max() {
+        final int end = offset + length;
+        double max = values[offset];
+        for (int i = offset + 1; i < end; i++) {
+            if (values[i] > max) {
+                max = values[i];
+            }
+        }
+        return OptionalDouble.of(max);
+    }
+
+    @Override
+    public OptionalDouble min() {
+        final int end = offset + length;
+        double min = values[offset];
+        for (int i = offset + 1; i < end; i++) {
+            if (values[i] < min) {
+                min = values[i];
+            }
+        }
+        return OptionalDouble.of(min);
+    }
+
+    @Override
+    public DoubleImmArray slice(int from, int to) {
+        return slice(values, offset, length, from, to);
+    }
+
+    @Override
+    public DoubleImmArray compact() {
+        return new DoubleImmArrayImpl(true, toArray());
+    }
+
+    @Override
+    public DoubleImmArray sortWith(int fromIndex, int toIndex, DoubleComparator cmp) {
+        double[] a = toArray();
+        DoubleImmArrayImpl.sortWith0(a, fromIndex, toIndex, cmp);
+        return new DoubleImmArrayImpl(true, a);
+    }
+
+    @Override
+    public Spliterator.OfDouble spliterator() {
+        return Spliterators.spliterator(values, offset, offset + length, ImmArraySpliterators.PRIMITIVE_CHARACTERISTICS);
+    }
+
+    @Override
+    public double[] toArray() {
+        return Arrays.copyOfRange(values, offset, offset + length);
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        final int end = offset + length;
+        int h = 1;
+        for (int i = offset; i < end; i++) {
+            final long x = Double.doubleToLongBits(values[i]);
+            h = prime * h + (int) (x ^ (x >>> 32));
+        }
+        return prime + h;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof DoubleImmArraySlice) {
+            DoubleImmArraySlice other = (DoubleImmArraySlice) obj;
+            return length == other.length && rangeEquals(values, offset, other.values, other.offset, length);
+        }
+        if (obj instanceof DoubleImmArrayImpl) {
+            double[] a = ((DoubleImmArrayImpl) obj).values;
+            return length == a.length && rangeEquals(values, offset, a, 0, length);
+        }
+        return (obj instanceof DoubleImmArray) && DoubleImmArrayImpl.contentEquals(this, (DoubleImmArray) obj);
+    }
+
+    static boolean rangeEquals(double[] a1, int offset1, double[] a2, int offset2, int length) {
+        for (int i = 0; i < length; i++) {
+            if (Double.doubleToLongBits(a1[offset1 + i]) != Double.doubleToLongBits(a2[offset2 + i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+}
@@ -0,0 +1,211 @@
+package minestra.collection;
+
+import static minestra.collection.VectorTrie.BITS;
+import static minestra.collection.VectorTrie.MASK;
+import static minestra.collection.VectorTrie.WIDTH;
+import java.util.Arrays;
+import java.util.OptionalDouble;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+
+/**
+ * An implementation of DoubleImmVector.
+ * The elements are stored in the trie from <code>origin</code>, and the last up to 32 elements are stored in the tail.
+ */
+final class DoubleImmVectorImpl implements DoubleImmVector {
+
+    static final DoubleImmVectorImpl EMPTY = new DoubleImmVectorImpl(new Object[WIDTH], BITS, 0, 0, new double[0]);
+
+    private final Object[] root;
+    private final int shift;
+    private final int origin;
+    private final int trieSize;
+    private final double[] tail;
+
+    DoubleImmVectorImpl(Object[] root, int shift, int origin, int trieSize, double[] tail) {
+        this.root = root;
+        this.shift = shift;
+        this.origin = origin;
+        this.trieSize = trieSize;
+        this.tail = tail;
+    }
+
+    static DoubleImmVector of(double... a) {
+        final int n = a.length;
+        if (n == 0) {
+            return EMPTY;
+        }
+        final int trieSize = ((n - 1) >>> BITS) << BITS;
+        Object[] root = new Object[WIDTH];
+        int shift = BITS;
+        for (int i = 0; i < trieSize; i += WIDTH) {
+            if (i == VectorTrie.capacity(shift)) {
+                root = VectorTrie.growRight(root, shift);
+                shift += BITS;
+            }
+            root = VectorTrie.setLeaf(root, shift, i, Arrays.copyOfRange(a, i, i + WIDTH));
+        }
+        return new DoubleImmVectorImpl(root, shift, 0, trieSize, Arrays.copyOfRange(a, trieSize, n));
+    }
+
+    @Override
+    public int size() {
+        return trieSize + tail.length;
+    }
+
+    @Override
+    public double at(int index) {
+        if (index < 0 || index >= size()) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+        if (index >= trieSize) {
+            return tail[index - trieSize];
+        }
+        final int j = origin + index;
+        return ((double[]) VectorTrie.leafFor(root, shift, j))[j & MASK];
+    }
+
+    @Override
+    public DoubleImmVector appended(double value) {
+        final int n = tail.length;
+        if (n < WIDTH) {
+            double[] a = Arrays.copyOf(tail, n + 1);
+            a[n] = value;
+            return new DoubleImmVectorImpl(root, shift, origin, trieSize, a);
+        }
+        final int end = origin + trieSize;
+        Object[] newRoot = root;
+        int newShift = shift;
+        if (end == VectorTrie.capacity(shift)) {
+            newRoot = VectorTrie.growRight(root, shift);
+            newShift += BITS;
+        }
+        newRoot = VectorTrie.setLeaf(newRoot, newShift, end, tail);
+        return new DoubleImmVectorImpl(newRoot, newShift, origin, trieSize + WIDTH, new double[] { value });
+    }
+
+    @Override
+    public DoubleImmVector prepended(double value) {
+        Object[] newRoot = root;
+        int newShift = shift;
+        int newOrigin = origin;
+        if (origin == 0) {
+            newRoot = VectorTrie.growLeft(root, shift);
+            newOrigin = MASK * VectorTrie.capacity(shift);
+            newShift += BITS;
+        }
+        final int j = newOrigin - 1;
+        double[] leaf = (double[]) VectorTrie.leafFor(newRoot, newShift, j);
+        leaf = (leaf == null) ? new double[WIDTH] : leaf.clone();
+        leaf[j & MASK] = value;
+        newRoot = VectorTrie.setLeaf(newRoot, newShift, j, leaf);
+        return new DoubleImmVectorImpl(newRoot, newShift, j, trieSize + 1, tail);
+    }
+
+    @Override
+    public DoubleImmVector updated(int index, double value) {
+        if (index < 0 || index >= size()) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+        if (index >= trieSize) {
+            double[] a = tail.clone();
+            a[index - trieSize] = value;
+            return new DoubleImmVectorImpl(root, shift, origin, trieSize, a);
+        }
+        final int j = origin + index;
+        double[] leaf = ((double[]) VectorTrie.leafFor(root, shift, j)).clone();
+        leaf[j & MASK] = value;
+        return new DoubleImmVectorImpl(VectorTrie.setLeaf(root, shift, j, leaf), shift, origin, trieSize, tail);
+    }
+
+    @Override
+    public void forEach(DoubleConsumer action) {
+        for (int i = 0; i < trieSize;) {
+            final int j = origin + i;
+            final double[] leaf = (double[]) VectorTrie.leafFor(root, shift, j);
+            final int start = j & MASK;
+            final int end = start + Math.min(WIDTH - start, trieSize - i);
+            for (int k = start; k < end; k++) {
+                action.accept(leaf[k]);
+            }
+            i += end - start;
+        }
+        for (final double x : tail) {
+            action.accept(x);
+        }
+    }
+
+    @Override
+    public OptionalDouble reduce(DoubleBinaryOperator op) {
+        if (size() == 0) {
+            return OptionalDouble.empty();
+        }
+        double[] result = { 0 };
+        boolean[] present = { false };
+        forEach(x -> {
+            result[0] = present[0] ? op.applyAsDouble(result[0], x) : x;
+            present[0] = true;
+        });
+        return OptionalDouble.of(result[0]);
+    }
+
+    @Override
+    public double sum() {
+        return reduce(Double::sum).orElse(0);
+    }
+
+    @Override
+    public double product() {
+        return reduce((x, y) -> x * y).orElse(0);
+    }
+
+    @Override
+    public OptionalDouble max() {
+        return reduce((x, y) -> (y > x) ? y : x);
+    }
+
+    @Override
+    public OptionalDouble min() {
+        return reduce((x, y) -> (y < x) ? y : x);
+    }
+
+    @Override
+    public DoubleImmArray sortWith(int fromIndex, int toIndex, DoubleComparator cmp) {
+        double[] a = toArray();
+        DoubleImmArrayImpl.sortWith0(a, fromIndex, toIndex, cmp);
+        return new DoubleImmArrayImpl(true, a);
+    }
+
+    @Override
+    public double[] toArray() {
+        double[] a = new double[size()];
+        for (int i = 0; i < trieSize;) {
+            final int j = origin + i;
+            final int start = j & MASK;
+            final int length = Math.min(WIDTH - start, trieSize - i);
+            System.arraycopy(VectorTrie.leafFor(root, shift, j), start, a, i, length);
+            i += length;
+        }
+        System.arraycopy(tail, 0, a, trieSize, tail.length);
+        return a;
+    }
+
+    @Override
+    public int hashCode() {
+        return DoubleImmArrayImpl.contentHashCode(this);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        return (obj instanceof DoubleImmArray) && DoubleImmArrayImpl.contentEquals(this, (DoubleImmArray) obj);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+}
@@ -14,6 +14,9 @@ import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -22,7 +25,6 @@ import java.util.function.Predicate;
 import java.util.function.ToDoubleFunction;
 import java.util.function.ToIntFunction;
 import java.util.function.ToLongFunction;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -55,33 +57,26 @@ public interface ImmArray<T> extends Iterable<T> {
 
     /**
      * Returns a new ImmArray of the specified stream.
+     * If the size of the stream is known, the elements are written directly into the array of that size.
      * @param <T> the type of the array elements
      * @param stream a values as a stream
      * @return the new ImmArray
      */
+    @SuppressWarnings("unchecked")
     static <T> ImmArray<T> of(Stream<T> stream) {
-        return new ImmArrayImpl<>(stream.collect(Collectors.toList()));
+        return new ImmArrayImpl<>(true, (T[]) stream.toArray());
     }
 
     /**
      * Returns the concatenated array of all specified arrays.
+     * The result refers to the specified arrays instead of copying their elements.
      * @param first the first array
      * @param rest the rest of arrays
      * @return the concatenated array
      */
     @SuppressWarnings("unchecked")
     default ImmArray<T> concat(ImmArray<? extends T> first, ImmArray<? extends T>... rest) {
-        int sizes = size() + first.size();
-        for (int i = 0; i < rest.length; i++) {
-            sizes += rest[i].size();
-        }
-        List<T> a = new ArrayList<>(sizes);
-        Collections.addAll(a, toArray());
-        Collections.addAll(a, first.toArray());
-        for (ImmArray<? extends T> o : rest) {
-            Collections.addAll(a, o.toArray());
-        }
-        return of(a);
+        return ImmArrayConcat.concat(this, first, rest);
     }
 
     /**
@@ -101,6 +96,27 @@ public interface ImmArray<T> extends Iterable<T> {
         return toArray()[index];
     }
 
+    /**
+     * Returns a new builder of the array.
+     * @param <T> the type of the array elements
+     * @return the builder
+     */
+    static <T> ImmArrayBuilder<T> builder() {
+        return new ImmArrayBuilder<>(0);
+    }
+
+    /**
+     * Returns a new builder of the array with the specified initial capacity.
+     * If exactly that number of elements are added, the array is built without copying.
+     * @param <T> the type of the array elements
+     * @param capacity the initial capacity
+     * @return the builder
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    static <T> ImmArrayBuilder<T> builder(int capacity) {
+        return new ImmArrayBuilder<>(capacity);
+    }
+
     /**
      * Returns an empty array.
      * @param <T> the type of the array elements
@@ -300,6 +316,31 @@ public interface ImmArray<T> extends Iterable<T> {
         return of(toList().subList(from, to0 + 1));
     }
 
+    /**
+     * Returns an array which does not share the storage with any other array.
+     * A slice shares the storage with its original array, so use this to release the original one.
+     * @return the array
+     */
+    default ImmArray<T> compact() {
+        return this;
+    }
+
+    /**
+     * Returns the canonical array which has the same elements as this array.
+     * The canonical arrays are held by weak references in a pool, so that equal arrays can share an instance.
+     * The elements should not be changed after interning, because the canonical array caches its hash codes.
+     * @return the canonical array
+     */
+    @SuppressWarnings("unchecked")
+    default ImmArray<T> intern() {
+        ImmArrayImpl<?> a = (this instanceof ImmArrayImpl) ? (ImmArrayImpl<?>) this : new ImmArrayImpl<>(true, toArray());
+        final ImmArrayImpl<?> canonical = InternPool.OBJECT.intern(a);
+        if (canonical == a) {
+            a.markInterned();
+        }
+        return (ImmArray<T>) canonical;
+    }
+
     /**
      * Returns an array created by applying a function to each of the elements of this array.
      * @param <R> result type of element
@@ -326,7 +367,7 @@ public interface ImmArray<T> extends Iterable<T> {
         for (int i = 0; i < n; i++) {
             a[i] = mapper.applyAsInt(at(i));
         }
-        return IntImmArray.of(a);
+        return new IntImmArrayImpl(true, a);
     }
 
     /**
@@ -340,7 +381,7 @@ public interface ImmArray<T> extends Iterable<T> {
         for (int i = 0; i < n; i++) {
             a[i] = mapper.applyAsLong(at(i));
         }
-        return LongImmArray.of(a);
+        return new LongImmArrayImpl(true, a);
     }
 
     /**
@@ -354,7 +395,7 @@ public interface ImmArray<T> extends Iterable<T> {
         for (int i = 0; i < n; i++) {
             a[i] = mapper.applyAsDouble(at(i));
         }
-        return DoubleImmArray.of(a);
+        return new DoubleImmArrayImpl(true, a);
     }
 
     /**
@@ -374,11 +415,10 @@ public interface ImmArray<T> extends Iterable<T> {
      * @return the array
      */
     default <R> ImmArray<R> filterMap(Function<? super T, Optional<? extends R>> mapper) {
-        T[] values = toArray();
-        final int n = values.length;
+        final int n = size();
         List<R> a = new ArrayList<>();
         for (int i = 0; i < n; i++) {
-            mapper.apply(values[i]).ifPresent(a::add);
+            mapper.apply(at(i)).ifPresent(a::add);
         }
         return of(a);
     }
@@ -432,19 +472,85 @@ public interface ImmArray<T> extends Iterable<T> {
 
     /**
      * Returns the result of folding the elements of this array by the specified operator.
+     * The result is <code>op(value, op(at(0), ...op(at(n - 2), at(n - 1))...))</code>.
      * @param value initial value
      * @param op binary operator
      * @return the result
      */
     default T fold(T value, BinaryOperator<T> op) {
-        switch (size()) {
-            case 0:
-                return value;
-            case 1:
-                return op.apply(value, at(0));
-            default:
-                return op.apply(value, tail().fold(at(0), op));
+        final int n = size();
+        if (n == 0) {
+            return value;
+        }
+        T result = at(n - 1);
+        for (int i = n - 2; i >= 0; i--) {
+            result = op.apply(at(i), result);
         }
+        return op.apply(value, result);
+    }
+
+    /**
+     * Returns the result of folding the elements of this array from the left.
+     * The result is <code>op(...op(op(value, at(0)), at(1))..., at(n - 1))</code>.
+     * @param <R> result type
+     * @param value initial value
+     * @param op function which takes the accumulated value and an element
+     * @return the result
+     */
+    default <R> R foldLeft(R value, BiFunction<? super R, ? super T, ? extends R> op) {
+        final int n = size();
+        R result = value;
+        for (int i = 0; i < n; i++) {
+            result = op.apply(result, at(i));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the result of folding the elements of this array from the right.
+     * The result is <code>op(at(0), op(at(1), ...op(at(n - 1), value)...))</code>.
+     * @param <R> result type
+     * @param value initial value
+     * @param op function which takes an element and the accumulated value
+     * @return the result
+     */
+    default <R> R foldRight(R value, BiFunction<? super T, ? super R, ? extends R> op) {
+        R result = value;
+        for (int i = size() - 1; i >= 0; i--) {
+            result = op.apply(at(i), result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the result of folding the elements of this array in parallel, using the common pool.
+     * The array is split into the chunks, each chunk is folded from the left starting with the identity,
+     * and then the results are combined in order of the chunks.
+     * So the identity must be an identity for the combiner, and the operators must be associative.
+     * @param <R> result type
+     * @param identity the identity value
+     * @param op function which takes the accumulated value and an element
+     * @param combiner binary operator to combine the results of the chunks
+     * @return the result
+     */
+    default <R> R parallelFold(R identity, BiFunction<R, ? super T, R> op, BinaryOperator<R> combiner) {
+        return parallelFold(identity, op, combiner, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns the result of folding the elements of this array in parallel.
+     * The array is split into the chunks, each chunk is folded from the left starting with the identity,
+     * and then the results are combined in order of the chunks.
+     * So the identity must be an identity for the combiner, and the operators must be associative.
+     * @param <R> result type
+     * @param identity the identity value
+     * @param op function which takes the accumulated value and an element
+     * @param combiner binary operator to combine the results of the chunks
+     * @param pool pool to run folding tasks
+     * @return the result
+     */
+    default <R> R parallelFold(R identity, BiFunction<R, ? super T, R> op, BinaryOperator<R> combiner, ForkJoinPool pool) {
+        return ParallelReductions.fold(this, identity, op, combiner, pool);
     }
 
     /**
@@ -479,7 +585,7 @@ public interface ImmArray<T> extends Iterable<T> {
     default ImmArray<T> sort() {
         T[] values = toArray();
         Arrays.sort(values);
-        return of(values);
+        return new ImmArrayImpl<>(true, values);
     }
 
     /**
@@ -490,7 +596,88 @@ public interface ImmArray<T> extends Iterable<T> {
     default ImmArray<T> sortWith(Comparator<T> cmp) {
         T[] values = toArray();
         Arrays.sort(values, cmp);
-        return of(values);
+        return new ImmArrayImpl<>(true, values);
+    }
+
+    /**
+     * Returns new array which is sorted this array in natural order in parallel.
+     * @return the sorted array
+     */
+    default ImmArray<T> parallelSort() {
+        return parallelSortWith(ParallelSorting.NATURAL_ORDER::compare);
+    }
+
+    /**
+     * Returns new array which is sorted this array with specified order in parallel, using the common pool.
+     * @param cmp order
+     * @return the sorted array
+     */
+    default ImmArray<T> parallelSortWith(Comparator<T> cmp) {
+        final ForkJoinPool pool = ForkJoinPool.commonPool();
+        return parallelSortWith(cmp, pool, ParallelSorting.defaultThreshold(size(), pool));
+    }
+
+    /**
+     * Returns new array which is sorted this array with specified order in parallel.
+     * The ranges whose length is not greater than the threshold are sorted sequentially.
+     * @param cmp order
+     * @param pool pool to run sorting tasks
+     * @param threshold maximum length of the range to sort sequentially
+     * @return the sorted array
+     * @throws IllegalArgumentException if the threshold is not positive
+     */
+    default ImmArray<T> parallelSortWith(Comparator<T> cmp, ForkJoinPool pool, int threshold) {
+        T[] a = toArray();
+        @SuppressWarnings("unchecked")
+        Comparator<Object> c = (Comparator<Object>) cmp;
+        ParallelSorting.sort(a, c, pool, threshold);
+        return new ImmArrayImpl<>(true, a);
+    }
+
+    /**
+     * Returns the k smallest elements of this array with specified order, without sorting the whole array.
+     * @param k number of elements
+     * @param cmp order
+     * @return the array, which has the same elements as <code>sortWith(cmp).take(k)</code>
+     * @throws IllegalArgumentException if k is negative
+     */
+    default ImmArray<T> bottomK(int k, Comparator<? super T> cmp) {
+        return new ImmArrayImpl<>(true, Selection.smallest(this, k, cmp, null));
+    }
+
+    /**
+     * Returns the k largest elements of this array with specified order, the result is in descending order.
+     * @param k number of elements
+     * @param cmp order
+     * @return the array
+     * @throws IllegalArgumentException if k is negative
+     */
+    default ImmArray<T> topK(int k, Comparator<? super T> cmp) {
+        return bottomK(k, Collections.reverseOrder(cmp));
+    }
+
+    /**
+     * Returns the k smallest elements of this array with specified order in parallel, using the common pool.
+     * The results of the chunks are merged.
+     * @param k number of elements
+     * @param cmp order
+     * @return the array
+     * @throws IllegalArgumentException if k is negative
+     */
+    default ImmArray<T> parallelBottomK(int k, Comparator<? super T> cmp) {
+        return new ImmArrayImpl<>(true, Selection.smallest(this, k, cmp, ForkJoinPool.commonPool()));
+    }
+
+    /**
+     * Returns the k largest elements of this array with specified order in parallel, using the common pool.
+     * The results of the chunks are merged.
+     * @param k number of elements
+     * @param cmp order
+     * @return the array
+     * @throws IllegalArgumentException if k is negative
+     */
+    default ImmArray<T> parallelTopK(int k, Comparator<? super T> cmp) {
+        return parallelBottomK(k, Collections.reverseOrder(cmp));
     }
 
     /**
@@ -506,7 +693,7 @@ public interface ImmArray<T> extends Iterable<T> {
             a[j] = a[i];
             a[i] = x;
         }
-        return of(a);
+        return new ImmArrayImpl<>(true, a);
     }
 
     /**
@@ -575,6 +762,26 @@ public interface ImmArray<T> extends Iterable<T> {
         return m;
     }
 
+    /**
+     * Returns the index which maps the keys of the elements to their positions in this array.
+     * Unlike <code>toMapWithValue</code>, the index keeps all elements which have the same key.
+     * @param <K> type of key
+     * @param keyMapper the function to get the key of an element
+     * @return the index
+     */
+    default <K> ImmArrayIndex<K, T> indexBy(Function<? super T, ? extends K> keyMapper) {
+        return ImmArrayIndexImpl.of(this, keyMapper);
+    }
+
+    /**
+     * Returns the spliterator over the elements in this array.
+     * @return the spliterator
+     */
+    @Override
+    default Spliterator<T> spliterator() {
+        return new ImmArraySpliterators.RefSpliterator<>(this, 0, size());
+    }
+
     /**
      * Returns the stream which consist same elements in this array.
      * @return the stream
@@ -583,6 +790,23 @@ public interface ImmArray<T> extends Iterable<T> {
         return StreamSupport.stream(spliterator(), false);
     }
 
+    /**
+     * Returns the parallel stream which consist same elements in this array.
+     * @return the parallel stream
+     */
+    default Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Returns a lazy view of this array.
+     * The operations of the view are not evaluated until a terminal operation is called.
+     * @return the view
+     */
+    default ImmArrayView<T> view() {
+        return ImmArrayView.of(this);
+    }
+
     /**
      * Returns this array as a native string array.
      * If an element is <code>null</code>, it converts an empty string.
@@ -0,0 +1,104 @@
+package minestra.collection;
+
+import java.util.Collection;
+import java.util.stream.Stream;
+
+/**
+ * A builder of <code>ImmArray</code>.
+ * The elements are stored in the chunks, so the added elements are never copied while the builder grows.
+ * If the elements fill the initial capacity exactly, <code>build()</code> creates the array without copying.
+ * @param <T> the type of the array elements
+ */
+public final class ImmArrayBuilder<T> {
+
+    private final ObjectChunks chunks;
+
+    ImmArrayBuilder(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative: " + capacity);
+        }
+        this.chunks = new ObjectChunks(capacity);
+    }
+
+    /**
+     * Returns the number of the added elements.
+     * @return the number of elements
+     */
+    public int size() {
+        return chunks.size();
+    }
+
+    /**
+     * Adds the element.
+     * @param value element
+     * @return this builder
+     */
+    public ImmArrayBuilder<T> add(T value) {
+        chunks.add(value);
+        return this;
+    }
+
+    /**
+     * Adds the elements of the native array.
+     * @param values elements
+     * @return this builder
+     */
+    public ImmArrayBuilder<T> addAll(T[] values) {
+        chunks.addAll(values, 0, values.length);
+        return this;
+    }
+
+    /**
+     * Adds the elements of the collection in order of its iterator.
+     * @param collection collection
+     * @return this builder
+     */
+    public ImmArrayBuilder<T> addAll(Collection<? extends T> collection) {
+        final Object[] a = collection.toArray();
+        chunks.addAll(a, 0, a.length);
+        return this;
+    }
+
+    /**
+     * Adds the elements of the array.
+     * @param arr array
+     * @return this builder
+     */
+    public ImmArrayBuilder<T> addAll(ImmArray<? extends T> arr) {
+        if (arr instanceof ImmArrayImpl) {
+            final Object[] a = ((ImmArrayImpl<?>) arr).values;
+            chunks.addAll(a, 0, a.length);
+        }
+        else if (arr instanceof ImmArraySlice) {
+            ImmArraySlice<?> o = (ImmArraySlice<?>) arr;
+            chunks.addAll(o.values, o.offset, o.offset + o.length);
+        }
+        else {
+            final Object[] a = arr.toArray();
+            chunks.addAll(a, 0, a.length);
+        }
+        return this;
+    }
+
+    /**
+     * Adds the elements of the stream in order of the stream.
+     * If the stream is parallel, the elements are accumulated in parallel and then linked without copying.
+     * @param stream stream
+     * @return this builder
+     */
+    public ImmArrayBuilder<T> addAll(Stream<? extends T> stream) {
+        chunks.append(stream.collect(ObjectChunks::new, ObjectChunks::add, ObjectChunks::append));
+        return this;
+    }
+
+    /**
+     * Returns the array of the added elements.
+     * The builder can be used after this, and it does not affect the built arrays.
+     * @return the array
+     */
+    @SuppressWarnings("unchecked")
+    public ImmArray<T> build() {
+        return new ImmArrayImpl<>(true, (T[]) chunks.toArray());
+    }
+
+}
@@ -0,0 +1,515 @@
+package minestra.collection;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * A binary codec of the arrays over NIO channels.
+ * <p>An encoded array consists of a header, the elements, and an optional checksum.</p>
+ * <pre>
+ * offset  size  content
+ *      0     4  magic number "MSIA"
+ *      4     1  version (1)
+ *      5     1  type tag (1: int, 2: long, 3: double, 4: string)
+ *      6     1  flags (bit 0: little-endian elements, bit 1: with checksum)
+ *      7     1  reserved (0)
+ *      8     8  number of elements
+ *     16     -  elements
+ *      -     4  CRC32 of the elements, if the flag is set
+ * </pre>
+ * <p>The header and the checksum are always big-endian.
+ * The strings are written in blocks. Each block has its size in bytes followed by the entries,
+ * and each entry has the length of the UTF-8 bytes (-1 for null) followed by the bytes.</p>
+ * <p>The elements are written and read through a fixed size buffer,
+ * so that an array larger than the buffer is streamed,
+ * and nothing is read beyond the end of an encoded array.
+ * Thus multiple arrays can be written into a channel in a row.</p>
+ * <p>The lengths in the data are validated before allocation,
+ * and the arrays are grown as the elements are read unless the channel tells the remaining bytes,
+ * so that corrupt data causes <code>IOException</code> instead of allocating a huge array.</p>
+ */
+public final class ImmArrayCodec {
+
+    static final int MAGIC = 0x4D534941;
+    static final int VERSION = 1;
+    static final int TYPE_INT = 1;
+    static final int TYPE_LONG = 2;
+    static final int TYPE_DOUBLE = 3;
+    static final int TYPE_STRING = 4;
+    static final int FLAG_LITTLE_ENDIAN = 1;
+    static final int FLAG_CHECKSUM = 2;
+    static final int HEADER_SIZE = 16;
+    static final int BUFFER_SIZE = 1 << 16;
+    static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    private static final String[] TYPE_NAMES = { "", "int", "long", "double", "string" };
+
+    private ImmArrayCodec() {
+        // empty
+    }
+
+    /**
+     * Writes the array into the channel in big-endian with checksum.
+     * @param a the array
+     * @param channel the channel
+     * @throws IOException if an I/O error occurs
+     */
+    public static void write(IntImmArray a, WritableByteChannel channel) throws IOException {
+        write(a, channel, ByteOrder.BIG_ENDIAN, true);
+    }
+
+    /**
+     * Writes the array into the channel.
+     * @param a the array
+     * @param channel the channel
+     * @param order the byte order of the elements
+     * @param checksum whether to write the checksum
+     * @throws IOException if an I/O error occurs
+     */
+    public static void write(IntImmArray a, WritableByteChannel channel, ByteOrder order, boolean checksum)
+            throws IOException {
+        final int n = a.size();
+        Output out = new Output(channel, order, checksum);
+        out.writeHeader(TYPE_INT, n);
+        final int chunk = BUFFER_SIZE / Integer.BYTES;
+        for (int p = 0; p < n; p += chunk) {
+            final int k = Math.min(chunk, n - p);
+            if (a instanceof IntImmArrayImpl) {
+                out.buffer.asIntBuffer().put(((IntImmArrayImpl) a).values, p, k);
+            }
+            else {
+                out.buffer.asIntBuffer().put(a.slice(p, p + k - 1).toArray());
+            }
+            out.buffer.position(k * Integer.BYTES);
+            out.flush();
+        }
+        out.finish();
+    }
+
+    /**
+     * Writes the array into the channel in big-endian with checksum.
+     * @param a the array
+     * @param channel the channel
+     * @throws IOException if an I/O error occurs
+     */
+    public static void write(LongImmArray a, WritableByteChannel channel) throws IOException {
+        write(a, channel, ByteOrder.BIG_ENDIAN, true);
+    }
+
+    /**
+     * Writes the array into the channel.
+     * @param a the array
+     * @param channel the channel
+     * @param order the byte order of the elements
+     * @param checksum whether to write the checksum
+     * @throws IOException if an I/O error occurs
+     */
+    public static void write(LongImmArray a, WritableByteChannel channel, ByteOrder order, boolean checksum)
+            throws IOException {
+        final int n = a.size();
+        Output out = new Output(channel, order, checksum);
+        out.writeHeader(TYPE_LONG, n);
+        final int chunk = BUFFER_SIZE / Long.BYTES;
+        for (int p = 0; p < n; p += chunk) {
+            final int k = Math.min(chunk, n - p);
+            if (a instanceof LongImmArrayImpl) {
+                out.buffer.asLongBuffer().put(((LongImmArrayImpl) a).values, p, k);
+            }
+            else {
+                out.buffer.asLongBuffer().put(a.slice(p, p + k - 1).toArray());
+            }
+            out.buffer.position(k * Long.BYTES);
+            out.flush();
+        }
+        out.finish();
+    }
+
+    /**
+     * Writes the array into the channel in big-endian with checksum.
+     * @param a the array
+     * @param channel the channel
+     * @throws IOException if an I/O error occurs
+     */
+    public static void write(DoubleImmArray a, WritableByteChannel channel) throws IOException {
+        write(a, channel, ByteOrder.BIG_ENDIAN, true);
+    }
+
+    /**
+     * Writes the array into the channel.
+     * @param a the array
+     * @param channel the channel
+     * @param order the byte order of the elements
+     * @param checksum whether to write the checksum
+     * @throws IOException if an I/O error occurs
+     */
+    public static void write(DoubleImmArray a, WritableByteChannel channel, ByteOrder order, boolean checksum)
+            throws IOException {
+        final int n = a.size();
+        Output out = new Output(channel, order, checksum);
+        out.writeHeader(TYPE_DOUBLE, n);
+        final int chunk = BUFFER_SIZE / Double.BYTES;
+        for (int p = 0; p < n; p += chunk) {
+            final int k = Math.min(chunk, n - p);
+            if (a instanceof DoubleImmArrayImpl) {
+                out.buffer.asDoubleBuffer().put(((DoubleImmArrayImpl) a).values, p, k);
+            }
+            else {
+                out.buffer.asDoubleBuffer().put(a.slice(p, p + k - 1).toArray());
+            }
+            out.buffer.position(k * Double.BYTES);
+            out.flush();
+        }
+        out.finish();
+    }
+
+    /**
+     * Writes the array of strings into the channel in big-endian with checksum.
+     * @param a the array
+     * @param channel the channel
+     * @throws IOException if an I/O error occurs
+     */
+    public static void writeStrings(ImmArray<String> a, WritableByteChannel channel) throws IOException {
+        writeStrings(a, channel, ByteOrder.BIG_ENDIAN, true);
+    }
+
+    /**
+     * Writes the array of strings into the channel.
+     * @param a the array
+     * @param channel the channel
+     * @param order the byte order of the lengths
+     * @param checksum whether to write the checksum
+     * @throws IOException if an I/O error occurs
+     */
+    public static void writeStrings(ImmArray<String> a, WritableByteChannel channel, ByteOrder order,
+                                    boolean checksum) throws IOException {
+        final int n = a.size();
+        Output out = new Output(channel, order, checksum);
+        out.writeHeader(TYPE_STRING, n);
+        ByteBuffer buffer = out.buffer;
+        buffer.position(Integer.BYTES);
+        for (int i = 0; i < n; i++) {
+            final String s = a.at(i);
+            final byte[] bytes = (s == null) ? null : s.getBytes(StandardCharsets.UTF_8);
+            final int entrySize = Integer.BYTES + ((bytes == null) ? 0 : bytes.length);
+            if (entrySize > buffer.remaining() && buffer.position() > Integer.BYTES) {
+                out.flushBlock();
+            }
+            if (entrySize > buffer.remaining()) {
+                // a string which is larger than the buffer is written as a block by itself
+                ByteBuffer large = ByteBuffer.allocate(Integer.BYTES + entrySize).order(order);
+                large.putInt(entrySize).putInt(bytes.length).put(bytes).flip();
+                out.write(large);
+                continue;
+            }
+            if (bytes == null) {
+                buffer.putInt(-1);
+            }
+            else {
+                buffer.putInt(bytes.length).put(bytes);
+            }
+        }
+        if (buffer.position() > Integer.BYTES) {
+            out.flushBlock();
+        }
+        out.finish();
+    }
+
+    /**
+     * Reads an int array from the channel.
+     * @param channel the channel
+     * @return the array
+     * @throws IOException if an I/O error occurs, or the data is not an encoded int array
+     */
+    public static IntImmArray readIntArray(ReadableByteChannel channel) throws IOException {
+        Input in = new Input(channel);
+        final int n = in.readHeader(TYPE_INT, Integer.BYTES);
+        final int chunk = BUFFER_SIZE / Integer.BYTES;
+        int[] a = new int[in.initialCapacity(n, chunk)];
+        for (int p = 0; p < n; p += chunk) {
+            final int k = Math.min(chunk, n - p);
+            if (p + k > a.length) {
+                a = Arrays.copyOf(a, grow(a.length, p + k, n));
+            }
+            in.read(k * Integer.BYTES).asIntBuffer().get(a, p, k);
+        }
+        in.finish();
+        return new IntImmArrayImpl(true, a);
+    }
+
+    /**
+     * Reads a long array from the channel.
+     * @param channel the channel
+     * @return the array
+     * @throws IOException if an I/O error occurs, or the data is not an encoded long array
+     */
+    public static LongImmArray readLongArray(ReadableByteChannel channel) throws IOException {
+        Input in = new Input(channel);
+        final int n = in.readHeader(TYPE_LONG, Long.BYTES);
+        final int chunk = BUFFER_SIZE / Long.BYTES;
+        long[] a = new long[in.initialCapacity(n, chunk)];
+        for (int p = 0; p < n; p += chunk) {
+            final int k = Math.min(chunk, n - p);
+            if (p + k > a.length) {
+                a = Arrays.copyOf(a, grow(a.length, p + k, n));
+            }
+            in.read(k * Long.BYTES).asLongBuffer().get(a, p, k);
+        }
+        in.finish();
+        return new LongImmArrayImpl(true, a);
+    }
+
+    /**
+     * Reads a double array from the channel.
+     * @param channel the channel
+     * @return the array
+     * @throws IOException if an I/O error occurs, or the data is not an encoded double array
+     */
+    public static DoubleImmArray readDoubleArray(ReadableByteChannel channel) throws IOException {
+        Input in = new Input(channel);
+        final int n = in.readHeader(TYPE_DOUBLE, Double.BYTES);
+        final int chunk = BUFFER_SIZE / Double.BYTES;
+        double[] a = new double[in.initialCapacity(n, chunk)];
+        for (int p = 0; p < n; p += chunk) {
+            final int k = Math.min(chunk, n - p);
+            if (p + k > a.length) {
+                a = Arrays.copyOf(a, grow(a.length, p + k, n));
+            }
+            in.read(k * Double.BYTES).asDoubleBuffer().get(a, p, k);
+        }
+        in.finish();
+        return new DoubleImmArrayImpl(true, a);
+    }
+
+    /**
+     * Reads an array of strings from the channel.
+     * @param channel the channel
+     * @return the array
+     * @throws IOException if an I/O error occurs, or the data is not an encoded array of strings
+     */
+    public static ImmArray<String> readStringArray(ReadableByteChannel channel) throws IOException {
+        Input in = new Input(channel);
+        final int n = in.readHeader(TYPE_STRING, Integer.BYTES);
+        String[] a = new String[in.initialCapacity(n, BUFFER_SIZE / Integer.BYTES)];
+        for (int p = 0; p < n;) {
+            final int blockSize = in.read(Integer.BYTES).getInt();
+            if (blockSize < 0) {
+                throw new IOException("invalid block size: " + blockSize);
+            }
+            ByteBuffer block = in.read(blockSize);
+            while (block.hasRemaining()) {
+                if (p >= n) {
+                    throw new IOException("too many elements");
+                }
+                if (block.remaining() < Integer.BYTES) {
+                    throw new IOException("truncated string entry at index " + p);
+                }
+                final int length = block.getInt();
+                if (length < -1 || length > block.remaining()) {
+                    throw new IOException("invalid string length at index " + p + ": " + length);
+                }
+                if (p >= a.length) {
+                    a = Arrays.copyOf(a, grow(a.length, p + 1, n));
+                }
+                if (length >= 0) {
+                    a[p] = new String(block.array(), block.arrayOffset() + block.position(), length,
+                                      StandardCharsets.UTF_8);
+                    block.position(block.position() + length);
+                }
+                ++p;
+            }
+        }
+        in.finish();
+        return new ImmArrayImpl<>(true, a);
+    }
+
+    static final class Output {
+
+        final WritableByteChannel channel;
+        final ByteOrder order;
+        final ByteBuffer buffer;
+        final CRC32 crc;
+
+        Output(WritableByteChannel channel, ByteOrder order, boolean checksum) {
+            this.channel = channel;
+            this.order = order;
+            this.buffer = ByteBuffer.allocate(BUFFER_SIZE).order(order);
+            this.crc = checksum ? new CRC32() : null;
+        }
+
+        void writeHeader(int type, int length) throws IOException {
+            int flags = 0;
+            if (order == ByteOrder.LITTLE_ENDIAN) {
+                flags |= FLAG_LITTLE_ENDIAN;
+            }
+            if (crc != null) {
+                flags |= FLAG_CHECKSUM;
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).put((byte) VERSION).put((byte) type).put((byte) flags).put((byte) 0);
+            header.putLong(length).flip();
+            writeFully(channel, header);
+        }
+
+        void write(ByteBuffer b) throws IOException {
+            if (crc != null) {
+                crc.update(b.duplicate());
+            }
+            writeFully(channel, b);
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            write(buffer);
+            buffer.clear();
+        }
+
+        void flushBlock() throws IOException {
+            buffer.putInt(0, buffer.position() - Integer.BYTES);
+            flush();
+            buffer.position(Integer.BYTES);
+        }
+
+        void finish() throws IOException {
+            if (crc != null) {
+                ByteBuffer trailer = ByteBuffer.allocate(Integer.BYTES);
+                trailer.putInt((int) crc.getValue()).flip();
+                writeFully(channel, trailer);
+            }
+        }
+
+    }
+
+    static final class Input {
+
+        final ReadableByteChannel channel;
+        final ByteBuffer buffer;
+        ByteOrder order;
+        CRC32 crc;
+        // whether the length in the header has been checked against the remaining bytes of the channel
+        boolean sized;
+
+        Input(ReadableByteChannel channel) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        }
+
+        int readHeader(int type, int minElementBytes) throws IOException {
+            ByteBuffer header = read(HEADER_SIZE);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("not an encoded array");
+            }
+            final int version = header.get();
+            if (version != VERSION) {
+                throw new IOException("unsupported version: " + version);
+            }
+            final int actualType = header.get();
+            if (actualType != type) {
+                final String name = (actualType > 0 && actualType < TYPE_NAMES.length)
+                        ? TYPE_NAMES[actualType]
+                        : String.valueOf(actualType);
+                throw new IOException("type mismatch: expected " + TYPE_NAMES[type] + ", but was " + name);
+            }
+            final int flags = header.get();
+            header.get();
+            final long length = header.getLong();
+            if (length < 0 || length > MAX_ARRAY_LENGTH) {
+                throw new IOException("invalid length: " + length);
+            }
+            if (channel instanceof SeekableByteChannel) {
+                SeekableByteChannel c = (SeekableByteChannel) channel;
+                final long remaining = c.size() - c.position();
+                if (length * minElementBytes > remaining) {
+                    throw new IOException("invalid length: " + length + " (only " + remaining + " bytes remain)");
+                }
+                this.sized = true;
+            }
+            this.order = ((flags & FLAG_LITTLE_ENDIAN) != 0) ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+            this.crc = ((flags & FLAG_CHECKSUM) != 0) ? new CRC32() : null;
+            return (int) length;
+        }
+
+        /**
+         * Returns the initial capacity of the array to read the elements.
+         * Unless the length has been checked, the array is allocated up to the number of elements in a buffer.
+         */
+        int initialCapacity(int length, int chunk) {
+            return sized ? length : Math.min(length, chunk);
+        }
+
+        /**
+         * Reads exactly the specified number of bytes.
+         * The returned buffer is valid until the next call.
+         * @param size the number of bytes
+         * @return the buffer which contains the bytes
+         * @throws IOException if an I/O error occurs
+         */
+        ByteBuffer read(int size) throws IOException {
+            ByteBuffer b;
+            if (size <= buffer.capacity()) {
+                b = buffer;
+                b.clear().limit(size);
+                fill(b);
+            }
+            else {
+                // a larger buffer is grown as the bytes are read, so that a corrupt size does not allocate it at once
+                b = ByteBuffer.allocate(buffer.capacity());
+                fill(b);
+                while (b.capacity() < size) {
+                    ByteBuffer larger = ByteBuffer.allocate(grow(b.capacity(), b.capacity() + 1, size));
+                    b.flip();
+                    larger.put(b);
+                    fill(larger);
+                    b = larger;
+                }
+            }
+            b.flip();
+            if (crc != null) {
+                crc.update(b.duplicate());
+            }
+            return b.order((order == null) ? ByteOrder.BIG_ENDIAN : order);
+        }
+
+        private void fill(ByteBuffer b) throws IOException {
+            while (b.hasRemaining()) {
+                if (channel.read(b) < 0) {
+                    throw new EOFException();
+                }
+            }
+        }
+
+        void finish() throws IOException {
+            if (crc != null) {
+                final int expected = (int) crc.getValue();
+                crc = null;
+                order = ByteOrder.BIG_ENDIAN;
+                final int actual = read(Integer.BYTES).getInt();
+                if (actual != expected) {
+                    throw new IOException("checksum mismatch");
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Returns the length to grow the array, which is doubled but limited to the maximum.
+     */
+    static int grow(int length, int minLength, int maxLength) {
+        return (int) Math.min(maxLength, Math.max(2L * length, minLength));
+    }
+
+    static void writeFully(WritableByteChannel channel, ByteBuffer b) throws IOException {
+        while (b.hasRemaining()) {
+            channel.write(b);
+        }
+    }
+
+}
@@ -0,0 +1,300 @@
+package minestra.collection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * A concatenation of object arrays which keeps the references to its parts instead of copying them.
+ * The element at an index is found by the binary search of the cumulative offsets of the parts.
+ * @param <T> the type of the array elements
+ */
+final class ImmArrayConcat<T> implements ImmArray<T> {
+
+    /**
+     * The concatenation of the arrays which are shorter than or equal to this is copied into a native array.
+     */
+    static final int MIN_LENGTH = 64;
+
+    /**
+     * The nested concatenation which is deeper than this is flattened.
+     */
+    static final int MAX_DEPTH = 16;
+
+    private final ImmArray<?>[] parts;
+    private final int[] offsets;
+    private final int depth;
+
+    private ImmArrayConcat(ImmArray<?>[] parts, int[] offsets, int depth) {
+        this.parts = parts;
+        this.offsets = offsets;
+        this.depth = depth;
+    }
+
+    static <T> ImmArray<T> concat(ImmArray<? extends T> self, ImmArray<? extends T> first,
+                                  ImmArray<? extends T>[] rest) {
+        List<ImmArray<?>> a = new ArrayList<>(rest.length + 2);
+        a.add(self);
+        a.add(first);
+        Collections.addAll(a, rest);
+        return of(a);
+    }
+
+    static <T> ImmArray<T> of(List<ImmArray<?>> list) {
+        List<ImmArray<?>> a = new ArrayList<>(list.size());
+        long length = 0L;
+        int depth = 0;
+        for (ImmArray<?> o : list) {
+            final int n = o.size();
+            if (n > 0) {
+                a.add(o);
+                length += n;
+                depth = Math.max(depth, depthOf(o));
+            }
+        }
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("too large to concatenate: " + length);
+        }
+        if (a.size() == 1) {
+            @SuppressWarnings("unchecked")
+            ImmArray<T> o = (ImmArray<T>) a.get(0);
+            return o;
+        }
+        if (length <= MIN_LENGTH) {
+            return new ImmArrayImpl<>(true, ImmArrayConcat.<T> copyOf(a, (int) length));
+        }
+        if (depth >= MAX_DEPTH) {
+            List<ImmArray<?>> leaves = new ArrayList<>();
+            for (ImmArray<?> o : a) {
+                addLeaves(leaves, o);
+            }
+            a = coalesce(leaves);
+            depth = 0;
+        }
+        ImmArray<?>[] parts = a.toArray(new ImmArray<?>[a.size()]);
+        int[] offsets = new int[parts.length + 1];
+        for (int i = 0; i < parts.length; i++) {
+            offsets[i + 1] = offsets[i] + parts[i].size();
+        }
+        return new ImmArrayConcat<>(parts, offsets, depth + 1);
+    }
+
+    private static int depthOf(ImmArray<?> a) {
+        return (a instanceof ImmArrayConcat) ? ((ImmArrayConcat<?>) a).depth : 0;
+    }
+
+    private static void addLeaves(List<ImmArray<?>> leaves, ImmArray<?> a) {
+        if (a instanceof ImmArrayConcat) {
+            for (ImmArray<?> o : ((ImmArrayConcat<?>) a).parts) {
+                addLeaves(leaves, o);
+            }
+        }
+        else {
+            leaves.add(a);
+        }
+    }
+
+    /**
+     * Returns the list that the adjacent short arrays are joined into one array.
+     * @param leaves the arrays which are not the concatenation
+     * @return the list
+     */
+    private static List<ImmArray<?>> coalesce(List<ImmArray<?>> leaves) {
+        List<ImmArray<?>> a = new ArrayList<>(leaves.size());
+        List<ImmArray<?>> run = new ArrayList<>();
+        int runLength = 0;
+        for (ImmArray<?> o : leaves) {
+            final int n = o.size();
+            if (n < MIN_LENGTH && runLength + n <= MIN_LENGTH) {
+                run.add(o);
+                runLength += n;
+                continue;
+            }
+            flush(a, run, runLength);
+            runLength = 0;
+            if (n < MIN_LENGTH) {
+                run.add(o);
+                runLength = n;
+            }
+            else {
+                a.add(o);
+            }
+        }
+        flush(a, run, runLength);
+        return a;
+    }
+
+    private static void flush(List<ImmArray<?>> a, List<ImmArray<?>> run, int runLength) {
+        if (run.size() == 1) {
+            a.add(run.get(0));
+        }
+        else if (run.size() > 1) {
+            a.add(new ImmArrayImpl<>(true, copyOf(run, runLength)));
+        }
+        run.clear();
+    }
+
+    private static <T> T[] copyOf(List<ImmArray<?>> list, int length) {
+        @SuppressWarnings("unchecked")
+        T[] a = (T[]) new Object[length];
+        int p = 0;
+        for (ImmArray<?> o : list) {
+            p = copyTo(o, a, p);
+        }
+        return a;
+    }
+
+    /**
+     * Copies the elements of the array into the destination without the defensive copy if possible.
+     * @param src the array
+     * @param dest the destination
+     * @param pos the start position in the destination
+     * @return the next position in the destination
+     */
+    static int copyTo(ImmArray<?> src, Object[] dest, int pos) {
+        if (src instanceof ImmArrayImpl) {
+            Object[] values = ((ImmArrayImpl<?>) src).values;
+            System.arraycopy(values, 0, dest, pos, values.length);
+            return pos + values.length;
+        }
+        if (src instanceof ImmArraySlice) {
+            ImmArraySlice<?> o = (ImmArraySlice<?>) src;
+            System.arraycopy(o.values, o.offset, dest, pos, o.length);
+            return pos + o.length;
+        }
+        if (src instanceof ImmArrayConcat) {
+            int p = pos;
+            for (ImmArray<?> o : ((ImmArrayConcat<?>) src).parts) {
+                p = copyTo(o, dest, p);
+            }
+            return p;
+        }
+        Object[] values = src.toArray();
+        System.arraycopy(values, 0, dest, pos, values.length);
+        return pos + values.length;
+    }
+
+    private int partIndex(int index) {
+        final int i = Arrays.binarySearch(offsets, 0, parts.length, index);
+        return (i >= 0) ? i : -i - 2;
+    }
+
+    @SuppressWarnings("unchecked")
+    private ImmArray<T> part(int k) {
+        return (ImmArray<T>) parts[k];
+    }
+
+    @Override
+    public int size() {
+        return offsets[parts.length];
+    }
+
+    @Override
+    public T at(int index) {
+        if (index < 0 || index >= size()) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+        final int k = partIndex(index);
+        return part(k).at(index - offsets[k]);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new IteratorImpl();
+    }
+
+    @Override
+    public ImmArray<T> slice(int from, int to) {
+        final int length = size();
+        final int to0 = ((to < length - 1) ? to : length - 1) + 1;
+        if (from > to0) {
+            throw new IllegalArgumentException(from + " > " + to0);
+        }
+        if (from < 0) {
+            throw new ArrayIndexOutOfBoundsException(from);
+        }
+        if (from == to0) {
+            return ImmArray.empty();
+        }
+        final int k1 = partIndex(from);
+        final int k2 = partIndex(to0 - 1);
+        if (k1 == k2) {
+            return part(k1).slice(from - offsets[k1], to0 - 1 - offsets[k1]);
+        }
+        List<ImmArray<?>> a = new ArrayList<>(k2 - k1 + 1);
+        a.add(part(k1).slice(from - offsets[k1], Integer.MAX_VALUE));
+        for (int k = k1 + 1; k < k2; k++) {
+            a.add(parts[k]);
+        }
+        a.add(part(k2).slice(0, to0 - 1 - offsets[k2]));
+        return of(a);
+    }
+
+    @Override
+    public ImmArray<T> compact() {
+        return new ImmArrayImpl<>(true, toArray());
+    }
+
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        for (int k = 0; k < parts.length; k++) {
+            part(k).forEach(action);
+        }
+    }
+
+    @Override
+    public T[] toArray() {
+        @SuppressWarnings("unchecked")
+        T[] a = (T[]) new Object[size()];
+        copyTo(this, a, 0);
+        return a;
+    }
+
+    @Override
+    public int hashCode() {
+        return ImmArrayImpl.contentHashCode(this);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        return (obj instanceof ImmArray) && ImmArrayImpl.contentEquals(this, (ImmArray<?>) obj);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    final class IteratorImpl implements Iterator<T> {
+
+        private int k;
+        private int index;
+
+        @Override
+        public boolean hasNext() {
+            return k < parts.length;
+        }
+
+        @Override
+        public T next() {
+            if (k >= parts.length) {
+                throw new NoSuchElementException();
+            }
+            final T x = part(k).at(index);
+            if (++index == parts[k].size()) {
+                ++k;
+                index = 0;
+            }
+            return x;
+        }
+
+    }
+
+}
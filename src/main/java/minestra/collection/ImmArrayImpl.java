@@ -4,17 +4,33 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 import java.util.stream.Stream;
 
 final class ImmArrayImpl<T> implements ImmArray<T> {
 
     static final ImmArray<?> EMPTY = new ImmArrayImpl<>();
 
-    final private T[] values;
+    final T[] values;
+    private int hash;
+    private long contentHash;
+    // only the canonical arrays in the intern pool cache the hashes, because the elements may be mutable
+    private boolean interned;
 
     @SafeVarargs
     ImmArrayImpl(T... a) {
@@ -47,6 +63,11 @@ final class ImmArrayImpl<T> implements ImmArray<T> {
         return values.length;
     }
 
+    @Override
+    public ImmArray<T> slice(int from, int to) {
+        return ImmArraySlice.slice(values, 0, values.length, from, to);
+    }
+
     @Override
     public ImmArray<T> filter(Predicate<? super T> pred) {
         final int n = size();
@@ -59,6 +80,166 @@ final class ImmArrayImpl<T> implements ImmArray<T> {
         return new ImmArrayImpl<>(a);
     }
 
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        for (final T x : values) {
+            action.accept(x);
+        }
+    }
+
+    @Override
+    public boolean exists(Predicate<? super T> pred) {
+        for (final T x : values) {
+            if (pred.test(x)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean contains(T o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public Optional<T> find(Predicate<? super T> pred, int start) {
+        final int n = values.length;
+        for (int i = start; i < n; i++) {
+            final T o = values[i];
+            if (pred.test(o)) {
+                return Optional.of(o);
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public int indexOf(T o) {
+        final int n = values.length;
+        for (int i = 0; i < n; i++) {
+            if (Objects.equals(values[i], o)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int indexWhere(Predicate<? super T> pred) {
+        final int n = values.length;
+        for (int i = 0; i < n; i++) {
+            if (pred.test(values[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public <R> ImmArray<R> map(Function<? super T, ? extends R> mapper) {
+        final int n = values.length;
+        @SuppressWarnings("unchecked")
+        R[] a = (R[]) new Object[n];
+        for (int i = 0; i < n; i++) {
+            a[i] = mapper.apply(values[i]);
+        }
+        return new ImmArrayImpl<>(true, a);
+    }
+
+    @Override
+    public IntImmArray mapToInt(ToIntFunction<? super T> mapper) {
+        final int n = values.length;
+        int[] a = new int[n];
+        for (int i = 0; i < n; i++) {
+            a[i] = mapper.applyAsInt(values[i]);
+        }
+        return new IntImmArrayImpl(true, a);
+    }
+
+    @Override
+    public LongImmArray mapToLong(ToLongFunction<? super T> mapper) {
+        final int n = values.length;
+        long[] a = new long[n];
+        for (int i = 0; i < n; i++) {
+            a[i] = mapper.applyAsLong(values[i]);
+        }
+        return new LongImmArrayImpl(true, a);
+    }
+
+    @Override
+    public DoubleImmArray mapToDouble(ToDoubleFunction<? super T> mapper) {
+        final int n = values.length;
+        double[] a = new double[n];
+        for (int i = 0; i < n; i++) {
+            a[i] = mapper.applyAsDouble(values[i]);
+        }
+        return new DoubleImmArrayImpl(true, a);
+    }
+
+    @Override
+    public <R> ImmArray<R> filterMap(Function<? super T, Optional<? extends R>> mapper) {
+        List<R> a = new ArrayList<>();
+        for (final T x : values) {
+            mapper.apply(x).ifPresent(a::add);
+        }
+        return new ImmArrayImpl<>(a);
+    }
+
+    @Override
+    public Optional<T> reduce(BinaryOperator<T> op) {
+        final int n = values.length;
+        if (n == 0) {
+            return Optional.empty();
+        }
+        T result = values[0];
+        for (int i = 1; i < n; i++) {
+            result = op.apply(result, values[i]);
+        }
+        return Optional.of(result);
+    }
+
+    @Override
+    public T reduce(T identity, BinaryOperator<T> op) {
+        T result = identity;
+        for (final T x : values) {
+            result = op.apply(result, x);
+        }
+        return result;
+    }
+
+    @Override
+    public ImmArray<T> distinct() {
+        return new ImmArrayImpl<>(new LinkedHashSet<>(Arrays.asList(values)));
+    }
+
+    @Override
+    public ImmArray<T> reverse() {
+        final int n = values.length;
+        T[] a = Arrays.copyOf(values, n);
+        for (int i = 0, j = n - 1; i < n; i++, j--) {
+            a[i] = values[j];
+        }
+        return new ImmArrayImpl<>(true, a);
+    }
+
+    @Override
+    public Set<T> toSet() {
+        Set<T> set = new HashSet<>();
+        Collections.addAll(set, values);
+        return set;
+    }
+
+    @Override
+    public String[] toStringArray() {
+        final int n = values.length;
+        String[] a = new String[n];
+        for (int i = 0; i < n; i++) {
+            a[i] = Objects.toString(values[i], "");
+        }
+        return a;
+    }
+
     static <T, R> List<R> flatten0(Iterable<T> it, List<R> list) {
         for (T o : it) {
             if (o instanceof ImmArray) {
@@ -91,6 +272,11 @@ final class ImmArrayImpl<T> implements ImmArray<T> {
         return list;
     }
 
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(values, 0, values.length, ImmArraySpliterators.CHARACTERISTICS);
+    }
+
     @Override
     public T[] toArray() {
         return Arrays.copyOf(values, values.length);
@@ -98,12 +284,40 @@ final class ImmArrayImpl<T> implements ImmArray<T> {
 
     @Override
     public int hashCode() {
-        final int prime = 31;
-        int result = 1;
-        result = prime * result + Arrays.hashCode(values);
+        int result = hash;
+        if (result == 0) {
+            final int prime = 31;
+            result = prime + Arrays.hashCode(values);
+            // the elements of an interned array are assumed not to change
+            if (interned) {
+                hash = result;
+            }
+        }
         return result;
     }
 
+    /**
+     * Returns the 64-bit hash of the elements, which is cached only if this array is canonical.
+     * @return the hash
+     */
+    long contentHash() {
+        long h = contentHash;
+        if (h == 0L) {
+            h = InternPool.hash(values);
+            if (interned) {
+                contentHash = h;
+            }
+        }
+        return h;
+    }
+
+    /**
+     * Marks this array as the canonical one in the intern pool.
+     */
+    void markInterned() {
+        interned = true;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) {
@@ -112,17 +326,61 @@ final class ImmArrayImpl<T> implements ImmArray<T> {
         if (obj == null) {
             return false;
         }
+        if (obj instanceof ImmArraySlice) {
+            return obj.equals(this);
+        }
         if (getClass() != obj.getClass()) {
-            return false;
+            return (obj instanceof ImmArray) && contentEquals(this, (ImmArray<?>) obj);
         }
         @SuppressWarnings("rawtypes")
         ImmArrayImpl other = (ImmArrayImpl) obj;
+        if (hash != 0 && other.hash != 0 && hash != other.hash) {
+            return false;
+        }
+        if (contentHash != 0L && other.contentHash != 0L && contentHash != other.contentHash) {
+            return false;
+        }
         if (!Arrays.equals(values, other.values)) {
             return false;
         }
         return true;
     }
 
+    /**
+     * Returns whether the two arrays have the same elements in the same order.
+     * This is used to compare the arrays which have the different implementations.
+     * @param a the array
+     * @param b the other array
+     * @return <code>true</code> if these are equal
+     */
+    static boolean contentEquals(ImmArray<?> a, ImmArray<?> b) {
+        final int n = a.size();
+        if (n != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < n; i++) {
+            if (!Objects.equals(a.at(i), b.at(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the hash code of the elements which is consistent with <code>hashCode()</code> of this class.
+     * @param a the array
+     * @return the hash code
+     */
+    static int contentHashCode(ImmArray<?> a) {
+        final int prime = 31;
+        final int n = a.size();
+        int h = 1;
+        for (int i = 0; i < n; i++) {
+            h = prime * h + Objects.hashCode(a.at(i));
+        }
+        return prime + h;
+    }
+
     @Override
     public String toString() {
         return Arrays.toString(values);
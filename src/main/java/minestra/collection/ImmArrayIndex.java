@@ -0,0 +1,75 @@
+package minestra.collection;
+
+import java.util.Optional;
+
+/**
+ * An immutable index which maps the keys to the positions of the elements in an array.
+ * The index is built once by <code>ImmArray.indexBy</code>, and then the lookups by key take constant time.
+ * A key may be mapped to the multiple elements, and their positions are kept in ascending order.
+ * @param <K> the type of keys
+ * @param <T> the type of the array elements
+ */
+public interface ImmArrayIndex<K, T> {
+
+    /**
+     * Returns the indexed array.
+     * @return the array
+     */
+    ImmArray<T> array();
+
+    /**
+     * Returns the number of distinct keys in this index.
+     * @return the number of keys
+     */
+    int keyCount();
+
+    /**
+     * Returns the distinct keys in order of first occurrence.
+     * @return the keys
+     */
+    ImmArray<K> keys();
+
+    /**
+     * Returns whether any element has the specified key.
+     * @param key key
+     * @return <code>true</code> if the key is found
+     */
+    default boolean containsKey(K key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Returns the index of the first element which has the specified key.
+     * @param key key
+     * @return number of the index, returns <code>-1</code> if not found
+     */
+    int indexOf(K key);
+
+    /**
+     * Returns the indices of all elements which have the specified key in ascending order.
+     * @param key key
+     * @return the indices, or the empty array if not found
+     */
+    IntImmArray indicesOf(K key);
+
+    /**
+     * Returns the first element which has the specified key.
+     * @param key key
+     * @return the element as an optional value
+     */
+    default Optional<T> get(K key) {
+        final int i = indexOf(key);
+        return (i < 0) ? Optional.empty() : Optional.ofNullable(array().at(i));
+    }
+
+    /**
+     * Returns all elements which have the specified key in order of the array.
+     * @param key key
+     * @return the elements, or the empty array if not found
+     */
+    default ImmArray<T> getAll(K key) {
+        final ImmArray<T> arr = array();
+        return indicesOf(key).mapToObj(arr::at);
+    }
+
+}
@@ -0,0 +1,140 @@
+package minestra.collection;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * An index in the compact layout of arrays.
+ * The distinct keys and their hash codes are held in <code>keys</code> and <code>hashes</code>,
+ * and the open-addressing table with linear probing holds the key numbers plus one (<code>0</code> is empty).
+ * The positions of the elements are grouped by key in <code>positions</code>,
+ * and the positions of the key <code>k</code> are in the range from <code>starts[k]</code> to <code>starts[k + 1]</code>.
+ */
+final class ImmArrayIndexImpl<K, T> implements ImmArrayIndex<K, T> {
+
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final ImmArray<T> array;
+    private final Object[] keys;
+    private final int[] hashes;
+    private final int[] table;
+    private final int mask;
+    private final int[] starts;
+    private final int[] positions;
+
+    private ImmArrayIndexImpl(ImmArray<T> array, Object[] keys, int[] hashes, int[] table, int[] starts, int[] positions) {
+        this.array = array;
+        this.keys = keys;
+        this.hashes = hashes;
+        this.table = table;
+        this.mask = table.length - 1;
+        this.starts = starts;
+        this.positions = positions;
+    }
+
+    static <K, T> ImmArrayIndex<K, T> of(ImmArray<T> array, Function<? super T, ? extends K> keyMapper) {
+        final int n = array.size();
+        final int mask = capacityFor(n) - 1;
+        int[] table = new int[mask + 1];
+        Object[] keys = new Object[n];
+        int[] hashes = new int[n];
+        int[] counts = new int[n + 1];
+        int[] ids = new int[n];
+        int keyCount = 0;
+        for (int p = 0; p < n; p++) {
+            final K key = keyMapper.apply(array.at(p));
+            final int h = hash(key);
+            int i = h & mask;
+            int id;
+            while ((id = table[i]) != 0) {
+                if (hashes[id - 1] == h && Objects.equals(keys[id - 1], key)) {
+                    break;
+                }
+                i = (i + 1) & mask;
+            }
+            if (id == 0) {
+                keys[keyCount] = key;
+                hashes[keyCount] = h;
+                id = ++keyCount;
+                table[i] = id;
+            }
+            ids[p] = id - 1;
+            ++counts[id];
+        }
+        // counts[k + 1] is the number of elements of the key k, so the prefix sums are the starts
+        for (int k = 0; k < keyCount; k++) {
+            counts[k + 1] += counts[k];
+        }
+        int[] starts = Arrays.copyOf(counts, keyCount + 1);
+        int[] positions = new int[n];
+        for (int p = 0; p < n; p++) {
+            positions[counts[ids[p]]++] = p;
+        }
+        return new ImmArrayIndexImpl<>(array, Arrays.copyOf(keys, keyCount), Arrays.copyOf(hashes, keyCount), table, starts,
+                                       positions);
+    }
+
+    private static int capacityFor(int size) {
+        final long n = Math.max(MIN_CAPACITY, (long) size * 2);
+        if (n > MAX_CAPACITY) {
+            throw new IllegalStateException("too many elements");
+        }
+        return Integer.highestOneBit((int) n - 1) << 1;
+    }
+
+    private static int hash(Object key) {
+        return IntHashTable.mix(Objects.hashCode(key));
+    }
+
+    /**
+     * Returns the number of the key, or <code>-1</code> if not found.
+     */
+    private int find(Object key) {
+        final int h = hash(key);
+        for (int i = h & mask, id; (id = table[i]) != 0; i = (i + 1) & mask) {
+            if (hashes[id - 1] == h && Objects.equals(keys[id - 1], key)) {
+                return id - 1;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public ImmArray<T> array() {
+        return array;
+    }
+
+    @Override
+    public int keyCount() {
+        return keys.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public ImmArray<K> keys() {
+        return new ImmArrayImpl<>(true, (K[]) keys);
+    }
+
+    @Override
+    public int indexOf(K key) {
+        final int k = find(key);
+        return (k < 0) ? -1 : positions[starts[k]];
+    }
+
+    @Override
+    public IntImmArray indicesOf(K key) {
+        final int k = find(key);
+        if (k < 0) {
+            return IntImmArray.empty();
+        }
+        return new IntImmArrayImpl(true, Arrays.copyOfRange(positions, starts[k], starts[k + 1]));
+    }
+
+    @Override
+    public String toString() {
+        return "ImmArrayIndex(size=" + positions.length + ", keyCount=" + keys.length + ")";
+    }
+
+}
@@ -0,0 +1,159 @@
+package minestra.collection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
+
+/**
+ * A view of the part of an object array.
+ * This shares the storage with its original array, use <code>compact()</code> to release it.
+ * @param <T> the type of the array elements
+ */
+final class ImmArraySlice<T> implements ImmArray<T> {
+
+    final T[] values;
+    final int offset;
+    final int length;
+
+    ImmArraySlice(T[] values, int offset, int length) {
+        this.values = values;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    static <T> ImmArray<T> slice(T[] values, int offset, int length, int from, int to) {
+        final int to0 = ((to < length - 1) ? to : length - 1) + 1;
+        if (from > to0) {
+            throw new IllegalArgumentException(from + " > " + to0);
+        }
+        if (from < 0) {
+            throw new ArrayIndexOutOfBoundsException(from);
+        }
+        final int n = to0 - from;
+        return (n == 0) ? ImmArray.empty() : new ImmArraySlice<>(values, offset + from, n);
+    }
+
+    @Override
+    public T at(int index) {
+        if (index < 0 || index >= length) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+        return values[offset + index];
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new IteratorImpl();
+    }
+
+    @Override
+    public int size() {
+        return length;
+    }
+
+    @Override
+    public ImmArray<T> filter(Predicate<? super T> pred) {
+        final int end = offset + length;
+        List<T> a = new ArrayList<>(length);
+        for (int i = offset; i < end; i++) {
+            if (pred.test(values[i])) {
+                a.add(values[i]);
+            }
+        }
+        return new ImmArrayImpl<>(a);
+    }
+
+    @Override
+    public ImmArray<T> slice(int from, int to) {
+        return slice(values, offset, length, from, to);
+    }
+
+    @Override
+    public ImmArray<T> compact() {
+        return new ImmArrayImpl<>(true, toArray());
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(values, offset, offset + length, ImmArraySpliterators.CHARACTERISTICS);
+    }
+
+    @Override
+    public T[] toArray() {
+        return Arrays.copyOfRange(values, offset, offset + length);
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        final int end = offset + length;
+        int h = 1;
+        for (int i = offset; i < end; i++) {
+            h = prime * h + Objects.hashCode(values[i]);
+        }
+        return prime + h;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof ImmArraySlice) {
+            @SuppressWarnings("rawtypes")
+            ImmArraySlice other = (ImmArraySlice) obj;
+            return length == other.length && rangeEquals(values, offset, other.values, other.offset, length);
+        }
+        if (obj instanceof ImmArrayImpl) {
+            Object[] a = ((ImmArrayImpl<?>) obj).values;
+            return length == a.length && rangeEquals(values, offset, a, 0, length);
+        }
+        return (obj instanceof ImmArray) && ImmArrayImpl.contentEquals(this, (ImmArray<?>) obj);
+    }
+
+    static boolean rangeEquals(Object[] a1, int offset1, Object[] a2, int offset2, int length) {
+        for (int i = 0; i < length; i++) {
+            if (!Objects.equals(a1[offset1 + i], a2[offset2 + i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    final class IteratorImpl implements Iterator<T> {
+
+        private final int end;
+        private int p;
+
+        IteratorImpl() {
+            this.end = offset + length;
+            this.p = offset;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return p < end;
+        }
+
+        @Override
+        public T next() {
+            if (p >= end) {
+                throw new NoSuchElementException();
+            }
+            return values[p++];
+        }
+
+    }
+
+}
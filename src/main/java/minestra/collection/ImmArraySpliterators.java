@@ -0,0 +1,225 @@
+package minestra.collection;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Spliterators which access the elements of the arrays by index.
+ * These are used by the arrays which are not backed by a native array.
+ */
+final class ImmArraySpliterators {
+
+    /**
+     * The characteristics of the spliterators of the object arrays.
+     */
+    static final int CHARACTERISTICS = Spliterator.ORDERED | Spliterator.IMMUTABLE;
+
+    /**
+     * The characteristics of the spliterators of the primitive arrays.
+     */
+    static final int PRIMITIVE_CHARACTERISTICS = CHARACTERISTICS | Spliterator.NONNULL;
+
+    private ImmArraySpliterators() {
+        // empty
+    }
+
+    static final class RefSpliterator<T> implements Spliterator<T> {
+
+        private final ImmArray<T> array;
+        private int index;
+        private final int fence;
+
+        RefSpliterator(ImmArray<T> array, int index, int fence) {
+            this.array = array;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (index < fence) {
+                action.accept(array.at(index++));
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            final int n = fence;
+            for (int i = index; i < n; i++) {
+                action.accept(array.at(i));
+            }
+            index = n;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            final int lo = index;
+            final int mid = (lo + fence) >>> 1;
+            return (lo >= mid) ? null : new RefSpliterator<>(array, lo, index = mid);
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return CHARACTERISTICS | SIZED | SUBSIZED;
+        }
+
+    }
+
+    static final class IntSpliterator implements Spliterator.OfInt {
+
+        private final IntImmArray array;
+        private int index;
+        private final int fence;
+
+        IntSpliterator(IntImmArray array, int index, int fence) {
+            this.array = array;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (index < fence) {
+                action.accept(array.at(index++));
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            final int n = fence;
+            for (int i = index; i < n; i++) {
+                action.accept(array.at(i));
+            }
+            index = n;
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            final int lo = index;
+            final int mid = (lo + fence) >>> 1;
+            return (lo >= mid) ? null : new IntSpliterator(array, lo, index = mid);
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return PRIMITIVE_CHARACTERISTICS | SIZED | SUBSIZED;
+        }
+
+    }
+
+    static final class LongSpliterator implements Spliterator.OfLong {
+
+        private final LongImmArray array;
+        private int index;
+        private final int fence;
+
+        LongSpliterator(LongImmArray array, int index, int fence) {
+            this.array = array;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            if (index < fence) {
+                action.accept(array.at(index++));
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer action) {
+            final int n = fence;
+            for (int i = index; i < n; i++) {
+                action.accept(array.at(i));
+            }
+            index = n;
+        }
+
+        @Override
+        public Spliterator.OfLong trySplit() {
+            final int lo = index;
+            final int mid = (lo + fence) >>> 1;
+            return (lo >= mid) ? null : new LongSpliterator(array, lo, index = mid);
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return PRIMITIVE_CHARACTERISTICS | SIZED | SUBSIZED;
+        }
+
+    }
+
+    static final class DoubleSpliterator implements Spliterator.OfDouble {
+
+        private final DoubleImmArray array;
+        private int index;
+        private final int fence;
+
+        DoubleSpliterator(DoubleImmArray array, int index, int fence) {
+            this.array = array;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(DoubleConsumer action) {
+            if (index < fence) {
+                action.accept(array.at(index++));
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(DoubleConsumer action) {
+            final int n = fence;
+            for (int i = index; i < n; i++) {
+                action.accept(array.at(i));
+            }
+            index = n;
+        }
+
+        @Override
+        public Spliterator.OfDouble trySplit() {
+            final int lo = index;
+            final int mid = (lo + fence) >>> 1;
+            return (lo >= mid) ? null : new DoubleSpliterator(array, lo, index = mid);
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return PRIMITIVE_CHARACTERISTICS | SIZED | SUBSIZED;
+        }
+
+    }
+
+}
@@ -0,0 +1,250 @@
+package minestra.collection;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * A lazy view of an ImmArray.
+ * The operations of this view are not evaluated until a terminal operation is called,
+ * and all of the operations are evaluated in a single loop without intermediate arrays.
+ * @param <T> the type of the elements
+ */
+public final class ImmArrayView<T> {
+
+    /**
+     * A receiver of the elements.
+     * @param <T> the type of the elements
+     */
+    @FunctionalInterface
+    interface Sink<T> {
+
+        /**
+         * Receives an element.
+         * @param x the element
+         * @return <code>false</code> if no more elements are required
+         */
+        boolean accept(T x);
+
+    }
+
+    /**
+     * A supplier of the elements which pushes them into a sink.
+     * @param <T> the type of the elements
+     */
+    @FunctionalInterface
+    interface Source<T> {
+
+        /**
+         * Pushes the elements into the sink while the sink requires them.
+         * @param sink the sink
+         */
+        void drive(Sink<? super T> sink);
+
+    }
+
+    private final Source<T> source;
+    private final int maxSize;
+
+    ImmArrayView(Source<T> source, int maxSize) {
+        this.source = source;
+        this.maxSize = maxSize;
+    }
+
+    static <T> ImmArrayView<T> of(ImmArray<T> a) {
+        return new ImmArrayView<>(sink -> {
+            final int n = a.size();
+            for (int i = 0; i < n; i++) {
+                if (!sink.accept(a.at(i))) {
+                    return;
+                }
+            }
+        }, a.size());
+    }
+
+    /**
+     * Returns a view which applies the specified function to each element.
+     * @param <R> type of result elements
+     * @param mapper function as a mapper
+     * @return the view
+     */
+    public <R> ImmArrayView<R> map(Function<? super T, ? extends R> mapper) {
+        return new ImmArrayView<>(sink -> source.drive(x -> sink.accept(mapper.apply(x))), maxSize);
+    }
+
+    /**
+     * Returns an int view which applies the specified function to each element.
+     * @param mapper function as a mapper
+     * @return the view
+     */
+    public IntImmArrayView mapToInt(ToIntFunction<? super T> mapper) {
+        return new IntImmArrayView(sink -> source.drive(x -> sink.accept(mapper.applyAsInt(x))), maxSize);
+    }
+
+    /**
+     * Returns a long view which applies the specified function to each element.
+     * @param mapper function as a mapper
+     * @return the view
+     */
+    public LongImmArrayView mapToLong(ToLongFunction<? super T> mapper) {
+        return new LongImmArrayView(sink -> source.drive(x -> sink.accept(mapper.applyAsLong(x))), maxSize);
+    }
+
+    /**
+     * Returns a double view which applies the specified function to each element.
+     * @param mapper function as a mapper
+     * @return the view
+     */
+    public DoubleImmArrayView mapToDouble(ToDoubleFunction<? super T> mapper) {
+        return new DoubleImmArrayView(sink -> source.drive(x -> sink.accept(mapper.applyAsDouble(x))), maxSize);
+    }
+
+    /**
+     * Returns a view of the elements which match the specified predicate.
+     * @param pred predicate
+     * @return the view
+     */
+    public ImmArrayView<T> filter(Predicate<? super T> pred) {
+        return new ImmArrayView<>(sink -> source.drive(x -> !pred.test(x) || sink.accept(x)), maxSize);
+    }
+
+    /**
+     * Returns a view of the elements that taken out as many as specified number from the beginning.
+     * @param count count to take
+     * @return the view
+     */
+    public ImmArrayView<T> take(int count) {
+        if (count <= 0) {
+            return new ImmArrayView<>(sink -> {
+                // empty
+            }, 0);
+        }
+        return new ImmArrayView<>(sink -> {
+            int[] rest = { count };
+            source.drive(x -> sink.accept(x) && --rest[0] > 0);
+        }, Math.min(count, maxSize));
+    }
+
+    /**
+     * Returns a view of the rest of the elements that drops the specified number of elements.
+     * @param count count to drop
+     * @return the view
+     */
+    public ImmArrayView<T> drop(int count) {
+        if (count <= 0) {
+            return this;
+        }
+        return new ImmArrayView<>(sink -> {
+            int[] rest = { count };
+            source.drive(x -> {
+                if (rest[0] > 0) {
+                    --rest[0];
+                    return true;
+                }
+                return sink.accept(x);
+            });
+        }, Math.max(maxSize - count, 0));
+    }
+
+    /**
+     * Evaluates this view and returns the result as a new array.
+     * @return the array
+     */
+    public ImmArray<T> force() {
+        @SuppressWarnings("unchecked")
+        T[] a = (T[]) toBuffer();
+        return new ImmArrayImpl<>(true, a);
+    }
+
+    /**
+     * Evaluates this view and returns the result as a native array.
+     * @param generator function to generate native array
+     * @return the array
+     */
+    public T[] toArray(IntFunction<T[]> generator) {
+        Object[] buffer = toBuffer();
+        T[] a = generator.apply(buffer.length);
+        System.arraycopy(buffer, 0, a, 0, buffer.length);
+        return a;
+    }
+
+    private Object[] toBuffer() {
+        Object[] a = new Object[maxSize];
+        int[] p = { 0 };
+        source.drive(x -> {
+            a[p[0]++] = x;
+            return true;
+        });
+        return (p[0] == a.length) ? a : Arrays.copyOf(a, p[0]);
+    }
+
+    /**
+     * Performs the specified action to each element of this view.
+     * @param action action to apply to each element
+     */
+    public void forEach(Consumer<? super T> action) {
+        source.drive(x -> {
+            action.accept(x);
+            return true;
+        });
+    }
+
+    /**
+     * Returns the number of elements in this view.
+     * @return the number of elements
+     */
+    public int count() {
+        int[] count = { 0 };
+        source.drive(x -> {
+            ++count[0];
+            return true;
+        });
+        return count[0];
+    }
+
+    /**
+     * Returns the result that reduce elements of this view with the specified binary operator.
+     * @param op binary operator
+     * @return the result as optional, or optional empty if this view is empty
+     */
+    public Optional<T> reduce(BinaryOperator<T> op) {
+        Holder<T> result = new Holder<>();
+        source.drive(x -> {
+            result.value = result.present ? op.apply(result.value, x) : x;
+            result.present = true;
+            return true;
+        });
+        return result.present ? Optional.of(result.value) : Optional.empty();
+    }
+
+    /**
+     * Returns the result that reduce elements of this view with the specified binary operator.
+     * @param identity identity element
+     * @param op binary operator
+     * @return the result
+     */
+    public T reduce(T identity, BinaryOperator<T> op) {
+        Holder<T> result = new Holder<>();
+        result.value = identity;
+        source.drive(x -> {
+            result.value = op.apply(result.value, x);
+            return true;
+        });
+        return result.value;
+    }
+
+    static final class Holder<T> {
+
+        T value;
+        boolean present;
+
+    }
+
+}
@@ -0,0 +1,91 @@
+package minestra.collection;
+
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+
+/**
+ * Collectors which accumulate the elements of a stream into an immutable array.
+ * The elements are accumulated in chunks, and the results of parallel streams are joined by linking the chunks.
+ * So the elements are copied only once into the array when finishing.
+ * The primitive collectors store the values without boxing.
+ */
+public final class ImmCollectors {
+
+    private ImmCollectors() {
+        // empty
+    }
+
+    /**
+     * Returns a collector which accumulates the elements into an array.
+     * @param <T> the type of the array elements
+     * @return the collector
+     */
+    public static <T> Collector<T, ?, ImmArray<T>> toImmArray() {
+        return Collector.of(ObjectChunks::new, ObjectChunks::add, ObjectChunks::append, ImmCollectors::finish);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ImmArray<T> finish(ObjectChunks chunks) {
+        return new ImmArrayImpl<>(true, (T[]) chunks.toArray());
+    }
+
+    /**
+     * Returns a collector which accumulates the elements into an int array.
+     * @return the collector
+     */
+    public static Collector<Integer, ?, IntImmArray> toIntImmArray() {
+        return toIntImmArray(Integer::intValue);
+    }
+
+    /**
+     * Returns a collector which accumulates the values mapped from the elements into an int array.
+     * @param <T> the type of the stream elements
+     * @param mapper the function to map an element to a value
+     * @return the collector
+     */
+    public static <T> Collector<T, ?, IntImmArray> toIntImmArray(ToIntFunction<? super T> mapper) {
+        return Collector.of(IntChunks::new, (chunks, x) -> chunks.add(mapper.applyAsInt(x)), IntChunks::append,
+                            chunks -> new IntImmArrayImpl(true, chunks.toArray()));
+    }
+
+    /**
+     * Returns a collector which accumulates the elements into a long array.
+     * @return the collector
+     */
+    public static Collector<Long, ?, LongImmArray> toLongImmArray() {
+        return toLongImmArray(Long::longValue);
+    }
+
+    /**
+     * Returns a collector which accumulates the values mapped from the elements into a long array.
+     * @param <T> the type of the stream elements
+     * @param mapper the function to map an element to a value
+     * @return the collector
+     */
+    public static <T> Collector<T, ?, LongImmArray> toLongImmArray(ToLongFunction<? super T> mapper) {
+        return Collector.of(LongChunks::new, (chunks, x) -> chunks.add(mapper.applyAsLong(x)), LongChunks::append,
+                            chunks -> new LongImmArrayImpl(true, chunks.toArray()));
+    }
+
+    /**
+     * Returns a collector which accumulates the elements into a double array.
+     * @return the collector
+     */
+    public static Collector<Double, ?, DoubleImmArray> toDoubleImmArray() {
+        return toDoubleImmArray(Double::doubleValue);
+    }
+
+    /**
+     * Returns a collector which accumulates the values mapped from the elements into a double array.
+     * @param <T> the type of the stream elements
+     * @param mapper the function to map an element to a value
+     * @return the collector
+     */
+    public static <T> Collector<T, ?, DoubleImmArray> toDoubleImmArray(ToDoubleFunction<? super T> mapper) {
+        return Collector.of(DoubleChunks::new, (chunks, x) -> chunks.add(mapper.applyAsDouble(x)), DoubleChunks::append,
+                            chunks -> new DoubleImmArrayImpl(true, chunks.toArray()));
+    }
+
+}
@@ -0,0 +1,69 @@
+package minestra.collection;
+
+import java.util.Collection;
+
+/**
+ * A persistent vector of objects.
+ * The operations which add or replace an element return a new vector in near-constant time,
+ * and the new vector shares the most of its storage with the original one.
+ * @param <T> the type of the vector elements
+ */
+public interface ImmVector<T> extends ImmArray<T> {
+
+    /**
+     * Returns a new vector of the specified values.
+     * @param <T> the type of the vector elements
+     * @param a values
+     * @return new vector
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    static <T> ImmVector<T> of(T... a) {
+        // safe, because the elements are copied into the trie and the array is not exposed
+        return ImmVectorImpl.of(a);
+    }
+
+    /**
+     * Returns a new vector of the specified values.
+     * @param <T> the type of the vector elements
+     * @param collection collection
+     * @return new vector
+     */
+    static <T> ImmVector<T> of(Collection<T> collection) {
+        return ImmVectorImpl.of(collection.toArray());
+    }
+
+    /**
+     * Returns an empty vector.
+     * @param <T> the type of the vector elements
+     * @return the empty vector
+     */
+    static <T> ImmVector<T> empty() {
+        @SuppressWarnings("unchecked")
+        ImmVector<T> o = (ImmVector<T>) ImmVectorImpl.EMPTY;
+        return o;
+    }
+
+    /**
+     * Returns a new vector that the specified value is added at the end of this vector.
+     * @param value the value to add
+     * @return the new vector
+     */
+    ImmVector<T> appended(T value);
+
+    /**
+     * Returns a new vector that the specified value is added at the beginning of this vector.
+     * @param value the value to add
+     * @return the new vector
+     */
+    ImmVector<T> prepended(T value);
+
+    /**
+     * Returns a new vector that the element at the specified index is replaced with the specified value.
+     * @param index index of the element to replace
+     * @param value the new value
+     * @return the new vector
+     */
+    ImmVector<T> updated(int index, T value);
+
+}
@@ -0,0 +1,229 @@
+package minestra.collection;
+
+import static minestra.collection.VectorTrie.BITS;
+import static minestra.collection.VectorTrie.MASK;
+import static minestra.collection.VectorTrie.WIDTH;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * An implementation of ImmVector.
+ * The elements are stored in the trie from <code>origin</code>, and the last up to 32 elements are stored in the tail.
+ */
+final class ImmVectorImpl<T> implements ImmVector<T> {
+
+    static final ImmVector<?> EMPTY = new ImmVectorImpl<>(new Object[WIDTH], BITS, 0, 0, new Object[0]);
+
+    private final Object[] root;
+    private final int shift;
+    private final int origin;
+    private final int trieSize;
+    private final Object[] tail;
+
+    ImmVectorImpl(Object[] root, int shift, int origin, int trieSize, Object[] tail) {
+        this.root = root;
+        this.shift = shift;
+        this.origin = origin;
+        this.trieSize = trieSize;
+        this.tail = tail;
+    }
+
+    static <T> ImmVector<T> of(Object[] a) {
+        final int n = a.length;
+        if (n == 0) {
+            return ImmVector.empty();
+        }
+        final int trieSize = ((n - 1) >>> BITS) << BITS;
+        Object[] root = new Object[WIDTH];
+        int shift = BITS;
+        for (int i = 0; i < trieSize; i += WIDTH) {
+            if (i == VectorTrie.capacity(shift)) {
+                root = VectorTrie.growRight(root, shift);
+                shift += BITS;
+            }
+            root = VectorTrie.setLeaf(root, shift, i, Arrays.copyOfRange(a, i, i + WIDTH, Object[].class));
+        }
+        return new ImmVectorImpl<>(root, shift, 0, trieSize, Arrays.copyOfRange(a, trieSize, n, Object[].class));
+    }
+
+    @Override
+    public int size() {
+        return trieSize + tail.length;
+    }
+
+    @Override
+    public T at(int index) {
+        if (index < 0 || index >= size()) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+        if (index >= trieSize) {
+            return elementAt(tail, index - trieSize);
+        }
+        final int j = origin + index;
+        return elementAt((Object[]) VectorTrie.leafFor(root, shift, j), j & MASK);
+    }
+
+    @Override
+    public ImmVector<T> appended(T value) {
+        final int n = tail.length;
+        if (n < WIDTH) {
+            Object[] a = Arrays.copyOf(tail, n + 1);
+            a[n] = value;
+            return new ImmVectorImpl<>(root, shift, origin, trieSize, a);
+        }
+        final int end = origin + trieSize;
+        Object[] newRoot = root;
+        int newShift = shift;
+        if (end == VectorTrie.capacity(shift)) {
+            newRoot = VectorTrie.growRight(root, shift);
+            newShift += BITS;
+        }
+        newRoot = VectorTrie.setLeaf(newRoot, newShift, end, tail);
+        return new ImmVectorImpl<>(newRoot, newShift, origin, trieSize + WIDTH, new Object[] { value });
+    }
+
+    @Override
+    public ImmVector<T> prepended(T value) {
+        Object[] newRoot = root;
+        int newShift = shift;
+        int newOrigin = origin;
+        if (origin == 0) {
+            newRoot = VectorTrie.growLeft(root, shift);
+            newOrigin = MASK * VectorTrie.capacity(shift);
+            newShift += BITS;
+        }
+        final int j = newOrigin - 1;
+        Object[] leaf = (Object[]) VectorTrie.leafFor(newRoot, newShift, j);
+        leaf = (leaf == null) ? new Object[WIDTH] : leaf.clone();
+        leaf[j & MASK] = value;
+        newRoot = VectorTrie.setLeaf(newRoot, newShift, j, leaf);
+        return new ImmVectorImpl<>(newRoot, newShift, j, trieSize + 1, tail);
+    }
+
+    @Override
+    public ImmVector<T> updated(int index, T value) {
+        if (index < 0 || index >= size()) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+        if (index >= trieSize) {
+            Object[] a = tail.clone();
+            a[index - trieSize] = value;
+            return new ImmVectorImpl<>(root, shift, origin, trieSize, a);
+        }
+        final int j = origin + index;
+        Object[] leaf = ((Object[]) VectorTrie.leafFor(root, shift, j)).clone();
+        leaf[j & MASK] = value;
+        return new ImmVectorImpl<>(VectorTrie.setLeaf(root, shift, j, leaf), shift, origin, trieSize, tail);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new IteratorImpl();
+    }
+
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        final int n = size();
+        for (int i = 0; i < n;) {
+            final Object[] chunk = chunkFor(i);
+            final int start = (i < trieSize) ? (origin + i) & MASK : i - trieSize;
+            final int end = start + chunkLength(i);
+            for (int k = start; k < end; k++) {
+                action.accept(elementAt(chunk, k));
+            }
+            i += end - start;
+        }
+    }
+
+    @Override
+    public T[] toArray() {
+        @SuppressWarnings("unchecked")
+        T[] a = (T[]) new Object[size()];
+        for (int i = 0; i < trieSize;) {
+            final int j = origin + i;
+            final int start = j & MASK;
+            final int length = Math.min(WIDTH - start, trieSize - i);
+            System.arraycopy(VectorTrie.leafFor(root, shift, j), start, a, i, length);
+            i += length;
+        }
+        System.arraycopy(tail, 0, a, trieSize, tail.length);
+        return a;
+    }
+
+    @Override
+    public int hashCode() {
+        return ImmArrayImpl.contentHashCode(this);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        return (obj instanceof ImmArray) && ImmArrayImpl.contentEquals(this, (ImmArray<?>) obj);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    /**
+     * Returns the leaf or the tail which contains the element at the specified index.
+     * @param index the index of the element
+     * @return the leaf or the tail
+     */
+    Object[] chunkFor(int index) {
+        return (index < trieSize) ? (Object[]) VectorTrie.leafFor(root, shift, origin + index) : tail;
+    }
+
+    /**
+     * Returns the number of the elements from the specified index to the end of its leaf or the tail.
+     * @param index the index of the element
+     * @return the number of the elements
+     */
+    int chunkLength(int index) {
+        if (index < trieSize) {
+            return Math.min(WIDTH - ((origin + index) & MASK), trieSize - index);
+        }
+        return tail.length - (index - trieSize);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T elementAt(Object[] a, int index) {
+        return (T) a[index];
+    }
+
+    final class IteratorImpl implements Iterator<T> {
+
+        private final int n = size();
+        private int p;
+        private Object[] chunk;
+        private int k;
+        private int rest;
+
+        @Override
+        public boolean hasNext() {
+            return p < n;
+        }
+
+        @Override
+        public T next() {
+            if (p >= n) {
+                throw new NoSuchElementException();
+            }
+            if (rest == 0) {
+                chunk = chunkFor(p);
+                k = (p < trieSize) ? (origin + p) & MASK : p - trieSize;
+                rest = chunkLength(p);
+            }
+            --rest;
+            ++p;
+            return elementAt(chunk, k++);
+        }
+
+    }
+
+}
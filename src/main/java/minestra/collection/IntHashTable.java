@@ -0,0 +1,136 @@
+package minestra.collection;
+
+import java.util.Arrays;
+
+/**
+ * An open-addressing hash table of primitive <code>int</code> with linear probing.
+ * The value <code>0</code> is used to mark an empty slot, so the key <code>0</code> is held by a flag.
+ * This is used only while building an array or a set, and never exposed after that.
+ */
+final class IntHashTable {
+
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private int[] keys;
+    private int mask;
+    private int used;
+    private boolean hasZero;
+
+    IntHashTable() {
+        this(MIN_CAPACITY / 2);
+    }
+
+    IntHashTable(int expectedSize) {
+        final int capacity = capacityFor(expectedSize);
+        this.keys = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        final long n = Math.max(MIN_CAPACITY, (long) expectedSize * 2);
+        if (n > MAX_CAPACITY) {
+            return MAX_CAPACITY;
+        }
+        return Integer.highestOneBit((int) n - 1) << 1;
+    }
+
+    /**
+     * Returns the mixed hash code of the value, using the finalizer of MurmurHash3.
+     * @param x the value
+     * @return the hash code
+     */
+    static int mix(int x) {
+        int h = x;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    int size() {
+        return hasZero ? used + 1 : used;
+    }
+
+    /**
+     * Adds the value to this table.
+     * @param x the value
+     * @return <code>true</code> if this table did not contain the value
+     */
+    boolean add(int x) {
+        if (x == 0) {
+            if (hasZero) {
+                return false;
+            }
+            hasZero = true;
+            return true;
+        }
+        int i = mix(x) & mask;
+        for (int k; (k = keys[i]) != 0; i = (i + 1) & mask) {
+            if (k == x) {
+                return false;
+            }
+        }
+        keys[i] = x;
+        if (++used * 2 > keys.length) {
+            rehash();
+        }
+        return true;
+    }
+
+    boolean contains(int x) {
+        if (x == 0) {
+            return hasZero;
+        }
+        int i = mix(x) & mask;
+        for (int k; (k = keys[i]) != 0; i = (i + 1) & mask) {
+            if (k == x) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void rehash() {
+        final int[] old = keys;
+        if (old.length == MAX_CAPACITY) {
+            // keeps at least one empty slot to stop probing
+            if (used >= MAX_CAPACITY - 1) {
+                throw new IllegalStateException("too many elements");
+            }
+            return;
+        }
+        final int capacity = old.length * 2;
+        keys = new int[capacity];
+        mask = capacity - 1;
+        for (final int x : old) {
+            if (x != 0) {
+                int i = mix(x) & mask;
+                while (keys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = x;
+            }
+        }
+    }
+
+    /**
+     * Returns the array which consists with the unique elements in order of first occurrence.
+     * @param a the elements
+     * @param table the table to add the elements
+     * @return the array
+     */
+    static int[] distinct(int[] a, IntHashTable table) {
+        int[] result = new int[a.length];
+        int n = 0;
+        for (final int x : a) {
+            if (table.add(x)) {
+                result[n++] = x;
+            }
+        }
+        return (n == a.length) ? result : Arrays.copyOf(result, n);
+    }
+
+}
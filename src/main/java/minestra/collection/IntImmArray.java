@@ -1,11 +1,20 @@
 package minestra.collection;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.OptionalDouble;
 import java.util.OptionalInt;
+import java.util.PrimitiveIterator;
 import java.util.Random;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.IntBinaryOperator;
 import java.util.function.IntConsumer;
 import java.util.function.IntFunction;
@@ -15,6 +24,7 @@ import java.util.function.IntToDoubleFunction;
 import java.util.function.IntToLongFunction;
 import java.util.function.IntUnaryOperator;
 import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
 /**
  * An immutable array of primitive <code>int</code>.
@@ -36,7 +46,13 @@ public interface IntImmArray {
      * @return new array
      */
     static IntImmArray of(Collection<Integer> collection) {
-        return ImmArray.of(collection).mapToInt(Integer::intValue);
+        // the snapshot is consistent even if the collection is modified concurrently
+        final Integer[] values = collection.toArray(new Integer[0]);
+        int[] a = new int[values.length];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = values[i];
+        }
+        return new IntImmArrayImpl(true, a);
     }
 
     /**
@@ -48,6 +64,39 @@ public interface IntImmArray {
         return of(stream.toArray());
     }
 
+    /**
+     * Returns an array backed by the remaining content of the specified buffer, in the byte order of the buffer.
+     * The buffer is not copied, so its content must not be modified while the array is in use.
+     * @param buffer buffer, such as a direct buffer
+     * @return the array
+     */
+    static IntImmArray wrap(ByteBuffer buffer) {
+        return IntImmArrayBuffer.wrap(buffer);
+    }
+
+    /**
+     * Returns an array backed by the memory-mapped file of big-endian ints.
+     * The file is mapped as read-only, so it must not be modified while the array is in use.
+     * @param path the file
+     * @return the array
+     * @throws IOException if an I/O error occurs
+     */
+    static IntImmArray mapFile(Path path) throws IOException {
+        return mapFile(path, ByteOrder.BIG_ENDIAN);
+    }
+
+    /**
+     * Returns an array backed by the memory-mapped file of ints.
+     * The file is mapped as read-only, so it must not be modified while the array is in use.
+     * @param path the file
+     * @param order the byte order of the file
+     * @return the array
+     * @throws IOException if an I/O error occurs
+     */
+    static IntImmArray mapFile(Path path, ByteOrder order) throws IOException {
+        return IntImmArrayBuffer.map(path, order);
+    }
+
     /**
      * Returns a new array of generating with specified size and generator.
      * @param size array size to generate
@@ -137,28 +186,13 @@ public interface IntImmArray {
 
     /**
      * Returns the concatenated array of all specified arrays.
+     * The result refers to the specified arrays instead of copying their elements.
      * @param first the first array
      * @param rest the rest of arrays
      * @return the concatenated array
      */
     default IntImmArray concat(IntImmArray first, IntImmArray... rest) {
-        final int selfLength = size();
-        final int firstLength = first.size();
-        int newLength = selfLength;
-        newLength += firstLength;
-        for (IntImmArray o : rest) {
-            newLength += o.size();
-        }
-        int[] a = Arrays.copyOf(toArray(), newLength);
-        int p = selfLength;
-        System.arraycopy(first.toArray(), 0, a, p, firstLength);
-        p += firstLength;
-        for (IntImmArray o : rest) {
-            final int length = o.size();
-            System.arraycopy(o.toArray(), 0, a, p, length);
-            p += length;
-        }
-        return of(a);
+        return IntImmArrayConcat.concat(this, first, rest);
     }
 
     /**
@@ -174,6 +208,25 @@ public interface IntImmArray {
      */
     int at(int index);
 
+    /**
+     * Returns a new builder of the array.
+     * @return the builder
+     */
+    static IntImmArrayBuilder builder() {
+        return new IntImmArrayBuilder(0);
+    }
+
+    /**
+     * Returns a new builder of the array with the specified initial capacity.
+     * If exactly that number of elements are added, the array is built without copying.
+     * @param capacity the initial capacity
+     * @return the builder
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    static IntImmArrayBuilder builder(int capacity) {
+        return new IntImmArrayBuilder(capacity);
+    }
+
     /**
      * Returns an empty array.
      * @return the empty array
@@ -354,6 +407,38 @@ public interface IntImmArray {
         return of(Arrays.copyOfRange(toArray(), from, to0 + 1));
     }
 
+    /**
+     * Returns an array which does not share the storage with any other array.
+     * A slice shares the storage with its original array, so use this to release the original one.
+     * @return the array
+     */
+    default IntImmArray compact() {
+        return this;
+    }
+
+    /**
+     * Returns an array which has the same elements in the bit-packed form.
+     * The elements are split into the blocks of 128 elements, and each block stores the differences
+     * from its minimum value in as few bits as the range of the block needs.
+     * This saves the memory if the values in each block are in a small range,
+     * and <code>min</code>, <code>max</code> and <code>sum</code> use the minimum and maximum values of the blocks.
+     * @return the packed array
+     */
+    default IntImmArray packed() {
+        final int[] a = (this instanceof IntImmArrayImpl) ? ((IntImmArrayImpl) this).values : toArray();
+        return IntImmArrayPacked.of(a, 0, a.length);
+    }
+
+    /**
+     * Returns the canonical array which has the same elements as this array.
+     * The canonical arrays are held by weak references in a pool, so that equal arrays can share an instance.
+     * @return the canonical array
+     */
+    default IntImmArray intern() {
+        IntImmArrayImpl a = (this instanceof IntImmArrayImpl) ? (IntImmArrayImpl) this : new IntImmArrayImpl(true, toArray());
+        return InternPool.INT.intern(a);
+    }
+
     /**
      * Returns an array created by applying a function to each of the elements of this array.
      * @param mapper function as a mapper
@@ -365,7 +450,7 @@ public interface IntImmArray {
         for (int i = 0; i < n; i++) {
             a[i] = mapper.applyAsInt(at(i));
         }
-        return of(a);
+        return new IntImmArrayImpl(true, a);
     }
 
     /**
@@ -394,7 +479,7 @@ public interface IntImmArray {
         for (int i = 0; i < n; i++) {
             a[i] = mapper.applyAsLong(at(i));
         }
-        return LongImmArray.of(a);
+        return new LongImmArrayImpl(true, a);
     }
 
     /**
@@ -408,7 +493,7 @@ public interface IntImmArray {
         for (int i = 0; i < n; i++) {
             a[i] = mapper.applyAsDouble(at(i));
         }
-        return DoubleImmArray.of(a);
+        return new DoubleImmArrayImpl(true, a);
     }
 
     /**
@@ -456,19 +541,81 @@ public interface IntImmArray {
 
     /**
      * Returns the result of folding the elements of this array by the specified operator.
+     * The result is <code>f(value, f(at(0), ...f(at(n - 2), at(n - 1))...))</code>.
      * @param value initial value
      * @param f binary operator
      * @return the result
      */
     default int fold(int value, IntBinaryOperator f) {
-        switch (size()) {
-            case 0:
-                return value;
-            case 1:
-                return f.applyAsInt(value, at(0));
-            default:
-                return f.applyAsInt(value, tail().fold(at(0), f));
+        final int n = size();
+        if (n == 0) {
+            return value;
+        }
+        int result = at(n - 1);
+        for (int i = n - 2; i >= 0; i--) {
+            result = f.applyAsInt(at(i), result);
+        }
+        return f.applyAsInt(value, result);
+    }
+
+    /**
+     * Returns the result of folding the elements of this array from the left.
+     * The result is <code>f(...f(f(value, at(0)), at(1))..., at(n - 1))</code>.
+     * @param value initial value
+     * @param f binary operator which takes the accumulated value and an element
+     * @return the result
+     */
+    default int foldLeft(int value, IntBinaryOperator f) {
+        final int n = size();
+        int result = value;
+        for (int i = 0; i < n; i++) {
+            result = f.applyAsInt(result, at(i));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the result of folding the elements of this array from the right.
+     * The result is <code>f(at(0), f(at(1), ...f(at(n - 1), value)...))</code>.
+     * @param value initial value
+     * @param f binary operator which takes an element and the accumulated value
+     * @return the result
+     */
+    default int foldRight(int value, IntBinaryOperator f) {
+        int result = value;
+        for (int i = size() - 1; i >= 0; i--) {
+            result = f.applyAsInt(at(i), result);
         }
+        return result;
+    }
+
+    /**
+     * Returns the result of folding the elements of this array in parallel, using the common pool.
+     * The array is split into the chunks, each chunk is folded from the left starting with the identity,
+     * and then the results are combined in order of the chunks.
+     * So the identity must be an identity for the combiner, and the operators must be associative.
+     * @param identity the identity value
+     * @param f binary operator which takes the accumulated value and an element
+     * @param combiner binary operator to combine the results of the chunks
+     * @return the result
+     */
+    default int parallelFold(int identity, IntBinaryOperator f, IntBinaryOperator combiner) {
+        return parallelFold(identity, f, combiner, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns the result of folding the elements of this array in parallel.
+     * The array is split into the chunks, each chunk is folded from the left starting with the identity,
+     * and then the results are combined in order of the chunks.
+     * So the identity must be an identity for the combiner, and the operators must be associative.
+     * @param identity the identity value
+     * @param f binary operator which takes the accumulated value and an element
+     * @param combiner binary operator to combine the results of the chunks
+     * @param pool pool to run folding tasks
+     * @return the result
+     */
+    default int parallelFold(int identity, IntBinaryOperator f, IntBinaryOperator combiner, ForkJoinPool pool) {
+        return ParallelReductions.fold(this, identity, f, combiner, pool);
     }
 
     /**
@@ -476,7 +623,15 @@ public interface IntImmArray {
      * @return the array
      */
     default IntImmArray distinct() {
-        return of(IntStream.of(toArray()).distinct());
+        return new IntImmArrayImpl(true, IntHashTable.distinct(toArray(), new IntHashTable()));
+    }
+
+    /**
+     * Returns a set of the elements in this array.
+     * @return the set
+     */
+    default IntImmSet toSet() {
+        return IntImmSet.of(toArray());
     }
 
     /**
@@ -494,7 +649,7 @@ public interface IntImmArray {
                 a[p++] = x;
             }
         }
-        return new IntImmArrayImpl(Arrays.copyOf(a, p));
+        return new IntImmArrayImpl(true, Arrays.copyOf(a, p));
     }
 
     /**
@@ -515,7 +670,7 @@ public interface IntImmArray {
      * @return the mean value
      */
     default double average() {
-        return sum() * 1d / size();
+        return sumAsLong() * 1d / size();
     }
 
     /**
@@ -532,14 +687,165 @@ public interface IntImmArray {
      */
     OptionalInt min();
 
+    /**
+     * Returns the sum of elements in this array which is accumulated in long.
+     * Unlike <code>sum()</code>, this does not overflow.
+     * @return the sum
+     */
+    default long sumAsLong() {
+        return ParallelReductions.sum(this, null);
+    }
+
+    /**
+     * Returns the sum of elements in this array in parallel, using the common pool.
+     * This is accumulated in long as well as <code>sumAsLong()</code>.
+     * @return the sum
+     */
+    default long parallelSum() {
+        return parallelSum(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns the sum of elements in this array in parallel.
+     * This is accumulated in long as well as <code>sumAsLong()</code>.
+     * @param pool pool to run reduction tasks
+     * @return the sum
+     */
+    default long parallelSum(ForkJoinPool pool) {
+        return ParallelReductions.sum(this, pool);
+    }
+
+    /**
+     * Returns the mean value of elements in this array in parallel, using the common pool.
+     * @return the mean value
+     */
+    default double parallelAverage() {
+        return parallelAverage(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns the mean value of elements in this array in parallel.
+     * @param pool pool to run reduction tasks
+     * @return the mean value
+     */
+    default double parallelAverage(ForkJoinPool pool) {
+        return parallelSum(pool) * 1d / size();
+    }
+
+    /**
+     * Returns a maximum value as optional in this array in parallel, using the common pool.
+     * @return the maximum value
+     */
+    default OptionalInt parallelMax() {
+        return parallelMax(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns a maximum value as optional in this array in parallel.
+     * @param pool pool to run reduction tasks
+     * @return the maximum value
+     */
+    default OptionalInt parallelMax(ForkJoinPool pool) {
+        return ParallelReductions.max(this, pool);
+    }
+
+    /**
+     * Returns a minimum value as optional in this array in parallel, using the common pool.
+     * @return the minimum value
+     */
+    default OptionalInt parallelMin() {
+        return parallelMin(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns a minimum value as optional in this array in parallel.
+     * @param pool pool to run reduction tasks
+     * @return the minimum value
+     */
+    default OptionalInt parallelMin(ForkJoinPool pool) {
+        return ParallelReductions.min(this, pool);
+    }
+
+    /**
+     * Returns the median of elements in this array.
+     * If the size is even, returns the mean of the two middle elements.
+     * @return the median, or empty optional if this array is empty
+     */
+    default OptionalDouble median() {
+        return quantile(0.5d);
+    }
+
+    /**
+     * Returns the quantile of elements in this array, in expected linear time without sorting.
+     * The value is interpolated linearly between the closest ranks, as the default of R and NumPy.
+     * @param q the quantile, between 0 and 1
+     * @return the quantile, or empty optional if this array is empty
+     * @throws IllegalArgumentException if q is not between 0 and 1
+     */
+    default OptionalDouble quantile(double q) {
+        Selection.checkQuantile(q);
+        if (isEmpty()) {
+            return OptionalDouble.empty();
+        }
+        return OptionalDouble.of(Selection.quantile(toArray(), q));
+    }
+
+    /**
+     * Returns the quantiles of elements in this array at once, which partitions a copy of this array only once.
+     * Each value is same as <code>quantile(q)</code>, or NaN if this array is empty.
+     * @param qs the quantiles, between 0 and 1
+     * @return the array of quantiles in the specified order
+     * @throws IllegalArgumentException if any of qs is not between 0 and 1
+     */
+    default DoubleImmArray quantiles(double... qs) {
+        return new DoubleImmArrayImpl(true, Selection.quantiles(toArray(), qs));
+    }
+
+    /**
+     * Returns the summary statistics of elements in this array, which are computed in one pass.
+     * @return the statistics
+     */
+    default Statistics stats() {
+        return Statistics.of(this, null);
+    }
+
+    /**
+     * Returns the summary statistics of elements in this array in parallel, using the common pool.
+     * The result is same as <code>stats()</code> regardless of the parallelism.
+     * @return the statistics
+     */
+    default Statistics parallelStats() {
+        return parallelStats(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns the summary statistics of elements in this array in parallel.
+     * The result is same as <code>stats()</code> regardless of the parallelism.
+     * @param pool pool to run reduction tasks
+     * @return the statistics
+     */
+    default Statistics parallelStats(ForkJoinPool pool) {
+        return Statistics.of(this, pool);
+    }
+
     /**
      * Returns new array which is sorted this array in natural order.
      * @return the sorted array
      */
-    default IntImmArray sort() {
+    default SortedIntImmArray sort() {
         int[] a = toArray();
-        Arrays.sort(a);
-        return of(a);
+        Sorting.sortNatural(a, 0, a.length, false);
+        return new SortedIntImmArrayImpl(a, 0, a.length);
+    }
+
+    /**
+     * Returns this array as a sorted array, which supports the lookups by binary search.
+     * This checks that the elements are in ascending order.
+     * @return the sorted array
+     * @throws IllegalStateException if this array is not sorted
+     */
+    default SortedIntImmArray asSorted() {
+        return SortedIntImmArrayImpl.checked(toArray());
     }
 
     /**
@@ -560,6 +866,105 @@ public interface IntImmArray {
      */
     IntImmArray sortWith(int fromIndex, int toIndex, IntComparator cmp);
 
+    /**
+     * Returns new array which is sorted this array in natural order in parallel.
+     * @return the sorted array
+     */
+    default IntImmArray parallelSort() {
+        return parallelSortWith(IntComparator.NATURAL);
+    }
+
+    /**
+     * Returns new array which is sorted this array with specified order in parallel, using the common pool.
+     * @param cmp order
+     * @return the sorted array
+     */
+    default IntImmArray parallelSortWith(IntComparator cmp) {
+        final ForkJoinPool pool = ForkJoinPool.commonPool();
+        return parallelSortWith(cmp, pool, ParallelSorting.defaultThreshold(size(), pool));
+    }
+
+    /**
+     * Returns new array which is sorted this array with specified order in parallel.
+     * The ranges whose length is not greater than the threshold are sorted sequentially.
+     * @param cmp order
+     * @param pool pool to run sorting tasks
+     * @param threshold maximum length of the range to sort sequentially
+     * @return the sorted array
+     * @throws IllegalArgumentException if the threshold is not positive
+     */
+    default IntImmArray parallelSortWith(IntComparator cmp, ForkJoinPool pool, int threshold) {
+        int[] a = toArray();
+        ParallelSorting.sort(a, cmp, pool, threshold);
+        return new IntImmArrayImpl(true, a);
+    }
+
+    /**
+     * Returns the k smallest elements of this array in ascending order, without sorting the whole array.
+     * @param k number of elements
+     * @return the array, which has the same elements as <code>sort().take(k)</code>
+     * @throws IllegalArgumentException if k is negative
+     */
+    default IntImmArray bottomK(int k) {
+        return bottomK(k, IntComparator.NATURAL);
+    }
+
+    /**
+     * Returns the k smallest elements of this array with specified order, without sorting the whole array.
+     * @param k number of elements
+     * @param cmp order
+     * @return the array, which has the same elements as <code>sortWith(cmp).take(k)</code>
+     * @throws IllegalArgumentException if k is negative
+     */
+    default IntImmArray bottomK(int k, IntComparator cmp) {
+        return new IntImmArrayImpl(true, Selection.smallest(this, k, cmp, null));
+    }
+
+    /**
+     * Returns the k largest elements of this array in descending order, without sorting the whole array.
+     * @param k number of elements
+     * @return the array
+     * @throws IllegalArgumentException if k is negative
+     */
+    default IntImmArray topK(int k) {
+        return bottomK(k, IntComparator.REVERSE);
+    }
+
+    /**
+     * Returns the k largest elements of this array with specified order, the result is in descending order.
+     * @param k number of elements
+     * @param cmp order
+     * @return the array
+     * @throws IllegalArgumentException if k is negative
+     */
+    default IntImmArray topK(int k, IntComparator cmp) {
+        return bottomK(k, Selection.reversedInt(cmp));
+    }
+
+    /**
+     * Returns the k smallest elements of this array with specified order in parallel, using the common pool.
+     * The results of the chunks are merged.
+     * @param k number of elements
+     * @param cmp order
+     * @return the array
+     * @throws IllegalArgumentException if k is negative
+     */
+    default IntImmArray parallelBottomK(int k, IntComparator cmp) {
+        return new IntImmArrayImpl(true, Selection.smallest(this, k, cmp, ForkJoinPool.commonPool()));
+    }
+
+    /**
+     * Returns the k largest elements of this array with specified order in parallel, using the common pool.
+     * The results of the chunks are merged.
+     * @param k number of elements
+     * @param cmp order
+     * @return the array
+     * @throws IllegalArgumentException if k is negative
+     */
+    default IntImmArray parallelTopK(int k, IntComparator cmp) {
+        return parallelBottomK(k, Selection.reversedInt(cmp));
+    }
+
     /**
      * Returns new array which is reversed the order of elements in this array.
      * @return the array
@@ -573,7 +978,7 @@ public interface IntImmArray {
             a[j] = a[i];
             a[i] = x;
         }
-        return of(a);
+        return new IntImmArrayImpl(true, a);
     }
 
     /**
@@ -582,12 +987,45 @@ public interface IntImmArray {
      */
     int[] toArray();
 
+    /**
+     * Returns the iterator over the elements in this array.
+     * @return the iterator
+     */
+    default PrimitiveIterator.OfInt iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    /**
+     * Returns the spliterator over the elements in this array.
+     * @return the spliterator
+     */
+    default Spliterator.OfInt spliterator() {
+        return new ImmArraySpliterators.IntSpliterator(this, 0, size());
+    }
+
     /**
      * Returns the stream which consist same elements in this array.
      * @return the stream
      */
     default IntStream stream() {
-        return IntStream.of(toArray());
+        return StreamSupport.intStream(spliterator(), false);
+    }
+
+    /**
+     * Returns the parallel stream which consist same elements in this array.
+     * @return the parallel stream
+     */
+    default IntStream parallelStream() {
+        return StreamSupport.intStream(spliterator(), true);
+    }
+
+    /**
+     * Returns a lazy view of this array.
+     * The operations of the view are not evaluated until a terminal operation is called.
+     * @return the view
+     */
+    default IntImmArrayView view() {
+        return IntImmArrayView.of(this);
     }
 
     /**
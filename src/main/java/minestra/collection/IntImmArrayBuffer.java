@@ -0,0 +1,218 @@
+package minestra.collection;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.OptionalInt;
+import java.util.function.IntConsumer;
+
+/**
+ * An int array backed by buffers, such as direct buffers or memory-mapped files.
+ * The elements are split into the chunks of <code>1 &lt;&lt; CHUNK_SHIFT</code> elements,
+ * because a buffer cannot be larger than 2GB.
+ */
+final class IntImmArrayBuffer implements IntImmArray {
+
+    static final int CHUNK_SHIFT = 27;
+    static final int CHUNK_MASK = (1 << CHUNK_SHIFT) - 1;
+
+    private final IntBuffer[] chunks;
+    private final int offset;
+    private final int length;
+
+    private IntImmArrayBuffer(IntBuffer[] chunks, int offset, int length) {
+        this.chunks = chunks;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    static IntImmArray wrap(ByteBuffer buffer) {
+        IntBuffer b = buffer.duplicate().order(buffer.order()).asIntBuffer().asReadOnlyBuffer();
+        final int n = b.remaining();
+        if (n > CHUNK_MASK + 1) {
+            IntBuffer[] chunks = new IntBuffer[((n - 1) >>> CHUNK_SHIFT) + 1];
+            for (int i = 0; i < chunks.length; i++) {
+                b.limit(Math.min(n, (i + 1) << CHUNK_SHIFT)).position(i << CHUNK_SHIFT);
+                chunks[i] = b.slice();
+            }
+            return new IntImmArrayBuffer(chunks, 0, n);
+        }
+        return new IntImmArrayBuffer(new IntBuffer[] { b.slice() }, 0, n);
+    }
+
+    static IntImmArray map(Path path, ByteOrder order) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long bytes = channel.size();
+            if (bytes % Integer.BYTES != 0) {
+                throw new IllegalArgumentException("file size is not a multiple of " + Integer.BYTES + ": " + bytes);
+            }
+            final long n = bytes / Integer.BYTES;
+            if (n > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("too many elements: " + n);
+            }
+            final int chunkCount = (n == 0) ? 0 : (int) ((n - 1) >>> CHUNK_SHIFT) + 1;
+            IntBuffer[] chunks = new IntBuffer[chunkCount];
+            for (int i = 0; i < chunkCount; i++) {
+                final long position = ((long) i << CHUNK_SHIFT) * Integer.BYTES;
+                final long size = Math.min(bytes - position, (long) (CHUNK_MASK + 1) * Integer.BYTES);
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, size).order(order).asIntBuffer();
+            }
+            return new IntImmArrayBuffer(chunks, 0, (int) n);
+        }
+    }
+
+    private int get(int index) {
+        final int i = offset + index;
+        return chunks[i >>> CHUNK_SHIFT].get(i & CHUNK_MASK);
+    }
+
+    @Override
+    public int size() {
+        return length;
+    }
+
+    @Override
+    public int at(int index) {
+        if (index < 0 || index >= length) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+        return get(index);
+    }
+
+    @Override
+    public IntImmArray slice(int from, int to) {
+        final int to0 = ((to < length - 1) ? to : length - 1) + 1;
+        if (from > to0) {
+            throw new IllegalArgumentException(from + " > " + to0);
+        }
+        if (from < 0) {
+            throw new ArrayIndexOutOfBoundsException(from);
+        }
+        final int n = to0 - from;
+        return (n == 0) ? IntImmArrayImpl.EMPTY : new IntImmArrayBuffer(chunks, offset + from, n);
+    }
+
+    @Override
+    public IntImmArray compact() {
+        return new IntImmArrayImpl(true, toArray());
+    }
+
+    @Override
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < length; i++) {
+            action.accept(get(i));
+        }
+    }
+
+    @Override
+    public int sum() {
+        final int n = size();
+        if (n == 0) {
+            return 0;
+        }
+        int sum = get(0);
+        for (int i = 1; i < n; i++) {
+            sum += get(i);
+        }
+        return sum;
+    }
+
+    @Override
+    public int product() {
+        final int n = size();
+        if (n == 0) {
+            return 0;
+        }
+        int product = get(0);
+        for (int i = 1; i < n; i++) {
+            product *= get(i);
+        }
+        return product;
+    }
+
+    @Override
+    public OptionalInt max() {
+        final int n = size();
+        if (n == 0) {
+            return OptionalInt.empty();
+        }
+        int max = get(0);
+        for (int i = 1; i < n; i++) {
+            final int x = get(i);
+            if (x > max) {
+                max = x;
+            }
+        }
+        return OptionalInt.of(max);
+    }
+
+    @Override
+    public OptionalInt min() {
+        final int n = size();
+        if (n == 0) {
+            return OptionalInt.empty();
+        }
+        int min = get(0);
+        for (int i = 1; i < n; i++) {
+            final int x = get(i);
+            if (x < min) {
+                min = x;
+            }
+        }
+        return OptionalInt.of(min);
+    }
+
+    @Override
+    public IntImmArray sortWith(int fromIndex, int toIndex, IntComparator cmp) {
+        int[] a = toArray();
+        IntImmArrayImpl.sortWith0(a, fromIndex, toIndex, cmp);
+        return new IntImmArrayImpl(true, a);
+    }
+
+    /**
+     * Copies the elements in the range into the array.
+     */
+    void copyTo(int from, int to, int[] dst, int dstPos) {
+        for (int p = from; p < to;) {
+            final int i = offset + p;
+            final int start = i & CHUNK_MASK;
+            // the duplicate keeps the position of the shared buffer
+            IntBuffer chunk = chunks[i >>> CHUNK_SHIFT].duplicate();
+            final int n = Math.min(chunk.limit() - start, to - p);
+            chunk.position(start);
+            chunk.get(dst, dstPos + p - from, n);
+            p += n;
+        }
+    }
+
+    @Override
+    public int[] toArray() {
+        int[] a = new int[length];
+        copyTo(0, length, a, 0);
+        return a;
+    }
+
+    @Override
+    public int hashCode() {
+        return IntImmArrayImpl.contentHashCode(this);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        return (obj instanceof IntImmArray) && IntImmArrayImpl.contentEquals(this, (IntImmArray) obj);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+}
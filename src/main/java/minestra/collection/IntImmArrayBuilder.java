@@ -0,0 +1,103 @@
+package minestra.collection;
+
+import java.nio.IntBuffer;
+import java.util.stream.IntStream;
+
+/**
+ * A builder of <code>IntImmArray</code>.
+ * The elements are stored in the chunks, so the added elements are never copied while the builder grows.
+ * If the elements fill the initial capacity exactly, <code>build()</code> creates the array without copying.
+ */
+public final class IntImmArrayBuilder {
+
+    private final IntChunks chunks;
+
+    IntImmArrayBuilder(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative: " + capacity);
+        }
+        this.chunks = new IntChunks(capacity);
+    }
+
+    /**
+     * Returns the number of the added elements.
+     * @return the number of elements
+     */
+    public int size() {
+        return chunks.size();
+    }
+
+    /**
+     * Adds the value.
+     * @param value value
+     * @return this builder
+     */
+    public IntImmArrayBuilder add(int value) {
+        chunks.add(value);
+        return this;
+    }
+
+    /**
+     * Adds the values.
+     * @param values values
+     * @return this builder
+     */
+    public IntImmArrayBuilder addAll(int... values) {
+        chunks.addAll(values, 0, values.length);
+        return this;
+    }
+
+    /**
+     * Adds the elements of the array.
+     * @param arr array
+     * @return this builder
+     */
+    public IntImmArrayBuilder addAll(IntImmArray arr) {
+        if (arr instanceof IntImmArrayImpl) {
+            final int[] a = ((IntImmArrayImpl) arr).values;
+            chunks.addAll(a, 0, a.length);
+        }
+        else if (arr instanceof IntImmArraySlice) {
+            IntImmArraySlice o = (IntImmArraySlice) arr;
+            chunks.addAll(o.values, o.offset, o.offset + o.length);
+        }
+        else {
+            final int[] a = arr.toArray();
+            chunks.addAll(a, 0, a.length);
+        }
+        return this;
+    }
+
+    /**
+     * Adds the remaining elements of the buffer.
+     * The position of the buffer is not changed.
+     * @param buffer buffer
+     * @return this builder
+     */
+    public IntImmArrayBuilder addAll(IntBuffer buffer) {
+        chunks.addAll(buffer.duplicate());
+        return this;
+    }
+
+    /**
+     * Adds the elements of the stream in order of the stream.
+     * If the stream is parallel, the elements are accumulated in parallel and then linked without copying.
+     * @param stream stream
+     * @return this builder
+     */
+    public IntImmArrayBuilder addAll(IntStream stream) {
+        chunks.append(stream.collect(IntChunks::new, IntChunks::add, IntChunks::append));
+        return this;
+    }
+
+    /**
+     * Returns the array of the added elements.
+     * The builder can be used after this, and it does not affect the built arrays.
+     * @return the array
+     */
+    public IntImmArray build() {
+        final int[] a = chunks.toArray();
+        return (a.length == 0) ? IntImmArrayImpl.EMPTY : new IntImmArrayImpl(true, a);
+    }
+
+}
@@ -0,0 +1,291 @@
+package minestra.collection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.function.IntConsumer;
+
+/**
+ * A concatenation of int arrays which keeps the references to its parts instead of copying them.
+ * The element at an index is found by the binary search of the cumulative offsets of the parts.
+ */
+final class IntImmArrayConcat implements IntImmArray {
+
+    private final IntImmArray[] parts;
+    private final int[] offsets;
+    private final int depth;
+
+    private IntImmArrayConcat(IntImmArray[] parts, int[] offsets, int depth) {
+        this.parts = parts;
+        this.offsets = offsets;
+        this.depth = depth;
+    }
+
+    static IntImmArray concat(IntImmArray self, IntImmArray first, IntImmArray... rest) {
+        List<IntImmArray> a = new ArrayList<>(rest.length + 2);
+        a.add(self);
+        a.add(first);
+        Collections.addAll(a, rest);
+        return of(a);
+    }
+
+    static IntImmArray of(List<IntImmArray> list) {
+        List<IntImmArray> a = new ArrayList<>(list.size());
+        long length = 0L;
+        int depth = 0;
+        for (IntImmArray o : list) {
+            final int n = o.size();
+            if (n > 0) {
+                a.add(o);
+                length += n;
+                depth = Math.max(depth, depthOf(o));
+            }
+        }
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("too large to concatenate: " + length);
+        }
+        if (a.size() == 1) {
+            return a.get(0);
+        }
+        if (length <= ImmArrayConcat.MIN_LENGTH) {
+            return new IntImmArrayImpl(true, copyOf(a, (int) length));
+        }
+        if (depth >= ImmArrayConcat.MAX_DEPTH) {
+            List<IntImmArray> leaves = new ArrayList<>();
+            for (IntImmArray o : a) {
+                addLeaves(leaves, o);
+            }
+            a = coalesce(leaves);
+            depth = 0;
+        }
+        IntImmArray[] parts = a.toArray(new IntImmArray[a.size()]);
+        int[] offsets = new int[parts.length + 1];
+        for (int i = 0; i < parts.length; i++) {
+            offsets[i + 1] = offsets[i] + parts[i].size();
+        }
+        return new IntImmArrayConcat(parts, offsets, depth + 1);
+    }
+
+    private static int depthOf(IntImmArray a) {
+        return (a instanceof IntImmArrayConcat) ? ((IntImmArrayConcat) a).depth : 0;
+    }
+
+    private static void addLeaves(List<IntImmArray> leaves, IntImmArray a) {
+        if (a instanceof IntImmArrayConcat) {
+            for (IntImmArray o : ((IntImmArrayConcat) a).parts) {
+                addLeaves(leaves, o);
+            }
+        }
+        else {
+            leaves.add(a);
+        }
+    }
+
+    /**
+     * Returns the list that the adjacent short arrays are joined into one array.
+     * @param leaves the arrays which are not the concatenation
+     * @return the list
+     */
+    private static List<IntImmArray> coalesce(List<IntImmArray> leaves) {
+        List<IntImmArray> a = new ArrayList<>(leaves.size());
+        List<IntImmArray> run = new ArrayList<>();
+        int runLength = 0;
+        for (IntImmArray o : leaves) {
+            final int n = o.size();
+            if (n < ImmArrayConcat.MIN_LENGTH && runLength + n <= ImmArrayConcat.MIN_LENGTH) {
+                run.add(o);
+                runLength += n;
+                continue;
+            }
+            flush(a, run, runLength);
+            runLength = 0;
+            if (n < ImmArrayConcat.MIN_LENGTH) {
+                run.add(o);
+                runLength = n;
+            }
+            else {
+                a.add(o);
+            }
+        }
+        flush(a, run, runLength);
+        return a;
+    }
+
+    private static void flush(List<IntImmArray> a, List<IntImmArray> run, int runLength) {
+        if (run.size() == 1) {
+            a.add(run.get(0));
+        }
+        else if (run.size() > 1) {
+            a.add(new IntImmArrayImpl(true, copyOf(run, runLength)));
+        }
+        run.clear();
+    }
+
+    private static int[] copyOf(List<IntImmArray> list, int length) {
+        int[] a = new int[length];
+        int p = 0;
+        for (IntImmArray o : list) {
+            p = copyTo(o, a, p);
+        }
+        return a;
+    }
+
+    /**
+     * Copies the elements of the array into the destination without the defensive copy if possible.
+     * @param src the array
+     * @param dest the destination
+     * @param pos the start position in the destination
+     * @return the next position in the destination
+     */
+    static int copyTo(IntImmArray src, int[] dest, int pos) {
+        if (src instanceof IntImmArrayImpl) {
+            int[] values = ((IntImmArrayImpl) src).values;
+            System.arraycopy(values, 0, dest, pos, values.length);
+            return pos + values.length;
+        }
+        if (src instanceof IntImmArraySlice) {
+            IntImmArraySlice o = (IntImmArraySlice) src;
+            System.arraycopy(o.values, o.offset, dest, pos, o.length);
+            return pos + o.length;
+        }
+        if (src instanceof IntImmArrayConcat) {
+            int p = pos;
+            for (IntImmArray o : ((IntImmArrayConcat) src).parts) {
+                p = copyTo(o, dest, p);
+            }
+            return p;
+        }
+        int[] values = src.toArray();
+        System.arraycopy(values, 0, dest, pos, values.length);
+        return pos + values.length;
+    }
+
+    private int partIndex(int index) {
+        final int i = Arrays.binarySearch(offsets, 0, parts.length, index);
+        return (i >= 0) ? i : -i - 2;
+    }
+
+    @Override
+    public int size() {
+        return offsets[parts.length];
+    }
+
+    @Override
+    public int at(int index) {
+        if (index < 0 || index >= size()) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+        final int k = partIndex(index);
+        return parts[k].at(index - offsets[k]);
+    }
+
+    @Override
+    public IntImmArray slice(int from, int to) {
+        final int length = size();
+        final int to0 = ((to < length - 1) ? to : length - 1) + 1;
+        if (from > to0) {
+            throw new IllegalArgumentException(from + " > " + to0);
+        }
+        if (from < 0) {
+            throw new ArrayIndexOutOfBoundsException(from);
+        }
+        if (from == to0) {
+            return IntImmArrayImpl.EMPTY;
+        }
+        final int k1 = partIndex(from);
+        final int k2 = partIndex(to0 - 1);
+        if (k1 == k2) {
+            return parts[k1].slice(from - offsets[k1], to0 - 1 - offsets[k1]);
+        }
+        List<IntImmArray> a = new ArrayList<>(k2 - k1 + 1);
+        a.add(parts[k1].slice(from - offsets[k1], Integer.MAX_VALUE));
+        for (int k = k1 + 1; k < k2; k++) {
+            a.add(parts[k]);
+        }
+        a.add(parts[k2].slice(0, to0 - 1 - offsets[k2]));
+        return of(a);
+    }
+
+    @Override
+    public IntImmArray compact() {
+        return new IntImmArrayImpl(true, toArray());
+    }
+
+    @Override
+    public void forEach(IntConsumer action) {
+        for (IntImmArray o : parts) {
+            o.forEach(action);
+        }
+    }
+
+    @Override
+    public int sum() {
+        int sum = 0;
+        for (IntImmArray o : parts) {
+            sum += o.sum();
+        }
+        return sum;
+    }
+
+    @Override
+    public int product() {
+        int product = 1;
+        for (IntImmArray o : parts) {
+            product *= o.product();
+        }
+        return product;
+    }
+
+    @Override
+    public OptionalInt max() {
+        int max = Integer.MIN_VALUE;
+        for (IntImmArray o : parts) {
+            max = Math.max(max, o.max().getAsInt());
+        }
+        return OptionalInt.of(max);
+    }
+
+    @Override
+    public OptionalInt min() {
+        int min = Integer.MAX_VALUE;
+        for (IntImmArray o : parts) {
+            min = Math.min(min, o.min().getAsInt());
+        }
+        return OptionalInt.of(min);
+    }
+
+    @Override
+    public IntImmArray sortWith(int fromIndex, int toIndex, IntComparator cmp) {
+        int[] a = toArray();
+        IntImmArrayImpl.sortWith0(a, fromIndex, toIndex, cmp);
+        return new IntImmArrayImpl(true, a);
+    }
+
+    @Override
+    public int[] toArray() {
+        int[] a = new int[size()];
+        copyTo(this, a, 0);
+        return a;
+    }
+
+    @Override
+    public int hashCode() {
+        return IntImmArrayImpl.contentHashCode(this);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        return (obj instanceof IntImmArray) && IntImmArrayImpl.contentEquals(this, (IntImmArray) obj);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+}
@@ -2,13 +2,23 @@ package minestra.collection;
 
 import java.util.Arrays;
 import java.util.OptionalInt;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
 import java.util.function.IntPredicate;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
 
 final class IntImmArrayImpl implements IntImmArray {
 
     static final IntImmArray EMPTY = new IntImmArrayImpl();
 
     final int[] values;
+    private int hash;
+    private long contentHash;
 
     IntImmArrayImpl(int... a) {
         this(false, a);
@@ -39,23 +49,151 @@ final class IntImmArrayImpl implements IntImmArray {
                 a[p++] = x;
             }
         }
-        return new IntImmArrayImpl(Arrays.copyOf(a, p));
+        return new IntImmArrayImpl(true, Arrays.copyOf(a, p));
     }
 
     @Override
-    public int sum() {
-        final int n = size();
-        if (n == 0) {
-            return 0;
+    public void forEach(IntConsumer action) {
+        for (final int x : values) {
+            action.accept(x);
         }
-        if (n == 1) {
-            return values[0];
+    }
+
+    @Override
+    public boolean exists(IntPredicate pred) {
+        for (final int x : values) {
+            if (pred.test(x)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean contains(int value) {
+        return indexOf(value) >= 0;
+    }
+
+    @Override
+    public OptionalInt find(IntPredicate pred, int start) {
+        final int n = values.length;
+        for (int i = start; i < n; i++) {
+            final int value = values[i];
+            if (pred.test(value)) {
+                return OptionalInt.of(value);
+            }
+        }
+        return OptionalInt.empty();
+    }
+
+    @Override
+    public int indexOf(int value) {
+        final int n = values.length;
+        for (int i = 0; i < n; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int indexWhere(IntPredicate pred) {
+        final int n = values.length;
+        for (int i = 0; i < n; i++) {
+            if (pred.test(values[i])) {
+                return i;
+            }
         }
-        int sum = values[0];
+        return -1;
+    }
+
+    @Override
+    public IntImmArray map(IntUnaryOperator mapper) {
+        final int n = values.length;
+        int[] a = new int[n];
+        for (int i = 0; i < n; i++) {
+            a[i] = mapper.applyAsInt(values[i]);
+        }
+        return new IntImmArrayImpl(true, a);
+    }
+
+    @Override
+    public <R> ImmArray<R> mapToObj(IntFunction<R> mapper) {
+        final int n = values.length;
+        @SuppressWarnings("unchecked")
+        R[] a = (R[]) new Object[n];
+        for (int i = 0; i < n; i++) {
+            a[i] = mapper.apply(values[i]);
+        }
+        return new ImmArrayImpl<>(true, a);
+    }
+
+    @Override
+    public LongImmArray mapToLong(IntToLongFunction mapper) {
+        final int n = values.length;
+        long[] a = new long[n];
+        for (int i = 0; i < n; i++) {
+            a[i] = mapper.applyAsLong(values[i]);
+        }
+        return new LongImmArrayImpl(true, a);
+    }
+
+    @Override
+    public DoubleImmArray mapToDouble(IntToDoubleFunction mapper) {
+        final int n = values.length;
+        double[] a = new double[n];
+        for (int i = 0; i < n; i++) {
+            a[i] = mapper.applyAsDouble(values[i]);
+        }
+        return new DoubleImmArrayImpl(true, a);
+    }
+
+    @Override
+    public OptionalInt reduce(IntBinaryOperator op) {
+        final int n = values.length;
+        if (n == 0) {
+            return OptionalInt.empty();
+        }
+        int result = values[0];
         for (int i = 1; i < n; i++) {
-            sum += values[i];
+            result = op.applyAsInt(result, values[i]);
+        }
+        return OptionalInt.of(result);
+    }
+
+    @Override
+    public int reduce(int identity, IntBinaryOperator op) {
+        int result = identity;
+        for (final int x : values) {
+            result = op.applyAsInt(result, x);
+        }
+        return result;
+    }
+
+    @Override
+    public IntImmArray distinct() {
+        return new IntImmArrayImpl(true, IntHashTable.distinct(values, new IntHashTable()));
+    }
+
+    @Override
+    public IntImmSet toSet() {
+        return IntImmSetImpl.of(values);
+    }
+
+    @Override
+    public IntImmArray reverse() {
+        final int n = values.length;
+        int[] a = new int[n];
+        for (int i = 0, j = n - 1; i < n; i++, j--) {
+            a[i] = values[j];
         }
-        return sum;
+        return new IntImmArrayImpl(true, a);
+    }
+
+    @Override
+    public int sum() {
+        return Kernels.sum(values, 0, values.length);
     }
 
     @Override
@@ -80,16 +218,7 @@ final class IntImmArrayImpl implements IntImmArray {
         if (n == 0) {
             return OptionalInt.empty();
         }
-        if (n == 1) {
-            return OptionalInt.of(values[0]);
-        }
-        int max = values[0];
-        for (int i = 1; i < n; i++) {
-            if (values[i] > max) {
-                max = values[i];
-            }
-        }
-        return OptionalInt.of(max);
+        return OptionalInt.of(Kernels.max(values, 0, n));
     }
 
     @Override
@@ -98,67 +227,28 @@ final class IntImmArrayImpl implements IntImmArray {
         if (n == 0) {
             return OptionalInt.empty();
         }
-        if (n == 1) {
-            return OptionalInt.of(values[0]);
-        }
-        int min = values[0];
-        for (int i = 1; i < n; i++) {
-            if (values[i] < min) {
-                min = values[i];
-            }
-        }
-        return OptionalInt.of(min);
+        return OptionalInt.of(Kernels.min(values, 0, n));
+    }
+
+    @Override
+    public IntImmArray slice(int from, int to) {
+        return IntImmArraySlice.slice(values, 0, values.length, from, to);
     }
 
     @Override
     public IntImmArray sortWith(int fromIndex, int toIndex, IntComparator cmp) {
         int[] a = toArray();
         sortWith0(a, fromIndex, toIndex, cmp);
-        return new IntImmArrayImpl(a);
+        return new IntImmArrayImpl(true, a);
     }
 
     static void sortWith0(int[] a, int fromIndex, int toIndex, IntComparator cmp) {
-        final int length = toIndex - fromIndex + 1;
-        if (length < 2) {
-            return;
-        }
-        if (length == 2) {
-            if (cmp.gt(a[fromIndex], a[toIndex])) {
-                int x = a[fromIndex];
-                a[fromIndex] = a[toIndex];
-                a[toIndex] = x;
-            }
-            return;
-        }
-        // FIXME bad performance
-        final int pivot = a[fromIndex];
-        int p1 = 0;
-        int p2 = 0;
-        int[] a1 = new int[length];
-        int[] a2 = new int[length];
-        for (int i = fromIndex + 1; i <= toIndex; i++) {
-            final int v = a[i];
-            if (cmp.lt(v, pivot)) {
-                a1[p1++] = v;
-            }
-            else {
-                a2[p2++] = v;
-            }
-        }
-        int p = fromIndex;
-        for (int i = 0; i < p1; i++) {
-            a[p++] = a1[i];
-        }
-        a[p++] = pivot;
-        for (int i = 0; i < p2; i++) {
-            a[p++] = a2[i];
-        }
-        if (p1 > 0) {
-            sortWith0(a, fromIndex, fromIndex + p1 - 1, cmp);
-        }
-        if (p2 > 0) {
-            sortWith0(a, fromIndex + p1 + 1, toIndex, cmp);
-        }
+        Sorting.sort(a, fromIndex, toIndex + 1, cmp);
+    }
+
+    @Override
+    public Spliterator.OfInt spliterator() {
+        return Spliterators.spliterator(values, 0, values.length, ImmArraySpliterators.PRIMITIVE_CHARACTERISTICS);
     }
 
     @Override
@@ -168,12 +258,28 @@ final class IntImmArrayImpl implements IntImmArray {
 
     @Override
     public int hashCode() {
-        final int prime = 31;
-        int result = 1;
-        result = prime * result + Arrays.hashCode(values);
+        int result = hash;
+        if (result == 0) {
+            final int prime = 31;
+            result = prime + Arrays.hashCode(values);
+            hash = result;
+        }
         return result;
     }
 
+    /**
+     * Returns the 64-bit hash of the elements, which is computed once and cached.
+     * @return the hash
+     */
+    long contentHash() {
+        long h = contentHash;
+        if (h == 0L) {
+            h = InternPool.hash(values);
+            contentHash = h;
+        }
+        return h;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) {
@@ -182,16 +288,60 @@ final class IntImmArrayImpl implements IntImmArray {
         if (obj == null) {
             return false;
         }
+        if (obj instanceof IntImmArraySlice) {
+            return obj.equals(this);
+        }
         if (getClass() != obj.getClass()) {
-            return false;
+            return (obj instanceof IntImmArray) && contentEquals(this, (IntImmArray) obj);
         }
         IntImmArrayImpl other = (IntImmArrayImpl) obj;
+        if (hash != 0 && other.hash != 0 && hash != other.hash) {
+            return false;
+        }
+        if (contentHash != 0L && other.contentHash != 0L && contentHash != other.contentHash) {
+            return false;
+        }
         if (!Arrays.equals(values, other.values)) {
             return false;
         }
         return true;
     }
 
+    /**
+     * Returns whether the two arrays have the same elements in the same order.
+     * This is used to compare the arrays which have the different implementations.
+     * @param a the array
+     * @param b the other array
+     * @return <code>true</code> if these are equal
+     */
+    static boolean contentEquals(IntImmArray a, IntImmArray b) {
+        final int n = a.size();
+        if (n != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < n; i++) {
+            if (a.at(i) != b.at(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the hash code of the elements which is consistent with <code>hashCode()</code> of this class.
+     * @param a the array
+     * @return the hash code
+     */
+    static int contentHashCode(IntImmArray a) {
+        final int prime = 31;
+        final int n = a.size();
+        int h = 1;
+        for (int i = 0; i < n; i++) {
+            h = prime * h + a.at(i);
+        }
+        return prime + h;
+    }
+
     @Override
     public String toString() {
         return Arrays.toString(values);
@@ -0,0 +1,298 @@
+package minestra.collection;
+
+import java.util.Arrays;
+import java.util.OptionalInt;
+import java.util.function.IntConsumer;
+
+/**
+ * A bit-packed int array.
+ * The elements are split into the blocks of <code>BLOCK_SIZE</code> elements,
+ * and each block stores the differences from its minimum value (frame of reference) in the fixed number of bits,
+ * which is the width of the range of the block.
+ * A block starts at the boundary of the words, so an element can be read from the block index and its position.
+ * The minimum and maximum values of the blocks are also used for aggregation and search.
+ */
+final class IntImmArrayPacked implements IntImmArray {
+
+    static final int BLOCK_SHIFT = 7;
+    static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+    static final int BLOCK_MASK = BLOCK_SIZE - 1;
+
+    private final int length;
+    private final int[] mins;
+    private final int[] maxs;
+    private final byte[] widths;
+    // the index of the first word of each block
+    private final int[] offsets;
+    private final long[] words;
+
+    private IntImmArrayPacked(int length, int[] mins, int[] maxs, byte[] widths, int[] offsets, long[] words) {
+        this.length = length;
+        this.mins = mins;
+        this.maxs = maxs;
+        this.widths = widths;
+        this.offsets = offsets;
+        this.words = words;
+    }
+
+    static IntImmArray of(int[] a, int from, int to) {
+        final int n = to - from;
+        if (n == 0) {
+            return IntImmArrayImpl.EMPTY;
+        }
+        final int blockCount = ((n - 1) >>> BLOCK_SHIFT) + 1;
+        int[] mins = new int[blockCount];
+        int[] maxs = new int[blockCount];
+        byte[] widths = new byte[blockCount];
+        int[] offsets = new int[blockCount];
+        int wordCount = 0;
+        for (int b = 0; b < blockCount; b++) {
+            final int start = from + (b << BLOCK_SHIFT);
+            final int end = Math.min(start + BLOCK_SIZE, to);
+            final int min = Kernels.min(a, start, end);
+            final int max = Kernels.max(a, start, end);
+            final int width = 64 - Long.numberOfLeadingZeros((long) max - min);
+            mins[b] = min;
+            maxs[b] = max;
+            widths[b] = (byte) width;
+            offsets[b] = wordCount;
+            // a block uses (BLOCK_SIZE * width / 64) words
+            wordCount += width << (BLOCK_SHIFT - 6);
+        }
+        long[] words = new long[wordCount];
+        for (int b = 0; b < blockCount; b++) {
+            final int width = widths[b];
+            if (width == 0) {
+                continue;
+            }
+            final int start = from + (b << BLOCK_SHIFT);
+            final int end = Math.min(start + BLOCK_SIZE, to);
+            final int min = mins[b];
+            final int offset = offsets[b];
+            int bit = 0;
+            for (int i = start; i < end; i++, bit += width) {
+                final long delta = (a[i] - min) & 0xFFFFFFFFL;
+                final int w = offset + (bit >>> 6);
+                final int shift = bit & 63;
+                words[w] |= delta << shift;
+                if (shift + width > 64) {
+                    words[w + 1] |= delta >>> (64 - shift);
+                }
+            }
+        }
+        return new IntImmArrayPacked(n, mins, maxs, widths, offsets, words);
+    }
+
+    private int blockLength(int b) {
+        return (b == mins.length - 1) ? length - (b << BLOCK_SHIFT) : BLOCK_SIZE;
+    }
+
+    /**
+     * Decodes all elements of the block into the array.
+     */
+    private void decode(int b, int[] out, int p) {
+        final int n = blockLength(b);
+        final int min = mins[b];
+        final int width = widths[b];
+        if (width == 0) {
+            Arrays.fill(out, p, p + n, min);
+            return;
+        }
+        final long mask = (1L << width) - 1;
+        // reads the words sequentially, keeping the unread bits of the current word
+        int w = offsets[b];
+        long bits = words[w];
+        int available = 64;
+        for (int i = 0; i < n; i++) {
+            final long v;
+            if (available >= width) {
+                v = bits & mask;
+                bits >>>= width;
+                available -= width;
+            }
+            else {
+                final long next = words[++w];
+                v = (bits | (next << available)) & mask;
+                bits = next >>> (width - available);
+                available += 64 - width;
+            }
+            out[p + i] = min + (int) v;
+        }
+    }
+
+    @Override
+    public int size() {
+        return length;
+    }
+
+    @Override
+    public int at(int index) {
+        if (index < 0 || index >= length) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+        final int b = index >>> BLOCK_SHIFT;
+        final int width = widths[b];
+        if (width == 0) {
+            return mins[b];
+        }
+        final int bit = (index & BLOCK_MASK) * width;
+        final int w = offsets[b] + (bit >>> 6);
+        final int shift = bit & 63;
+        long v = words[w] >>> shift;
+        if (shift + width > 64) {
+            v |= words[w + 1] << (64 - shift);
+        }
+        return mins[b] + (int) (v & ((1L << width) - 1));
+    }
+
+    @Override
+    public IntImmArray slice(int from, int to) {
+        final int to0 = ((to < length - 1) ? to : length - 1) + 1;
+        if (from > to0) {
+            throw new IllegalArgumentException(from + " > " + to0);
+        }
+        if (from < 0) {
+            throw new ArrayIndexOutOfBoundsException(from);
+        }
+        if (from == to0) {
+            return IntImmArrayImpl.EMPTY;
+        }
+        // decodes only the blocks in the range
+        final int first = from >>> BLOCK_SHIFT;
+        final int last = (to0 - 1) >>> BLOCK_SHIFT;
+        int[] a = new int[(last - first + 1) << BLOCK_SHIFT];
+        for (int b = first; b <= last; b++) {
+            decode(b, a, (b - first) << BLOCK_SHIFT);
+        }
+        final int start = from - (first << BLOCK_SHIFT);
+        return of(a, start, start + to0 - from);
+    }
+
+    @Override
+    public IntImmArray packed() {
+        return this;
+    }
+
+    @Override
+    public void forEach(IntConsumer action) {
+        int[] block = new int[BLOCK_SIZE];
+        for (int b = 0; b < mins.length; b++) {
+            decode(b, block, 0);
+            for (int i = 0, n = blockLength(b); i < n; i++) {
+                action.accept(block[i]);
+            }
+        }
+    }
+
+    @Override
+    public boolean contains(int value) {
+        return indexOf(value) >= 0;
+    }
+
+    @Override
+    public int indexOf(int value) {
+        int[] block = new int[BLOCK_SIZE];
+        for (int b = 0; b < mins.length; b++) {
+            if (value < mins[b] || value > maxs[b]) {
+                continue;
+            }
+            decode(b, block, 0);
+            for (int i = 0, n = blockLength(b); i < n; i++) {
+                if (block[i] == value) {
+                    return (b << BLOCK_SHIFT) + i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int sum() {
+        return (int) sumAsLong();
+    }
+
+    @Override
+    public long sumAsLong() {
+        int[] block = new int[BLOCK_SIZE];
+        long sum = 0L;
+        for (int b = 0; b < mins.length; b++) {
+            final int n = blockLength(b);
+            if (widths[b] == 0) {
+                sum += (long) mins[b] * n;
+            }
+            else {
+                decode(b, block, 0);
+                sum += Kernels.longSum(block, 0, n);
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public int product() {
+        int[] block = new int[BLOCK_SIZE];
+        int product = 1;
+        for (int b = 0; b < mins.length; b++) {
+            decode(b, block, 0);
+            for (int i = 0, n = blockLength(b); i < n; i++) {
+                product *= block[i];
+            }
+        }
+        return product;
+    }
+
+    @Override
+    public OptionalInt max() {
+        return OptionalInt.of(Kernels.max(maxs, 0, maxs.length));
+    }
+
+    @Override
+    public OptionalInt min() {
+        return OptionalInt.of(Kernels.min(mins, 0, mins.length));
+    }
+
+    @Override
+    public IntImmArray sortWith(int fromIndex, int toIndex, IntComparator cmp) {
+        int[] a = toArray();
+        IntImmArrayImpl.sortWith0(a, fromIndex, toIndex, cmp);
+        return new IntImmArrayImpl(true, a);
+    }
+
+    @Override
+    public int[] toArray() {
+        int[] a = new int[length];
+        for (int b = 0; b < mins.length; b++) {
+            decode(b, a, b << BLOCK_SHIFT);
+        }
+        return a;
+    }
+
+    @Override
+    public int hashCode() {
+        // consistent with IntImmArrayImpl.contentHashCode
+        final int prime = 31;
+        int[] block = new int[BLOCK_SIZE];
+        int h = 1;
+        for (int b = 0; b < mins.length; b++) {
+            decode(b, block, 0);
+            for (int i = 0, n = blockLength(b); i < n; i++) {
+                h = prime * h + block[i];
+            }
+        }
+        return prime + h;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        return (obj instanceof IntImmArray) && IntImmArrayImpl.contentEquals(this, (IntImmArray) obj);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+}
@@ -0,0 +1,157 @@
+package minestra.collection;
+
+import java.util.Arrays;
+import java.util.OptionalInt;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntPredicate;
+
+/**
+ * A view of the part of an int array.
+ * This shares the storage with its original array, use <code>compact()</code> to release it.
+ */
+final class IntImmArraySlice implements IntImmArray {
+
+    final int[] values;
+    final int offset;
+    final int length;
+
+    IntImmArraySlice(int[] values, int offset, int length) {
+        this.values = values;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    static IntImmArray slice(int[] values, int offset, int length, int from, int to) {
+        final int to0 = ((to < length - 1) ? to : length - 1) + 1;
+        if (from > to0) {
+            throw new IllegalArgumentException(from + " > " + to0);
+        }
+        if (from < 0) {
+            throw new ArrayIndexOutOfBoundsException(from);
+        }
+        final int n = to0 - from;
+        return (n == 0) ? IntImmArrayImpl.EMPTY : new IntImmArraySlice(values, offset + from, n);
+    }
+
+    @Override
+    public int at(int index) {
+        if (index < 0 || index >= length) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+        return values[offset + index];
+    }
+
+    @Override
+    public int size() {
+        return length;
+    }
+
+    @Override
+    public IntImmArray filter(IntPredicate pred) {
+        final int end = offset + length;
+        int p = 0;
+        int[] a = new int[length];
+        for (int i = offset; i < end; i++) {
+            final int x = values[i];
+            if (pred.test(x)) {
+                a[p++] = x;
+            }
+        }
+        return new IntImmArrayImpl(true, Arrays.copyOf(a, p));
+    }
+
+    @Override
+    public int sum() {
+        return Kernels.sum(values, offset, offset + length);
+    }
+
+    @Override
+    public int product() {
+        final int end = offset + length;
+        int product = values[offset];
+        for (int i = offset + 1; i < end; i++) {
+            product *= values[i];
+        }
+        return product;
+    }
+
+    @Override
+    public OptionalInt max() {
+        return OptionalInt.of(Kernels.max(values, offset, offset + length));
+    }
+
+    @Override
+    public OptionalInt min() {
+        return OptionalInt.of(Kernels.min(values, offset, offset + length));
+    }
+
+    @Override
+    public IntImmArray slice(int from, int to) {
+        return slice(values, offset, length, from, to);
+    }
+
+    @Override
+    public IntImmArray compact() {
+        return new IntImmArrayImpl(true, toArray());
+    }
+
+    @Override
+    public IntImmArray sortWith(int fromIndex, int toIndex, IntComparator cmp) {
+        int[] a = toArray();
+        IntImmArrayImpl.sortWith0(a, fromIndex, toIndex, cmp);
+        return new IntImmArrayImpl(true, a);
+    }
+
+    @Override
+    public Spliterator.OfInt spliterator() {
+        return Spliterators.spliterator(values, offset, offset + length, ImmArraySpliterators.PRIMITIVE_CHARACTERISTICS);
+    }
+
+    @Override
+    public int[] toArray() {
+        return Arrays.copyOfRange(values, offset, offset + length);
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        final int end = offset + length;
+        int h = 1;
+        for (int i = offset; i < end; i++) {
+            h = prime * h + values[i];
+        }
+        return prime + h;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof IntImmArraySlice) {
+            IntImmArraySlice other = (IntImmArraySlice) obj;
+            return length == other.length && rangeEquals(values, offset, other.values, other.offset, length);
+        }
+        if (obj instanceof IntImmArrayImpl) {
+            int[] a = ((IntImmArrayImpl) obj).values;
+            return length == a.length && rangeEquals(values, offset, a, 0, length);
+        }
+        return (obj instanceof IntImmArray) && IntImmArrayImpl.contentEquals(this, (IntImmArray) obj);
+    }
+
+    static boolean rangeEquals(int[] a1, int offset1, int[] a2, int offset2, int length) {
+        for (int i = 0; i < length; i++) {
+            if (a1[offset1 + i] != a2[offset2 + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+}
@@ -0,0 +1,217 @@
+package minestra.collection;
+
+import java.util.Arrays;
+import java.util.OptionalInt;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A lazy view of an IntImmArray.
+ * The operations of this view are not evaluated until a terminal operation is called,
+ * and all of the operations are evaluated in a single loop without intermediate arrays.
+ */
+public final class IntImmArrayView {
+
+    /**
+     * A receiver of the elements.
+     */
+    @FunctionalInterface
+    interface Sink {
+
+        /**
+         * Receives an element.
+         * @param x the element
+         * @return <code>false</code> if no more elements are required
+         */
+        boolean accept(int x);
+
+    }
+
+    /**
+     * A supplier of the elements which pushes them into a sink.
+     */
+    @FunctionalInterface
+    interface Source {
+
+        /**
+         * Pushes the elements into the sink while the sink requires them.
+         * @param sink the sink
+         */
+        void drive(Sink sink);
+
+    }
+
+    private final Source source;
+    private final int maxSize;
+
+    IntImmArrayView(Source source, int maxSize) {
+        this.source = source;
+        this.maxSize = maxSize;
+    }
+
+    static IntImmArrayView of(IntImmArray a) {
+        return new IntImmArrayView(sink -> {
+            final int n = a.size();
+            for (int i = 0; i < n; i++) {
+                if (!sink.accept(a.at(i))) {
+                    return;
+                }
+            }
+        }, a.size());
+    }
+
+    /**
+     * Returns a view which applies the specified function to each element.
+     * @param mapper function as a mapper
+     * @return the view
+     */
+    public IntImmArrayView map(IntUnaryOperator mapper) {
+        return new IntImmArrayView(sink -> source.drive(x -> sink.accept(mapper.applyAsInt(x))), maxSize);
+    }
+
+    /**
+     * Returns an object view which applies the specified function to each element.
+     * @param <R> type of result elements
+     * @param mapper function as a mapper
+     * @return the view
+     */
+    public <R> ImmArrayView<R> mapToObj(IntFunction<? extends R> mapper) {
+        return new ImmArrayView<>(sink -> source.drive(x -> sink.accept(mapper.apply(x))), maxSize);
+    }
+
+    /**
+     * Returns a view of the elements which match the specified predicate.
+     * @param pred predicate
+     * @return the view
+     */
+    public IntImmArrayView filter(IntPredicate pred) {
+        return new IntImmArrayView(sink -> source.drive(x -> !pred.test(x) || sink.accept(x)), maxSize);
+    }
+
+    /**
+     * Returns a view of the elements that taken out as many as specified number from the beginning.
+     * @param count count to take
+     * @return the view
+     */
+    public IntImmArrayView take(int count) {
+        if (count <= 0) {
+            return new IntImmArrayView(sink -> {
+                // empty
+            }, 0);
+        }
+        return new IntImmArrayView(sink -> {
+            int[] rest = { count };
+            source.drive(x -> sink.accept(x) && --rest[0] > 0);
+        }, Math.min(count, maxSize));
+    }
+
+    /**
+     * Returns a view of the rest of the elements that drops the specified number of elements.
+     * @param count count to drop
+     * @return the view
+     */
+    public IntImmArrayView drop(int count) {
+        if (count <= 0) {
+            return this;
+        }
+        return new IntImmArrayView(sink -> {
+            int[] rest = { count };
+            source.drive(x -> {
+                if (rest[0] > 0) {
+                    --rest[0];
+                    return true;
+                }
+                return sink.accept(x);
+            });
+        }, Math.max(maxSize - count, 0));
+    }
+
+    /**
+     * Evaluates this view and returns the result as a new array.
+     * @return the array
+     */
+    public IntImmArray force() {
+        return new IntImmArrayImpl(true, toArray());
+    }
+
+    /**
+     * Evaluates this view and returns the result as a native array.
+     * @return the array
+     */
+    public int[] toArray() {
+        int[] a = new int[maxSize];
+        int[] p = { 0 };
+        source.drive(x -> {
+            a[p[0]++] = x;
+            return true;
+        });
+        return (p[0] == a.length) ? a : Arrays.copyOf(a, p[0]);
+    }
+
+    /**
+     * Performs the specified action to each element of this view.
+     * @param action action to apply to each element
+     */
+    public void forEach(IntConsumer action) {
+        source.drive(x -> {
+            action.accept(x);
+            return true;
+        });
+    }
+
+    /**
+     * Returns the number of elements in this view.
+     * @return the number of elements
+     */
+    public int count() {
+        int[] count = { 0 };
+        source.drive(x -> {
+            ++count[0];
+            return true;
+        });
+        return count[0];
+    }
+
+    /**
+     * Returns the sum of elements in this view.
+     * @return the sum
+     */
+    public int sum() {
+        return reduce(0, (x, y) -> x + y);
+    }
+
+    /**
+     * Returns the result that reduce elements of this view with the specified binary operator.
+     * @param op binary operator
+     * @return the result as optional, or optional empty if this view is empty
+     */
+    public OptionalInt reduce(IntBinaryOperator op) {
+        int[] result = { 0 };
+        boolean[] present = { false };
+        source.drive(x -> {
+            result[0] = present[0] ? op.applyAsInt(result[0], x) : x;
+            present[0] = true;
+            return true;
+        });
+        return present[0] ? OptionalInt.of(result[0]) : OptionalInt.empty();
+    }
+
+    /**
+     * Returns the result that reduce elements of this view with the specified binary operator.
+     * @param identity identity element
+     * @param op binary operator
+     * @return the result
+     */
+    public int reduce(int identity, IntBinaryOperator op) {
+        int[] result = { identity };
+        source.drive(x -> {
+            result[0] = op.applyAsInt(result[0], x);
+            return true;
+        });
+        return result[0];
+    }
+
+}
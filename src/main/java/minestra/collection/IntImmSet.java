@@ -0,0 +1,81 @@
+package minestra.collection;
+
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * An immutable set of primitive <code>int</code>.
+ * The elements are held by an open-addressing hash table without boxing,
+ * and the iteration order is the order of first occurrence.
+ */
+public interface IntImmSet {
+
+    /**
+     * Returns a new set of the specified values.
+     * @param a int array
+     * @return new set
+     */
+    static IntImmSet of(int... a) {
+        return IntImmSetImpl.of(a);
+    }
+
+    /**
+     * Returns an empty set.
+     * @return the empty set
+     */
+    static IntImmSet empty() {
+        return IntImmSetImpl.EMPTY;
+    }
+
+    /**
+     * Returns the number of elements in this set.
+     * @return the number of elements
+     */
+    int size();
+
+    /**
+     * Returns whether this set is empty or not.
+     * @return <code>true</code> if this set is empty, otherwise <code>false</code>
+     */
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns whether this set contains the specified value.
+     * @param value value to find
+     * @return <code>true</code> if this set contains the value
+     */
+    boolean contains(int value);
+
+    /**
+     * Performs apply function as an action to each element of this set.
+     * @param action action to apply to each element
+     */
+    default void forEach(IntConsumer action) {
+        toImmArray().forEach(action);
+    }
+
+    /**
+     * Returns the stream which consist same elements in this set.
+     * @return the stream
+     */
+    default IntStream stream() {
+        return toImmArray().stream();
+    }
+
+    /**
+     * Returns an array of the elements in this set.
+     * @return the array
+     */
+    IntImmArray toImmArray();
+
+    /**
+     * Returns a native array of the elements in this set.
+     * @return the native array
+     */
+    default int[] toArray() {
+        return toImmArray().toArray();
+    }
+
+}
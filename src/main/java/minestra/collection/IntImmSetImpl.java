@@ -0,0 +1,74 @@
+package minestra.collection;
+
+import java.util.Arrays;
+
+final class IntImmSetImpl implements IntImmSet {
+
+    static final IntImmSetImpl EMPTY = new IntImmSetImpl(new int[0], new IntHashTable());
+
+    private final int[] elements;
+    private final IntHashTable table;
+
+    private IntImmSetImpl(int[] elements, IntHashTable table) {
+        this.elements = elements;
+        this.table = table;
+    }
+
+    static IntImmSet of(int[] a) {
+        if (a.length == 0) {
+            return EMPTY;
+        }
+        IntHashTable table = new IntHashTable();
+        return new IntImmSetImpl(IntHashTable.distinct(a, table), table);
+    }
+
+    @Override
+    public int size() {
+        return elements.length;
+    }
+
+    @Override
+    public boolean contains(int value) {
+        return table.contains(value);
+    }
+
+    @Override
+    public IntImmArray toImmArray() {
+        return new IntImmArrayImpl(true, elements);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = 0;
+        for (final int x : elements) {
+            h += x;
+        }
+        return h;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof IntImmSet)) {
+            return false;
+        }
+        IntImmSet other = (IntImmSet) obj;
+        if (other.size() != elements.length) {
+            return false;
+        }
+        for (final int x : elements) {
+            if (!other.contains(x)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(elements);
+    }
+
+}
@@ -0,0 +1,49 @@
+package minestra.collection;
+
+/**
+ * A persistent vector of primitive <code>int</code>.
+ * The operations which add or replace an element return a new vector in near-constant time,
+ * and the new vector shares the most of its storage with the original one.
+ */
+public interface IntImmVector extends IntImmArray {
+
+    /**
+     * Returns a new vector of the specified values.
+     * @param a int array
+     * @return new vector
+     */
+    static IntImmVector of(int... a) {
+        return IntImmVectorImpl.of(a);
+    }
+
+    /**
+     * Returns an empty vector.
+     * @return the empty vector
+     */
+    static IntImmVector empty() {
+        return IntImmVectorImpl.EMPTY;
+    }
+
+    /**
+     * Returns a new vector that the specified value is added at the end of this vector.
+     * @param value the value to add
+     * @return the new vector
+     */
+    IntImmVector appended(int value);
+
+    /**
+     * Returns a new vector that the specified value is added at the beginning of this vector.
+     * @param value the value to add
+     * @return the new vector
+     */
+    IntImmVector prepended(int value);
+
+    /**
+     * Returns a new vector that the element at the specified index is replaced with the specified value.
+     * @param index index of the element to replace
+     * @param value the new value
+     * @return the new vector
+     */
+    IntImmVector updated(int index, int value);
+
+}
@@ -0,0 +1,211 @@
+package minestra.collection;
+
+import static minestra.collection.VectorTrie.BITS;
+import static minestra.collection.VectorTrie.MASK;
+import static minestra.collection.VectorTrie.WIDTH;
+import java.util.Arrays;
+import java.util.OptionalInt;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+
+/**
+ * An implementation of IntImmVector.
+ * The elements are stored in the trie from <code>origin</code>, and the last up to 32 elements are stored in the tail.
+ */
+final class IntImmVectorImpl implements IntImmVector {
+
+    static final IntImmVectorImpl EMPTY = new IntImmVectorImpl(new Object[WIDTH], BITS, 0, 0, new int[0]);
+
+    private final Object[] root;
+    private final int shift;
+    private final int origin;
+    private final int trieSize;
+    private final int[] tail;
+
+    IntImmVectorImpl(Object[] root, int shift, int origin, int trieSize, int[] tail) {
+        this.root = root;
+        this.shift = shift;
+        this.origin = origin;
+        this.trieSize = trieSize;
+        this.tail = tail;
+    }
+
+    static IntImmVector of(int... a) {
+        final int n = a.length;
+        if (n == 0) {
+            return EMPTY;
+        }
+        final int trieSize = ((n - 1) >>> BITS) << BITS;
+        Object[] root = new Object[WIDTH];
+        int shift = BITS;
+        for (int i = 0; i < trieSize; i += WIDTH) {
+            if (i == VectorTrie.capacity(shift)) {
+                root = VectorTrie.growRight(root, shift);
+                shift += BITS;
+            }
+            root = VectorTrie.setLeaf(root, shift, i, Arrays.copyOfRange(a, i, i + WIDTH));
+        }
+        return new IntImmVectorImpl(root, shift, 0, trieSize, Arrays.copyOfRange(a, trieSize, n));
+    }
+
+    @Override
+    public int size() {
+        return trieSize + tail.length;
+    }
+
+    @Override
+    public int at(int index) {
+        if (index < 0 || index >= size()) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+        if (index >= trieSize) {
+            return tail[index - trieSize];
+        }
+        final int j = origin + index;
+        return ((int[]) VectorTrie.leafFor(root, shift, j))[j & MASK];
+    }
+
+    @Override
+    public IntImmVector appended(int value) {
+        final int n = tail.length;
+        if (n < WIDTH) {
+            int[] a = Arrays.copyOf(tail, n + 1);
+            a[n] = value;
+            return new IntImmVectorImpl(root, shift, origin, trieSize, a);
+        }
+        final int end = origin + trieSize;
+        Object[] newRoot = root;
+        int newShift = shift;
+        if (end == VectorTrie.capacity(shift)) {
+            newRoot = VectorTrie.growRight(root, shift);
+            newShift += BITS;
+        }
+        newRoot = VectorTrie.setLeaf(newRoot, newShift, end, tail);
+        return new IntImmVectorImpl(newRoot, newShift, origin, trieSize + WIDTH, new int[] { value });
+    }
+
+    @Override
+    public IntImmVector prepended(int value) {
+        Object[] newRoot = root;
+        int newShift = shift;
+        int newOrigin = origin;
+        if (origin == 0) {
+            newRoot = VectorTrie.growLeft(root, shift);
+            newOrigin = MASK * VectorTrie.capacity(shift);
+            newShift += BITS;
+        }
+        final int j = newOrigin - 1;
+        int[] leaf = (int[]) VectorTrie.leafFor(newRoot, newShift, j);
+        leaf = (leaf == null) ? new int[WIDTH] : leaf.clone();
+        leaf[j & MASK] = value;
+        newRoot = VectorTrie.setLeaf(newRoot, newShift, j, leaf);
+        return new IntImmVectorImpl(newRoot, newShift, j, trieSize + 1, tail);
+    }
+
+    @Override
+    public IntImmVector updated(int index, int value) {
+        if (index < 0 || index >= size()) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+        if (index >= trieSize) {
+            int[] a = tail.clone();
+            a[index - trieSize] = value;
+            return new IntImmVectorImpl(root, shift, origin, trieSize, a);
+        }
+        final int j = origin + index;
+        int[] leaf = ((int[]) VectorTrie.leafFor(root, shift, j)).clone();
+        leaf[j & MASK] = value;
+        return new IntImmVectorImpl(VectorTrie.setLeaf(root, shift, j, leaf), shift, origin, trieSize, tail);
+    }
+
+    @Override
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < trieSize;) {
+            final int j = origin + i;
+            final int[] leaf = (int[]) VectorTrie.leafFor(root, shift, j);
+            final int start = j & MASK;
+            final int end = start + Math.min(WIDTH - start, trieSize - i);
+            for (int k = start; k < end; k++) {
+                action.accept(leaf[k]);
+            }
+            i += end - start;
+        }
+        for (final int x : tail) {
+            action.accept(x);
+        }
+    }
+
+    @Override
+    public OptionalInt reduce(IntBinaryOperator op) {
+        if (size() == 0) {
+            return OptionalInt.empty();
+        }
+        int[] result = { 0 };
+        boolean[] present = { false };
+        forEach(x -> {
+            result[0] = present[0] ? op.applyAsInt(result[0], x) : x;
+            present[0] = true;
+        });
+        return OptionalInt.of(result[0]);
+    }
+
+    @Override
+    public int sum() {
+        return reduce(Integer::sum).orElse(0);
+    }
+
+    @Override
+    public int product() {
+        return reduce((x, y) -> x * y).orElse(0);
+    }
+
+    @Override
+    public OptionalInt max() {
+        return reduce(Math::max);
+    }
+
+    @Override
+    public OptionalInt min() {
+        return reduce(Math::min);
+    }
+
+    @Override
+    public IntImmArray sortWith(int fromIndex, int toIndex, IntComparator cmp) {
+        int[] a = toArray();
+        IntImmArrayImpl.sortWith0(a, fromIndex, toIndex, cmp);
+        return new IntImmArrayImpl(true, a);
+    }
+
+    @Override
+    public int[] toArray() {
+        int[] a = new int[size()];
+        for (int i = 0; i < trieSize;) {
+            final int j = origin + i;
+            final int start = j & MASK;
+            final int length = Math.min(WIDTH - start, trieSize - i);
+            System.arraycopy(VectorTrie.leafFor(root, shift, j), start, a, i, length);
+            i += length;
+        }
+        System.arraycopy(tail, 0, a, trieSize, tail.length);
+        return a;
+    }
+
+    @Override
+    public int hashCode() {
+        return IntImmArrayImpl.contentHashCode(this);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        return (obj instanceof IntImmArray) && IntImmArrayImpl.contentEquals(this, (IntImmArray) obj);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+}
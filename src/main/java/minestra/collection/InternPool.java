@@ -0,0 +1,147 @@
+package minestra.collection;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * A concurrent pool of the canonical arrays.
+ * The arrays are held by weak references, so the pool does not keep the arrays which are no longer used.
+ * The arrays are looked up by the 64-bit hash of the contents which is cached in the array,
+ * and then compared by <code>equals</code>.
+ * @param <A> the type of the arrays
+ */
+final class InternPool<A> {
+
+    static final InternPool<IntImmArrayImpl> INT = new InternPool<>(IntImmArrayImpl::contentHash);
+    static final InternPool<LongImmArrayImpl> LONG = new InternPool<>(LongImmArrayImpl::contentHash);
+    static final InternPool<DoubleImmArrayImpl> DOUBLE = new InternPool<>(DoubleImmArrayImpl::contentHash);
+    static final InternPool<ImmArrayImpl<?>> OBJECT = new InternPool<>(ImmArrayImpl::contentHash);
+
+    private static final long SEED = 0x9E3779B97F4A7C15L;
+    private static final long MULTIPLIER = 0xC6A4A7935BD1E995L;
+
+    private final ConcurrentHashMap<Entry<A>, Entry<A>> map = new ConcurrentHashMap<>();
+    private final ReferenceQueue<A> queue = new ReferenceQueue<>();
+    private final ToLongFunction<A> hasher;
+
+    InternPool(ToLongFunction<A> hasher) {
+        this.hasher = hasher;
+    }
+
+    /**
+     * Returns the canonical array which is equal to the specified array.
+     * If the pool does not have such array, the specified array becomes the canonical one.
+     * @param a the array
+     * @return the canonical array
+     */
+    A intern(A a) {
+        expunge();
+        final Entry<A> entry = new Entry<>(a, hasher.applyAsLong(a), queue);
+        while (true) {
+            final Entry<A> existing = map.putIfAbsent(entry, entry);
+            if (existing == null) {
+                return a;
+            }
+            final A canonical = existing.get();
+            if (canonical != null) {
+                return canonical;
+            }
+            map.remove(existing, existing);
+        }
+    }
+
+    /**
+     * Returns the number of the canonical arrays which have not been collected.
+     */
+    int size() {
+        expunge();
+        return map.size();
+    }
+
+    private void expunge() {
+        for (Object ref; (ref = queue.poll()) != null;) {
+            map.remove(ref, ref);
+        }
+    }
+
+    static final class Entry<A> extends WeakReference<A> {
+
+        private final long contentHash;
+
+        Entry(A referent, long contentHash, ReferenceQueue<A> queue) {
+            super(referent, queue);
+            this.contentHash = contentHash;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) (contentHash ^ (contentHash >>> 32));
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Entry)) {
+                return false;
+            }
+            Entry<?> other = (Entry<?>) obj;
+            if (contentHash != other.contentHash) {
+                return false;
+            }
+            final A a = get();
+            final Object b = other.get();
+            return a != null && b != null && a.equals(b);
+        }
+
+    }
+
+    // 64-bit hash functions, which never return 0 so that 0 can mean "not computed"
+
+    private static long finish(long h, int length) {
+        long x = h ^ length;
+        x ^= x >>> 33;
+        x *= 0xFF51AFD7ED558CCDL;
+        x ^= x >>> 33;
+        x *= 0xC4CEB9FE1A85EC53L;
+        x ^= x >>> 33;
+        return (x == 0L) ? 1L : x;
+    }
+
+    static long hash(int[] a) {
+        long h = SEED;
+        for (final int x : a) {
+            h = Long.rotateLeft((h ^ x) * MULTIPLIER, 31);
+        }
+        return finish(h, a.length);
+    }
+
+    static long hash(long[] a) {
+        long h = SEED;
+        for (final long x : a) {
+            h = Long.rotateLeft((h ^ x) * MULTIPLIER, 31);
+        }
+        return finish(h, a.length);
+    }
+
+    static long hash(double[] a) {
+        long h = SEED;
+        for (final double x : a) {
+            h = Long.rotateLeft((h ^ Double.doubleToLongBits(x)) * MULTIPLIER, 31);
+        }
+        return finish(h, a.length);
+    }
+
+    static long hash(Object[] a) {
+        long h = SEED;
+        for (final Object x : a) {
+            h = Long.rotateLeft((h ^ Objects.hashCode(x)) * MULTIPLIER, 31);
+        }
+        return finish(h, a.length);
+    }
+
+}
@@ -0,0 +1,163 @@
+package minestra.collection;
+
+/**
+ * Reduction kernels for primitive arrays.
+ * These loops keep the independent accumulators for four lanes,
+ * so that the JIT compiler can overlap or vectorize the operations.
+ * All of the methods process the range from <code>from</code> (inclusive) to <code>to</code> (exclusive).
+ * The floating point sum is not included, because it changes the result by reordering the additions.
+ */
+final class Kernels {
+
+    static final int LANES = 4;
+
+    private Kernels() {
+        // empty
+    }
+
+    // int
+
+    static int sum(int[] a, int from, int to) {
+        int s0 = 0;
+        int s1 = 0;
+        int s2 = 0;
+        int s3 = 0;
+        int i = from;
+        for (final int end = to - (LANES - 1); i < end; i += LANES) {
+            s0 += a[i];
+            s1 += a[i + 1];
+            s2 += a[i + 2];
+            s3 += a[i + 3];
+        }
+        for (; i < to; i++) {
+            s0 += a[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * Returns the sum of the range which is accumulated in long, so it does not overflow.
+     */
+    static long longSum(int[] a, int from, int to) {
+        long s0 = 0L;
+        long s1 = 0L;
+        long s2 = 0L;
+        long s3 = 0L;
+        int i = from;
+        for (final int end = to - (LANES - 1); i < end; i += LANES) {
+            s0 += a[i];
+            s1 += a[i + 1];
+            s2 += a[i + 2];
+            s3 += a[i + 3];
+        }
+        for (; i < to; i++) {
+            s0 += a[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * Returns the maximum value in the range, which must not be empty.
+     */
+    static int max(int[] a, int from, int to) {
+        int m0 = a[from];
+        int m1 = m0;
+        int m2 = m0;
+        int m3 = m0;
+        int i = from + 1;
+        for (final int end = to - (LANES - 1); i < end; i += LANES) {
+            m0 = Math.max(m0, a[i]);
+            m1 = Math.max(m1, a[i + 1]);
+            m2 = Math.max(m2, a[i + 2]);
+            m3 = Math.max(m3, a[i + 3]);
+        }
+        for (; i < to; i++) {
+            m0 = Math.max(m0, a[i]);
+        }
+        return Math.max(Math.max(m0, m1), Math.max(m2, m3));
+    }
+
+    /**
+     * Returns the minimum value in the range, which must not be empty.
+     */
+    static int min(int[] a, int from, int to) {
+        int m0 = a[from];
+        int m1 = m0;
+        int m2 = m0;
+        int m3 = m0;
+        int i = from + 1;
+        for (final int end = to - (LANES - 1); i < end; i += LANES) {
+            m0 = Math.min(m0, a[i]);
+            m1 = Math.min(m1, a[i + 1]);
+            m2 = Math.min(m2, a[i + 2]);
+            m3 = Math.min(m3, a[i + 3]);
+        }
+        for (; i < to; i++) {
+            m0 = Math.min(m0, a[i]);
+        }
+        return Math.min(Math.min(m0, m1), Math.min(m2, m3));
+    }
+
+    // long
+
+    static long sum(long[] a, int from, int to) {
+        long s0 = 0L;
+        long s1 = 0L;
+        long s2 = 0L;
+        long s3 = 0L;
+        int i = from;
+        for (final int end = to - (LANES - 1); i < end; i += LANES) {
+            s0 += a[i];
+            s1 += a[i + 1];
+            s2 += a[i + 2];
+            s3 += a[i + 3];
+        }
+        for (; i < to; i++) {
+            s0 += a[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * Returns the maximum value in the range, which must not be empty.
+     */
+    static long max(long[] a, int from, int to) {
+        long m0 = a[from];
+        long m1 = m0;
+        long m2 = m0;
+        long m3 = m0;
+        int i = from + 1;
+        for (final int end = to - (LANES - 1); i < end; i += LANES) {
+            m0 = Math.max(m0, a[i]);
+            m1 = Math.max(m1, a[i + 1]);
+            m2 = Math.max(m2, a[i + 2]);
+            m3 = Math.max(m3, a[i + 3]);
+        }
+        for (; i < to; i++) {
+            m0 = Math.max(m0, a[i]);
+        }
+        return Math.max(Math.max(m0, m1), Math.max(m2, m3));
+    }
+
+    /**
+     * Returns the minimum value in the range, which must not be empty.
+     */
+    static long min(long[] a, int from, int to) {
+        long m0 = a[from];
+        long m1 = m0;
+        long m2 = m0;
+        long m3 = m0;
+        int i = from + 1;
+        for (final int end = to - (LANES - 1); i < end; i += LANES) {
+            m0 = Math.min(m0, a[i]);
+            m1 = Math.min(m1, a[i + 1]);
+            m2 = Math.min(m2, a[i + 2]);
+            m3 = Math.min(m3, a[i + 3]);
+        }
+        for (; i < to; i++) {
+            m0 = Math.min(m0, a[i]);
+        }
+        return Math.min(Math.min(m0, m1), Math.min(m2, m3));
+    }
+
+}
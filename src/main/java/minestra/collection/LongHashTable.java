@@ -0,0 +1,154 @@
+package minestra.collection;
+
+import java.util.Arrays;
+
+/**
+ * An open-addressing hash table of primitive <code>long</code> with linear probing.
+ * The value <code>0</code> is used to mark an empty slot, so the key <code>0</code> is held by a flag.
+ * This is used only while building an array or a set, and never exposed after that.
+ */
+final class LongHashTable {
+
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private long[] keys;
+    private int mask;
+    private int used;
+    private boolean hasZero;
+
+    LongHashTable() {
+        this(MIN_CAPACITY / 2);
+    }
+
+    LongHashTable(int expectedSize) {
+        final int capacity = capacityFor(expectedSize);
+        this.keys = new long[capacity];
+        this.mask = capacity - 1;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        final long n = Math.max(MIN_CAPACITY, (long) expectedSize * 2);
+        if (n > MAX_CAPACITY) {
+            return MAX_CAPACITY;
+        }
+        return Integer.highestOneBit((int) n - 1) << 1;
+    }
+
+    /**
+     * Returns the mixed hash code of the value, using the finalizer of MurmurHash3.
+     * @param x the value
+     * @return the hash code
+     */
+    static int mix(long x) {
+        long h = x;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    int size() {
+        return hasZero ? used + 1 : used;
+    }
+
+    /**
+     * Adds the value to this table.
+     * @param x the value
+     * @return <code>true</code> if this table did not contain the value
+     */
+    boolean add(long x) {
+        if (x == 0) {
+            if (hasZero) {
+                return false;
+            }
+            hasZero = true;
+            return true;
+        }
+        int i = mix(x) & mask;
+        for (long k; (k = keys[i]) != 0; i = (i + 1) & mask) {
+            if (k == x) {
+                return false;
+            }
+        }
+        keys[i] = x;
+        if (++used * 2 > keys.length) {
+            rehash();
+        }
+        return true;
+    }
+
+    boolean contains(long x) {
+        if (x == 0) {
+            return hasZero;
+        }
+        int i = mix(x) & mask;
+        for (long k; (k = keys[i]) != 0; i = (i + 1) & mask) {
+            if (k == x) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void rehash() {
+        final long[] old = keys;
+        if (old.length == MAX_CAPACITY) {
+            // keeps at least one empty slot to stop probing
+            if (used >= MAX_CAPACITY - 1) {
+                throw new IllegalStateException("too many elements");
+            }
+            return;
+        }
+        final int capacity = old.length * 2;
+        keys = new long[capacity];
+        mask = capacity - 1;
+        for (final long x : old) {
+            if (x != 0) {
+                int i = mix(x) & mask;
+                while (keys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = x;
+            }
+        }
+    }
+
+    /**
+     * Returns the array which consists with the unique elements in order of first occurrence.
+     * @param a the elements
+     * @param table the table to add the elements
+     * @return the array
+     */
+    static long[] distinct(long[] a, LongHashTable table) {
+        long[] result = new long[a.length];
+        int n = 0;
+        for (final long x : a) {
+            if (table.add(x)) {
+                result[n++] = x;
+            }
+        }
+        return (n == a.length) ? result : Arrays.copyOf(result, n);
+    }
+
+    /**
+     * Returns the array which consists with the unique elements in order of first occurrence.
+     * The elements are compared by <code>Double.doubleToLongBits</code> as same as <code>Double.equals</code>.
+     * @param a the elements
+     * @param table the table to add the bits of the elements
+     * @return the array
+     */
+    static double[] distinct(double[] a, LongHashTable table) {
+        double[] result = new double[a.length];
+        int n = 0;
+        for (final double x : a) {
+            if (table.add(Double.doubleToLongBits(x))) {
+                result[n++] = x;
+            }
+        }
+        return (n == a.length) ? result : Arrays.copyOf(result, n);
+    }
+
+}
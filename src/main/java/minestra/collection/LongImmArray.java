@@ -1,11 +1,20 @@
 package minestra.collection;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.OptionalDouble;
 import java.util.OptionalLong;
+import java.util.PrimitiveIterator;
 import java.util.Random;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.LongBinaryOperator;
 import java.util.function.LongConsumer;
 import java.util.function.LongFunction;
@@ -15,6 +24,7 @@ import java.util.function.LongToDoubleFunction;
 import java.util.function.LongToIntFunction;
 import java.util.function.LongUnaryOperator;
 import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
 
 /**
  * An immutable array of primitive <code>long</code>.
@@ -36,7 +46,13 @@ public interface LongImmArray {
      * @return new array
      */
     static LongImmArray of(Collection<Long> collection) {
-        return ImmArray.of(collection).mapToLong(Long::longValue);
+        // the snapshot is consistent even if the collection is modified concurrently
+        final Long[] values = collection.toArray(new Long[0]);
+        long[] a = new long[values.length];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = values[i];
+        }
+        return new LongImmArrayImpl(true, a);
     }
 
     /**
@@ -48,6 +64,39 @@ public interface LongImmArray {
         return of(stream.toArray());
     }
 
+    /**
+     * Returns an array backed by the remaining content of the specified buffer, in the byte order of the buffer.
+     * The buffer is not copied, so its content must not be modified while the array is in use.
+     * @param buffer buffer, such as a direct buffer
+     * @return the array
+     */
+    static LongImmArray wrap(ByteBuffer buffer) {
+        return LongImmArrayBuffer.wrap(buffer);
+    }
+
+    /**
+     * Returns an array backed by the memory-mapped file of big-endian longs.
+     * The file is mapped as read-only, so it must not be modified while the array is in use.
+     * @param path the file
+     * @return the array
+     * @throws IOException if an I/O error occurs
+     */
+    static LongImmArray mapFile(Path path) throws IOException {
+        return mapFile(path, ByteOrder.BIG_ENDIAN);
+    }
+
+    /**
+     * Returns an array backed by the memory-mapped file of longs.
+     * The file is mapped as read-only, so it must not be modified while the array is in use.
+     * @param path the file
+     * @param order the byte order of the file
+     * @return the array
+     * @throws IOException if an I/O error occurs
+     */
+    static LongImmArray mapFile(Path path, ByteOrder order) throws IOException {
+        return LongImmArrayBuffer.map(path, order);
+    }
+
     /**
      * Returns a new array of generating with specified size and generator.
      * @param size array size to generate
@@ -83,29 +132,13 @@ public interface LongImmArray {
 
     /**
      * Returns the concatenated array of all specified arrays.
+     * The result refers to the specified arrays instead of copying their elements.
      * @param first the first array
      * @param rest the rest of arrays
      * @return the concatenated array
      */
     default LongImmArray concat(LongImmArray first, LongImmArray... rest) {
-        final int selfLength = size();
-        final int firstLength = first.size();
-        int newLength = selfLength;
-        newLength += firstLength;
-        for (LongImmArray o : rest) {
-            newLength += o.size();
-        }
-        // XXX copy twice
-        long[] a = Arrays.copyOf(toArray(), newLength);
-        int p = selfLength;
-        System.arraycopy(first.toArray(), 0, a, p, firstLength);
-        p += firstLength;
-        for (LongImmArray o : rest) {
-            final int length = o.size();
-            System.arraycopy(o.toArray(), 0, a, p, length);
-            p += length;
-        }
-        return of(a);
+        return LongImmArrayConcat.concat(this, first, rest);
     }
 
     /**
@@ -121,6 +154,25 @@ public interface LongImmArray {
      */
     long at(int index);
 
+    /**
+     * Returns a new builder of the array.
+     * @return the builder
+     */
+    static LongImmArrayBuilder builder() {
+        return new LongImmArrayBuilder(0);
+    }
+
+    /**
+     * Returns a new builder of the array with the specified initial capacity.
+     * If exactly that number of elements are added, the array is built without copying.
+     * @param capacity the initial capacity
+     * @return the builder
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    static LongImmArrayBuilder builder(int capacity) {
+        return new LongImmArrayBuilder(capacity);
+    }
+
     /**
      * Returns an empty array.
      * @return the empty array
@@ -301,6 +353,25 @@ public interface LongImmArray {
         return new LongImmArrayImpl(true, Arrays.copyOfRange(toArray(), from, to0 + 1));
     }
 
+    /**
+     * Returns an array which does not share the storage with any other array.
+     * A slice shares the storage with its original array, so use this to release the original one.
+     * @return the array
+     */
+    default LongImmArray compact() {
+        return this;
+    }
+
+    /**
+     * Returns the canonical array which has the same elements as this array.
+     * The canonical arrays are held by weak references in a pool, so that equal arrays can share an instance.
+     * @return the canonical array
+     */
+    default LongImmArray intern() {
+        LongImmArrayImpl a = (this instanceof LongImmArrayImpl) ? (LongImmArrayImpl) this : new LongImmArrayImpl(true, toArray());
+        return InternPool.LONG.intern(a);
+    }
+
     /**
      * Returns an array created by applying a function to each of the elements of this array.
      * @param mapper function as a mapper
@@ -312,7 +383,7 @@ public interface LongImmArray {
         for (int i = 0; i < n; i++) {
             a[i] = mapper.applyAsLong(at(i));
         }
-        return of(a);
+        return new LongImmArrayImpl(true, a);
     }
 
     /**
@@ -341,7 +412,7 @@ public interface LongImmArray {
         for (int i = 0; i < n; i++) {
             a[i] = mapper.applyAsInt(at(i));
         }
-        return IntImmArray.of(a);
+        return new IntImmArrayImpl(true, a);
     }
 
     /**
@@ -355,7 +426,7 @@ public interface LongImmArray {
         for (int i = 0; i < n; i++) {
             a[i] = mapper.applyAsDouble(at(i));
         }
-        return DoubleImmArray.of(a);
+        return new DoubleImmArrayImpl(true, a);
     }
 
     /**
@@ -403,19 +474,81 @@ public interface LongImmArray {
 
     /**
      * Returns the result of folding the elements of this array by the specified operator.
+     * The result is <code>f(value, f(at(0), ...f(at(n - 2), at(n - 1))...))</code>.
      * @param value initial value
      * @param f binary operator
      * @return the result
      */
     default long fold(long value, LongBinaryOperator f) {
-        switch (size()) {
-            case 0:
-                return value;
-            case 1:
-                return f.applyAsLong(value, at(0));
-            default:
-                return f.applyAsLong(value, tail().fold(at(0), f));
+        final int n = size();
+        if (n == 0) {
+            return value;
+        }
+        long result = at(n - 1);
+        for (int i = n - 2; i >= 0; i--) {
+            result = f.applyAsLong(at(i), result);
         }
+        return f.applyAsLong(value, result);
+    }
+
+    /**
+     * Returns the result of folding the elements of this array from the left.
+     * The result is <code>f(...f(f(value, at(0)), at(1))..., at(n - 1))</code>.
+     * @param value initial value
+     * @param f binary operator which takes the accumulated value and an element
+     * @return the result
+     */
+    default long foldLeft(long value, LongBinaryOperator f) {
+        final int n = size();
+        long result = value;
+        for (int i = 0; i < n; i++) {
+            result = f.applyAsLong(result, at(i));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the result of folding the elements of this array from the right.
+     * The result is <code>f(at(0), f(at(1), ...f(at(n - 1), value)...))</code>.
+     * @param value initial value
+     * @param f binary operator which takes an element and the accumulated value
+     * @return the result
+     */
+    default long foldRight(long value, LongBinaryOperator f) {
+        long result = value;
+        for (int i = size() - 1; i >= 0; i--) {
+            result = f.applyAsLong(at(i), result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the result of folding the elements of this array in parallel, using the common pool.
+     * The array is split into the chunks, each chunk is folded from the left starting with the identity,
+     * and then the results are combined in order of the chunks.
+     * So the identity must be an identity for the combiner, and the operators must be associative.
+     * @param identity the identity value
+     * @param f binary operator which takes the accumulated value and an element
+     * @param combiner binary operator to combine the results of the chunks
+     * @return the result
+     */
+    default long parallelFold(long identity, LongBinaryOperator f, LongBinaryOperator combiner) {
+        return parallelFold(identity, f, combiner, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns the result of folding the elements of this array in parallel.
+     * The array is split into the chunks, each chunk is folded from the left starting with the identity,
+     * and then the results are combined in order of the chunks.
+     * So the identity must be an identity for the combiner, and the operators must be associative.
+     * @param identity the identity value
+     * @param f binary operator which takes the accumulated value and an element
+     * @param combiner binary operator to combine the results of the chunks
+     * @param pool pool to run folding tasks
+     * @return the result
+     */
+    default long parallelFold(long identity, LongBinaryOperator f, LongBinaryOperator combiner, ForkJoinPool pool) {
+        return ParallelReductions.fold(this, identity, f, combiner, pool);
     }
 
     /**
@@ -423,7 +556,15 @@ public interface LongImmArray {
      * @return the array
      */
     default LongImmArray distinct() {
-        return of(stream().distinct());
+        return new LongImmArrayImpl(true, LongHashTable.distinct(toArray(), new LongHashTable()));
+    }
+
+    /**
+     * Returns a set of the elements in this array.
+     * @return the set
+     */
+    default LongImmSet toSet() {
+        return LongImmSet.of(toArray());
     }
 
     /**
@@ -441,7 +582,7 @@ public interface LongImmArray {
                 a[p++] = x;
             }
         }
-        return new LongImmArrayImpl(Arrays.copyOf(a, p));
+        return new LongImmArrayImpl(true, Arrays.copyOf(a, p));
     }
 
     /**
@@ -479,14 +620,154 @@ public interface LongImmArray {
      */
     OptionalLong min();
 
+    /**
+     * Returns the sum of elements in this array in parallel, using the common pool.
+     * @return the sum
+     */
+    default long parallelSum() {
+        return parallelSum(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns the sum of elements in this array in parallel.
+     * @param pool pool to run reduction tasks
+     * @return the sum
+     */
+    default long parallelSum(ForkJoinPool pool) {
+        return ParallelReductions.sum(this, pool);
+    }
+
+    /**
+     * Returns the mean value of elements in this array in parallel, using the common pool.
+     * @return the mean value
+     */
+    default double parallelAverage() {
+        return parallelAverage(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns the mean value of elements in this array in parallel.
+     * @param pool pool to run reduction tasks
+     * @return the mean value
+     */
+    default double parallelAverage(ForkJoinPool pool) {
+        return parallelSum(pool) * 1d / size();
+    }
+
+    /**
+     * Returns a maximum value as optional in this array in parallel, using the common pool.
+     * @return the maximum value
+     */
+    default OptionalLong parallelMax() {
+        return parallelMax(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns a maximum value as optional in this array in parallel.
+     * @param pool pool to run reduction tasks
+     * @return the maximum value
+     */
+    default OptionalLong parallelMax(ForkJoinPool pool) {
+        return ParallelReductions.max(this, pool);
+    }
+
+    /**
+     * Returns a minimum value as optional in this array in parallel, using the common pool.
+     * @return the minimum value
+     */
+    default OptionalLong parallelMin() {
+        return parallelMin(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns a minimum value as optional in this array in parallel.
+     * @param pool pool to run reduction tasks
+     * @return the minimum value
+     */
+    default OptionalLong parallelMin(ForkJoinPool pool) {
+        return ParallelReductions.min(this, pool);
+    }
+
+    /**
+     * Returns the median of elements in this array.
+     * If the size is even, returns the mean of the two middle elements.
+     * @return the median, or empty optional if this array is empty
+     */
+    default OptionalDouble median() {
+        return quantile(0.5d);
+    }
+
+    /**
+     * Returns the quantile of elements in this array, in expected linear time without sorting.
+     * The value is interpolated linearly between the closest ranks, as the default of R and NumPy.
+     * @param q the quantile, between 0 and 1
+     * @return the quantile, or empty optional if this array is empty
+     * @throws IllegalArgumentException if q is not between 0 and 1
+     */
+    default OptionalDouble quantile(double q) {
+        Selection.checkQuantile(q);
+        if (isEmpty()) {
+            return OptionalDouble.empty();
+        }
+        return OptionalDouble.of(Selection.quantile(toArray(), q));
+    }
+
+    /**
+     * Returns the quantiles of elements in this array at once, which partitions a copy of this array only once.
+     * Each value is same as <code>quantile(q)</code>, or NaN if this array is empty.
+     * @param qs the quantiles, between 0 and 1
+     * @return the array of quantiles in the specified order
+     * @throws IllegalArgumentException if any of qs is not between 0 and 1
+     */
+    default DoubleImmArray quantiles(double... qs) {
+        return new DoubleImmArrayImpl(true, Selection.quantiles(toArray(), qs));
+    }
+
+    /**
+     * Returns the summary statistics of elements in this array, which are computed in one pass.
+     * @return the statistics
+     */
+    default Statistics stats() {
+        return Statistics.of(this, null);
+    }
+
+    /**
+     * Returns the summary statistics of elements in this array in parallel, using the common pool.
+     * The result is same as <code>stats()</code> regardless of the parallelism.
+     * @return the statistics
+     */
+    default Statistics parallelStats() {
+        return parallelStats(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns the summary statistics of elements in this array in parallel.
+     * The result is same as <code>stats()</code> regardless of the parallelism.
+     * @param pool pool to run reduction tasks
+     * @return the statistics
+     */
+    default Statistics parallelStats(ForkJoinPool pool) {
+        return Statistics.of(this, pool);
+    }
+
     /**
      * Returns new array which is sorted this array in natural order.
      * @return the sorted array
      */
-    default LongImmArray sort() {
+    default SortedLongImmArray sort() {
         long[] a = toArray();
-        Arrays.sort(a);
-        return of(a);
+        Sorting.sortNatural(a, 0, a.length, false);
+        return new SortedLongImmArrayImpl(a, 0, a.length);
+    }
+
+    /**
+     * Returns this array as a sorted array, which supports the lookups by binary search.
+     * This checks that the elements are in ascending order.
+     * @return the sorted array
+     * @throws IllegalStateException if this array is not sorted
+     */
+    default SortedLongImmArray asSorted() {
+        return SortedLongImmArrayImpl.checked(toArray());
     }
 
     /**
@@ -507,6 +788,105 @@ public interface LongImmArray {
      */
     LongImmArray sortWith(int fromIndex, int toIndex, LongComparator cmp);
 
+    /**
+     * Returns new array which is sorted this array in natural order in parallel.
+     * @return the sorted array
+     */
+    default LongImmArray parallelSort() {
+        return parallelSortWith(LongComparator.NATURAL);
+    }
+
+    /**
+     * Returns new array which is sorted this array with specified order in parallel, using the common pool.
+     * @param cmp order
+     * @return the sorted array
+     */
+    default LongImmArray parallelSortWith(LongComparator cmp) {
+        final ForkJoinPool pool = ForkJoinPool.commonPool();
+        return parallelSortWith(cmp, pool, ParallelSorting.defaultThreshold(size(), pool));
+    }
+
+    /**
+     * Returns new array which is sorted this array with specified order in parallel.
+     * The ranges whose length is not greater than the threshold are sorted sequentially.
+     * @param cmp order
+     * @param pool pool to run sorting tasks
+     * @param threshold maximum length of the range to sort sequentially
+     * @return the sorted array
+     * @throws IllegalArgumentException if the threshold is not positive
+     */
+    default LongImmArray parallelSortWith(LongComparator cmp, ForkJoinPool pool, int threshold) {
+        long[] a = toArray();
+        ParallelSorting.sort(a, cmp, pool, threshold);
+        return new LongImmArrayImpl(true, a);
+    }
+
+    /**
+     * Returns the k smallest elements of this array in ascending order, without sorting the whole array.
+     * @param k number of elements
+     * @return the array, which has the same elements as <code>sort().take(k)</code>
+     * @throws IllegalArgumentException if k is negative
+     */
+    default LongImmArray bottomK(int k) {
+        return bottomK(k, LongComparator.NATURAL);
+    }
+
+    /**
+     * Returns the k smallest elements of this array with specified order, without sorting the whole array.
+     * @param k number of elements
+     * @param cmp order
+     * @return the array, which has the same elements as <code>sortWith(cmp).take(k)</code>
+     * @throws IllegalArgumentException if k is negative
+     */
+    default LongImmArray bottomK(int k, LongComparator cmp) {
+        return new LongImmArrayImpl(true, Selection.smallest(this, k, cmp, null));
+    }
+
+    /**
+     * Returns the k largest elements of this array in descending order, without sorting the whole array.
+     * @param k number of elements
+     * @return the array
+     * @throws IllegalArgumentException if k is negative
+     */
+    default LongImmArray topK(int k) {
+        return bottomK(k, LongComparator.REVERSE);
+    }
+
+    /**
+     * Returns the k largest elements of this array with specified order, the result is in descending order.
+     * @param k number of elements
+     * @param cmp order
+     * @return the array
+     * @throws IllegalArgumentException if k is negative
+     */
+    default LongImmArray topK(int k, LongComparator cmp) {
+        return bottomK(k, Selection.reversedLong(cmp));
+    }
+
+    /**
+     * Returns the k smallest elements of this array with specified order in parallel, using the common pool.
+     * The results of the chunks are merged.
+     * @param k number of elements
+     * @param cmp order
+     * @return the array
+     * @throws IllegalArgumentException if k is negative
+     */
+    default LongImmArray parallelBottomK(int k, LongComparator cmp) {
+        return new LongImmArrayImpl(true, Selection.smallest(this, k, cmp, ForkJoinPool.commonPool()));
+    }
+
+    /**
+     * Returns the k largest elements of this array with specified order in parallel, using the common pool.
+     * The results of the chunks are merged.
+     * @param k number of elements
+     * @param cmp order
+     * @return the array
+     * @throws IllegalArgumentException if k is negative
+     */
+    default LongImmArray parallelTopK(int k, LongComparator cmp) {
+        return parallelBottomK(k, Selection.reversedLong(cmp));
+    }
+
     /**
      * Returns new array which is reversed the order of elements in this array.
      * @return the array
@@ -520,7 +900,7 @@ public interface LongImmArray {
             a[j] = a[i];
             a[i] = x;
         }
-        return of(a);
+        return new LongImmArrayImpl(true, a);
     }
 
     /**
@@ -529,12 +909,45 @@ public interface LongImmArray {
      */
     long[] toArray();
 
+    /**
+     * Returns the iterator over the elements in this array.
+     * @return the iterator
+     */
+    default PrimitiveIterator.OfLong iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    /**
+     * Returns the spliterator over the elements in this array.
+     * @return the spliterator
+     */
+    default Spliterator.OfLong spliterator() {
+        return new ImmArraySpliterators.LongSpliterator(this, 0, size());
+    }
+
     /**
      * Returns the stream which consist same elements in this array.
      * @return the stream
      */
     default LongStream stream() {
-        return LongStream.of(toArray());
+        return StreamSupport.longStream(spliterator(), false);
+    }
+
+    /**
+     * Returns the parallel stream which consist same elements in this array.
+     * @return the parallel stream
+     */
+    default LongStream parallelStream() {
+        return StreamSupport.longStream(spliterator(), true);
+    }
+
+    /**
+     * Returns a lazy view of this array.
+     * The operations of the view are not evaluated until a terminal operation is called.
+     * @return the view
+     */
+    default LongImmArrayView view() {
+        return LongImmArrayView.of(this);
     }
 
 }
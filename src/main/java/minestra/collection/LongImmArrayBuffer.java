@@ -0,0 +1,218 @@
+package minestra.collection;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.OptionalLong;
+import java.util.function.LongConsumer;
+
+/**
+ * A long array backed by buffers, such as direct buffers or memory-mapped files.
+ * The elements are split into the chunks of <code>1 &lt;&lt; CHUNK_SHIFT</code> elements,
+ * because a buffer cannot be larger than 2GB.
+ */
+final class LongImmArrayBuffer implements LongImmArray {
+
+    static final int CHUNK_SHIFT = 26;
+    static final int CHUNK_MASK = (1 << CHUNK_SHIFT) - 1;
+
+    private final LongBuffer[] chunks;
+    private final int offset;
+    private final int length;
+
+    private LongImmArrayBuffer(LongBuffer[] chunks, int offset, int length) {
+        this.chunks = chunks;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    static LongImmArray wrap(ByteBuffer buffer) {
+        LongBuffer b = buffer.duplicate().order(buffer.order()).asLongBuffer().asReadOnlyBuffer();
+        final int n = b.remaining();
+        if (n > CHUNK_MASK + 1) {
+            LongBuffer[] chunks = new LongBuffer[((n - 1) >>> CHUNK_SHIFT) + 1];
+            for (int i = 0; i < chunks.length; i++) {
+                b.limit(Math.min(n, (i + 1) << CHUNK_SHIFT)).position(i << CHUNK_SHIFT);
+                chunks[i] = b.slice();
+            }
+            return new LongImmArrayBuffer(chunks, 0, n);
+        }
+        return new LongImmArrayBuffer(new LongBuffer[] { b.slice() }, 0, n);
+    }
+
+    static LongImmArray map(Path path, ByteOrder order) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long bytes = channel.size();
+            if (bytes % Long.BYTES != 0) {
+                throw new IllegalArgumentException("file size is not a multiple of " + Long.BYTES + ": " + bytes);
+            }
+            final long n = bytes / Long.BYTES;
+            if (n > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("too many elements: " + n);
+            }
+            final int chunkCount = (n == 0) ? 0 : (int) ((n - 1) >>> CHUNK_SHIFT) + 1;
+            LongBuffer[] chunks = new LongBuffer[chunkCount];
+            for (int i = 0; i < chunkCount; i++) {
+                final long position = ((long) i << CHUNK_SHIFT) * Long.BYTES;
+                final long size = Math.min(bytes - position, (long) (CHUNK_MASK + 1) * Long.BYTES);
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, size).order(order).asLongBuffer();
+            }
+            return new LongImmArrayBuffer(chunks, 0, (int) n);
+        }
+    }
+
+    private long get(int index) {
+        final int i = offset + index;
+        return chunks[i >>> CHUNK_SHIFT].get(i & CHUNK_MASK);
+    }
+
+    @Override
+    public int size() {
+        return length;
+    }
+
+    @Override
+    public long at(int index) {
+        if (index < 0 || index >= length) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+        return get(index);
+    }
+
+    @Override
+    public LongImmArray slice(int from, int to) {
+        final int to0 = ((to < length - 1) ? to : length - 1) + 1;
+        if (from > to0) {
+            throw new IllegalArgumentException(from + " > " + to0);
+        }
+        if (from < 0) {
+            throw new ArrayIndexOutOfBoundsException(from);
+        }
+        final int n = to0 - from;
+        return (n == 0) ? LongImmArrayImpl.EMPTY : new LongImmArrayBuffer(chunks, offset + from, n);
+    }
+
+    @Override
+    public LongImmArray compact() {
+        return new LongImmArrayImpl(true, toArray());
+    }
+
+    @Override
+    public void forEach(LongConsumer action) {
+        for (int i = 0; i < length; i++) {
+            action.accept(get(i));
+        }
+    }
+
+    @Override
+    public long sum() {
+        final int n = size();
+        if (n == 0) {
+            return 0;
+        }
+        long sum = get(0);
+        for (int i = 1; i < n; i++) {
+            sum += get(i);
+        }
+        return sum;
+    }
+
+    @Override
+    public long product() {
+        final int n = size();
+        if (n == 0) {
+            return 0;
+        }
+        long product = get(0);
+        for (int i = 1; i < n; i++) {
+            product *= get(i);
+        }
+        return product;
+    }
+
+    @Override
+    public OptionalLong max() {
+        final int n = size();
+        if (n == 0) {
+            return OptionalLong.empty();
+        }
+        long max = get(0);
+        for (int i = 1; i < n; i++) {
+            final long x = get(i);
+            if (x > max) {
+                max = x;
+            }
+        }
+        return OptionalLong.of(max);
+    }
+
+    @Override
+    public OptionalLong min() {
+        final int n = size();
+        if (n == 0) {
+            return OptionalLong.empty();
+        }
+        long min = get(0);
+        for (int i = 1; i < n; i++) {
+            final long x = get(i);
+            if (x < min) {
+                min = x;
+            }
+        }
+        return OptionalLong.of(min);
+    }
+
+    @Override
+    public LongImmArray sortWith(int fromIndex, int toIndex, LongComparator cmp) {
+        long[] a = toArray();
+        LongImmArrayImpl.sortWith0(a, fromIndex, toIndex, cmp);
+        return new LongImmArrayImpl(true, a);
+    }
+
+    /**
+     * Copies the elements in the range into the array.
+     */
+    void copyTo(int from, int to, long[] dst, int dstPos) {
+        for (int p = from; p < to;) {
+            final int i = offset + p;
+            final int start = i & CHUNK_MASK;
+            // the duplicate keeps the position of the shared buffer
+            LongBuffer chunk = chunks[i >>> CHUNK_SHIFT].duplicate();
+            final int n = Math.min(chunk.limit() - start, to - p);
+            chunk.position(start);
+            chunk.get(dst, dstPos + p - from, n);
+            p += n;
+        }
+    }
+
+    @Override
+    public long[] toArray() {
+        long[] a = new long[length];
+        copyTo(0, length, a, 0);
+        return a;
+    }
+
+    @Override
+    public int hashCode() {
+        return LongImmArrayImpl.contentHashCode(this);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        return (obj instanceof LongImmArray) && LongImmArrayImpl.contentEquals(this, (LongImmArray) obj);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+}
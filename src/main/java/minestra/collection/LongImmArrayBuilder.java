@@ -0,0 +1,103 @@
+package minestra.collection;
+
+import java.nio.LongBuffer;
+import java.util.stream.LongStream;
+
+/**
+ * A builder of <code>LongImmArray</code>.
+ * The elements are stored in the chunks, so the added elements are never copied while the builder grows.
+ * If the elements fill the initial capacity exactly, <code>build()</code> creates the array without copying.
+ */
+public final class LongImmArrayBuilder {
+
+    private final LongChunks chunks;
+
+    LongImmArrayBuilder(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative: " + capacity);
+        }
+        this.chunks = new LongChunks(capacity);
+    }
+
+    /**
+     * Returns the number of the added elements.
+     * @return the number of elements
+     */
+    public int size() {
+        return chunks.size();
+    }
+
+    /**
+     * Adds the value.
+     * @param value value
+     * @return this builder
+     */
+    public LongImmArrayBuilder add(long value) {
+        chunks.add(value);
+        return this;
+    }
+
+    /**
+     * Adds the values.
+     * @param values values
+     * @return this builder
+     */
+    public LongImmArrayBuilder addAll(long... values) {
+        chunks.addAll(values, 0, values.length);
+        return this;
+    }
+
+    /**
+     * Adds the elements of the array.
+     * @param arr array
+     * @return this builder
+     */
+    public LongImmArrayBuilder addAll(LongImmArray arr) {
+        if (arr instanceof LongImmArrayImpl) {
+            final long[] a = ((LongImmArrayImpl) arr).values;
+            chunks.addAll(a, 0, a.length);
+        }
+        else if (arr instanceof LongImmArraySlice) {
+            LongImmArraySlice o = (LongImmArraySlice) arr;
+            chunks.addAll(o.values, o.offset, o.offset + o.length);
+        }
+        else {
+            final long[] a = arr.toArray();
+            chunks.addAll(a, 0, a.length);
+        }
+        return this;
+    }
+
+    /**
+     * Adds the remaining elements of the buffer.
+     * The position of the buffer is not changed.
+     * @param buffer buffer
+     * @return this builder
+     */
+    public LongImmArrayBuilder addAll(LongBuffer buffer) {
+        chunks.addAll(buffer.duplicate());
+        return this;
+    }
+
+    /**
+     * Adds the elements of the stream in order of the stream.
+     * If the stream is parallel, the elements are accumulated in parallel and then linked without copying.
+     * @param stream stream
+     * @return this builder
+     */
+    public LongImmArrayBuilder addAll(LongStream stream) {
+        chunks.append(stream.collect(LongChunks::new, LongChunks::add, LongChunks::append));
+        return this;
+    }
+
+    /**
+     * Returns the array of the added elements.
+     * The builder can be used after this, and it does not affect the built arrays.
+     * @return the array
+     */
+    public LongImmArray build() {
+        final long[] a = chunks.toArray();
+        return (a.length == 0) ? LongImmArrayImpl.EMPTY : new LongImmArrayImpl(true, a);
+    }
+
+}
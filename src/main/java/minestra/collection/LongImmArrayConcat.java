@@ -0,0 +1,291 @@
+package minestra.collection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.function.LongConsumer;
+
+/**
+ * A concatenation of long arrays which keeps the references to its parts instead of copying them.
+ * The element at an index is found by the binary search of the cumulative offsets of the parts.
+ */
+final class LongImmArrayConcat implements LongImmArray {
+
+    private final LongImmArray[] parts;
+    private final int[] offsets;
+    private final int depth;
+
+    private LongImmArrayConcat(LongImmArray[] parts, int[] offsets, int depth) {
+        this.parts = parts;
+        this.offsets = offsets;
+        this.depth = depth;
+    }
+
+    static LongImmArray concat(LongImmArray self, LongImmArray first, LongImmArray... rest) {
+        List<LongImmArray> a = new ArrayList<>(rest.length + 2);
+        a.add(self);
+        a.add(first);
+        Collections.addAll(a, rest);
+        return of(a);
+    }
+
+    static LongImmArray of(List<LongImmArray> list) {
+        List<LongImmArray> a = new ArrayList<>(list.size());
+        long length = 0L;
+        int depth = 0;
+        for (LongImmArray o : list) {
+            final int n = o.size();
+            if (n > 0) {
+                a.add(o);
+                length += n;
+                depth = Math.max(depth, depthOf(o));
+            }
+        }
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("too large to concatenate: " + length);
+        }
+        if (a.size() == 1) {
+            return a.get(0);
+        }
+        if (length <= ImmArrayConcat.MIN_LENGTH) {
+            return new LongImmArrayImpl(true, copyOf(a, (int) length));
+        }
+        if (depth >= ImmArrayConcat.MAX_DEPTH) {
+            List<LongImmArray> leaves = new ArrayList<>();
+            for (LongImmArray o : a) {
+                addLeaves(leaves, o);
+            }
+            a = coalesce(leaves);
+            depth = 0;
+        }
+        LongImmArray[] parts = a.toArray(new LongImmArray[a.size()]);
+        int[] offsets = new int[parts.length + 1];
+        for (int i = 0; i < parts.length; i++) {
+            offsets[i + 1] = offsets[i] + parts[i].size();
+        }
+        return new LongImmArrayConcat(parts, offsets, depth + 1);
+    }
+
+    private static int depthOf(LongImmArray a) {
+        return (a instanceof LongImmArrayConcat) ? ((LongImmArrayConcat) a).depth : 0;
+    }
+
+    private static void addLeaves(List<LongImmArray> leaves, LongImmArray a) {
+        if (a instanceof LongImmArrayConcat) {
+            for (LongImmArray o : ((LongImmArrayConcat) a).parts) {
+                addLeaves(leaves, o);
+            }
+        }
+        else {
+            leaves.add(a);
+        }
+    }
+
+    /**
+     * Returns the list that the adjacent short arrays are joined into one array.
+     * @param leaves the arrays which are not the concatenation
+     * @return the list
+     */
+    private static List<LongImmArray> coalesce(List<LongImmArray> leaves) {
+        List<LongImmArray> a = new ArrayList<>(leaves.size());
+        List<LongImmArray> run = new ArrayList<>();
+        int runLength = 0;
+        for (LongImmArray o : leaves) {
+            final int n = o.size();
+            if (n < ImmArrayConcat.MIN_LENGTH && runLength + n <= ImmArrayConcat.MIN_LENGTH) {
+                run.add(o);
+                runLength += n;
+                continue;
+            }
+            flush(a, run, runLength);
+            runLength = 0;
+            if (n < ImmArrayConcat.MIN_LENGTH) {
+                run.add(o);
+                runLength = n;
+            }
+            else {
+                a.add(o);
+            }
+        }
+        flush(a, run, runLength);
+        return a;
+    }
+
+    private static void flush(List<LongImmArray> a, List<LongImmArray> run, int runLength) {
+        if (run.size() == 1) {
+            a.add(run.get(0));
+        }
+        else if (run.size() > 1) {
+            a.add(new LongImmArrayImpl(true, copyOf(run, runLength)));
+        }
+        run.clear();
+    }
+
+    private static long[] copyOf(List<LongImmArray> list, int length) {
+        long[] a = new long[length];
+        int p = 0;
+        for (LongImmArray o : list) {
+            p = copyTo(o, a, p);
+        }
+        return a;
+    }
+
+    /**
+     * Copies the elements of the array into the destination without the defensive copy if possible.
+     * @param src the array
+     * @param dest the destination
+     * @param pos the start position in the destination
+     * @return the next position in the destination
+     */
+    static int copyTo(LongImmArray src, long[] dest, int pos) {
+        if (src instanceof LongImmArrayImpl) {
+            long[] values = ((LongImmArrayImpl) src).values;
+            System.arraycopy(values, 0, dest, pos, values.length);
+            return pos + values.length;
+        }
+        if (src instanceof LongImmArraySlice) {
+            LongImmArraySlice o = (LongImmArraySlice) src;
+            System.arraycopy(o.values, o.offset, dest, pos, o.length);
+            return pos + o.length;
+        }
+        if (src instanceof LongImmArrayConcat) {
+            int p = pos;
+            for (LongImmArray o : ((LongImmArrayConcat) src).parts) {
+                p = copyTo(o, dest, p);
+            }
+            return p;
+        }
+        long[] values = src.toArray();
+        System.arraycopy(values, 0, dest, pos, values.length);
+        return pos + values.length;
+    }
+
+    private int partIndex(int index) {
+        final int i = Arrays.binarySearch(offsets, 0, parts.length, index);
+        return (i >= 0) ? i : -i - 2;
+    }
+
+    @Override
+    public int size() {
+        return offsets[parts.length];
+    }
+
+    @Override
+    public long at(int index) {
+        if (index < 0 || index >= size()) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+        final int k = partIndex(index);
+        return parts[k].at(index - offsets[k]);
+    }
+
+    @Override
+    public LongImmArray slice(int from, int to) {
+        final int length = size();
+        final int to0 = ((to < length - 1) ? to : length - 1) + 1;
+        if (from > to0) {
+            throw new IllegalArgumentException(from + " > " + to0);
+        }
+        if (from < 0) {
+            throw new ArrayIndexOutOfBoundsException(from);
+        }
+        if (from == to0) {
+            return LongImmArrayImpl.EMPTY;
+        }
+        final int k1 = partIndex(from);
+        final int k2 = partIndex(to0 - 1);
+        if (k1 == k2) {
+            return parts[k1].slice(from - offsets[k1], to0 - 1 - offsets[k1]);
+        }
+        List<LongImmArray> a = new ArrayList<>(k2 - k1 + 1);
+        a.add(parts[k1].slice(from - offsets[k1], Integer.MAX_VALUE));
+        for (int k = k1 + 1; k < k2; k++) {
+            a.add(parts[k]);
+        }
+        a.add(parts[k2].slice(0, to0 - 1 - offsets[k2]));
+        return of(a);
+    }
+
+    @Override
+    public LongImmArray compact() {
+        return new LongImmArrayImpl(true, toArray());
+    }
+
+    @Override
+    public void forEach(LongConsumer action) {
+        for (LongImmArray o : parts) {
+            o.forEach(action);
+        }
+    }
+
+    @Override
+    public long sum() {
+        long sum = 0;
+        for (LongImmArray o : parts) {
+            sum += o.sum();
+        }
+        return sum;
+    }
+
+    @Override
+    public long product() {
+        long product = 1;
+        for (LongImmArray o : parts) {
+            product *= o.product();
+        }
+        return product;
+    }
+
+    @Override
+    public OptionalLong max() {
+        long max = Long.MIN_VALUE;
+        for (LongImmArray o : parts) {
+            max = Math.max(max, o.max().getAsLong());
+        }
+        return OptionalLong.of(max);
+    }
+
+    @Override
+    public OptionalLong min() {
+        long min = Long.MAX_VALUE;
+        for (LongImmArray o : parts) {
+            min = Math.min(min, o.min().getAsLong());
+        }
+        return OptionalLong.of(min);
+    }
+
+    @Override
+    public LongImmArray sortWith(int fromIndex, int toIndex, LongComparator cmp) {
+        long[] a = toArray();
+        LongImmArrayImpl.sortWith0(a, fromIndex, toIndex, cmp);
+        return new LongImmArrayImpl(true, a);
+    }
+
+    @Override
+    public long[] toArray() {
+        long[] a = new long[size()];
+        copyTo(this, a, 0);
+        return a;
+    }
+
+    @Override
+    public int hashCode() {
+        return LongImmArrayImpl.contentHashCode(this);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        return (obj instanceof LongImmArray) && LongImmArrayImpl.contentEquals(this, (LongImmArray) obj);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+}
@@ -2,13 +2,23 @@ package minestra.collection;
 
 import java.util.Arrays;
 import java.util.OptionalLong;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
 import java.util.function.LongPredicate;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.LongToIntFunction;
+import java.util.function.LongUnaryOperator;
 
 final class LongImmArrayImpl implements LongImmArray {
 
     static final LongImmArray EMPTY = new LongImmArrayImpl();
 
     final long[] values;
+    private int hash;
+    private long contentHash;
 
     LongImmArrayImpl(long... a) {
         this(false, a);
@@ -39,23 +49,151 @@ final class LongImmArrayImpl implements LongImmArray {
                 a[p++] = x;
             }
         }
-        return new LongImmArrayImpl(Arrays.copyOf(a, p));
+        return new LongImmArrayImpl(true, Arrays.copyOf(a, p));
     }
 
     @Override
-    public long sum() {
-        final int n = size();
-        if (n == 0) {
-            return 0;
+    public void forEach(LongConsumer action) {
+        for (final long x : values) {
+            action.accept(x);
         }
-        if (n == 1) {
-            return values[0];
+    }
+
+    @Override
+    public boolean exists(LongPredicate pred) {
+        for (final long x : values) {
+            if (pred.test(x)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean contains(long value) {
+        return indexOf(value) >= 0;
+    }
+
+    @Override
+    public OptionalLong find(LongPredicate pred, int start) {
+        final int n = values.length;
+        for (int i = start; i < n; i++) {
+            final long value = values[i];
+            if (pred.test(value)) {
+                return OptionalLong.of(value);
+            }
+        }
+        return OptionalLong.empty();
+    }
+
+    @Override
+    public int indexOf(long value) {
+        final int n = values.length;
+        for (int i = 0; i < n; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int indexWhere(LongPredicate pred) {
+        final int n = values.length;
+        for (int i = 0; i < n; i++) {
+            if (pred.test(values[i])) {
+                return i;
+            }
         }
-        long sum = values[0];
+        return -1;
+    }
+
+    @Override
+    public LongImmArray map(LongUnaryOperator mapper) {
+        final int n = values.length;
+        long[] a = new long[n];
+        for (int i = 0; i < n; i++) {
+            a[i] = mapper.applyAsLong(values[i]);
+        }
+        return new LongImmArrayImpl(true, a);
+    }
+
+    @Override
+    public <R> ImmArray<R> mapToObj(LongFunction<R> mapper) {
+        final int n = values.length;
+        @SuppressWarnings("unchecked")
+        R[] a = (R[]) new Object[n];
+        for (int i = 0; i < n; i++) {
+            a[i] = mapper.apply(values[i]);
+        }
+        return new ImmArrayImpl<>(true, a);
+    }
+
+    @Override
+    public IntImmArray mapToInt(LongToIntFunction mapper) {
+        final int n = values.length;
+        int[] a = new int[n];
+        for (int i = 0; i < n; i++) {
+            a[i] = mapper.applyAsInt(values[i]);
+        }
+        return new IntImmArrayImpl(true, a);
+    }
+
+    @Override
+    public DoubleImmArray mapToDouble(LongToDoubleFunction mapper) {
+        final int n = values.length;
+        double[] a = new double[n];
+        for (int i = 0; i < n; i++) {
+            a[i] = mapper.applyAsDouble(values[i]);
+        }
+        return new DoubleImmArrayImpl(true, a);
+    }
+
+    @Override
+    public OptionalLong reduce(LongBinaryOperator op) {
+        final int n = values.length;
+        if (n == 0) {
+            return OptionalLong.empty();
+        }
+        long result = values[0];
         for (int i = 1; i < n; i++) {
-            sum += values[i];
+            result = op.applyAsLong(result, values[i]);
+        }
+        return OptionalLong.of(result);
+    }
+
+    @Override
+    public long reduce(long identity, LongBinaryOperator op) {
+        long result = identity;
+        for (final long x : values) {
+            result = op.applyAsLong(result, x);
+        }
+        return result;
+    }
+
+    @Override
+    public LongImmArray distinct() {
+        return new LongImmArrayImpl(true, LongHashTable.distinct(values, new LongHashTable()));
+    }
+
+    @Override
+    public LongImmSet toSet() {
+        return LongImmSetImpl.of(values);
+    }
+
+    @Override
+    public LongImmArray reverse() {
+        final int n = values.length;
+        long[] a = new long[n];
+        for (int i = 0, j = n - 1; i < n; i++, j--) {
+            a[i] = values[j];
         }
-        return sum;
+        return new LongImmArrayImpl(true, a);
+    }
+
+    @Override
+    public long sum() {
+        return Kernels.sum(values, 0, values.length);
     }
 
     @Override
@@ -80,16 +218,7 @@ final class LongImmArrayImpl implements LongImmArray {
         if (n == 0) {
             return OptionalLong.empty();
         }
-        if (n == 1) {
-            return OptionalLong.of(values[0]);
-        }
-        long max = values[0];
-        for (int i = 1; i < n; i++) {
-            if (values[i] > max) {
-                max = values[i];
-            }
-        }
-        return OptionalLong.of(max);
+        return OptionalLong.of(Kernels.max(values, 0, n));
     }
 
     @Override
@@ -98,67 +227,28 @@ final class LongImmArrayImpl implements LongImmArray {
         if (n == 0) {
             return OptionalLong.empty();
         }
-        if (n == 1) {
-            return OptionalLong.of(values[0]);
-        }
-        long min = values[0];
-        for (int i = 1; i < n; i++) {
-            if (values[i] < min) {
-                min = values[i];
-            }
-        }
-        return OptionalLong.of(min);
+        return OptionalLong.of(Kernels.min(values, 0, n));
+    }
+
+    @Override
+    public LongImmArray slice(int from, int to) {
+        return LongImmArraySlice.slice(values, 0, values.length, from, to);
     }
 
     @Override
     public LongImmArray sortWith(int fromIndex, int toIndex, LongComparator cmp) {
         long[] a = toArray();
         sortWith0(a, fromIndex, toIndex, cmp);
-        return new LongImmArrayImpl(a);
+        return new LongImmArrayImpl(true, a);
     }
 
     static void sortWith0(long[] a, int fromIndex, int toIndex, LongComparator cmp) {
-        final int length = toIndex - fromIndex + 1;
-        if (length < 2) {
-            return;
-        }
-        if (length == 2) {
-            if (cmp.gt(a[fromIndex], a[toIndex])) {
-                long x = a[fromIndex];
-                a[fromIndex] = a[toIndex];
-                a[toIndex] = x;
-            }
-            return;
-        }
-        // FIXME bad performance
-        final long pivot = a[fromIndex];
-        int p1 = 0;
-        int p2 = 0;
-        long[] a1 = new long[length];
-        long[] a2 = new long[length];
-        for (int i = fromIndex + 1; i <= toIndex; i++) {
-            final long v = a[i];
-            if (cmp.lt(v, pivot)) {
-                a1[p1++] = v;
-            }
-            else {
-                a2[p2++] = v;
-            }
-        }
-        int p = fromIndex;
-        for (int i = 0; i < p1; i++) {
-            a[p++] = a1[i];
-        }
-        a[p++] = pivot;
-        for (int i = 0; i < p2; i++) {
-            a[p++] = a2[i];
-        }
-        if (p1 > 0) {
-            sortWith0(a, fromIndex, fromIndex + p1 - 1, cmp);
-        }
-        if (p2 > 0) {
-            sortWith0(a, fromIndex + p1 + 1, toIndex, cmp);
-        }
+        Sorting.sort(a, fromIndex, toIndex + 1, cmp);
+    }
+
+    @Override
+    public Spliterator.OfLong spliterator() {
+        return Spliterators.spliterator(values, 0, values.length, ImmArraySpliterators.PRIMITIVE_CHARACTERISTICS);
     }
 
     @Override
@@ -168,12 +258,28 @@ final class LongImmArrayImpl implements LongImmArray {
 
     @Override
     public int hashCode() {
-        final int prime = 31;
-        int result = 1;
-        result = prime * result + Arrays.hashCode(values);
+        int result = hash;
+        if (result == 0) {
+            final int prime = 31;
+            result = prime + Arrays.hashCode(values);
+            hash = result;
+        }
         return result;
     }
 
+    /**
+     * Returns the 64-bit hash of the elements, which is computed once and cached.
+     * @return the hash
+     */
+    long contentHash() {
+        long h = contentHash;
+        if (h == 0L) {
+            h = InternPool.hash(values);
+            contentHash = h;
+        }
+        return h;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) {
@@ -182,16 +288,61 @@ final class LongImmArrayImpl implements LongImmArray {
         if (obj == null) {
             return false;
         }
+        if (obj instanceof LongImmArraySlice) {
+            return obj.equals(this);
+        }
         if (getClass() != obj.getClass()) {
-            return false;
+            return (obj instanceof LongImmArray) && contentEquals(this, (LongImmArray) obj);
         }
         LongImmArrayImpl other = (LongImmArrayImpl) obj;
+        if (hash != 0 && other.hash != 0 && hash != other.hash) {
+            return false;
+        }
+        if (contentHash != 0L && other.contentHash != 0L && contentHash != other.contentHash) {
+            return false;
+        }
         if (!Arrays.equals(values, other.values)) {
             return false;
         }
         return true;
     }
 
+    /**
+     * Returns whether the two arrays have the same elements in the same order.
+     * This is used to compare the arrays which have the different implementations.
+     * @param a the array
+     * @param b the other array
+     * @return <code>true</code> if these are equal
+     */
+    static boolean contentEquals(LongImmArray a, LongImmArray b) {
+        final int n = a.size();
+        if (n != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < n; i++) {
+            if (a.at(i) != b.at(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the hash code of the elements which is consistent with <code>hashCode()</code> of this class.
+     * @param a the array
+     * @return the hash code
+     */
+    static int contentHashCode(LongImmArray a) {
+        final int prime = 31;
+        final int n = a.size();
+        int h = 1;
+        for (int i = 0; i < n; i++) {
+            final long x = a.at(i);
+            h = prime * h + (int) (x ^ (x >>> 32));
+        }
+        return prime + h;
+    }
+
     @Override
     public String toString() {
         return Arrays.toString(values);
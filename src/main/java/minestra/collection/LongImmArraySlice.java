@@ -0,0 +1,158 @@
+package minestra.collection;
+
+import java.util.Arrays;
+import java.util.OptionalLong;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.LongPredicate;
+
+/**
+ * A view of the part of a long array.
+ * This shares the storage with its original array, use <code>compact()</code> to release it.
+ */
+final class LongImmArraySlice implements LongImmArray {
+
+    final long[] values;
+    final int offset;
+    final int length;
+
+    LongImmArraySlice(long[] values, int offset, int length) {
+        this.values = values;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    static LongImmArray slice(long[] values, int offset, int length, int from, int to) {
+        final int to0 = ((to < length - 1) ? to : length - 1) + 1;
+        if (from > to0) {
+            throw new IllegalArgumentException(from + " > " + to0);
+        }
+        if (from < 0) {
+            throw new ArrayIndexOutOfBoundsException(from);
+        }
+        final int n = to0 - from;
+        return (n == 0) ? LongImmArrayImpl.EMPTY : new LongImmArraySlice(values, offset + from, n);
+    }
+
+    @Override
+    public long at(int index) {
+        if (index < 0 || index >= length) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+        return values[offset + index];
+    }
+
+    @Override
+    public int size() {
+        return length;
+    }
+
+    @Override
+    public LongImmArray filter(LongPredicate pred) {
+        final int end = offset + length;
+        int p = 0;
+        long[] a = new long[length];
+        for (int i = offset; i < end; i++) {
+            final long x = values[i];
+            if (pred.test(x)) {
+                a[p++] = x;
+            }
+        }
+        return new LongImmArrayImpl(true, Arrays.copyOf(a, p));
+    }
+
+    @Override
+    public long sum() {
+        return Kernels.sum(values, offset, offset + length);
+    }
+
+    @Override
+    public long product() {
+        final int end = offset + length;
+        long product = values[offset];
+        for (int i = offset + 1; i < end; i++) {
+            product *= values[i];
+        }
+        return product;
+    }
+
+    @Override
+    public OptionalLong max() {
+        return OptionalLong.of(Kernels.max(values, offset, offset + length));
+    }
+
+    @Override
+    public OptionalLong min() {
+        return OptionalLong.of(Kernels.min(values, offset, offset + length));
+    }
+
+    @Override
+    public LongImmArray slice(int from, int to) {
+        return slice(values, offset, length, from, to);
+    }
+
+    @Override
+    public LongImmArray compact() {
+        return new LongImmArrayImpl(true, toArray());
+    }
+
+    @Override
+    public LongImmArray sortWith(int fromIndex, int toIndex, LongComparator cmp) {
+        long[] a = toArray();
+        LongImmArrayImpl.sortWith0(a, fromIndex, toIndex, cmp);
+        return new LongImmArrayImpl(true, a);
+    }
+
+    @Override
+    public Spliterator.OfLong spliterator() {
+        return Spliterators.spliterator(values, offset, offset + length, ImmArraySpliterators.PRIMITIVE_CHARACTERISTICS);
+    }
+
+    @Override
+    public long[] toArray() {
+        return Arrays.copyOfRange(values, offset, offset + length);
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        final int end = offset + length;
+        int h = 1;
+        for (int i = offset; i < end; i++) {
+            final long x = values[i];
+            h = prime * h + (int) (x ^ (x >>> 32));
+        }
+        return prime + h;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof LongImmArraySlice) {
+            LongImmArraySlice other = (LongImmArraySlice) obj;
+            return length == other.length && rangeEquals(values, offset, other.values, other.offset, length);
+        }
+        if (obj instanceof LongImmArrayImpl) {
+            long[] a = ((LongImmArrayImpl) obj).values;
+            return length == a.length && rangeEquals(values, offset, a, 0, length);
+        }
+        return (obj instanceof LongImmArray) && LongImmArrayImpl.contentEquals(this, (LongImmArray) obj);
+    }
+
+    static boolean rangeEquals(long[] a1, int offset1, long[] a2, int offset2, int length) {
+        for (int i = 0; i < length; i++) {
+            if (a1[offset1 + i] != a2[offset2 + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+}
@@ -0,0 +1,74 @@
+package minestra.collection;
+
+import java.util.Arrays;
+
+final class LongImmSetImpl implements LongImmSet {
+
+    static final LongImmSetImpl EMPTY = new LongImmSetImpl(new long[0], new LongHashTable());
+
+    private final long[] elements;
+    private final LongHashTable table;
+
+    private LongImmSetImpl(long[] elements, LongHashTable table) {
+        this.elements = elements;
+        this.table = table;
+    }
+
+    static LongImmSet of(long[] a) {
+        if (a.length == 0) {
+            return EMPTY;
+        }
+        LongHashTable table = new LongHashTable();
+        return new LongImmSetImpl(LongHashTable.distinct(a, table), table);
+    }
+
+    @Override
+    public int size() {
+        return elements.length;
+    }
+
+    @Override
+    public boolean contains(long value) {
+        return table.contains(value);
+    }
+
+    @Override
+    public LongImmArray toImmArray() {
+        return new LongImmArrayImpl(true, elements);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = 0;
+        for (final long x : elements) {
+            h += (int) (x ^ (x >>> 32));
+        }
+        return h;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof LongImmSet)) {
+            return false;
+        }
+        LongImmSet other = (LongImmSet) obj;
+        if (other.size() != elements.length) {
+            return false;
+        }
+        for (final long x : elements) {
+            if (!other.contains(x)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(elements);
+    }
+
+}
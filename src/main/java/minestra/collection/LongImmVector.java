@@ -0,0 +1,49 @@
+package minestra.collection;
+
+/**
+ * A persistent vector of primitive <code>long</code>.
+ * The operations which add or replace an element return a new vector in near-constant time,
+ * and the new vector shares the most of its storage with the original one.
+ */
+public interface LongImmVector extends LongImmArray {
+
+    /**
+     * Returns a new vector of the specified values.
+     * @param a long array
+     * @return new vector
+     */
+    static LongImmVector of(long... a) {
+        return LongImmVectorImpl.of(a);
+    }
+
+    /**
+     * Returns an empty vector.
+     * @return the empty vector
+     */
+    static LongImmVector empty() {
+        return LongImmVectorImpl.EMPTY;
+    }
+
+    /**
+     * Returns a new vector that the specified value is added at the end of this vector.
+     * @param value the value to add
+     * @return the new vector
+     */
+    LongImmVector appended(long value);
+
+    /**
+     * Returns a new vector that the specified value is added at the beginning of this vector.
+     * @param value the value to add
+     * @return the new vector
+     */
+    LongImmVector prepended(long value);
+
+    /**
+     * Returns a new vector that the element at the specified index is replaced with the specified value.
+     * @param index index of the element to replace
+     * @param value the new value
+     * @return the new vector
+     */
+    LongImmVector updated(int index, long value);
+
+}
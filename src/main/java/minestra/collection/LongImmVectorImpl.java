@@ -0,0 +1,211 @@
+package minestra.collection;
+
+import static minestra.collection.VectorTrie.BITS;
+import static minestra.collection.VectorTrie.MASK;
+import static minestra.collection.VectorTrie.WIDTH;
+import java.util.Arrays;
+import java.util.OptionalLong;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongConsumer;
+
+/**
+ * An implementation of LongImmVector.
+ * The elements are stored in the trie from <code>origin</code>, and the last up to 32 elements are stored in the tail.
+ */
+final class LongImmVectorImpl implements LongImmVector {
+
+    static final LongImmVectorImpl EMPTY = new LongImmVectorImpl(new Object[WIDTH], BITS, 0, 0, new long[0]);
+
+    private final Object[] root;
+    private final int shift;
+    private final int origin;
+    private final int trieSize;
+    private final long[] tail;
+
+    LongImmVectorImpl(Object[] root, int shift, int origin, int trieSize, long[] tail) {
+        this.root = root;
+        this.shift = shift;
+        this.origin = origin;
+        this.trieSize = trieSize;
+        this.tail = tail;
+    }
+
+    static LongImmVector of(long... a) {
+        final int n = a.length;
+        if (n == 0) {
+            return EMPTY;
+        }
+        final int trieSize = ((n - 1) >>> BITS) << BITS;
+        Object[] root = new Object[WIDTH];
+        int shift = BITS;
+        for (int i = 0; i < trieSize; i += WIDTH) {
+            if (i == VectorTrie.capacity(shift)) {
+                root = VectorTrie.growRight(root, shift);
+                shift += BITS;
+            }
+            root = VectorTrie.setLeaf(root, shift, i, Arrays.copyOfRange(a, i, i + WIDTH));
+        }
+        return new LongImmVectorImpl(root, shift, 0, trieSize, Arrays.copyOfRange(a, trieSize, n));
+    }
+
+    @Override
+    public int size() {
+        return trieSize + tail.length;
+    }
+
+    @Override
+    public long at(int index) {
+        if (index < 0 || index >= size()) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+        if (index >= trieSize) {
+            return tail[index - trieSize];
+        }
+        final int j = origin + index;
+        return ((long[]) VectorTrie.leafFor(root, shift, j))[j & MASK];
+    }
+
+    @Override
+    public LongImmVector appended(long value) {
+        final int n = tail.length;
+        if (n < WIDTH) {
+            long[] a = Arrays.copyOf(tail, n + 1);
+            a[n] = value;
+            return new LongImmVectorImpl(root, shift, origin, trieSize, a);
+        }
+        final int end = origin + trieSize;
+        Object[] newRoot = root;
+        int newShift = shift;
+        if (end == VectorTrie.capacity(shift)) {
+            newRoot = VectorTrie.growRight(root, shift);
+            newShift += BITS;
+        }
+        newRoot = VectorTrie.setLeaf(newRoot, newShift, end, tail);
+        return new LongImmVectorImpl(newRoot, newShift, origin, trieSize + WIDTH, new long[] { value });
+    }
+
+    @Override
+    public LongImmVector prepended(long value) {
+        Object[] newRoot = root;
+        int newShift = shift;
+        int newOrigin = origin;
+        if (origin == 0) {
+            newRoot = VectorTrie.growLeft(root, shift);
+            newOrigin = MASK * VectorTrie.capacity(shift);
+            newShift += BITS;
+        }
+        final int j = newOrigin - 1;
+        long[] leaf = (long[]) VectorTrie.leafFor(newRoot, newShift, j);
+        leaf = (leaf == null) ? new long[WIDTH] : leaf.clone();
+        leaf[j & MASK] = value;
+        newRoot = VectorTrie.setLeaf(newRoot, newShift, j, leaf);
+        return new LongImmVectorImpl(newRoot, newShift, j, trieSize + 1, tail);
+    }
+
+    @Override
+    public LongImmVector updated(int index, long value) {
+        if (index < 0 || index >= size()) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+        if (index >= trieSize) {
+            long[] a = tail.clone();
+            a[index - trieSize] = value;
+            return new LongImmVectorImpl(root, shift, origin, trieSize, a);
+        }
+        final int j = origin + index;
+        long[] leaf = ((long[]) VectorTrie.leafFor(root, shift, j)).clone();
+        leaf[j & MASK] = value;
+        return new LongImmVectorImpl(VectorTrie.setLeaf(root, shift, j, leaf), shift, origin, trieSize, tail);
+    }
+
+    @Override
+    public void forEach(LongConsumer action) {
+        for (int i = 0; i < trieSize;) {
+            final int j = origin + i;
+            final long[] leaf = (long[]) VectorTrie.leafFor(root, shift, j);
+            final int start = j & MASK;
+            final int end = start + Math.min(WIDTH - start, trieSize - i);
+            for (int k = start; k < end; k++) {
+                action.accept(leaf[k]);
+            }
+            i += end - start;
+        }
+        for (final long x : tail) {
+            action.accept(x);
+        }
+    }
+
+    @Override
+    public OptionalLong reduce(LongBinaryOperator op) {
+        if (size() == 0) {
+            return OptionalLong.empty();
+        }
+        long[] result = { 0 };
+        boolean[] present = { false };
+        forEach(x -> {
+            result[0] = present[0] ? op.applyAsLong(result[0], x) : x;
+            present[0] = true;
+        });
+        return OptionalLong.of(result[0]);
+    }
+
+    @Override
+    public long sum() {
+        return reduce(Long::sum).orElse(0);
+    }
+
+    @Override
+    public long product() {
+        return reduce((x, y) -> x * y).orElse(0);
+    }
+
+    @Override
+    public OptionalLong max() {
+        return reduce(Math::max);
+    }
+
+    @Override
+    public OptionalLong min() {
+        return reduce(Math::min);
+    }
+
+    @Override
+    public LongImmArray sortWith(int fromIndex, int toIndex, LongComparator cmp) {
+        long[] a = toArray();
+        LongImmArrayImpl.sortWith0(a, fromIndex, toIndex, cmp);
+        return new LongImmArrayImpl(true, a);
+    }
+
+    @Override
+    public long[] toArray() {
+        long[] a = new long[size()];
+        for (int i = 0; i < trieSize;) {
+            final int j = origin + i;
+            final int start = j & MASK;
+            final int length = Math.min(WIDTH - start, trieSize - i);
+            System.arraycopy(VectorTrie.leafFor(root, shift, j), start, a, i, length);
+            i += length;
+        }
+        System.arraycopy(tail, 0, a, trieSize, tail.length);
+        return a;
+    }
+
+    @Override
+    public int hashCode() {
+        return LongImmArrayImpl.contentHashCode(this);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        return (obj instanceof LongImmArray) && LongImmArrayImpl.contentEquals(this, (LongImmArray) obj);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+}
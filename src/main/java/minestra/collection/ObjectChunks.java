@@ -0,0 +1,114 @@
+package minestra.collection;
+
+import java.util.Arrays;
+
+/**
+ * A growable sequence of objects, which is stored in the chunks instead of a single array.
+ * When the chunks are full, a new chunk as large as the current size is added,
+ * so the elements are never copied until <code>toArray</code>.
+ * The chunks of two sequences can be joined without copying, which is used to combine the results in parallel.
+ */
+final class ObjectChunks {
+
+    static final int MIN_CHUNK_SIZE = 16;
+    static final int MAX_CHUNK_SIZE = 1 << 20;
+
+    private Object[][] chunks = new Object[4][];
+    // the number of elements in each chunk except the last one
+    private int[] lengths = new int[4];
+    private int chunkCount;
+    private Object[] current;
+    private int position;
+    private int completed;
+
+    ObjectChunks() {
+        // empty
+    }
+
+    /**
+     * Creates the sequence whose first chunk has the specified capacity.
+     * @param capacity the capacity of the first chunk
+     */
+    ObjectChunks(int capacity) {
+        if (capacity > 0) {
+            addChunk(new Object[capacity], 0);
+        }
+    }
+
+    int size() {
+        return completed + position;
+    }
+
+    void add(Object x) {
+        if (current == null || position == current.length) {
+            addChunk(newChunk(1), 0);
+        }
+        current[position++] = x;
+    }
+
+    void addAll(Object[] a, int from, int to) {
+        int i = from;
+        while (i < to) {
+            if (current == null || position == current.length) {
+                addChunk(newChunk(to - i), 0);
+            }
+            final int n = Math.min(to - i, current.length - position);
+            System.arraycopy(a, i, current, position, n);
+            position += n;
+            i += n;
+        }
+    }
+
+    /**
+     * Moves the chunks of the other sequence to the end of this sequence.
+     * The other sequence must not be used after this.
+     * @param other the other sequence
+     * @return this sequence
+     */
+    ObjectChunks append(ObjectChunks other) {
+        for (int i = 0; i < other.chunkCount; i++) {
+            addChunk(other.chunks[i], (i == other.chunkCount - 1) ? other.position : other.lengths[i]);
+        }
+        return this;
+    }
+
+    private Object[] newChunk(int minLength) {
+        final int n = Math.min(MAX_CHUNK_SIZE, Math.max(MIN_CHUNK_SIZE, size()));
+        return new Object[Math.max(n, minLength)];
+    }
+
+    private void addChunk(Object[] chunk, int length) {
+        if (chunkCount > 0) {
+            lengths[chunkCount - 1] = position;
+            completed += position;
+        }
+        if (chunkCount == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunkCount * 2);
+            lengths = Arrays.copyOf(lengths, chunkCount * 2);
+        }
+        chunks[chunkCount++] = chunk;
+        current = chunk;
+        position = length;
+    }
+
+    /**
+     * Returns the array of the elements.
+     * If the elements are in a single full chunk, the chunk is returned without copying.
+     * It is never modified after that, because the next element is added to a new chunk.
+     * @return the array
+     */
+    Object[] toArray() {
+        if (chunkCount == 1 && position == current.length) {
+            return current;
+        }
+        Object[] a = new Object[size()];
+        int p = 0;
+        for (int i = 0; i < chunkCount; i++) {
+            final int n = (i == chunkCount - 1) ? position : lengths[i];
+            System.arraycopy(chunks[i], 0, a, p, n);
+            p += n;
+        }
+        return a;
+    }
+
+}
@@ -0,0 +1,398 @@
+package minestra.collection;
+
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.IntBinaryOperator;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * Deterministic reductions for primitive arrays.
+ * The range is decomposed into the blocks of <code>BLOCK_SIZE</code> elements,
+ * and the results of the blocks are combined pairwise in a fixed tree.
+ * The tree depends only on the length of the range, so the result does not depend on
+ * whether it runs sequentially or in parallel, or on the parallelism of the pool.
+ */
+final class ParallelReductions {
+
+    /**
+     * The number of elements which are reduced sequentially in a leaf of the tree.
+     */
+    static final int BLOCK_SIZE = 1 << 12;
+
+    /**
+     * The minimum length of the range to reduce in a task.
+     */
+    static final int MIN_GRANULARITY = 1 << 15;
+
+    private ParallelReductions() {
+        // empty
+    }
+
+    static int granularity(int length, ForkJoinPool pool) {
+        final int granularity = length / (pool.getParallelism() << 2);
+        return (granularity > MIN_GRANULARITY) ? granularity : MIN_GRANULARITY;
+    }
+
+    /**
+     * Returns the position to split the range, which is a boundary of the blocks.
+     */
+    static int split(int from, int to) {
+        final int blocks = (to - from - 1) / BLOCK_SIZE + 1;
+        return from + (blocks >>> 1) * BLOCK_SIZE;
+    }
+
+    @FunctionalInterface
+    interface RangeReducer<R> {
+        R apply(int from, int to);
+    }
+
+    static <R> R reduce(int from, int to, RangeReducer<R> leaf, BinaryOperator<R> combine) {
+        if (to - from <= BLOCK_SIZE) {
+            return leaf.apply(from, to);
+        }
+        final int mid = split(from, to);
+        return combine.apply(reduce(from, mid, leaf, combine), reduce(mid, to, leaf, combine));
+    }
+
+    /**
+     * Reduces the range in the pool, or sequentially if the pool is <code>null</code>.
+     */
+    static <R> R reduce(int from, int to, RangeReducer<R> leaf, BinaryOperator<R> combine, ForkJoinPool pool) {
+        if (pool == null || to - from <= MIN_GRANULARITY) {
+            return reduce(from, to, leaf, combine);
+        }
+        return pool.invoke(new ReduceTask<>(from, to, leaf, combine, granularity(to - from, pool)));
+    }
+
+    static final class ReduceTask<R> extends RecursiveTask<R> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final RangeReducer<R> leaf;
+        private final BinaryOperator<R> combine;
+        private final int granularity;
+
+        ReduceTask(int from, int to, RangeReducer<R> leaf, BinaryOperator<R> combine, int granularity) {
+            this.from = from;
+            this.to = to;
+            this.leaf = leaf;
+            this.combine = combine;
+            this.granularity = granularity;
+        }
+
+        @Override
+        protected R compute() {
+            if (to - from <= granularity) {
+                return reduce(from, to, leaf, combine);
+            }
+            final int mid = split(from, to);
+            ReduceTask<R> right = new ReduceTask<>(mid, to, leaf, combine, granularity);
+            right.fork();
+            final R left = new ReduceTask<>(from, mid, leaf, combine, granularity).compute();
+            return combine.apply(left, right.join());
+        }
+
+    }
+
+    static <T, R> R fold(ImmArray<T> arr, R identity, BiFunction<R, ? super T, R> op, BinaryOperator<R> combiner,
+                         ForkJoinPool pool) {
+        return reduce(0, arr.size(), (from, to) -> {
+            R result = identity;
+            for (int i = from; i < to; i++) {
+                result = op.apply(result, arr.at(i));
+            }
+            return result;
+        }, combiner, pool);
+    }
+
+    // int
+
+    @FunctionalInterface
+    interface IntRangeReducer<R> {
+        R apply(int[] a, int from, int to);
+    }
+
+    static <R> R reduce(IntImmArray arr, IntRangeReducer<R> leaf, BinaryOperator<R> combine, ForkJoinPool pool) {
+        if (arr instanceof IntImmArraySlice) {
+            IntImmArraySlice o = (IntImmArraySlice) arr;
+            final int[] a = o.values;
+            return reduce(o.offset, o.offset + o.length, (from, to) -> leaf.apply(a, from, to), combine, pool);
+        }
+        if (arr instanceof IntImmArrayImpl) {
+            final int[] a = ((IntImmArrayImpl) arr).values;
+            return reduce(0, a.length, (from, to) -> leaf.apply(a, from, to), combine, pool);
+        }
+        // the other implementations are reduced through the copies of the blocks, not of the whole array
+        return reduce(0, arr.size(), (from, to) -> {
+            int[] block = new int[to - from];
+            copyTo(arr, from, to, block);
+            return leaf.apply(block, 0, block.length);
+        }, combine, pool);
+    }
+
+    static void copyTo(IntImmArray arr, int from, int to, int[] dst) {
+        if (arr instanceof IntImmArrayBuffer) {
+            ((IntImmArrayBuffer) arr).copyTo(from, to, dst, 0);
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            dst[i - from] = arr.at(i);
+        }
+    }
+
+    static int fold(IntImmArray arr, int identity, IntBinaryOperator op, IntBinaryOperator combiner, ForkJoinPool pool) {
+        return reduce(arr, (a, from, to) -> {
+            int result = identity;
+            for (int i = from; i < to; i++) {
+                result = op.applyAsInt(result, a[i]);
+            }
+            return result;
+        }, combiner::applyAsInt, pool);
+    }
+
+    static long sum(IntImmArray arr, ForkJoinPool pool) {
+        return reduce(arr, Kernels::longSum, Long::sum, pool);
+    }
+
+    static OptionalInt max(IntImmArray arr, ForkJoinPool pool) {
+        if (arr.isEmpty()) {
+            return OptionalInt.empty();
+        }
+        return OptionalInt.of(reduce(arr, Kernels::max, Math::max, pool));
+    }
+
+    static OptionalInt min(IntImmArray arr, ForkJoinPool pool) {
+        if (arr.isEmpty()) {
+            return OptionalInt.empty();
+        }
+        return OptionalInt.of(reduce(arr, Kernels::min, Math::min, pool));
+    }
+
+    // long
+
+    @FunctionalInterface
+    interface LongRangeReducer<R> {
+        R apply(long[] a, int from, int to);
+    }
+
+    static <R> R reduce(LongImmArray arr, LongRangeReducer<R> leaf, BinaryOperator<R> combine, ForkJoinPool pool) {
+        if (arr instanceof LongImmArraySlice) {
+            LongImmArraySlice o = (LongImmArraySlice) arr;
+            final long[] a = o.values;
+            return reduce(o.offset, o.offset + o.length, (from, to) -> leaf.apply(a, from, to), combine, pool);
+        }
+        if (arr instanceof LongImmArrayImpl) {
+            final long[] a = ((LongImmArrayImpl) arr).values;
+            return reduce(0, a.length, (from, to) -> leaf.apply(a, from, to), combine, pool);
+        }
+        // the other implementations are reduced through the copies of the blocks, not of the whole array
+        return reduce(0, arr.size(), (from, to) -> {
+            long[] block = new long[to - from];
+            copyTo(arr, from, to, block);
+            return leaf.apply(block, 0, block.length);
+        }, combine, pool);
+    }
+
+    static void copyTo(LongImmArray arr, int from, int to, long[] dst) {
+        if (arr instanceof LongImmArrayBuffer) {
+            ((LongImmArrayBuffer) arr).copyTo(from, to, dst, 0);
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            dst[i - from] = arr.at(i);
+        }
+    }
+
+    static long fold(LongImmArray arr, long identity, LongBinaryOperator op, LongBinaryOperator combiner, ForkJoinPool pool) {
+        return reduce(arr, (a, from, to) -> {
+            long result = identity;
+            for (int i = from; i < to; i++) {
+                result = op.applyAsLong(result, a[i]);
+            }
+            return result;
+        }, combiner::applyAsLong, pool);
+    }
+
+    static long sum(LongImmArray arr, ForkJoinPool pool) {
+        return reduce(arr, Kernels::sum, Long::sum, pool);
+    }
+
+    static OptionalLong max(LongImmArray arr, ForkJoinPool pool) {
+        if (arr.isEmpty()) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(reduce(arr, Kernels::max, Math::max, pool));
+    }
+
+    static OptionalLong min(LongImmArray arr, ForkJoinPool pool) {
+        if (arr.isEmpty()) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(reduce(arr, Kernels::min, Math::min, pool));
+    }
+
+    // double
+
+    @FunctionalInterface
+    interface DoubleRangeReducer<R> {
+        R apply(double[] a, int from, int to);
+    }
+
+    static <R> R reduce(DoubleImmArray arr, DoubleRangeReducer<R> leaf, BinaryOperator<R> combine, ForkJoinPool pool) {
+        if (arr instanceof DoubleImmArraySlice) {
+            DoubleImmArraySlice o = (DoubleImmArraySlice) arr;
+            final double[] a = o.values;
+            return reduce(o.offset, o.offset + o.length, (from, to) -> leaf.apply(a, from, to), combine, pool);
+        }
+        if (arr instanceof DoubleImmArrayImpl) {
+            final double[] a = ((DoubleImmArrayImpl) arr).values;
+            return reduce(0, a.length, (from, to) -> leaf.apply(a, from, to), combine, pool);
+        }
+        // the other implementations are reduced through the copies of the blocks, not of the whole array
+        return reduce(0, arr.size(), (from, to) -> {
+            double[] block = new double[to - from];
+            copyTo(arr, from, to, block);
+            return leaf.apply(block, 0, block.length);
+        }, combine, pool);
+    }
+
+    static void copyTo(DoubleImmArray arr, int from, int to, double[] dst) {
+        if (arr instanceof DoubleImmArrayBuffer) {
+            ((DoubleImmArrayBuffer) arr).copyTo(from, to, dst, 0);
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            dst[i - from] = arr.at(i);
+        }
+    }
+
+    static double fold(DoubleImmArray arr, double identity, DoubleBinaryOperator op, DoubleBinaryOperator combiner, ForkJoinPool pool) {
+        return reduce(arr, (a, from, to) -> {
+            double result = identity;
+            for (int i = from; i < to; i++) {
+                result = op.applyAsDouble(result, a[i]);
+            }
+            return result;
+        }, combiner::applyAsDouble, pool);
+    }
+
+    /**
+     * Returns the sum by Neumaier's compensated summation.
+     * If the compensated result is NaN by infinities, returns the simple sum as well as <code>DoubleStream</code>.
+     */
+    static double sum(DoubleImmArray arr, ForkJoinPool pool) {
+        final double[] r = reduce(arr, ParallelReductions::compensatedSum, ParallelReductions::combineSums, pool);
+        final double sum = r[0] + r[1];
+        return (Double.isNaN(sum) && Double.isInfinite(r[2])) ? r[2] : sum;
+    }
+
+    /**
+     * Returns the partial sum as <code>{ sum, compensation, simple sum }</code>.
+     */
+    static double[] compensatedSum(double[] a, int from, int to) {
+        double sum = 0d;
+        double c = 0d;
+        double simpleSum = 0d;
+        for (int i = from; i < to; i++) {
+            final double x = a[i];
+            final double t = sum + x;
+            c += (Math.abs(sum) >= Math.abs(x)) ? (sum - t) + x : (x - t) + sum;
+            sum = t;
+            simpleSum += x;
+        }
+        return new double[] { sum, c, simpleSum };
+    }
+
+    static double[] combineSums(double[] x, double[] y) {
+        final double t = x[0] + y[0];
+        final double e = (Math.abs(x[0]) >= Math.abs(y[0])) ? (x[0] - t) + y[0] : (y[0] - t) + x[0];
+        return new double[] { t, x[1] + y[1] + e, x[2] + y[2] };
+    }
+
+    /**
+     * Returns the maximum value in the range except NaN, or NaN if all elements are NaN.
+     * NaN is the identity of the combination by <code>combineMax</code>.
+     */
+    static double max(double[] a, int from, int to) {
+        int i = from;
+        while (i < to && Double.isNaN(a[i])) {
+            ++i;
+        }
+        if (i == to) {
+            return Double.NaN;
+        }
+        double max = a[i];
+        for (++i; i < to; i++) {
+            if (a[i] > max) {
+                max = a[i];
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Returns the minimum value in the range except NaN, or NaN if all elements are NaN.
+     * NaN is the identity of the combination by <code>combineMin</code>.
+     */
+    static double min(double[] a, int from, int to) {
+        int i = from;
+        while (i < to && Double.isNaN(a[i])) {
+            ++i;
+        }
+        if (i == to) {
+            return Double.NaN;
+        }
+        double min = a[i];
+        for (++i; i < to; i++) {
+            if (a[i] < min) {
+                min = a[i];
+            }
+        }
+        return min;
+    }
+
+    static double combineMax(double x, double y) {
+        return (Double.isNaN(x) || y > x) ? y : x;
+    }
+
+    static double combineMin(double x, double y) {
+        return (Double.isNaN(x) || y < x) ? y : x;
+    }
+
+    /**
+     * Returns the maximum value, which is consistent with <code>DoubleImmArray.max()</code>.
+     * That ignores NaN except the first element, so NaN is the result only if the first element is NaN.
+     */
+    static OptionalDouble max(DoubleImmArray arr, ForkJoinPool pool) {
+        if (arr.isEmpty()) {
+            return OptionalDouble.empty();
+        }
+        if (Double.isNaN(arr.at(0))) {
+            return OptionalDouble.of(Double.NaN);
+        }
+        return OptionalDouble.of(reduce(arr, ParallelReductions::max, ParallelReductions::combineMax, pool));
+    }
+
+    /**
+     * Returns the minimum value, which is consistent with <code>DoubleImmArray.min()</code>.
+     * That ignores NaN except the first element, so NaN is the result only if the first element is NaN.
+     */
+    static OptionalDouble min(DoubleImmArray arr, ForkJoinPool pool) {
+        if (arr.isEmpty()) {
+            return OptionalDouble.empty();
+        }
+        if (Double.isNaN(arr.at(0))) {
+            return OptionalDouble.of(Double.NaN);
+        }
+        return OptionalDouble.of(reduce(arr, ParallelReductions::min, ParallelReductions::combineMin, pool));
+    }
+
+}
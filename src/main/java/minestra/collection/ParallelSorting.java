@@ -0,0 +1,665 @@
+package minestra.collection;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork-join merge sort for arrays with primitive comparators and object comparators.
+ * The ranges are sorted by {@link Sorting} (or {@link Arrays#sort(Object[], int, int, Comparator)}) sequentially
+ * when its length is not greater than the threshold, and are merged in parallel.
+ */
+final class ParallelSorting {
+
+    /**
+     * The minimum length of the range to sort sequentially, if the threshold is not specified.
+     */
+    static final int MIN_THRESHOLD = 1 << 13;
+
+    /**
+     * The natural ordering of mutually comparable objects.
+     */
+    @SuppressWarnings("unchecked")
+    static final Comparator<Object> NATURAL_ORDER = (x, y) -> ((Comparable<Object>) x).compareTo(y);
+
+    private ParallelSorting() {
+        // empty
+    }
+
+    static int defaultThreshold(int length, ForkJoinPool pool) {
+        final int granularity = length / (pool.getParallelism() << 2);
+        return (granularity > MIN_THRESHOLD) ? granularity : MIN_THRESHOLD;
+    }
+
+    static void checkThreshold(int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold must be positive: " + threshold);
+        }
+    }
+
+    // int
+
+    static void sort(int[] a, IntComparator cmp, ForkJoinPool pool, int threshold) {
+        checkThreshold(threshold);
+        final int n = a.length;
+        if (n <= threshold) {
+            Sorting.sort(a, 0, n, cmp);
+            return;
+        }
+        pool.invoke(new IntSortTask(a, new int[n], 0, n, false, cmp, threshold));
+    }
+
+    /**
+     * Sorts the range of <code>a</code>, the result is stored into <code>a</code> or <code>w</code>.
+     */
+    static final class IntSortTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] a;
+        private final int[] w;
+        private final int from;
+        private final int to;
+        private final boolean intoWork;
+        private final IntComparator cmp;
+        private final int threshold;
+
+        IntSortTask(int[] a, int[] w, int from, int to, boolean intoWork, IntComparator cmp, int threshold) {
+            this.a = a;
+            this.w = w;
+            this.from = from;
+            this.to = to;
+            this.intoWork = intoWork;
+            this.cmp = cmp;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                Sorting.sort(a, from, to, cmp);
+                if (intoWork) {
+                    System.arraycopy(a, from, w, from, to - from);
+                }
+                return;
+            }
+            final int mid = (from + to) >>> 1;
+            invokeAll(new IntSortTask(a, w, from, mid, !intoWork, cmp, threshold),
+                      new IntSortTask(a, w, mid, to, !intoWork, cmp, threshold));
+            final int[] src = intoWork ? a : w;
+            final int[] dst = intoWork ? w : a;
+            new IntMergeTask(src, dst, from, mid, mid, to, from, cmp, threshold).compute();
+        }
+
+    }
+
+    /**
+     * Merges two sorted runs of <code>src</code> into <code>dst</code>.
+     */
+    static final class IntMergeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] src;
+        private final int[] dst;
+        private final int lo1;
+        private final int hi1;
+        private final int lo2;
+        private final int hi2;
+        private final int pos;
+        private final IntComparator cmp;
+        private final int threshold;
+
+        IntMergeTask(int[] src, int[] dst, int lo1, int hi1, int lo2, int hi2, int pos, IntComparator cmp,
+                     int threshold) {
+            this.src = src;
+            this.dst = dst;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.pos = pos;
+            this.cmp = cmp;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            final int n1 = hi1 - lo1;
+            final int n2 = hi2 - lo2;
+            if (n1 + n2 <= threshold || n1 == 0 || n2 == 0) {
+                merge();
+                return;
+            }
+            final int m1;
+            final int m2;
+            if (n1 >= n2) {
+                m1 = (lo1 + hi1) >>> 1;
+                m2 = lowerBound(src, lo2, hi2, src[m1], cmp);
+            }
+            else {
+                m2 = (lo2 + hi2) >>> 1;
+                m1 = upperBound(src, lo1, hi1, src[m2], cmp);
+            }
+            final int pos2 = pos + (m1 - lo1) + (m2 - lo2);
+            invokeAll(new IntMergeTask(src, dst, lo1, m1, lo2, m2, pos, cmp, threshold),
+                      new IntMergeTask(src, dst, m1, hi1, m2, hi2, pos2, cmp, threshold));
+        }
+
+        private void merge() {
+            int i = lo1;
+            int j = lo2;
+            int k = pos;
+            while (i < hi1 && j < hi2) {
+                dst[k++] = cmp.lt(src[j], src[i]) ? src[j++] : src[i++];
+            }
+            if (i < hi1) {
+                System.arraycopy(src, i, dst, k, hi1 - i);
+            }
+            else if (j < hi2) {
+                System.arraycopy(src, j, dst, k, hi2 - j);
+            }
+        }
+
+    }
+
+    static int lowerBound(int[] a, int from, int to, int key, IntComparator cmp) {
+        int lo = from;
+        int hi = to;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (cmp.lt(a[mid], key)) {
+                lo = mid + 1;
+            }
+            else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    static int upperBound(int[] a, int from, int to, int key, IntComparator cmp) {
+        int lo = from;
+        int hi = to;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (cmp.lt(key, a[mid])) {
+                hi = mid;
+            }
+            else {
+                lo = mid + 1;
+            }
+        }
+        return lo;
+    }
+
+    // long
+
+    static void sort(long[] a, LongComparator cmp, ForkJoinPool pool, int threshold) {
+        checkThreshold(threshold);
+        final int n = a.length;
+        if (n <= threshold) {
+            Sorting.sort(a, 0, n, cmp);
+            return;
+        }
+        pool.invoke(new LongSortTask(a, new long[n], 0, n, false, cmp, threshold));
+    }
+
+    /**
+     * Sorts the range of <code>a</code>, the result is stored into <code>a</code> or <code>w</code>.
+     */
+    static final class LongSortTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long[] a;
+        private final long[] w;
+        private final int from;
+        private final int to;
+        private final boolean intoWork;
+        private final LongComparator cmp;
+        private final int threshold;
+
+        LongSortTask(long[] a, long[] w, int from, int to, boolean intoWork, LongComparator cmp, int threshold) {
+            this.a = a;
+            this.w = w;
+            this.from = from;
+            this.to = to;
+            this.intoWork = intoWork;
+            this.cmp = cmp;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                Sorting.sort(a, from, to, cmp);
+                if (intoWork) {
+                    System.arraycopy(a, from, w, from, to - from);
+                }
+                return;
+            }
+            final int mid = (from + to) >>> 1;
+            invokeAll(new LongSortTask(a, w, from, mid, !intoWork, cmp, threshold),
+                      new LongSortTask(a, w, mid, to, !intoWork, cmp, threshold));
+            final long[] src = intoWork ? a : w;
+            final long[] dst = intoWork ? w : a;
+            new LongMergeTask(src, dst, from, mid, mid, to, from, cmp, threshold).compute();
+        }
+
+    }
+
+    /**
+     * Merges two sorted runs of <code>src</code> into <code>dst</code>.
+     */
+    static final class LongMergeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long[] src;
+        private final long[] dst;
+        private final int lo1;
+        private final int hi1;
+        private final int lo2;
+        private final int hi2;
+        private final int pos;
+        private final LongComparator cmp;
+        private final int threshold;
+
+        LongMergeTask(long[] src, long[] dst, int lo1, int hi1, int lo2, int hi2, int pos, LongComparator cmp,
+                     int threshold) {
+            this.src = src;
+            this.dst = dst;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.pos = pos;
+            this.cmp = cmp;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            final int n1 = hi1 - lo1;
+            final int n2 = hi2 - lo2;
+            if (n1 + n2 <= threshold || n1 == 0 || n2 == 0) {
+                merge();
+                return;
+            }
+            final int m1;
+            final int m2;
+            if (n1 >= n2) {
+                m1 = (lo1 + hi1) >>> 1;
+                m2 = lowerBound(src, lo2, hi2, src[m1], cmp);
+            }
+            else {
+                m2 = (lo2 + hi2) >>> 1;
+                m1 = upperBound(src, lo1, hi1, src[m2], cmp);
+            }
+            final int pos2 = pos + (m1 - lo1) + (m2 - lo2);
+            invokeAll(new LongMergeTask(src, dst, lo1, m1, lo2, m2, pos, cmp, threshold),
+                      new LongMergeTask(src, dst, m1, hi1, m2, hi2, pos2, cmp, threshold));
+        }
+
+        private void merge() {
+            int i = lo1;
+            int j = lo2;
+            int k = pos;
+            while (i < hi1 && j < hi2) {
+                dst[k++] = cmp.lt(src[j], src[i]) ? src[j++] : src[i++];
+            }
+            if (i < hi1) {
+                System.arraycopy(src, i, dst, k, hi1 - i);
+            }
+            else if (j < hi2) {
+                System.arraycopy(src, j, dst, k, hi2 - j);
+            }
+        }
+
+    }
+
+    static int lowerBound(long[] a, int from, int to, long key, LongComparator cmp) {
+        int lo = from;
+        int hi = to;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (cmp.lt(a[mid], key)) {
+                lo = mid + 1;
+            }
+            else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    static int upperBound(long[] a, int from, int to, long key, LongComparator cmp) {
+        int lo = from;
+        int hi = to;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (cmp.lt(key, a[mid])) {
+                hi = mid;
+            }
+            else {
+                lo = mid + 1;
+            }
+        }
+        return lo;
+    }
+
+    // double
+
+    static void sort(double[] a, DoubleComparator cmp, ForkJoinPool pool, int threshold) {
+        checkThreshold(threshold);
+        final int n = a.length;
+        if (n <= threshold) {
+            Sorting.sort(a, 0, n, cmp);
+            return;
+        }
+        pool.invoke(new DoubleSortTask(a, new double[n], 0, n, false, cmp, threshold));
+    }
+
+    /**
+     * Sorts the range of <code>a</code>, the result is stored into <code>a</code> or <code>w</code>.
+     */
+    static final class DoubleSortTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final double[] a;
+        private final double[] w;
+        private final int from;
+        private final int to;
+        private final boolean intoWork;
+        private final DoubleComparator cmp;
+        private final int threshold;
+
+        DoubleSortTask(double[] a, double[] w, int from, int to, boolean intoWork, DoubleComparator cmp, int threshold) {
+            this.a = a;
+            this.w = w;
+            this.from = from;
+            this.to = to;
+            this.intoWork = intoWork;
+            this.cmp = cmp;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                Sorting.sort(a, from, to, cmp);
+                if (intoWork) {
+                    System.arraycopy(a, from, w, from, to - from);
+                }
+                return;
+            }
+            final int mid = (from + to) >>> 1;
+            invokeAll(new DoubleSortTask(a, w, from, mid, !intoWork, cmp, threshold),
+                      new DoubleSortTask(a, w, mid, to, !intoWork, cmp, threshold));
+            final double[] src = intoWork ? a : w;
+            final double[] dst = intoWork ? w : a;
+            new DoubleMergeTask(src, dst, from, mid, mid, to, from, cmp, threshold).compute();
+        }
+
+    }
+
+    /**
+     * Merges two sorted runs of <code>src</code> into <code>dst</code>.
+     */
+    static final class DoubleMergeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final double[] src;
+        private final double[] dst;
+        private final int lo1;
+        private final int hi1;
+        private final int lo2;
+        private final int hi2;
+        private final int pos;
+        private final DoubleComparator cmp;
+        private final int threshold;
+
+        DoubleMergeTask(double[] src, double[] dst, int lo1, int hi1, int lo2, int hi2, int pos, DoubleComparator cmp,
+                     int threshold) {
+            this.src = src;
+            this.dst = dst;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.pos = pos;
+            this.cmp = cmp;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            final int n1 = hi1 - lo1;
+            final int n2 = hi2 - lo2;
+            if (n1 + n2 <= threshold || n1 == 0 || n2 == 0) {
+                merge();
+                return;
+            }
+            final int m1;
+            final int m2;
+            if (n1 >= n2) {
+                m1 = (lo1 + hi1) >>> 1;
+                m2 = lowerBound(src, lo2, hi2, src[m1], cmp);
+            }
+            else {
+                m2 = (lo2 + hi2) >>> 1;
+                m1 = upperBound(src, lo1, hi1, src[m2], cmp);
+            }
+            final int pos2 = pos + (m1 - lo1) + (m2 - lo2);
+            invokeAll(new DoubleMergeTask(src, dst, lo1, m1, lo2, m2, pos, cmp, threshold),
+                      new DoubleMergeTask(src, dst, m1, hi1, m2, hi2, pos2, cmp, threshold));
+        }
+
+        private void merge() {
+            int i = lo1;
+            int j = lo2;
+            int k = pos;
+            while (i < hi1 && j < hi2) {
+                dst[k++] = cmp.lt(src[j], src[i]) ? src[j++] : src[i++];
+            }
+            if (i < hi1) {
+                System.arraycopy(src, i, dst, k, hi1 - i);
+            }
+            else if (j < hi2) {
+                System.arraycopy(src, j, dst, k, hi2 - j);
+            }
+        }
+
+    }
+
+    static int lowerBound(double[] a, int from, int to, double key, DoubleComparator cmp) {
+        int lo = from;
+        int hi = to;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (cmp.lt(a[mid], key)) {
+                lo = mid + 1;
+            }
+            else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    static int upperBound(double[] a, int from, int to, double key, DoubleComparator cmp) {
+        int lo = from;
+        int hi = to;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (cmp.lt(key, a[mid])) {
+                hi = mid;
+            }
+            else {
+                lo = mid + 1;
+            }
+        }
+        return lo;
+    }
+
+    // Object
+
+    static void sort(Object[] a, Comparator<Object> cmp, ForkJoinPool pool, int threshold) {
+        checkThreshold(threshold);
+        final int n = a.length;
+        if (n <= threshold) {
+            Arrays.sort(a, 0, n, cmp);
+            return;
+        }
+        pool.invoke(new ObjectSortTask(a, new Object[n], 0, n, false, cmp, threshold));
+    }
+
+    /**
+     * Sorts the range of <code>a</code>, the result is stored into <code>a</code> or <code>w</code>.
+     */
+    static final class ObjectSortTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Object[] a;
+        private final Object[] w;
+        private final int from;
+        private final int to;
+        private final boolean intoWork;
+        private final Comparator<Object> cmp;
+        private final int threshold;
+
+        ObjectSortTask(Object[] a, Object[] w, int from, int to, boolean intoWork, Comparator<Object> cmp, int threshold) {
+            this.a = a;
+            this.w = w;
+            this.from = from;
+            this.to = to;
+            this.intoWork = intoWork;
+            this.cmp = cmp;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                Arrays.sort(a, from, to, cmp);
+                if (intoWork) {
+                    System.arraycopy(a, from, w, from, to - from);
+                }
+                return;
+            }
+            final int mid = (from + to) >>> 1;
+            invokeAll(new ObjectSortTask(a, w, from, mid, !intoWork, cmp, threshold),
+                      new ObjectSortTask(a, w, mid, to, !intoWork, cmp, threshold));
+            final Object[] src = intoWork ? a : w;
+            final Object[] dst = intoWork ? w : a;
+            new ObjectMergeTask(src, dst, from, mid, mid, to, from, cmp, threshold).compute();
+        }
+
+    }
+
+    /**
+     * Merges two sorted runs of <code>src</code> into <code>dst</code>.
+     */
+    static final class ObjectMergeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Object[] src;
+        private final Object[] dst;
+        private final int lo1;
+        private final int hi1;
+        private final int lo2;
+        private final int hi2;
+        private final int pos;
+        private final Comparator<Object> cmp;
+        private final int threshold;
+
+        ObjectMergeTask(Object[] src, Object[] dst, int lo1, int hi1, int lo2, int hi2, int pos, Comparator<Object> cmp,
+                     int threshold) {
+            this.src = src;
+            this.dst = dst;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.pos = pos;
+            this.cmp = cmp;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            final int n1 = hi1 - lo1;
+            final int n2 = hi2 - lo2;
+            if (n1 + n2 <= threshold || n1 == 0 || n2 == 0) {
+                merge();
+                return;
+            }
+            final int m1;
+            final int m2;
+            if (n1 >= n2) {
+                m1 = (lo1 + hi1) >>> 1;
+                m2 = lowerBound(src, lo2, hi2, src[m1], cmp);
+            }
+            else {
+                m2 = (lo2 + hi2) >>> 1;
+                m1 = upperBound(src, lo1, hi1, src[m2], cmp);
+            }
+            final int pos2 = pos + (m1 - lo1) + (m2 - lo2);
+            invokeAll(new ObjectMergeTask(src, dst, lo1, m1, lo2, m2, pos, cmp, threshold),
+                      new ObjectMergeTask(src, dst, m1, hi1, m2, hi2, pos2, cmp, threshold));
+        }
+
+        private void merge() {
+            int i = lo1;
+            int j = lo2;
+            int k = pos;
+            while (i < hi1 && j < hi2) {
+                dst[k++] = cmp.compare(src[j], src[i]) < 0 ? src[j++] : src[i++];
+            }
+            if (i < hi1) {
+                System.arraycopy(src, i, dst, k, hi1 - i);
+            }
+            else if (j < hi2) {
+                System.arraycopy(src, j, dst, k, hi2 - j);
+            }
+        }
+
+    }
+
+    static int lowerBound(Object[] a, int from, int to, Object key, Comparator<Object> cmp) {
+        int lo = from;
+        int hi = to;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (cmp.compare(a[mid], key) < 0) {
+                lo = mid + 1;
+            }
+            else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    static int upperBound(Object[] a, int from, int to, Object key, Comparator<Object> cmp) {
+        int lo = from;
+        int hi = to;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (cmp.compare(key, a[mid]) < 0) {
+                hi = mid;
+            }
+            else {
+                lo = mid + 1;
+            }
+        }
+        return lo;
+    }
+
+}
@@ -0,0 +1,900 @@
+package minestra.collection;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import minestra.collection.ParallelReductions.RangeReducer;
+
+/**
+ * Selection algorithms to find the k smallest elements without sorting the whole array.
+ * If k is small compared with the length, the elements are selected by a bounded heap in one pass,
+ * otherwise by Floyd-Rivest selection on a copy.
+ * In both cases only the k selected elements are sorted.
+ */
+final class Selection {
+
+    /**
+     * The bounded heap is used if <code>k * HEAP_RATIO</code> is not greater than the length.
+     */
+    static final int HEAP_RATIO = 64;
+
+    /**
+     * The minimum length of the range to select the pivot from the sample.
+     */
+    static final int SAMPLING_THRESHOLD = 600;
+
+    private Selection() {
+        // empty
+    }
+
+    static void checkCount(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        }
+    }
+
+    static boolean useHeap(int k, int n) {
+        return (long) k * HEAP_RATIO <= n;
+    }
+
+    /**
+     * Returns the k smallest results of the range in parallel, by merging the results of the chunks.
+     */
+    static <R> R parallelSelect(int n, RangeReducer<R> leaf, BinaryOperator<R> merge, ForkJoinPool pool) {
+        final int threshold = ParallelSorting.defaultThreshold(n, pool);
+        if (n <= threshold) {
+            return leaf.apply(0, n);
+        }
+        return pool.invoke(new SelectTask<>(0, n, leaf, merge, threshold));
+    }
+
+    static final class SelectTask<R> extends RecursiveTask<R> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final RangeReducer<R> leaf;
+        private final BinaryOperator<R> merge;
+        private final int threshold;
+
+        SelectTask(int from, int to, RangeReducer<R> leaf, BinaryOperator<R> merge, int threshold) {
+            this.from = from;
+            this.to = to;
+            this.leaf = leaf;
+            this.merge = merge;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected R compute() {
+            if (to - from <= threshold) {
+                return leaf.apply(from, to);
+            }
+            final int mid = (from + to) >>> 1;
+            SelectTask<R> right = new SelectTask<>(mid, to, leaf, merge, threshold);
+            right.fork();
+            final R left = new SelectTask<>(from, mid, leaf, merge, threshold).compute();
+            return merge.apply(left, right.join());
+        }
+
+    }
+
+    // int
+
+    static IntComparator reversedInt(IntComparator cmp) {
+        if (cmp == IntComparator.NATURAL) {
+            return IntComparator.REVERSE;
+        }
+        if (cmp == IntComparator.REVERSE) {
+            return IntComparator.NATURAL;
+        }
+        return (x, y) -> cmp.compare(y, x);
+    }
+
+    static int[] smallest(IntImmArray arr, int k, IntComparator cmp, ForkJoinPool pool) {
+        checkCount(k);
+        final int[] a;
+        final int offset;
+        final int n;
+        if (arr instanceof IntImmArraySlice) {
+            IntImmArraySlice o = (IntImmArraySlice) arr;
+            a = o.values;
+            offset = o.offset;
+            n = o.length;
+        }
+        else {
+            a = (arr instanceof IntImmArrayImpl) ? ((IntImmArrayImpl) arr).values : arr.toArray();
+            offset = 0;
+            n = a.length;
+        }
+        if (pool == null) {
+            return smallest(a, offset, offset + n, k, cmp);
+        }
+        return parallelSelect(n, (from, to) -> smallest(a, offset + from, offset + to, k, cmp), (x, y) -> merge(x, y, k, cmp), pool);
+    }
+
+    /**
+     * Returns the k smallest elements of the range in ascending order, the range is not modified.
+     */
+    static int[] smallest(int[] a, int from, int to, int k, IntComparator cmp) {
+        final int n = to - from;
+        if (k >= n) {
+            int[] result = Arrays.copyOfRange(a, from, to);
+            Sorting.sort(result, 0, n, cmp);
+            return result;
+        }
+        if (k == 0) {
+            return new int[0];
+        }
+        if (useHeap(k, n)) {
+            // the max-heap which keeps the k smallest elements
+            int[] heap = Arrays.copyOfRange(a, from, from + k);
+            for (int i = (k >>> 1) - 1; i >= 0; i--) {
+                Sorting.siftDown(heap, 0, i, k, cmp);
+            }
+            for (int i = from + k; i < to; i++) {
+                final int x = a[i];
+                if (cmp.lt(x, heap[0])) {
+                    heap[0] = x;
+                    Sorting.siftDown(heap, 0, 0, k, cmp);
+                }
+            }
+            Sorting.sort(heap, 0, k, cmp);
+            return heap;
+        }
+        int[] w = Arrays.copyOfRange(a, from, to);
+        select(w, 0, n, k - 1, cmp);
+        Sorting.sort(w, 0, k, cmp);
+        return Arrays.copyOf(w, k);
+    }
+
+    /**
+     * Rearranges the range so that no element before <code>nth</code> is greater than the element at <code>nth</code>,
+     * and no element after <code>nth</code> is less than it.
+     * This is Floyd-Rivest selection, which selects the pivot from the sample around <code>nth</code> recursively,
+     * and falls back to heap sort if the depth exceeds the limit.
+     */
+    static void select(int[] a, int from, int to, int nth, IntComparator cmp) {
+        int lo = from;
+        int hi = to - 1;
+        int depth = Sorting.depthLimit(to - from);
+        while (hi > lo) {
+            if (depth-- == 0) {
+                Sorting.heapSort(a, lo, hi + 1, cmp);
+                return;
+            }
+            if (hi - lo > SAMPLING_THRESHOLD) {
+                final int n = hi - lo + 1;
+                final int i = nth - lo + 1;
+                final double z = Math.log(n);
+                final double s = 0.5 * Math.exp(2 * z / 3);
+                final double sd = 0.5 * Math.sqrt(z * s * (n - s) / n) * Math.signum(i - n / 2);
+                final int sampleFrom = Math.max(lo, (int) (nth - i * s / n + sd));
+                final int sampleTo = Math.min(hi, (int) (nth + (n - i) * s / n + sd));
+                select(a, sampleFrom, sampleTo + 1, nth, cmp);
+            }
+            final int pivot = a[nth];
+            int i = lo;
+            int j = hi;
+            Sorting.swap(a, lo, nth);
+            if (cmp.lt(pivot, a[hi])) {
+                Sorting.swap(a, hi, lo);
+            }
+            while (i < j) {
+                Sorting.swap(a, i, j);
+                ++i;
+                --j;
+                while (cmp.lt(a[i], pivot)) {
+                    ++i;
+                }
+                while (cmp.lt(pivot, a[j])) {
+                    --j;
+                }
+            }
+            if (cmp.eq(a[lo], pivot)) {
+                Sorting.swap(a, lo, j);
+            }
+            else {
+                ++j;
+                Sorting.swap(a, j, hi);
+            }
+            if (j <= nth) {
+                lo = j + 1;
+            }
+            if (nth <= j) {
+                hi = j - 1;
+            }
+        }
+    }
+
+    /**
+     * Returns the first k elements of the merged two sorted arrays.
+     */
+    static int[] merge(int[] x, int[] y, int k, IntComparator cmp) {
+        final int n = Math.min(k, x.length + y.length);
+        int[] result = new int[n];
+        int i = 0;
+        int j = 0;
+        for (int p = 0; p < n; p++) {
+            if (j >= y.length || (i < x.length && !cmp.lt(y[j], x[i]))) {
+                result[p] = x[i++];
+            }
+            else {
+                result[p] = y[j++];
+            }
+        }
+        return result;
+    }
+
+    // long
+
+    static LongComparator reversedLong(LongComparator cmp) {
+        if (cmp == LongComparator.NATURAL) {
+            return LongComparator.REVERSE;
+        }
+        if (cmp == LongComparator.REVERSE) {
+            return LongComparator.NATURAL;
+        }
+        return (x, y) -> cmp.compare(y, x);
+    }
+
+    static long[] smallest(LongImmArray arr, int k, LongComparator cmp, ForkJoinPool pool) {
+        checkCount(k);
+        final long[] a;
+        final int offset;
+        final int n;
+        if (arr instanceof LongImmArraySlice) {
+            LongImmArraySlice o = (LongImmArraySlice) arr;
+            a = o.values;
+            offset = o.offset;
+            n = o.length;
+        }
+        else {
+            a = (arr instanceof LongImmArrayImpl) ? ((LongImmArrayImpl) arr).values : arr.toArray();
+            offset = 0;
+            n = a.length;
+        }
+        if (pool == null) {
+            return smallest(a, offset, offset + n, k, cmp);
+        }
+        return parallelSelect(n, (from, to) -> smallest(a, offset + from, offset + to, k, cmp), (x, y) -> merge(x, y, k, cmp), pool);
+    }
+
+    /**
+     * Returns the k smallest elements of the range in ascending order, the range is not modified.
+     */
+    static long[] smallest(long[] a, int from, int to, int k, LongComparator cmp) {
+        final int n = to - from;
+        if (k >= n) {
+            long[] result = Arrays.copyOfRange(a, from, to);
+            Sorting.sort(result, 0, n, cmp);
+            return result;
+        }
+        if (k == 0) {
+            return new long[0];
+        }
+        if (useHeap(k, n)) {
+            // the max-heap which keeps the k smallest elements
+            long[] heap = Arrays.copyOfRange(a, from, from + k);
+            for (int i = (k >>> 1) - 1; i >= 0; i--) {
+                Sorting.siftDown(heap, 0, i, k, cmp);
+            }
+            for (int i = from + k; i < to; i++) {
+                final long x = a[i];
+                if (cmp.lt(x, heap[0])) {
+                    heap[0] = x;
+                    Sorting.siftDown(heap, 0, 0, k, cmp);
+                }
+            }
+            Sorting.sort(heap, 0, k, cmp);
+            return heap;
+        }
+        long[] w = Arrays.copyOfRange(a, from, to);
+        select(w, 0, n, k - 1, cmp);
+        Sorting.sort(w, 0, k, cmp);
+        return Arrays.copyOf(w, k);
+    }
+
+    /**
+     * Rearranges the range so that no element before <code>nth</code> is greater than the element at <code>nth</code>,
+     * and no element after <code>nth</code> is less than it.
+     * This is Floyd-Rivest selection, which selects the pivot from the sample around <code>nth</code> recursively,
+     * and falls back to heap sort if the depth exceeds the limit.
+     */
+    static void select(long[] a, int from, int to, int nth, LongComparator cmp) {
+        int lo = from;
+        int hi = to - 1;
+        int depth = Sorting.depthLimit(to - from);
+        while (hi > lo) {
+            if (depth-- == 0) {
+                Sorting.heapSort(a, lo, hi + 1, cmp);
+                return;
+            }
+            if (hi - lo > SAMPLING_THRESHOLD) {
+                final int n = hi - lo + 1;
+                final int i = nth - lo + 1;
+                final double z = Math.log(n);
+                final double s = 0.5 * Math.exp(2 * z / 3);
+                final double sd = 0.5 * Math.sqrt(z * s * (n - s) / n) * Math.signum(i - n / 2);
+                final int sampleFrom = Math.max(lo, (int) (nth - i * s / n + sd));
+                final int sampleTo = Math.min(hi, (int) (nth + (n - i) * s / n + sd));
+                select(a, sampleFrom, sampleTo + 1, nth, cmp);
+            }
+            final long pivot = a[nth];
+            int i = lo;
+            int j = hi;
+            Sorting.swap(a, lo, nth);
+            if (cmp.lt(pivot, a[hi])) {
+                Sorting.swap(a, hi, lo);
+            }
+            while (i < j) {
+                Sorting.swap(a, i, j);
+                ++i;
+                --j;
+                while (cmp.lt(a[i], pivot)) {
+                    ++i;
+                }
+                while (cmp.lt(pivot, a[j])) {
+                    --j;
+                }
+            }
+            if (cmp.eq(a[lo], pivot)) {
+                Sorting.swap(a, lo, j);
+            }
+            else {
+                ++j;
+                Sorting.swap(a, j, hi);
+            }
+            if (j <= nth) {
+                lo = j + 1;
+            }
+            if (nth <= j) {
+                hi = j - 1;
+            }
+        }
+    }
+
+    /**
+     * Returns the first k elements of the merged two sorted arrays.
+     */
+    static long[] merge(long[] x, long[] y, int k, LongComparator cmp) {
+        final int n = Math.min(k, x.length + y.length);
+        long[] result = new long[n];
+        int i = 0;
+        int j = 0;
+        for (int p = 0; p < n; p++) {
+            if (j >= y.length || (i < x.length && !cmp.lt(y[j], x[i]))) {
+                result[p] = x[i++];
+            }
+            else {
+                result[p] = y[j++];
+            }
+        }
+        return result;
+    }
+
+    // double
+
+    /**
+     * The total order of double values, which is consistent with <code>Double.compare</code> and <code>sort()</code>.
+     * <code>-0.0</code> is less than <code>0.0</code>, and NaN is greater than any other value.
+     * Unlike <code>DoubleComparator.NATURAL</code>, NaN can be evicted from the heap.
+     */
+    static final DoubleComparator DOUBLE_TOTAL_ORDER = Double::compare;
+
+    /**
+     * The reversed order of <code>DOUBLE_TOTAL_ORDER</code>.
+     */
+    static final DoubleComparator DOUBLE_TOTAL_REVERSE = (x, y) -> Double.compare(y, x);
+
+    static DoubleComparator reversedDouble(DoubleComparator cmp) {
+        if (cmp == DoubleComparator.NATURAL) {
+            return DoubleComparator.REVERSE;
+        }
+        if (cmp == DoubleComparator.REVERSE) {
+            return DoubleComparator.NATURAL;
+        }
+        if (cmp == DOUBLE_TOTAL_ORDER) {
+            return DOUBLE_TOTAL_REVERSE;
+        }
+        if (cmp == DOUBLE_TOTAL_REVERSE) {
+            return DOUBLE_TOTAL_ORDER;
+        }
+        return (x, y) -> cmp.compare(y, x);
+    }
+
+    static double[] smallest(DoubleImmArray arr, int k, DoubleComparator cmp, ForkJoinPool pool) {
+        checkCount(k);
+        final double[] a;
+        final int offset;
+        final int n;
+        if (arr instanceof DoubleImmArraySlice) {
+            DoubleImmArraySlice o = (DoubleImmArraySlice) arr;
+            a = o.values;
+            offset = o.offset;
+            n = o.length;
+        }
+        else {
+            a = (arr instanceof DoubleImmArrayImpl) ? ((DoubleImmArrayImpl) arr).values : arr.toArray();
+            offset = 0;
+            n = a.length;
+        }
+        if (pool == null) {
+            return smallest(a, offset, offset + n, k, cmp);
+        }
+        return parallelSelect(n, (from, to) -> smallest(a, offset + from, offset + to, k, cmp), (x, y) -> merge(x, y, k, cmp), pool);
+    }
+
+    /**
+     * Returns the k smallest elements of the range in ascending order, the range is not modified.
+     */
+    static double[] smallest(double[] a, int from, int to, int k, DoubleComparator cmp) {
+        final int n = to - from;
+        if (k >= n) {
+            double[] result = Arrays.copyOfRange(a, from, to);
+            Sorting.sort(result, 0, n, cmp);
+            return result;
+        }
+        if (k == 0) {
+            return new double[0];
+        }
+        if (useHeap(k, n)) {
+            // the max-heap which keeps the k smallest elements
+            double[] heap = Arrays.copyOfRange(a, from, from + k);
+            for (int i = (k >>> 1) - 1; i >= 0; i--) {
+                Sorting.siftDown(heap, 0, i, k, cmp);
+            }
+            for (int i = from + k; i < to; i++) {
+                final double x = a[i];
+                if (cmp.lt(x, heap[0])) {
+                    heap[0] = x;
+                    Sorting.siftDown(heap, 0, 0, k, cmp);
+                }
+            }
+            Sorting.sort(heap, 0, k, cmp);
+            return heap;
+        }
+        double[] w = Arrays.copyOfRange(a, from, to);
+        select(w, 0, n, k - 1, cmp);
+        Sorting.sort(w, 0, k, cmp);
+        return Arrays.copyOf(w, k);
+    }
+
+    /**
+     * Rearranges the range so that no element before <code>nth</code> is greater than the element at <code>nth</code>,
+     * and no element after <code>nth</code> is less than it.
+     * This is Floyd-Rivest selection, which selects the pivot from the sample around <code>nth</code> recursively,
+     * and falls back to heap sort if the depth exceeds the limit.
+     */
+    static void select(double[] a, int from, int to, int nth, DoubleComparator cmp) {
+        int lo = from;
+        int hi = to - 1;
+        int depth = Sorting.depthLimit(to - from);
+        while (hi > lo) {
+            if (depth-- == 0) {
+                Sorting.heapSort(a, lo, hi + 1, cmp);
+                return;
+            }
+            if (hi - lo > SAMPLING_THRESHOLD) {
+                final int n = hi - lo + 1;
+                final int i = nth - lo + 1;
+                final double z = Math.log(n);
+                final double s = 0.5 * Math.exp(2 * z / 3);
+                final double sd = 0.5 * Math.sqrt(z * s * (n - s) / n) * Math.signum(i - n / 2);
+                final int sampleFrom = Math.max(lo, (int) (nth - i * s / n + sd));
+                final int sampleTo = Math.min(hi, (int) (nth + (n - i) * s / n + sd));
+                select(a, sampleFrom, sampleTo + 1, nth, cmp);
+            }
+            final double pivot = a[nth];
+            int i = lo;
+            int j = hi;
+            Sorting.swap(a, lo, nth);
+            if (cmp.lt(pivot, a[hi])) {
+                Sorting.swap(a, hi, lo);
+            }
+            while (i < j) {
+                Sorting.swap(a, i, j);
+                ++i;
+                --j;
+                while (cmp.lt(a[i], pivot)) {
+                    ++i;
+                }
+                while (cmp.lt(pivot, a[j])) {
+                    --j;
+                }
+            }
+            if (cmp.eq(a[lo], pivot)) {
+                Sorting.swap(a, lo, j);
+            }
+            else {
+                ++j;
+                Sorting.swap(a, j, hi);
+            }
+            if (j <= nth) {
+                lo = j + 1;
+            }
+            if (nth <= j) {
+                hi = j - 1;
+            }
+        }
+    }
+
+    /**
+     * Returns the first k elements of the merged two sorted arrays.
+     */
+    static double[] merge(double[] x, double[] y, int k, DoubleComparator cmp) {
+        final int n = Math.min(k, x.length + y.length);
+        double[] result = new double[n];
+        int i = 0;
+        int j = 0;
+        for (int p = 0; p < n; p++) {
+            if (j >= y.length || (i < x.length && !cmp.lt(y[j], x[i]))) {
+                result[p] = x[i++];
+            }
+            else {
+                result[p] = y[j++];
+            }
+        }
+        return result;
+    }
+
+    // quantiles
+
+    static void checkQuantile(double q) {
+        if (!(q >= 0d && q <= 1d)) {
+            throw new IllegalArgumentException("quantile must be between 0 and 1: " + q);
+        }
+    }
+
+    /**
+     * Returns the ranks which are needed to interpolate the quantiles, in ascending order without duplicates.
+     */
+    static int[] ranks(int n, double[] qs) {
+        int[] ranks = new int[qs.length * 2];
+        int p = 0;
+        for (final double q : qs) {
+            checkQuantile(q);
+            final double h = (n - 1) * q;
+            final int lo = (int) h;
+            ranks[p++] = lo;
+            if (h > lo) {
+                ranks[p++] = lo + 1;
+            }
+        }
+        Arrays.sort(ranks, 0, p);
+        int m = 0;
+        for (int i = 0; i < p; i++) {
+            if (m == 0 || ranks[m - 1] != ranks[i]) {
+                ranks[m++] = ranks[i];
+            }
+        }
+        return Arrays.copyOf(ranks, m);
+    }
+
+    /**
+     * Returns the quantile of the elements by the linear interpolation, the array is used as a scratch.
+     */
+    static double quantile(int[] a, double q) {
+        final int n = a.length;
+        final double h = (n - 1) * q;
+        final int lo = (int) h;
+        select(a, 0, n, lo, IntComparator.NATURAL);
+        final int x = a[lo];
+        if (h == lo) {
+            return x;
+        }
+        // the next element is the minimum of the rest after the selection
+        int y = a[lo + 1];
+        for (int i = lo + 2; i < n; i++) {
+            if (IntComparator.NATURAL.lt(a[i], y)) {
+                y = a[i];
+            }
+        }
+        return x + (h - lo) * ((double) y - x);
+    }
+
+    /**
+     * Returns the quantiles of the elements by the linear interpolation, the array is used as a scratch.
+     */
+    static double[] quantiles(int[] a, double[] qs) {
+        final int n = a.length;
+        final int[] ranks = ranks(n, qs);
+        double[] result = new double[qs.length];
+        if (n == 0) {
+            Arrays.fill(result, Double.NaN);
+            return result;
+        }
+        select(a, 0, n, ranks, 0, ranks.length, IntComparator.NATURAL);
+        for (int i = 0; i < qs.length; i++) {
+            final double h = (n - 1) * qs[i];
+            final int lo = (int) h;
+            result[i] = (h == lo) ? a[lo] : a[lo] + (h - lo) * ((double) a[lo + 1] - a[lo]);
+        }
+        return result;
+    }
+
+    /**
+     * Rearranges the range so that each of the sorted ranks has the element of the rank.
+     */
+    static void select(int[] a, int from, int to, int[] ranks, int rankFrom, int rankTo, IntComparator cmp) {
+        int lo = from;
+        int r = rankFrom;
+        while (r < rankTo) {
+            final int m = (r + rankTo) >>> 1;
+            final int nth = ranks[m];
+            select(a, lo, to, nth, cmp);
+            select(a, lo, nth, ranks, r, m, cmp);
+            lo = nth + 1;
+            r = m + 1;
+        }
+    }
+
+    /**
+     * Returns the quantile of the elements by the linear interpolation, the array is used as a scratch.
+     */
+    static double quantile(long[] a, double q) {
+        final int n = a.length;
+        final double h = (n - 1) * q;
+        final int lo = (int) h;
+        select(a, 0, n, lo, LongComparator.NATURAL);
+        final long x = a[lo];
+        if (h == lo) {
+            return x;
+        }
+        // the next element is the minimum of the rest after the selection
+        long y = a[lo + 1];
+        for (int i = lo + 2; i < n; i++) {
+            if (LongComparator.NATURAL.lt(a[i], y)) {
+                y = a[i];
+            }
+        }
+        return x + (h - lo) * ((double) y - x);
+    }
+
+    /**
+     * Returns the quantiles of the elements by the linear interpolation, the array is used as a scratch.
+     */
+    static double[] quantiles(long[] a, double[] qs) {
+        final int n = a.length;
+        final int[] ranks = ranks(n, qs);
+        double[] result = new double[qs.length];
+        if (n == 0) {
+            Arrays.fill(result, Double.NaN);
+            return result;
+        }
+        select(a, 0, n, ranks, 0, ranks.length, LongComparator.NATURAL);
+        for (int i = 0; i < qs.length; i++) {
+            final double h = (n - 1) * qs[i];
+            final int lo = (int) h;
+            result[i] = (h == lo) ? a[lo] : a[lo] + (h - lo) * ((double) a[lo + 1] - a[lo]);
+        }
+        return result;
+    }
+
+    /**
+     * Rearranges the range so that each of the sorted ranks has the element of the rank.
+     */
+    static void select(long[] a, int from, int to, int[] ranks, int rankFrom, int rankTo, LongComparator cmp) {
+        int lo = from;
+        int r = rankFrom;
+        while (r < rankTo) {
+            final int m = (r + rankTo) >>> 1;
+            final int nth = ranks[m];
+            select(a, lo, to, nth, cmp);
+            select(a, lo, nth, ranks, r, m, cmp);
+            lo = nth + 1;
+            r = m + 1;
+        }
+    }
+
+    /**
+     * Returns the quantile of the elements by the linear interpolation, the array is used as a scratch.
+     */
+    static double quantile(double[] a, double q) {
+        final int n = a.length;
+        final double h = (n - 1) * q;
+        final int lo = (int) h;
+        select(a, 0, n, lo, DOUBLE_TOTAL_ORDER);
+        final double x = a[lo];
+        if (h == lo) {
+            return x;
+        }
+        // the next element is the minimum of the rest after the selection
+        double y = a[lo + 1];
+        for (int i = lo + 2; i < n; i++) {
+            if (DOUBLE_TOTAL_ORDER.lt(a[i], y)) {
+                y = a[i];
+            }
+        }
+        return x + (h - lo) * (y - x);
+    }
+
+    /**
+     * Returns the quantiles of the elements by the linear interpolation, the array is used as a scratch.
+     */
+    static double[] quantiles(double[] a, double[] qs) {
+        final int n = a.length;
+        final int[] ranks = ranks(n, qs);
+        double[] result = new double[qs.length];
+        if (n == 0) {
+            Arrays.fill(result, Double.NaN);
+            return result;
+        }
+        select(a, 0, n, ranks, 0, ranks.length, DOUBLE_TOTAL_ORDER);
+        for (int i = 0; i < qs.length; i++) {
+            final double h = (n - 1) * qs[i];
+            final int lo = (int) h;
+            result[i] = (h == lo) ? a[lo] : a[lo] + (h - lo) * (a[lo + 1] - a[lo]);
+        }
+        return result;
+    }
+
+    /**
+     * Rearranges the range so that each of the sorted ranks has the element of the rank.
+     */
+    static void select(double[] a, int from, int to, int[] ranks, int rankFrom, int rankTo, DoubleComparator cmp) {
+        int lo = from;
+        int r = rankFrom;
+        while (r < rankTo) {
+            final int m = (r + rankTo) >>> 1;
+            final int nth = ranks[m];
+            select(a, lo, to, nth, cmp);
+            select(a, lo, nth, ranks, r, m, cmp);
+            lo = nth + 1;
+            r = m + 1;
+        }
+    }
+
+    // object
+
+    static <T> T[] smallest(ImmArray<T> arr, int k, Comparator<? super T> cmp, ForkJoinPool pool) {
+        checkCount(k);
+        final T[] a;
+        final int offset;
+        final int n;
+        if (arr instanceof ImmArraySlice) {
+            ImmArraySlice<T> o = (ImmArraySlice<T>) arr;
+            a = o.values;
+            offset = o.offset;
+            n = o.length;
+        }
+        else {
+            a = (arr instanceof ImmArrayImpl) ? ((ImmArrayImpl<T>) arr).values : arr.toArray();
+            offset = 0;
+            n = a.length;
+        }
+        if (pool == null) {
+            return smallest(a, offset, offset + n, k, cmp);
+        }
+        return parallelSelect(n, (from, to) -> smallest(a, offset + from, offset + to, k, cmp), (x, y) -> merge(x, y, k, cmp), pool);
+    }
+
+    /**
+     * Returns the k smallest elements of the range in ascending order, the range is not modified.
+     * The sort of the selected elements is stable, but the selection is not.
+     */
+    static <T> T[] smallest(T[] a, int from, int to, int k, Comparator<? super T> cmp) {
+        final int n = to - from;
+        if (k >= n) {
+            T[] result = Arrays.copyOfRange(a, from, to);
+            Arrays.sort(result, cmp);
+            return result;
+        }
+        if (k == 0) {
+            return Arrays.copyOfRange(a, from, from);
+        }
+        if (useHeap(k, n)) {
+            T[] heap = Arrays.copyOfRange(a, from, from + k);
+            for (int i = (k >>> 1) - 1; i >= 0; i--) {
+                siftDown(heap, i, k, cmp);
+            }
+            for (int i = from + k; i < to; i++) {
+                final T x = a[i];
+                if (cmp.compare(x, heap[0]) < 0) {
+                    heap[0] = x;
+                    siftDown(heap, 0, k, cmp);
+                }
+            }
+            Arrays.sort(heap, cmp);
+            return heap;
+        }
+        T[] w = Arrays.copyOfRange(a, from, to);
+        select(w, 0, n, k - 1, cmp);
+        Arrays.sort(w, 0, k, cmp);
+        return Arrays.copyOf(w, k);
+    }
+
+    static <T> void select(T[] a, int from, int to, int nth, Comparator<? super T> cmp) {
+        int lo = from;
+        int hi = to;
+        int depth = Sorting.depthLimit(to - from);
+        while (hi - lo > Sorting.INSERTION_SORT_THRESHOLD) {
+            if (depth-- == 0) {
+                Arrays.sort(a, lo, hi, cmp);
+                return;
+            }
+            final int p = partition(a, lo, hi, cmp);
+            if (nth <= p) {
+                hi = p + 1;
+            }
+            else {
+                lo = p + 1;
+            }
+        }
+        Arrays.sort(a, lo, hi, cmp);
+    }
+
+    static <T> int partition(T[] a, int lo, int hi, Comparator<? super T> cmp) {
+        final int mid = lo + ((hi - lo) >>> 1);
+        final int m = median3(a, lo, mid, hi - 1, cmp);
+        swap(a, lo, m);
+        final T pivot = a[lo];
+        int i = lo - 1;
+        int j = hi;
+        while (true) {
+            do {
+                ++i;
+            } while (i < hi - 1 && cmp.compare(a[i], pivot) < 0);
+            do {
+                --j;
+            } while (j > lo && cmp.compare(pivot, a[j]) < 0);
+            if (i >= j) {
+                return j;
+            }
+            swap(a, i, j);
+        }
+    }
+
+    static <T> int median3(T[] a, int i, int j, int k, Comparator<? super T> cmp) {
+        if (cmp.compare(a[i], a[j]) < 0) {
+            return (cmp.compare(a[j], a[k]) < 0) ? j : (cmp.compare(a[i], a[k]) < 0) ? k : i;
+        }
+        return (cmp.compare(a[i], a[k]) < 0) ? i : (cmp.compare(a[j], a[k]) < 0) ? k : j;
+    }
+
+    static <T> void siftDown(T[] a, int i, int n, Comparator<? super T> cmp) {
+        final T x = a[i];
+        int k = i;
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= n) {
+                break;
+            }
+            if (child + 1 < n && cmp.compare(a[child], a[child + 1]) < 0) {
+                ++child;
+            }
+            if (cmp.compare(x, a[child]) >= 0) {
+                break;
+            }
+            a[k] = a[child];
+            k = child;
+        }
+        a[k] = x;
+    }
+
+    static <T> void swap(T[] a, int i, int j) {
+        final T x = a[i];
+        a[i] = a[j];
+        a[j] = x;
+    }
+
+    static <T> T[] merge(T[] x, T[] y, int k, Comparator<? super T> cmp) {
+        final int n = Math.min(k, x.length + y.length);
+        T[] result = Arrays.copyOf(x, n);
+        int i = 0;
+        int j = 0;
+        for (int p = 0; p < n; p++) {
+            if (j >= y.length || (i < x.length && cmp.compare(y[j], x[i]) >= 0)) {
+                result[p] = x[i++];
+            }
+            else {
+                result[p] = y[j++];
+            }
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,722 @@
+package minestra.collection;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Set operations for sorted primitive arrays.
+ * The arrays are treated as sets, so the results have no duplicates.
+ * The operations merge the arrays linearly, but if one is much smaller than the other,
+ * each element of the smaller one is looked up in the larger one by the exponential search (galloping),
+ * which starts from the position of the previous element.
+ * The sorted arrays are read in the ranges of their backing arrays, so that the slices are not copied.
+ */
+final class SetOperations {
+
+    /**
+     * The ratio of the sizes to switch to the exponential search.
+     */
+    static final int GALLOP_RATIO = 32;
+
+    private SetOperations() {
+        // empty
+    }
+
+    static boolean isSkewed(int smaller, int larger) {
+        return smaller > 0 && larger / smaller >= GALLOP_RATIO;
+    }
+
+    // int
+
+    static int[] valuesOf(SortedIntImmArray arr) {
+        return (arr instanceof SortedIntImmArrayImpl) ? ((SortedIntImmArrayImpl) arr).values : arr.toArray();
+    }
+
+    /**
+     * Returns the start of the range in the array which is returned by <code>valuesOf</code>.
+     */
+    static int offsetOf(SortedIntImmArray arr) {
+        return (arr instanceof SortedIntImmArrayImpl) ? ((SortedIntImmArrayImpl) arr).offset : 0;
+    }
+
+    static SortedIntImmArray result(int[] out, int length) {
+        if (length == 0) {
+            return SortedIntImmArrayImpl.EMPTY;
+        }
+        return new SortedIntImmArrayImpl((length == out.length) ? out : Arrays.copyOf(out, length), 0, length);
+    }
+
+    /**
+     * Returns the index of the first element which is not less than the key in the range,
+     * by the exponential search from <code>from</code>.
+     */
+    static int gallop(int[] a, int from, int to, int key) {
+        if (from >= to || a[from] >= key) {
+            return from;
+        }
+        int lo = from;
+        int bound = 1;
+        while (from + bound < to && a[from + bound] < key) {
+            lo = from + bound;
+            bound <<= 1;
+        }
+        int hi = (bound < to - from) ? from + bound : to;
+        ++lo;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (a[mid] < key) {
+                lo = mid + 1;
+            }
+            else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    static SortedIntImmArray union(SortedIntImmArray x, SortedIntImmArray y) {
+        final int[] a = valuesOf(x);
+        final int[] b = valuesOf(y);
+        final int aTo = offsetOf(x) + x.size();
+        final int bTo = offsetOf(y) + y.size();
+        int[] out = new int[x.size() + y.size()];
+        int p = 0;
+        int i = offsetOf(x);
+        int j = offsetOf(y);
+        while (i < aTo && j < bTo) {
+            final int v;
+            if (a[i] < b[j]) {
+                v = a[i++];
+            }
+            else if (b[j] < a[i]) {
+                v = b[j++];
+            }
+            else {
+                v = a[i++];
+                ++j;
+            }
+            if (p == 0 || out[p - 1] != v) {
+                out[p++] = v;
+            }
+        }
+        p = appendDistinct(out, p, a, i, aTo);
+        p = appendDistinct(out, p, b, j, bTo);
+        return result(out, p);
+    }
+
+    private static int appendDistinct(int[] out, int p, int[] a, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (p == 0 || out[p - 1] != a[i]) {
+                out[p++] = a[i];
+            }
+        }
+        return p;
+    }
+
+    static SortedIntImmArray intersect(SortedIntImmArray x, SortedIntImmArray y) {
+        final int aFrom = offsetOf(x);
+        final int bFrom = offsetOf(y);
+        return intersect(valuesOf(x), aFrom, aFrom + x.size(), valuesOf(y), bFrom, bFrom + y.size());
+    }
+
+    private static SortedIntImmArray intersect(int[] a, int aFrom, int aTo, int[] b, int bFrom, int bTo) {
+        if (aTo - aFrom > bTo - bFrom) {
+            return intersect(b, bFrom, bTo, a, aFrom, aTo);
+        }
+        int[] out = new int[aTo - aFrom];
+        int p = 0;
+        int i = aFrom;
+        int j = bFrom;
+        if (isSkewed(aTo - aFrom, bTo - bFrom)) {
+            for (; i < aTo && j < bTo; i++) {
+                final int v = a[i];
+                if (p > 0 && out[p - 1] == v) {
+                    continue;
+                }
+                j = gallop(b, j, bTo, v);
+                if (j < bTo && b[j] == v) {
+                    out[p++] = v;
+                }
+            }
+        }
+        else {
+            while (i < aTo && j < bTo) {
+                if (a[i] < b[j]) {
+                    ++i;
+                }
+                else if (b[j] < a[i]) {
+                    ++j;
+                }
+                else {
+                    if (p == 0 || out[p - 1] != a[i]) {
+                        out[p++] = a[i];
+                    }
+                    ++i;
+                    ++j;
+                }
+            }
+        }
+        return result(out, p);
+    }
+
+    static SortedIntImmArray intersectAll(SortedIntImmArray[] arrays) {
+        if (arrays.length == 0) {
+            return SortedIntImmArrayImpl.EMPTY;
+        }
+        SortedIntImmArray[] sorted = arrays.clone();
+        Arrays.sort(sorted, Comparator.comparingInt(SortedIntImmArray::size));
+        SortedIntImmArray r = sorted[0];
+        for (int i = 1; i < sorted.length && !r.isEmpty(); i++) {
+            r = intersect(r, sorted[i]);
+        }
+        return (sorted.length == 1) ? r.distinct() : r;
+    }
+
+    static SortedIntImmArray difference(SortedIntImmArray x, SortedIntImmArray y) {
+        final int[] a = valuesOf(x);
+        final int[] b = valuesOf(y);
+        final int aTo = offsetOf(x) + x.size();
+        final int bTo = offsetOf(y) + y.size();
+        int[] out = new int[x.size()];
+        int p = 0;
+        int i = offsetOf(x);
+        int j = offsetOf(y);
+        if (isSkewed(x.size(), y.size())) {
+            for (; i < aTo && j < bTo; i++) {
+                final int v = a[i];
+                j = gallop(b, j, bTo, v);
+                if ((j == bTo || b[j] != v) && (p == 0 || out[p - 1] != v)) {
+                    out[p++] = v;
+                }
+            }
+        }
+        else if (isSkewed(y.size(), x.size())) {
+            for (; i < aTo && j < bTo; j++) {
+                final int k = gallop(a, i, aTo, b[j]);
+                p = appendDistinct(out, p, a, i, k);
+                i = k;
+                while (i < aTo && a[i] == b[j]) {
+                    ++i;
+                }
+            }
+        }
+        else {
+            while (i < aTo && j < bTo) {
+                if (a[i] < b[j]) {
+                    if (p == 0 || out[p - 1] != a[i]) {
+                        out[p++] = a[i];
+                    }
+                    ++i;
+                }
+                else if (b[j] < a[i]) {
+                    ++j;
+                }
+                else {
+                    ++i;
+                }
+            }
+        }
+        p = appendDistinct(out, p, a, i, aTo);
+        return result(out, p);
+    }
+
+    static SortedIntImmArray symmetricDifference(SortedIntImmArray x, SortedIntImmArray y) {
+        final int[] a = valuesOf(x);
+        final int[] b = valuesOf(y);
+        final int aTo = offsetOf(x) + x.size();
+        final int bTo = offsetOf(y) + y.size();
+        int[] out = new int[x.size() + y.size()];
+        int p = 0;
+        int i = offsetOf(x);
+        int j = offsetOf(y);
+        while (i < aTo && j < bTo) {
+            if (a[i] < b[j]) {
+                if (p == 0 || out[p - 1] != a[i]) {
+                    out[p++] = a[i];
+                }
+                ++i;
+            }
+            else if (b[j] < a[i]) {
+                if (p == 0 || out[p - 1] != b[j]) {
+                    out[p++] = b[j];
+                }
+                ++j;
+            }
+            else {
+                final int v = a[i];
+                while (i < aTo && a[i] == v) {
+                    ++i;
+                }
+                while (j < bTo && b[j] == v) {
+                    ++j;
+                }
+            }
+        }
+        p = appendDistinct(out, p, a, i, aTo);
+        p = appendDistinct(out, p, b, j, bTo);
+        return result(out, p);
+    }
+
+    // long
+
+    static long[] valuesOf(SortedLongImmArray arr) {
+        return (arr instanceof SortedLongImmArrayImpl) ? ((SortedLongImmArrayImpl) arr).values : arr.toArray();
+    }
+
+    /**
+     * Returns the start of the range in the array which is returned by <code>valuesOf</code>.
+     */
+    static int offsetOf(SortedLongImmArray arr) {
+        return (arr instanceof SortedLongImmArrayImpl) ? ((SortedLongImmArrayImpl) arr).offset : 0;
+    }
+
+    static SortedLongImmArray result(long[] out, int length) {
+        if (length == 0) {
+            return SortedLongImmArrayImpl.EMPTY;
+        }
+        return new SortedLongImmArrayImpl((length == out.length) ? out : Arrays.copyOf(out, length), 0, length);
+    }
+
+    /**
+     * Returns the index of the first element which is not less than the key in the range,
+     * by the exponential search from <code>from</code>.
+     */
+    static int gallop(long[] a, int from, int to, long key) {
+        if (from >= to || a[from] >= key) {
+            return from;
+        }
+        int lo = from;
+        int bound = 1;
+        while (from + bound < to && a[from + bound] < key) {
+            lo = from + bound;
+            bound <<= 1;
+        }
+        int hi = (bound < to - from) ? from + bound : to;
+        ++lo;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (a[mid] < key) {
+                lo = mid + 1;
+            }
+            else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    static SortedLongImmArray union(SortedLongImmArray x, SortedLongImmArray y) {
+        final long[] a = valuesOf(x);
+        final long[] b = valuesOf(y);
+        final int aTo = offsetOf(x) + x.size();
+        final int bTo = offsetOf(y) + y.size();
+        long[] out = new long[x.size() + y.size()];
+        int p = 0;
+        int i = offsetOf(x);
+        int j = offsetOf(y);
+        while (i < aTo && j < bTo) {
+            final long v;
+            if (a[i] < b[j]) {
+                v = a[i++];
+            }
+            else if (b[j] < a[i]) {
+                v = b[j++];
+            }
+            else {
+                v = a[i++];
+                ++j;
+            }
+            if (p == 0 || out[p - 1] != v) {
+                out[p++] = v;
+            }
+        }
+        p = appendDistinct(out, p, a, i, aTo);
+        p = appendDistinct(out, p, b, j, bTo);
+        return result(out, p);
+    }
+
+    private static int appendDistinct(long[] out, int p, long[] a, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (p == 0 || out[p - 1] != a[i]) {
+                out[p++] = a[i];
+            }
+        }
+        return p;
+    }
+
+    static SortedLongImmArray intersect(SortedLongImmArray x, SortedLongImmArray y) {
+        final int aFrom = offsetOf(x);
+        final int bFrom = offsetOf(y);
+        return intersect(valuesOf(x), aFrom, aFrom + x.size(), valuesOf(y), bFrom, bFrom + y.size());
+    }
+
+    private static SortedLongImmArray intersect(long[] a, int aFrom, int aTo, long[] b, int bFrom, int bTo) {
+        if (aTo - aFrom > bTo - bFrom) {
+            return intersect(b, bFrom, bTo, a, aFrom, aTo);
+        }
+        long[] out = new long[aTo - aFrom];
+        int p = 0;
+        int i = aFrom;
+        int j = bFrom;
+        if (isSkewed(aTo - aFrom, bTo - bFrom)) {
+            for (; i < aTo && j < bTo; i++) {
+                final long v = a[i];
+                if (p > 0 && out[p - 1] == v) {
+                    continue;
+                }
+                j = gallop(b, j, bTo, v);
+                if (j < bTo && b[j] == v) {
+                    out[p++] = v;
+                }
+            }
+        }
+        else {
+            while (i < aTo && j < bTo) {
+                if (a[i] < b[j]) {
+                    ++i;
+                }
+                else if (b[j] < a[i]) {
+                    ++j;
+                }
+                else {
+                    if (p == 0 || out[p - 1] != a[i]) {
+                        out[p++] = a[i];
+                    }
+                    ++i;
+                    ++j;
+                }
+            }
+        }
+        return result(out, p);
+    }
+
+    static SortedLongImmArray intersectAll(SortedLongImmArray[] arrays) {
+        if (arrays.length == 0) {
+            return SortedLongImmArrayImpl.EMPTY;
+        }
+        SortedLongImmArray[] sorted = arrays.clone();
+        Arrays.sort(sorted, Comparator.comparingInt(SortedLongImmArray::size));
+        SortedLongImmArray r = sorted[0];
+        for (int i = 1; i < sorted.length && !r.isEmpty(); i++) {
+            r = intersect(r, sorted[i]);
+        }
+        return (sorted.length == 1) ? r.distinct() : r;
+    }
+
+    static SortedLongImmArray difference(SortedLongImmArray x, SortedLongImmArray y) {
+        final long[] a = valuesOf(x);
+        final long[] b = valuesOf(y);
+        final int aTo = offsetOf(x) + x.size();
+        final int bTo = offsetOf(y) + y.size();
+        long[] out = new long[x.size()];
+        int p = 0;
+        int i = offsetOf(x);
+        int j = offsetOf(y);
+        if (isSkewed(x.size(), y.size())) {
+            for (; i < aTo && j < bTo; i++) {
+                final long v = a[i];
+                j = gallop(b, j, bTo, v);
+                if ((j == bTo || b[j] != v) && (p == 0 || out[p - 1] != v)) {
+                    out[p++] = v;
+                }
+            }
+        }
+        else if (isSkewed(y.size(), x.size())) {
+            for (; i < aTo && j < bTo; j++) {
+                final int k = gallop(a, i, aTo, b[j]);
+                p = appendDistinct(out, p, a, i, k);
+                i = k;
+                while (i < aTo && a[i] == b[j]) {
+                    ++i;
+                }
+            }
+        }
+        else {
+            while (i < aTo && j < bTo) {
+                if (a[i] < b[j]) {
+                    if (p == 0 || out[p - 1] != a[i]) {
+                        out[p++] = a[i];
+                    }
+                    ++i;
+                }
+                else if (b[j] < a[i]) {
+                    ++j;
+                }
+                else {
+                    ++i;
+                }
+            }
+        }
+        p = appendDistinct(out, p, a, i, aTo);
+        return result(out, p);
+    }
+
+    static SortedLongImmArray symmetricDifference(SortedLongImmArray x, SortedLongImmArray y) {
+        final long[] a = valuesOf(x);
+        final long[] b = valuesOf(y);
+        final int aTo = offsetOf(x) + x.size();
+        final int bTo = offsetOf(y) + y.size();
+        long[] out = new long[x.size() + y.size()];
+        int p = 0;
+        int i = offsetOf(x);
+        int j = offsetOf(y);
+        while (i < aTo && j < bTo) {
+            if (a[i] < b[j]) {
+                if (p == 0 || out[p - 1] != a[i]) {
+                    out[p++] = a[i];
+                }
+                ++i;
+            }
+            else if (b[j] < a[i]) {
+                if (p == 0 || out[p - 1] != b[j]) {
+                    out[p++] = b[j];
+                }
+                ++j;
+            }
+            else {
+                final long v = a[i];
+                while (i < aTo && a[i] == v) {
+                    ++i;
+                }
+                while (j < bTo && b[j] == v) {
+                    ++j;
+                }
+            }
+        }
+        p = appendDistinct(out, p, a, i, aTo);
+        p = appendDistinct(out, p, b, j, bTo);
+        return result(out, p);
+    }
+
+    // double
+
+    static double[] valuesOf(SortedDoubleImmArray arr) {
+        return (arr instanceof SortedDoubleImmArrayImpl) ? ((SortedDoubleImmArrayImpl) arr).values : arr.toArray();
+    }
+
+    /**
+     * Returns the start of the range in the array which is returned by <code>valuesOf</code>.
+     */
+    static int offsetOf(SortedDoubleImmArray arr) {
+        return (arr instanceof SortedDoubleImmArrayImpl) ? ((SortedDoubleImmArrayImpl) arr).offset : 0;
+    }
+
+    static SortedDoubleImmArray result(double[] out, int length) {
+        if (length == 0) {
+            return SortedDoubleImmArrayImpl.EMPTY;
+        }
+        return new SortedDoubleImmArrayImpl((length == out.length) ? out : Arrays.copyOf(out, length), 0, length);
+    }
+
+    /**
+     * Returns the index of the first element which is not less than the key in the range,
+     * by the exponential search from <code>from</code>.
+     */
+    static int gallop(double[] a, int from, int to, double key) {
+        if (from >= to || Double.compare(a[from], key) >= 0) {
+            return from;
+        }
+        int lo = from;
+        int bound = 1;
+        while (from + bound < to && Double.compare(a[from + bound], key) < 0) {
+            lo = from + bound;
+            bound <<= 1;
+        }
+        int hi = (bound < to - from) ? from + bound : to;
+        ++lo;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (Double.compare(a[mid], key) < 0) {
+                lo = mid + 1;
+            }
+            else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    static SortedDoubleImmArray union(SortedDoubleImmArray x, SortedDoubleImmArray y) {
+        final double[] a = valuesOf(x);
+        final double[] b = valuesOf(y);
+        final int aTo = offsetOf(x) + x.size();
+        final int bTo = offsetOf(y) + y.size();
+        double[] out = new double[x.size() + y.size()];
+        int p = 0;
+        int i = offsetOf(x);
+        int j = offsetOf(y);
+        while (i < aTo && j < bTo) {
+            final double v;
+            if (Double.compare(a[i], b[j]) < 0) {
+                v = a[i++];
+            }
+            else if (Double.compare(b[j], a[i]) < 0) {
+                v = b[j++];
+            }
+            else {
+                v = a[i++];
+                ++j;
+            }
+            if (p == 0 || Double.compare(out[p - 1], v) != 0) {
+                out[p++] = v;
+            }
+        }
+        p = appendDistinct(out, p, a, i, aTo);
+        p = appendDistinct(out, p, b, j, bTo);
+        return result(out, p);
+    }
+
+    private static int appendDistinct(double[] out, int p, double[] a, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (p == 0 || Double.compare(out[p - 1], a[i]) != 0) {
+                out[p++] = a[i];
+            }
+        }
+        return p;
+    }
+
+    static SortedDoubleImmArray intersect(SortedDoubleImmArray x, SortedDoubleImmArray y) {
+        final int aFrom = offsetOf(x);
+        final int bFrom = offsetOf(y);
+        return intersect(valuesOf(x), aFrom, aFrom + x.size(), valuesOf(y), bFrom, bFrom + y.size());
+    }
+
+    private static SortedDoubleImmArray intersect(double[] a, int aFrom, int aTo, double[] b, int bFrom, int bTo) {
+        if (aTo - aFrom > bTo - bFrom) {
+            return intersect(b, bFrom, bTo, a, aFrom, aTo);
+        }
+        double[] out = new double[aTo - aFrom];
+        int p = 0;
+        int i = aFrom;
+        int j = bFrom;
+        if (isSkewed(aTo - aFrom, bTo - bFrom)) {
+            for (; i < aTo && j < bTo; i++) {
+                final double v = a[i];
+                if (p > 0 && Double.compare(out[p - 1], v) == 0) {
+                    continue;
+                }
+                j = gallop(b, j, bTo, v);
+                if (j < bTo && Double.compare(b[j], v) == 0) {
+                    out[p++] = v;
+                }
+            }
+        }
+        else {
+            while (i < aTo && j < bTo) {
+                if (Double.compare(a[i], b[j]) < 0) {
+                    ++i;
+                }
+                else if (Double.compare(b[j], a[i]) < 0) {
+                    ++j;
+                }
+                else {
+                    if (p == 0 || Double.compare(out[p - 1], a[i]) != 0) {
+                        out[p++] = a[i];
+                    }
+                    ++i;
+                    ++j;
+                }
+            }
+        }
+        return result(out, p);
+    }
+
+    static SortedDoubleImmArray intersectAll(SortedDoubleImmArray[] arrays) {
+        if (arrays.length == 0) {
+            return SortedDoubleImmArrayImpl.EMPTY;
+        }
+        SortedDoubleImmArray[] sorted = arrays.clone();
+        Arrays.sort(sorted, Comparator.comparingInt(SortedDoubleImmArray::size));
+        SortedDoubleImmArray r = sorted[0];
+        for (int i = 1; i < sorted.length && !r.isEmpty(); i++) {
+            r = intersect(r, sorted[i]);
+        }
+        return (sorted.length == 1) ? r.distinct() : r;
+    }
+
+    static SortedDoubleImmArray difference(SortedDoubleImmArray x, SortedDoubleImmArray y) {
+        final double[] a = valuesOf(x);
+        final double[] b = valuesOf(y);
+        final int aTo = offsetOf(x) + x.size();
+        final int bTo = offsetOf(y) + y.size();
+        double[] out = new double[x.size()];
+        int p = 0;
+        int i = offsetOf(x);
+        int j = offsetOf(y);
+        if (isSkewed(x.size(), y.size())) {
+            for (; i < aTo && j < bTo; i++) {
+                final double v = a[i];
+                j = gallop(b, j, bTo, v);
+                if ((j == bTo || Double.compare(b[j], v) != 0) && (p == 0 || Double.compare(out[p - 1], v) != 0)) {
+                    out[p++] = v;
+                }
+            }
+        }
+        else if (isSkewed(y.size(), x.size())) {
+            for (; i < aTo && j < bTo; j++) {
+                final int k = gallop(a, i, aTo, b[j]);
+                p = appendDistinct(out, p, a, i, k);
+                i = k;
+                while (i < aTo && Double.compare(a[i], b[j]) == 0) {
+                    ++i;
+                }
+            }
+        }
+        else {
+            while (i < aTo && j < bTo) {
+                if (Double.compare(a[i], b[j]) < 0) {
+                    if (p == 0 || Double.compare(out[p - 1], a[i]) != 0) {
+                        out[p++] = a[i];
+                    }
+                    ++i;
+                }
+                else if (Double.compare(b[j], a[i]) < 0) {
+                    ++j;
+                }
+                else {
+                    ++i;
+                }
+            }
+        }
+        p = appendDistinct(out, p, a, i, aTo);
+        return result(out, p);
+    }
+
+    static SortedDoubleImmArray symmetricDifference(SortedDoubleImmArray x, SortedDoubleImmArray y) {
+        final double[] a = valuesOf(x);
+        final double[] b = valuesOf(y);
+        final int aTo = offsetOf(x) + x.size();
+        final int bTo = offsetOf(y) + y.size();
+        double[] out = new double[x.size() + y.size()];
+        int p = 0;
+        int i = offsetOf(x);
+        int j = offsetOf(y);
+        while (i < aTo && j < bTo) {
+            if (Double.compare(a[i], b[j]) < 0) {
+                if (p == 0 || Double.compare(out[p - 1], a[i]) != 0) {
+                    out[p++] = a[i];
+                }
+                ++i;
+            }
+            else if (Double.compare(b[j], a[i]) < 0) {
+                if (p == 0 || Double.compare(out[p - 1], b[j]) != 0) {
+                    out[p++] = b[j];
+                }
+                ++j;
+            }
+            else {
+                final double v = a[i];
+                while (i < aTo && Double.compare(a[i], v) == 0) {
+                    ++i;
+                }
+                while (j < bTo && Double.compare(b[j], v) == 0) {
+                    ++j;
+                }
+            }
+        }
+        p = appendDistinct(out, p, a, i, aTo);
+        p = appendDistinct(out, p, b, j, bTo);
+        return result(out, p);
+    }
+
+}
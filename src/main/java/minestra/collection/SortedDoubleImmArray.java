@@ -0,0 +1,141 @@
+package minestra.collection;
+
+import java.util.Arrays;
+import java.util.OptionalDouble;
+
+/**
+ * An immutable double array whose elements are sorted in ascending order.
+ * The lookups by value use binary search.
+ * The order is same as <code>Double.compare</code>, so NaN is placed at the end.
+ */
+public interface SortedDoubleImmArray extends DoubleImmArray {
+
+    /**
+     * Returns the sorted array of the specified values.
+     * @param a values
+     * @return the array
+     */
+    static SortedDoubleImmArray of(double... a) {
+        double[] values = Arrays.copyOf(a, a.length);
+        Sorting.sortNatural(values, 0, values.length, false);
+        return new SortedDoubleImmArrayImpl(values, 0, values.length);
+    }
+
+    /**
+     * Returns the empty sorted array.
+     * @return the empty array
+     */
+    static SortedDoubleImmArray empty() {
+        return SortedDoubleImmArrayImpl.EMPTY;
+    }
+
+    /**
+     * Returns whether this array contains the specified value.
+     * The values are compared as <code>Double.compare</code>.
+     * @param value value to find
+     * @return <code>true</code> if this array contains specified value
+     */
+    boolean contains(double value);
+
+    /**
+     * Returns the index of first element which is same as specified value in this array.
+     * The values are compared as <code>Double.compare</code>.
+     * @param value value to find
+     * @return number of the index, returns <code>-1</code> if not found
+     */
+    int indexOf(double value);
+
+    /**
+     * Returns the number of elements which are less than the specified value.
+     * @param value value
+     * @return the rank
+     */
+    int rank(double value);
+
+    /**
+     * Returns the greatest element which is less than or equal to the specified value.
+     * @param value value
+     * @return the element, or empty optional if not found
+     */
+    OptionalDouble floor(double value);
+
+    /**
+     * Returns the least element which is greater than or equal to the specified value.
+     * @param value value
+     * @return the element, or empty optional if not found
+     */
+    OptionalDouble ceiling(double value);
+
+    /**
+     * Returns the part of this array whose elements are between the specified values.
+     * @param fromValue the minimum value (inclusive)
+     * @param toValue the maximum value (inclusive)
+     * @return the array, which shares the storage with this array
+     * @throws IllegalArgumentException if fromValue is greater than toValue
+     */
+    SortedDoubleImmArray sliceByValue(double fromValue, double toValue);
+
+    /**
+     * Returns the union of this array and the other as sets.
+     * @param other the other array
+     * @return the array of the elements which are in either array, without duplicates
+     */
+    default SortedDoubleImmArray union(SortedDoubleImmArray other) {
+        return SetOperations.union(this, other);
+    }
+
+    /**
+     * Returns the intersection of this array and the other as sets.
+     * @param other the other array
+     * @return the array of the elements which are in both arrays, without duplicates
+     */
+    default SortedDoubleImmArray intersect(SortedDoubleImmArray other) {
+        return SetOperations.intersect(this, other);
+    }
+
+    /**
+     * Returns the difference of this array and the other as sets.
+     * @param other the other array
+     * @return the array of the elements which are in this array but not in the other, without duplicates
+     */
+    default SortedDoubleImmArray difference(SortedDoubleImmArray other) {
+        return SetOperations.difference(this, other);
+    }
+
+    /**
+     * Returns the symmetric difference of this array and the other as sets.
+     * @param other the other array
+     * @return the array of the elements which are in either array but not in both, without duplicates
+     */
+    default SortedDoubleImmArray symmetricDifference(SortedDoubleImmArray other) {
+        return SetOperations.symmetricDifference(this, other);
+    }
+
+    /**
+     * Returns the intersection of the specified arrays as sets.
+     * The arrays are intersected in ascending order of the size, so the intermediate result never grows.
+     * @param arrays the arrays
+     * @return the array of the elements which are in all arrays without duplicates,
+     *         or the empty array if no arrays are specified
+     */
+    static SortedDoubleImmArray intersectAll(SortedDoubleImmArray... arrays) {
+        return SetOperations.intersectAll(arrays);
+    }
+
+    @Override
+    SortedDoubleImmArray slice(int from, int to);
+
+    @Override
+    SortedDoubleImmArray distinct();
+
+    @Override
+    default SortedDoubleImmArray sort() {
+        return this;
+    }
+
+    @Override
+    default SortedDoubleImmArray asSorted() {
+        return this;
+    }
+
+}
@@ -0,0 +1,249 @@
+package minestra.collection;
+
+import java.util.Arrays;
+import java.util.OptionalDouble;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.DoubleConsumer;
+
+/**
+ * A double array whose elements are sorted in ascending order.
+ * This is a view of the part of an array as well as <code>DoubleImmArraySlice</code>.
+ */
+final class SortedDoubleImmArrayImpl implements SortedDoubleImmArray {
+
+    static final SortedDoubleImmArray EMPTY = new SortedDoubleImmArrayImpl(new double[0], 0, 0);
+
+    final double[] values;
+    final int offset;
+    final int length;
+
+    SortedDoubleImmArrayImpl(double[] values, int offset, int length) {
+        this.values = values;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Returns the array of the specified elements if they are sorted.
+     * @param values the elements, which are not copied
+     * @return the array
+     * @throws IllegalStateException if the elements are not sorted
+     */
+    static SortedDoubleImmArray checked(double[] values) {
+        for (int i = 1; i < values.length; i++) {
+            if (Double.compare(values[i], values[i - 1]) < 0) {
+                throw new IllegalStateException("not sorted at index " + i);
+            }
+        }
+        return new SortedDoubleImmArrayImpl(values, 0, values.length);
+    }
+
+    private SortedDoubleImmArray range(int from, int to) {
+        return (from == to) ? EMPTY : new SortedDoubleImmArrayImpl(values, from, to - from);
+    }
+
+    /**
+     * Returns the index in the storage of the first element which is not less than the value.
+     */
+    private int lowerBound(double value) {
+        int lo = offset;
+        int hi = offset + length;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (Double.compare(values[mid], value) < 0) {
+                lo = mid + 1;
+            }
+            else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Returns the index in the storage of the first element which is greater than the value.
+     */
+    private int upperBound(double value) {
+        int lo = offset;
+        int hi = offset + length;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (Double.compare(values[mid], value) <= 0) {
+                lo = mid + 1;
+            }
+            else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    @Override
+    public double at(int index) {
+        if (index < 0 || index >= length) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+        return values[offset + index];
+    }
+
+    @Override
+    public int size() {
+        return length;
+    }
+
+    @Override
+    public boolean contains(double value) {
+        return indexOf(value) >= 0;
+    }
+
+    @Override
+    public int indexOf(double value) {
+        final int i = lowerBound(value);
+        return (i < offset + length && Double.compare(values[i], value) == 0) ? i - offset : -1;
+    }
+
+    @Override
+    public int rank(double value) {
+        return lowerBound(value) - offset;
+    }
+
+    @Override
+    public OptionalDouble floor(double value) {
+        final int i = upperBound(value);
+        return (i > offset) ? OptionalDouble.of(values[i - 1]) : OptionalDouble.empty();
+    }
+
+    @Override
+    public OptionalDouble ceiling(double value) {
+        final int i = lowerBound(value);
+        return (i < offset + length) ? OptionalDouble.of(values[i]) : OptionalDouble.empty();
+    }
+
+    @Override
+    public SortedDoubleImmArray sliceByValue(double fromValue, double toValue) {
+        if (Double.compare(toValue, fromValue) < 0) {
+            throw new IllegalArgumentException(fromValue + " > " + toValue);
+        }
+        return range(lowerBound(fromValue), upperBound(toValue));
+    }
+
+    @Override
+    public SortedDoubleImmArray slice(int from, int to) {
+        final int to0 = ((to < length - 1) ? to : length - 1) + 1;
+        if (from > to0) {
+            throw new IllegalArgumentException(from + " > " + to0);
+        }
+        if (from < 0) {
+            throw new ArrayIndexOutOfBoundsException(from);
+        }
+        return range(offset + from, offset + to0);
+    }
+
+    @Override
+    public SortedDoubleImmArray distinct() {
+        final int end = offset + length;
+        double[] a = new double[length];
+        int p = 0;
+        for (int i = offset; i < end; i++) {
+            if (p == 0 || Double.compare(values[i], a[p - 1]) != 0) {
+                a[p++] = values[i];
+            }
+        }
+        return (p == length) ? this : new SortedDoubleImmArrayImpl(Arrays.copyOf(a, p), 0, p);
+    }
+
+    @Override
+    public SortedDoubleImmArray compact() {
+        return new SortedDoubleImmArrayImpl(toArray(), 0, length);
+    }
+
+    @Override
+    public void forEach(DoubleConsumer action) {
+        final int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            action.accept(values[i]);
+        }
+    }
+
+    @Override
+    public double sum() {
+        final int end = offset + length;
+        double sum = 0d;
+        for (int i = offset; i < end; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public double product() {
+        if (length == 0) {
+            return 0;
+        }
+        final int end = offset + length;
+        double product = values[offset];
+        for (int i = offset + 1; i < end; i++) {
+            product *= values[i];
+        }
+        return product;
+    }
+
+    @Override
+    public OptionalDouble max() {
+        if (length == 0) {
+            return OptionalDouble.empty();
+        }
+        // NaN is ignored unless all of the elements are NaN, as well as DoubleImmArray
+        final int i = lowerBound(Double.NaN);
+        return OptionalDouble.of(values[(i > offset) ? i - 1 : offset]);
+    }
+
+    @Override
+    public OptionalDouble min() {
+        return (length == 0) ? OptionalDouble.empty() : OptionalDouble.of(values[offset]);
+    }
+
+    @Override
+    public DoubleImmArray sortWith(int fromIndex, int toIndex, DoubleComparator cmp) {
+        double[] a = toArray();
+        DoubleImmArrayImpl.sortWith0(a, fromIndex, toIndex, cmp);
+        return new DoubleImmArrayImpl(true, a);
+    }
+
+    @Override
+    public Spliterator.OfDouble spliterator() {
+        final int characteristics = ImmArraySpliterators.PRIMITIVE_CHARACTERISTICS | Spliterator.SORTED;
+        return Spliterators.spliterator(values, offset, offset + length, characteristics);
+    }
+
+    @Override
+    public double[] toArray() {
+        return Arrays.copyOfRange(values, offset, offset + length);
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        final int end = offset + length;
+        int h = 1;
+        for (int i = offset; i < end; i++) {
+            h = prime * h + Double.hashCode(values[i]);
+        }
+        return prime + h;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        return (obj instanceof DoubleImmArray) && DoubleImmArrayImpl.contentEquals(this, (DoubleImmArray) obj);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+}
@@ -0,0 +1,124 @@
+package minestra.collection;
+
+import java.util.Arrays;
+import java.util.OptionalInt;
+
+/**
+ * An immutable int array whose elements are sorted in ascending order.
+ * The lookups by value use binary search.
+ */
+public interface SortedIntImmArray extends IntImmArray {
+
+    /**
+     * Returns the sorted array of the specified values.
+     * @param a values
+     * @return the array
+     */
+    static SortedIntImmArray of(int... a) {
+        int[] values = Arrays.copyOf(a, a.length);
+        Sorting.sortNatural(values, 0, values.length, false);
+        return new SortedIntImmArrayImpl(values, 0, values.length);
+    }
+
+    /**
+     * Returns the empty sorted array.
+     * @return the empty array
+     */
+    static SortedIntImmArray empty() {
+        return SortedIntImmArrayImpl.EMPTY;
+    }
+
+    /**
+     * Returns the number of elements which are less than the specified value.
+     * @param value value
+     * @return the rank
+     */
+    int rank(int value);
+
+    /**
+     * Returns the greatest element which is less than or equal to the specified value.
+     * @param value value
+     * @return the element, or empty optional if not found
+     */
+    OptionalInt floor(int value);
+
+    /**
+     * Returns the least element which is greater than or equal to the specified value.
+     * @param value value
+     * @return the element, or empty optional if not found
+     */
+    OptionalInt ceiling(int value);
+
+    /**
+     * Returns the part of this array whose elements are between the specified values.
+     * @param fromValue the minimum value (inclusive)
+     * @param toValue the maximum value (inclusive)
+     * @return the array, which shares the storage with this array
+     * @throws IllegalArgumentException if fromValue is greater than toValue
+     */
+    SortedIntImmArray sliceByValue(int fromValue, int toValue);
+
+    /**
+     * Returns the union of this array and the other as sets.
+     * @param other the other array
+     * @return the array of the elements which are in either array, without duplicates
+     */
+    default SortedIntImmArray union(SortedIntImmArray other) {
+        return SetOperations.union(this, other);
+    }
+
+    /**
+     * Returns the intersection of this array and the other as sets.
+     * @param other the other array
+     * @return the array of the elements which are in both arrays, without duplicates
+     */
+    default SortedIntImmArray intersect(SortedIntImmArray other) {
+        return SetOperations.intersect(this, other);
+    }
+
+    /**
+     * Returns the difference of this array and the other as sets.
+     * @param other the other array
+     * @return the array of the elements which are in this array but not in the other, without duplicates
+     */
+    default SortedIntImmArray difference(SortedIntImmArray other) {
+        return SetOperations.difference(this, other);
+    }
+
+    /**
+     * Returns the symmetric difference of this array and the other as sets.
+     * @param other the other array
+     * @return the array of the elements which are in either array but not in both, without duplicates
+     */
+    default SortedIntImmArray symmetricDifference(SortedIntImmArray other) {
+        return SetOperations.symmetricDifference(this, other);
+    }
+
+    /**
+     * Returns the intersection of the specified arrays as sets.
+     * The arrays are intersected in ascending order of the size, so the intermediate result never grows.
+     * @param arrays the arrays
+     * @return the array of the elements which are in all arrays without duplicates,
+     *         or the empty array if no arrays are specified
+     */
+    static SortedIntImmArray intersectAll(SortedIntImmArray... arrays) {
+        return SetOperations.intersectAll(arrays);
+    }
+
+    @Override
+    SortedIntImmArray slice(int from, int to);
+
+    @Override
+    SortedIntImmArray distinct();
+
+    @Override
+    default SortedIntImmArray sort() {
+        return this;
+    }
+
+    @Override
+    default SortedIntImmArray asSorted() {
+        return this;
+    }
+
+}
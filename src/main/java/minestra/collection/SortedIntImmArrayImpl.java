@@ -0,0 +1,239 @@
+package minestra.collection;
+
+import java.util.Arrays;
+import java.util.OptionalInt;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntConsumer;
+
+/**
+ * A int array whose elements are sorted in ascending order.
+ * This is a view of the part of an array as well as <code>IntImmArraySlice</code>.
+ */
+final class SortedIntImmArrayImpl implements SortedIntImmArray {
+
+    static final SortedIntImmArray EMPTY = new SortedIntImmArrayImpl(new int[0], 0, 0);
+
+    final int[] values;
+    final int offset;
+    final int length;
+
+    SortedIntImmArrayImpl(int[] values, int offset, int length) {
+        this.values = values;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Returns the array of the specified elements if they are sorted.
+     * @param values the elements, which are not copied
+     * @return the array
+     * @throws IllegalStateException if the elements are not sorted
+     */
+    static SortedIntImmArray checked(int[] values) {
+        for (int i = 1; i < values.length; i++) {
+            if (values[i] < values[i - 1]) {
+                throw new IllegalStateException("not sorted at index " + i);
+            }
+        }
+        return new SortedIntImmArrayImpl(values, 0, values.length);
+    }
+
+    private SortedIntImmArray range(int from, int to) {
+        return (from == to) ? EMPTY : new SortedIntImmArrayImpl(values, from, to - from);
+    }
+
+    /**
+     * Returns the index in the storage of the first element which is not less than the value.
+     */
+    private int lowerBound(int value) {
+        int lo = offset;
+        int hi = offset + length;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (values[mid] < value) {
+                lo = mid + 1;
+            }
+            else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Returns the index in the storage of the first element which is greater than the value.
+     */
+    private int upperBound(int value) {
+        int lo = offset;
+        int hi = offset + length;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (values[mid] <= value) {
+                lo = mid + 1;
+            }
+            else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    @Override
+    public int at(int index) {
+        if (index < 0 || index >= length) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+        return values[offset + index];
+    }
+
+    @Override
+    public int size() {
+        return length;
+    }
+
+    @Override
+    public boolean contains(int value) {
+        return indexOf(value) >= 0;
+    }
+
+    @Override
+    public int indexOf(int value) {
+        final int i = lowerBound(value);
+        return (i < offset + length && values[i] == value) ? i - offset : -1;
+    }
+
+    @Override
+    public int rank(int value) {
+        return lowerBound(value) - offset;
+    }
+
+    @Override
+    public OptionalInt floor(int value) {
+        final int i = upperBound(value);
+        return (i > offset) ? OptionalInt.of(values[i - 1]) : OptionalInt.empty();
+    }
+
+    @Override
+    public OptionalInt ceiling(int value) {
+        final int i = lowerBound(value);
+        return (i < offset + length) ? OptionalInt.of(values[i]) : OptionalInt.empty();
+    }
+
+    @Override
+    public SortedIntImmArray sliceByValue(int fromValue, int toValue) {
+        if (toValue < fromValue) {
+            throw new IllegalArgumentException(fromValue + " > " + toValue);
+        }
+        return range(lowerBound(fromValue), upperBound(toValue));
+    }
+
+    @Override
+    public SortedIntImmArray slice(int from, int to) {
+        final int to0 = ((to < length - 1) ? to : length - 1) + 1;
+        if (from > to0) {
+            throw new IllegalArgumentException(from + " > " + to0);
+        }
+        if (from < 0) {
+            throw new ArrayIndexOutOfBoundsException(from);
+        }
+        return range(offset + from, offset + to0);
+    }
+
+    @Override
+    public SortedIntImmArray distinct() {
+        final int end = offset + length;
+        int[] a = new int[length];
+        int p = 0;
+        for (int i = offset; i < end; i++) {
+            if (p == 0 || values[i] != a[p - 1]) {
+                a[p++] = values[i];
+            }
+        }
+        return (p == length) ? this : new SortedIntImmArrayImpl(Arrays.copyOf(a, p), 0, p);
+    }
+
+    @Override
+    public SortedIntImmArray compact() {
+        return new SortedIntImmArrayImpl(toArray(), 0, length);
+    }
+
+    @Override
+    public void forEach(IntConsumer action) {
+        final int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            action.accept(values[i]);
+        }
+    }
+
+    @Override
+    public int sum() {
+        return Kernels.sum(values, offset, offset + length);
+    }
+
+    @Override
+    public int product() {
+        if (length == 0) {
+            return 0;
+        }
+        final int end = offset + length;
+        int product = values[offset];
+        for (int i = offset + 1; i < end; i++) {
+            product *= values[i];
+        }
+        return product;
+    }
+
+    @Override
+    public OptionalInt max() {
+        return (length == 0) ? OptionalInt.empty() : OptionalInt.of(values[offset + length - 1]);
+    }
+
+    @Override
+    public OptionalInt min() {
+        return (length == 0) ? OptionalInt.empty() : OptionalInt.of(values[offset]);
+    }
+
+    @Override
+    public IntImmArray sortWith(int fromIndex, int toIndex, IntComparator cmp) {
+        int[] a = toArray();
+        IntImmArrayImpl.sortWith0(a, fromIndex, toIndex, cmp);
+        return new IntImmArrayImpl(true, a);
+    }
+
+    @Override
+    public Spliterator.OfInt spliterator() {
+        final int characteristics = ImmArraySpliterators.PRIMITIVE_CHARACTERISTICS | Spliterator.SORTED;
+        return Spliterators.spliterator(values, offset, offset + length, characteristics);
+    }
+
+    @Override
+    public int[] toArray() {
+        return Arrays.copyOfRange(values, offset, offset + length);
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        final int end = offset + length;
+        int h = 1;
+        for (int i = offset; i < end; i++) {
+            h = prime * h + values[i];
+        }
+        return prime + h;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        return (obj instanceof IntImmArray) && IntImmArrayImpl.contentEquals(this, (IntImmArray) obj);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+}
@@ -0,0 +1,239 @@
+package minestra.collection;
+
+import java.util.Arrays;
+import java.util.OptionalLong;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.LongConsumer;
+
+/**
+ * A long array whose elements are sorted in ascending order.
+ * This is a view of the part of an array as well as <code>LongImmArraySlice</code>.
+ */
+final class SortedLongImmArrayImpl implements SortedLongImmArray {
+
+    static final SortedLongImmArray EMPTY = new SortedLongImmArrayImpl(new long[0], 0, 0);
+
+    final long[] values;
+    final int offset;
+    final int length;
+
+    SortedLongImmArrayImpl(long[] values, int offset, int length) {
+        this.values = values;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Returns the array of the specified elements if they are sorted.
+     * @param values the elements, which are not copied
+     * @return the array
+     * @throws IllegalStateException if the elements are not sorted
+     */
+    static SortedLongImmArray checked(long[] values) {
+        for (int i = 1; i < values.length; i++) {
+            if (values[i] < values[i - 1]) {
+                throw new IllegalStateException("not sorted at index " + i);
+            }
+        }
+        return new SortedLongImmArrayImpl(values, 0, values.length);
+    }
+
+    private SortedLongImmArray range(int from, int to) {
+        return (from == to) ? EMPTY : new SortedLongImmArrayImpl(values, from, to - from);
+    }
+
+    /**
+     * Returns the index in the storage of the first element which is not less than the value.
+     */
+    private int lowerBound(long value) {
+        int lo = offset;
+        int hi = offset + length;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (values[mid] < value) {
+                lo = mid + 1;
+            }
+            else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Returns the index in the storage of the first element which is greater than the value.
+     */
+    private int upperBound(long value) {
+        int lo = offset;
+        int hi = offset + length;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (values[mid] <= value) {
+                lo = mid + 1;
+            }
+            else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    @Override
+    public long at(int index) {
+        if (index < 0 || index >= length) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+        return values[offset + index];
+    }
+
+    @Override
+    public int size() {
+        return length;
+    }
+
+    @Override
+    public boolean contains(long value) {
+        return indexOf(value) >= 0;
+    }
+
+    @Override
+    public int indexOf(long value) {
+        final int i = lowerBound(value);
+        return (i < offset + length && values[i] == value) ? i - offset : -1;
+    }
+
+    @Override
+    public int rank(long value) {
+        return lowerBound(value) - offset;
+    }
+
+    @Override
+    public OptionalLong floor(long value) {
+        final int i = upperBound(value);
+        return (i > offset) ? OptionalLong.of(values[i - 1]) : OptionalLong.empty();
+    }
+
+    @Override
+    public OptionalLong ceiling(long value) {
+        final int i = lowerBound(value);
+        return (i < offset + length) ? OptionalLong.of(values[i]) : OptionalLong.empty();
+    }
+
+    @Override
+    public SortedLongImmArray sliceByValue(long fromValue, long toValue) {
+        if (toValue < fromValue) {
+            throw new IllegalArgumentException(fromValue + " > " + toValue);
+        }
+        return range(lowerBound(fromValue), upperBound(toValue));
+    }
+
+    @Override
+    public SortedLongImmArray slice(int from, int to) {
+        final int to0 = ((to < length - 1) ? to : length - 1) + 1;
+        if (from > to0) {
+            throw new IllegalArgumentException(from + " > " + to0);
+        }
+        if (from < 0) {
+            throw new ArrayIndexOutOfBoundsException(from);
+        }
+        return range(offset + from, offset + to0);
+    }
+
+    @Override
+    public SortedLongImmArray distinct() {
+        final int end = offset + length;
+        long[] a = new long[length];
+        int p = 0;
+        for (int i = offset; i < end; i++) {
+            if (p == 0 || values[i] != a[p - 1]) {
+                a[p++] = values[i];
+            }
+        }
+        return (p == length) ? this : new SortedLongImmArrayImpl(Arrays.copyOf(a, p), 0, p);
+    }
+
+    @Override
+    public SortedLongImmArray compact() {
+        return new SortedLongImmArrayImpl(toArray(), 0, length);
+    }
+
+    @Override
+    public void forEach(LongConsumer action) {
+        final int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            action.accept(values[i]);
+        }
+    }
+
+    @Override
+    public long sum() {
+        return Kernels.sum(values, offset, offset + length);
+    }
+
+    @Override
+    public long product() {
+        if (length == 0) {
+            return 0;
+        }
+        final int end = offset + length;
+        long product = values[offset];
+        for (int i = offset + 1; i < end; i++) {
+            product *= values[i];
+        }
+        return product;
+    }
+
+    @Override
+    public OptionalLong max() {
+        return (length == 0) ? OptionalLong.empty() : OptionalLong.of(values[offset + length - 1]);
+    }
+
+    @Override
+    public OptionalLong min() {
+        return (length == 0) ? OptionalLong.empty() : OptionalLong.of(values[offset]);
+    }
+
+    @Override
+    public LongImmArray sortWith(int fromIndex, int toIndex, LongComparator cmp) {
+        long[] a = toArray();
+        LongImmArrayImpl.sortWith0(a, fromIndex, toIndex, cmp);
+        return new LongImmArrayImpl(true, a);
+    }
+
+    @Override
+    public Spliterator.OfLong spliterator() {
+        final int characteristics = ImmArraySpliterators.PRIMITIVE_CHARACTERISTICS | Spliterator.SORTED;
+        return Spliterators.spliterator(values, offset, offset + length, characteristics);
+    }
+
+    @Override
+    public long[] toArray() {
+        return Arrays.copyOfRange(values, offset, offset + length);
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        final int end = offset + length;
+        int h = 1;
+        for (int i = offset; i < end; i++) {
+            h = prime * h + Long.hashCode(values[i]);
+        }
+        return prime + h;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        return (obj instanceof LongImmArray) && LongImmArrayImpl.contentEquals(this, (LongImmArray) obj);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+}
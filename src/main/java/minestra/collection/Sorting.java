@@ -0,0 +1,584 @@
+package minestra.collection;
+
+import java.util.Arrays;
+
+/**
+ * Sorting algorithms for primitive arrays with primitive comparators.
+ * All of the methods sort the range from <code>from</code> (inclusive) to <code>to</code> (exclusive) in place.
+ */
+final class Sorting {
+
+    static final int INSERTION_SORT_THRESHOLD = 16;
+    static final int NINTHER_THRESHOLD = 128;
+    static final int INT_RADIX_SORT_THRESHOLD = 1 << 10;
+    static final int LONG_RADIX_SORT_THRESHOLD = 1 << 12;
+
+    private Sorting() {
+        // empty
+    }
+
+    static int depthLimit(int length) {
+        return 2 * (31 - Integer.numberOfLeadingZeros(Math.max(length, 1)));
+    }
+
+    // int
+
+    static void sort(int[] a, int from, int to, IntComparator cmp) {
+        if (to - from < 2) {
+            return;
+        }
+        if (cmp == IntComparator.NATURAL) {
+            sortNatural(a, from, to, false);
+        }
+        else if (cmp == IntComparator.REVERSE) {
+            sortNatural(a, from, to, true);
+        }
+        else {
+            introSort(a, from, to, depthLimit(to - from), cmp);
+        }
+    }
+
+    static void sortNatural(int[] a, int from, int to, boolean descending) {
+        if (to - from >= INT_RADIX_SORT_THRESHOLD) {
+            radixSort(a, from, to, descending);
+        }
+        else {
+            Arrays.sort(a, from, to);
+            if (descending) {
+                reverse(a, from, to);
+            }
+        }
+    }
+
+    /**
+     * Sorts the range by LSD radix sort of 8-bit digits.
+     * The pass is skipped if all of the elements have the same digit.
+     */
+    static void radixSort(int[] a, int from, int to, boolean descending) {
+        final int n = to - from;
+        if (n < 2) {
+            return;
+        }
+        final int flip = descending ? 0xFF : 0;
+        int[][] counts = new int[4][256];
+        for (int i = from; i < to; i++) {
+            final int key = a[i] ^ Integer.MIN_VALUE;
+            ++counts[0][(key & 0xFF) ^ flip];
+            ++counts[1][((key >>> 8) & 0xFF) ^ flip];
+            ++counts[2][((key >>> 16) & 0xFF) ^ flip];
+            ++counts[3][(key >>> 24) ^ flip];
+        }
+        int[] src = a;
+        int[] dst = new int[n];
+        int srcOffset = from;
+        int dstOffset = 0;
+        for (int d = 0; d < 4; d++) {
+            final int shift = d << 3;
+            final int[] count = counts[d];
+            if (count[(((a[from] ^ Integer.MIN_VALUE) >>> shift) & 0xFF) ^ flip] == n) {
+                continue;
+            }
+            for (int b = 0, sum = 0; b < 256; b++) {
+                final int c = count[b];
+                count[b] = dstOffset + sum;
+                sum += c;
+            }
+            final int end = srcOffset + n;
+            for (int i = srcOffset; i < end; i++) {
+                final int x = src[i];
+                dst[count[(((x ^ Integer.MIN_VALUE) >>> shift) & 0xFF) ^ flip]++] = x;
+            }
+            final int[] tmp = src;
+            src = dst;
+            dst = tmp;
+            final int tmpOffset = srcOffset;
+            srcOffset = dstOffset;
+            dstOffset = tmpOffset;
+        }
+        if (src != a) {
+            System.arraycopy(src, srcOffset, a, from, n);
+        }
+    }
+
+    static void introSort(int[] a, int from, int to, int depth, IntComparator cmp) {
+        int lo = from;
+        int hi = to;
+        while (hi - lo > INSERTION_SORT_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(a, lo, hi, cmp);
+                return;
+            }
+            final int p = partition(a, lo, hi, cmp);
+            // recurse into the smaller part to bound the stack depth
+            if (p - lo < hi - p) {
+                introSort(a, lo, p + 1, depth, cmp);
+                lo = p + 1;
+            }
+            else {
+                introSort(a, p + 1, hi, depth, cmp);
+                hi = p + 1;
+            }
+        }
+        insertionSort(a, lo, hi, cmp);
+    }
+
+    static int partition(int[] a, int lo, int hi, IntComparator cmp) {
+        swap(a, lo, selectPivot(a, lo, hi, cmp));
+        final int pivot = a[lo];
+        int i = lo - 1;
+        int j = hi;
+        while (true) {
+            do {
+                ++i;
+            } while (i < hi - 1 && cmp.lt(a[i], pivot));
+            do {
+                --j;
+            } while (j > lo && cmp.lt(pivot, a[j]));
+            if (i >= j) {
+                return j;
+            }
+            swap(a, i, j);
+        }
+    }
+
+    static int selectPivot(int[] a, int lo, int hi, IntComparator cmp) {
+        final int n = hi - lo;
+        final int mid = lo + (n >>> 1);
+        if (n > NINTHER_THRESHOLD) {
+            final int s = n >>> 3;
+            final int m1 = median3(a, lo, lo + s, lo + 2 * s, cmp);
+            final int m2 = median3(a, mid - s, mid, mid + s, cmp);
+            final int m3 = median3(a, hi - 1 - 2 * s, hi - 1 - s, hi - 1, cmp);
+            return median3(a, m1, m2, m3, cmp);
+        }
+        return median3(a, lo, mid, hi - 1, cmp);
+    }
+
+    static int median3(int[] a, int i, int j, int k, IntComparator cmp) {
+        if (cmp.lt(a[i], a[j])) {
+            return cmp.lt(a[j], a[k]) ? j : cmp.lt(a[i], a[k]) ? k : i;
+        }
+        return cmp.lt(a[i], a[k]) ? i : cmp.lt(a[j], a[k]) ? k : j;
+    }
+
+    static void insertionSort(int[] a, int from, int to, IntComparator cmp) {
+        for (int i = from + 1; i < to; i++) {
+            final int x = a[i];
+            int j = i - 1;
+            while (j >= from && cmp.lt(x, a[j])) {
+                a[j + 1] = a[j];
+                --j;
+            }
+            a[j + 1] = x;
+        }
+    }
+
+    static void heapSort(int[] a, int from, int to, IntComparator cmp) {
+        final int n = to - from;
+        for (int i = (n >>> 1) - 1; i >= 0; i--) {
+            siftDown(a, from, i, n, cmp);
+        }
+        for (int i = n - 1; i > 0; i--) {
+            swap(a, from, from + i);
+            siftDown(a, from, 0, i, cmp);
+        }
+    }
+
+    static void siftDown(int[] a, int base, int i, int n, IntComparator cmp) {
+        final int x = a[base + i];
+        int k = i;
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= n) {
+                break;
+            }
+            if (child + 1 < n && cmp.lt(a[base + child], a[base + child + 1])) {
+                ++child;
+            }
+            if (!cmp.lt(x, a[base + child])) {
+                break;
+            }
+            a[base + k] = a[base + child];
+            k = child;
+        }
+        a[base + k] = x;
+    }
+
+    static void swap(int[] a, int i, int j) {
+        final int x = a[i];
+        a[i] = a[j];
+        a[j] = x;
+    }
+
+    static void reverse(int[] a, int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            swap(a, i, j);
+        }
+    }
+
+    // long
+
+    static void sort(long[] a, int from, int to, LongComparator cmp) {
+        if (to - from < 2) {
+            return;
+        }
+        if (cmp == LongComparator.NATURAL) {
+            sortNatural(a, from, to, false);
+        }
+        else if (cmp == LongComparator.REVERSE) {
+            sortNatural(a, from, to, true);
+        }
+        else {
+            introSort(a, from, to, depthLimit(to - from), cmp);
+        }
+    }
+
+    static void sortNatural(long[] a, int from, int to, boolean descending) {
+        if (to - from >= LONG_RADIX_SORT_THRESHOLD) {
+            radixSort(a, from, to, descending);
+        }
+        else {
+            Arrays.sort(a, from, to);
+            if (descending) {
+                reverse(a, from, to);
+            }
+        }
+    }
+
+    /**
+     * Sorts the range by LSD radix sort of 8-bit digits.
+     * The pass is skipped if all of the elements have the same digit.
+     */
+    static void radixSort(long[] a, int from, int to, boolean descending) {
+        final int n = to - from;
+        if (n < 2) {
+            return;
+        }
+        final int flip = descending ? 0xFF : 0;
+        int[][] counts = new int[8][256];
+        for (int i = from; i < to; i++) {
+            final long key = a[i] ^ Long.MIN_VALUE;
+            for (int d = 0; d < 8; d++) {
+                ++counts[d][((int) (key >>> (d << 3)) & 0xFF) ^ flip];
+            }
+        }
+        long[] src = a;
+        long[] dst = new long[n];
+        int srcOffset = from;
+        int dstOffset = 0;
+        for (int d = 0; d < 8; d++) {
+            final int shift = d << 3;
+            final int[] count = counts[d];
+            if (count[((int) ((a[from] ^ Long.MIN_VALUE) >>> shift) & 0xFF) ^ flip] == n) {
+                continue;
+            }
+            for (int b = 0, sum = 0; b < 256; b++) {
+                final int c = count[b];
+                count[b] = dstOffset + sum;
+                sum += c;
+            }
+            final int end = srcOffset + n;
+            for (int i = srcOffset; i < end; i++) {
+                final long x = src[i];
+                dst[count[((int) ((x ^ Long.MIN_VALUE) >>> shift) & 0xFF) ^ flip]++] = x;
+            }
+            final long[] tmp = src;
+            src = dst;
+            dst = tmp;
+            final int tmpOffset = srcOffset;
+            srcOffset = dstOffset;
+            dstOffset = tmpOffset;
+        }
+        if (src != a) {
+            System.arraycopy(src, srcOffset, a, from, n);
+        }
+    }
+
+    static void introSort(long[] a, int from, int to, int depth, LongComparator cmp) {
+        int lo = from;
+        int hi = to;
+        while (hi - lo > INSERTION_SORT_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(a, lo, hi, cmp);
+                return;
+            }
+            final int p = partition(a, lo, hi, cmp);
+            // recurse into the smaller part to bound the stack depth
+            if (p - lo < hi - p) {
+                introSort(a, lo, p + 1, depth, cmp);
+                lo = p + 1;
+            }
+            else {
+                introSort(a, p + 1, hi, depth, cmp);
+                hi = p + 1;
+            }
+        }
+        insertionSort(a, lo, hi, cmp);
+    }
+
+    static int partition(long[] a, int lo, int hi, LongComparator cmp) {
+        swap(a, lo, selectPivot(a, lo, hi, cmp));
+        final long pivot = a[lo];
+        int i = lo - 1;
+        int j = hi;
+        while (true) {
+            do {
+                ++i;
+            } while (i < hi - 1 && cmp.lt(a[i], pivot));
+            do {
+                --j;
+            } while (j > lo && cmp.lt(pivot, a[j]));
+            if (i >= j) {
+                return j;
+            }
+            swap(a, i, j);
+        }
+    }
+
+    static int selectPivot(long[] a, int lo, int hi, LongComparator cmp) {
+        final int n = hi - lo;
+        final int mid = lo + (n >>> 1);
+        if (n > NINTHER_THRESHOLD) {
+            final int s = n >>> 3;
+            final int m1 = median3(a, lo, lo + s, lo + 2 * s, cmp);
+            final int m2 = median3(a, mid - s, mid, mid + s, cmp);
+            final int m3 = median3(a, hi - 1 - 2 * s, hi - 1 - s, hi - 1, cmp);
+            return median3(a, m1, m2, m3, cmp);
+        }
+        return median3(a, lo, mid, hi - 1, cmp);
+    }
+
+    static int median3(long[] a, int i, int j, int k, LongComparator cmp) {
+        if (cmp.lt(a[i], a[j])) {
+            return cmp.lt(a[j], a[k]) ? j : cmp.lt(a[i], a[k]) ? k : i;
+        }
+        return cmp.lt(a[i], a[k]) ? i : cmp.lt(a[j], a[k]) ? k : j;
+    }
+
+    static void insertionSort(long[] a, int from, int to, LongComparator cmp) {
+        for (int i = from + 1; i < to; i++) {
+            final long x = a[i];
+            int j = i - 1;
+            while (j >= from && cmp.lt(x, a[j])) {
+                a[j + 1] = a[j];
+                --j;
+            }
+            a[j + 1] = x;
+        }
+    }
+
+    static void heapSort(long[] a, int from, int to, LongComparator cmp) {
+        final int n = to - from;
+        for (int i = (n >>> 1) - 1; i >= 0; i--) {
+            siftDown(a, from, i, n, cmp);
+        }
+        for (int i = n - 1; i > 0; i--) {
+            swap(a, from, from + i);
+            siftDown(a, from, 0, i, cmp);
+        }
+    }
+
+    static void siftDown(long[] a, int base, int i, int n, LongComparator cmp) {
+        final long x = a[base + i];
+        int k = i;
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= n) {
+                break;
+            }
+            if (child + 1 < n && cmp.lt(a[base + child], a[base + child + 1])) {
+                ++child;
+            }
+            if (!cmp.lt(x, a[base + child])) {
+                break;
+            }
+            a[base + k] = a[base + child];
+            k = child;
+        }
+        a[base + k] = x;
+    }
+
+    static void swap(long[] a, int i, int j) {
+        final long x = a[i];
+        a[i] = a[j];
+        a[j] = x;
+    }
+
+    static void reverse(long[] a, int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            swap(a, i, j);
+        }
+    }
+
+    // double
+
+    static void sort(double[] a, int from, int to, DoubleComparator cmp) {
+        if (to - from < 2) {
+            return;
+        }
+        if (cmp == DoubleComparator.NATURAL) {
+            sortNatural(a, from, to, false);
+        }
+        else if (cmp == DoubleComparator.REVERSE) {
+            sortNatural(a, from, to, true);
+        }
+        else {
+            introSort(a, from, to, depthLimit(to - from), cmp);
+        }
+    }
+
+    static void sortNatural(double[] a, int from, int to, boolean descending) {
+        if (to - from >= LONG_RADIX_SORT_THRESHOLD) {
+            radixSort(a, from, to, descending);
+        }
+        else {
+            Arrays.sort(a, from, to);
+            if (descending) {
+                reverse(a, from, to);
+            }
+        }
+    }
+
+    /**
+     * Sorts the range by LSD radix sort of the keys which are mapped from the bit patterns.
+     * The order is same as {@link Arrays#sort(double[])}, <code>-0.0</code> is less than <code>0.0</code>,
+     * and NaN is greater than any other value. NaN is normalized to the canonical NaN.
+     */
+    static void radixSort(double[] a, int from, int to, boolean descending) {
+        final int n = to - from;
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = toSortableBits(a[from + i]) ^ Long.MIN_VALUE;
+        }
+        radixSort(keys, 0, n, descending);
+        for (int i = 0; i < n; i++) {
+            a[from + i] = fromSortableBits(keys[i] ^ Long.MIN_VALUE);
+        }
+    }
+
+    static long toSortableBits(double x) {
+        final long bits = Double.doubleToLongBits(x);
+        return bits ^ ((bits >> 63) | Long.MIN_VALUE);
+    }
+
+    static double fromSortableBits(long key) {
+        return Double.longBitsToDouble(key ^ ((~key >> 63) | Long.MIN_VALUE));
+    }
+
+    static void introSort(double[] a, int from, int to, int depth, DoubleComparator cmp) {
+        int lo = from;
+        int hi = to;
+        while (hi - lo > INSERTION_SORT_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(a, lo, hi, cmp);
+                return;
+            }
+            final int p = partition(a, lo, hi, cmp);
+            // recurse into the smaller part to bound the stack depth
+            if (p - lo < hi - p) {
+                introSort(a, lo, p + 1, depth, cmp);
+                lo = p + 1;
+            }
+            else {
+                introSort(a, p + 1, hi, depth, cmp);
+                hi = p + 1;
+            }
+        }
+        insertionSort(a, lo, hi, cmp);
+    }
+
+    static int partition(double[] a, int lo, int hi, DoubleComparator cmp) {
+        swap(a, lo, selectPivot(a, lo, hi, cmp));
+        final double pivot = a[lo];
+        int i = lo - 1;
+        int j = hi;
+        while (true) {
+            do {
+                ++i;
+            } while (i < hi - 1 && cmp.lt(a[i], pivot));
+            do {
+                --j;
+            } while (j > lo && cmp.lt(pivot, a[j]));
+            if (i >= j) {
+                return j;
+            }
+            swap(a, i, j);
+        }
+    }
+
+    static int selectPivot(double[] a, int lo, int hi, DoubleComparator cmp) {
+        final int n = hi - lo;
+        final int mid = lo + (n >>> 1);
+        if (n > NINTHER_THRESHOLD) {
+            final int s = n >>> 3;
+            final int m1 = median3(a, lo, lo + s, lo + 2 * s, cmp);
+            final int m2 = median3(a, mid - s, mid, mid + s, cmp);
+            final int m3 = median3(a, hi - 1 - 2 * s, hi - 1 - s, hi - 1, cmp);
+            return median3(a, m1, m2, m3, cmp);
+        }
+        return median3(a, lo, mid, hi - 1, cmp);
+    }
+
+    static int median3(double[] a, int i, int j, int k, DoubleComparator cmp) {
+        if (cmp.lt(a[i], a[j])) {
+            return cmp.lt(a[j], a[k]) ? j : cmp.lt(a[i], a[k]) ? k : i;
+        }
+        return cmp.lt(a[i], a[k]) ? i : cmp.lt(a[j], a[k]) ? k : j;
+    }
+
+    static void insertionSort(double[] a, int from, int to, DoubleComparator cmp) {
+        for (int i = from + 1; i < to; i++) {
+            final double x = a[i];
+            int j = i - 1;
+            while (j >= from && cmp.lt(x, a[j])) {
+                a[j + 1] = a[j];
+                --j;
+            }
+            a[j + 1] = x;
+        }
+    }
+
+    static void heapSort(double[] a, int from, int to, DoubleComparator cmp) {
+        final int n = to - from;
+        for (int i = (n >>> 1) - 1; i >= 0; i--) {
+            siftDown(a, from, i, n, cmp);
+        }
+        for (int i = n - 1; i > 0; i--) {
+            swap(a, from, from + i);
+            siftDown(a, from, 0, i, cmp);
+        }
+    }
+
+    static void siftDown(double[] a, int base, int i, int n, DoubleComparator cmp) {
+        final double x = a[base + i];
+        int k = i;
+        while (true) {
+            int child = 2 * k + 1;
+            if (child >= n) {
+                break;
+            }
+            if (child + 1 < n && cmp.lt(a[base + child], a[base + child + 1])) {
+                ++child;
+            }
+            if (!cmp.lt(x, a[base + child])) {
+                break;
+            }
+            a[base + k] = a[base + child];
+            k = child;
+        }
+        a[base + k] = x;
+    }
+
+    static void swap(double[] a, int i, int j) {
+        final double x = a[i];
+        a[i] = a[j];
+        a[j] = x;
+    }
+
+    static void reverse(double[] a, int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            swap(a, i, j);
+        }
+    }
+
+}
@@ -0,0 +1,413 @@
+package minestra.collection;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * An immutable summary statistics of numbers, such as count, sum, min, max, mean and variance.
+ * The statistics can be merged, so that the statistics of the parts can be combined.
+ * <p>The elements are summarized in the blocks of the array,
+ * and the blocks are merged by the parallel form of Welford's algorithm (Chan et al.).
+ * The array is read only once, and the block is read twice while it is in the cache.</p>
+ * <p>The statistics of int and long values keep the exact sum, min and max as long values,
+ * as well as <code>LongSummaryStatistics</code>.</p>
+ */
+public final class Statistics {
+
+    static final Statistics EMPTY = new Statistics(0L, 0d, 0d, 0d, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+                                                   false, 0L, 0L, 0L);
+    static final Statistics EMPTY_INTEGRAL = new Statistics(0L, 0d, 0d, 0d, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+                                                            true, 0L, Long.MAX_VALUE, Long.MIN_VALUE);
+
+    private final long count;
+    private final double sum;
+    private final double mean;
+    private final double m2;
+    private final double min;
+    private final double max;
+    // the exact values of the int or long elements
+    private final boolean integral;
+    private final long longSum;
+    private final long longMin;
+    private final long longMax;
+
+    private Statistics(long count, double sum, double mean, double m2, double min, double max,
+                       boolean integral, long longSum, long longMin, long longMax) {
+        this.count = count;
+        this.sum = sum;
+        this.mean = mean;
+        this.m2 = m2;
+        this.min = min;
+        this.max = max;
+        this.integral = integral;
+        this.longSum = longSum;
+        this.longMin = longMin;
+        this.longMax = longMax;
+    }
+
+    private static Statistics ofDouble(long count, double sum, double mean, double m2, double min, double max) {
+        return new Statistics(count, sum, mean, m2, min, max, false, 0L, 0L, 0L);
+    }
+
+    /**
+     * Returns the statistics of int or long values.
+     * The sum in double is kept apart from the exact sum, because the exact sum may overflow.
+     */
+    private static Statistics ofLong(long count, long sum, double approximateSum, double mean, double m2, long min, long max) {
+        return new Statistics(count, approximateSum, mean, m2, min, max, true, sum, min, max);
+    }
+
+    /**
+     * Returns the statistics of the specified values.
+     * @param values values
+     * @return the statistics
+     */
+    public static Statistics of(double... values) {
+        return ParallelReductions.reduce(0, values.length, (from, to) -> ofRange(values, from, to), Statistics::merge);
+    }
+
+    /**
+     * Returns the empty statistics of double values.
+     * @return the statistics
+     */
+    public static Statistics empty() {
+        return EMPTY;
+    }
+
+    static Statistics of(IntImmArray arr, ForkJoinPool pool) {
+        return ParallelReductions.reduce(arr, Statistics::ofRange, Statistics::merge, pool);
+    }
+
+    static Statistics of(LongImmArray arr, ForkJoinPool pool) {
+        return ParallelReductions.reduce(arr, Statistics::ofRange, Statistics::merge, pool);
+    }
+
+    static Statistics of(DoubleImmArray arr, ForkJoinPool pool) {
+        return ParallelReductions.reduce(arr, Statistics::ofRange, Statistics::merge, pool);
+    }
+
+    static Statistics ofRange(int[] a, int from, int to) {
+        final int n = to - from;
+        if (n == 0) {
+            return EMPTY_INTEGRAL;
+        }
+        final long sum = Kernels.longSum(a, from, to);
+        final double mean = sum * 1d / n;
+        double m2 = 0d;
+        for (int i = from; i < to; i++) {
+            final double d = a[i] - mean;
+            m2 += d * d;
+        }
+        return ofLong(n, sum, sum, mean, m2, Kernels.min(a, from, to), Kernels.max(a, from, to));
+    }
+
+    static Statistics ofRange(long[] a, int from, int to) {
+        final int n = to - from;
+        if (n == 0) {
+            return EMPTY_INTEGRAL;
+        }
+        // the exact sum may overflow, so the mean is derived from the sum in double
+        long sum = 0L;
+        double approximateSum = 0d;
+        long min = a[from];
+        long max = a[from];
+        for (int i = from; i < to; i++) {
+            final long x = a[i];
+            sum += x;
+            approximateSum += x;
+            if (x < min) {
+                min = x;
+            }
+            if (x > max) {
+                max = x;
+            }
+        }
+        final double mean = approximateSum / n;
+        double m2 = 0d;
+        for (int i = from; i < to; i++) {
+            final double d = a[i] - mean;
+            m2 += d * d;
+        }
+        return ofLong(n, sum, approximateSum, mean, m2, min, max);
+    }
+
+    static Statistics ofRange(double[] a, int from, int to) {
+        final int n = to - from;
+        if (n == 0) {
+            return EMPTY;
+        }
+        double sum = 0d;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = from; i < to; i++) {
+            final double x = a[i];
+            sum += x;
+            min = Math.min(min, x);
+            max = Math.max(max, x);
+        }
+        final double mean = sum / n;
+        double m2 = 0d;
+        for (int i = from; i < to; i++) {
+            final double d = a[i] - mean;
+            m2 += d * d;
+        }
+        return ofDouble(n, sum, mean, m2, min, max);
+    }
+
+    /**
+     * Returns the statistics which summarize both the elements of this and the other.
+     * @param other the other statistics
+     * @return the merged statistics
+     */
+    public Statistics merge(Statistics other) {
+        if (other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            return other;
+        }
+        final long n = count + other.count;
+        final double delta = other.mean - mean;
+        final double ratio = (double) other.count / n;
+        final double mean0 = mean + delta * ratio;
+        final double m20 = m2 + other.m2 + delta * delta * count * ratio;
+        if (integral && other.integral) {
+            return ofLong(n, longSum + other.longSum, sum + other.sum, mean0, m20,
+                          Math.min(longMin, other.longMin), Math.max(longMax, other.longMax));
+        }
+        return ofDouble(n, sum + other.sum, mean0, m20, Math.min(min, other.min), Math.max(max, other.max));
+    }
+
+    /**
+     * Returns the number of elements.
+     * @return the count
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Returns the sum of elements.
+     * The sum of int or long elements is computed in double, so it does not overflow unlike <code>sumAsLong()</code>.
+     * @return the sum
+     */
+    public double sum() {
+        return sum;
+    }
+
+    /**
+     * Returns the exact sum of the int or long elements.
+     * The sum overflows as well as <code>LongImmArray.sum()</code>.
+     * @return the sum
+     * @throws IllegalStateException if the statistics have double elements
+     */
+    public long sumAsLong() {
+        checkIntegral();
+        return longSum;
+    }
+
+    /**
+     * Returns the exact minimum value of the int or long elements, or <code>Long.MAX_VALUE</code> if no elements.
+     * @return the minimum value
+     * @throws IllegalStateException if the statistics have double elements
+     */
+    public long minAsLong() {
+        checkIntegral();
+        return longMin;
+    }
+
+    /**
+     * Returns the exact maximum value of the int or long elements, or <code>Long.MIN_VALUE</code> if no elements.
+     * @return the maximum value
+     * @throws IllegalStateException if the statistics have double elements
+     */
+    public long maxAsLong() {
+        checkIntegral();
+        return longMax;
+    }
+
+    private void checkIntegral() {
+        if (!integral) {
+            throw new IllegalStateException("not statistics of int or long values");
+        }
+    }
+
+    /**
+     * Returns the minimum value, or <code>Double.POSITIVE_INFINITY</code> if no elements.
+     * If any element is NaN, returns NaN.
+     * @return the minimum value
+     */
+    public double min() {
+        return min;
+    }
+
+    /**
+     * Returns the maximum value, or <code>Double.NEGATIVE_INFINITY</code> if no elements.
+     * If any element is NaN, returns NaN.
+     * @return the maximum value
+     */
+    public double max() {
+        return max;
+    }
+
+    /**
+     * Returns the arithmetic mean, or NaN if no elements.
+     * @return the mean value
+     */
+    public double mean() {
+        return (count == 0) ? Double.NaN : mean;
+    }
+
+    /**
+     * Returns the population variance, or NaN if no elements.
+     * @return the variance
+     */
+    public double variance() {
+        return (count == 0) ? Double.NaN : m2 / count;
+    }
+
+    /**
+     * Returns the sample variance (unbiased), or NaN if the number of elements is less than 2.
+     * @return the variance
+     */
+    public double sampleVariance() {
+        return (count < 2) ? Double.NaN : m2 / (count - 1);
+    }
+
+    /**
+     * Returns the population standard deviation, or NaN if no elements.
+     * @return the standard deviation
+     */
+    public double standardDeviation() {
+        return Math.sqrt(variance());
+    }
+
+    /**
+     * Returns the sample standard deviation, or NaN if the number of elements is less than 2.
+     * @return the standard deviation
+     */
+    public double sampleStandardDeviation() {
+        return Math.sqrt(sampleVariance());
+    }
+
+    /**
+     * Returns the population covariance of the two arrays.
+     * @param x the array
+     * @param y the other array
+     * @return the covariance, or NaN if the arrays are empty
+     * @throws IllegalArgumentException if the sizes of the arrays are different
+     */
+    public static double covariance(DoubleImmArray x, DoubleImmArray y) {
+        final double[] r = comoments(x, y);
+        return r[5] / r[0];
+    }
+
+    /**
+     * Returns the Pearson correlation coefficient of the two arrays.
+     * @param x the array
+     * @param y the other array
+     * @return the correlation, or NaN if the arrays are empty or either is constant
+     * @throws IllegalArgumentException if the sizes of the arrays are different
+     */
+    public static double correlation(DoubleImmArray x, DoubleImmArray y) {
+        final double[] r = comoments(x, y);
+        return r[5] / Math.sqrt(r[3] * r[4]);
+    }
+
+    /**
+     * Returns the co-moments as <code>{ count, mean of x, mean of y, m2 of x, m2 of y, co-moment }</code>.
+     */
+    private static double[] comoments(DoubleImmArray x, DoubleImmArray y) {
+        if (x.size() != y.size()) {
+            throw new IllegalArgumentException("size mismatch: " + x.size() + " != " + y.size());
+        }
+        final double[] a = valuesOf(x);
+        final double[] b = valuesOf(y);
+        return ParallelReductions.reduce(0, a.length, (from, to) -> comoments(a, b, from, to), Statistics::mergeComoments);
+    }
+
+    private static double[] valuesOf(DoubleImmArray arr) {
+        return (arr instanceof DoubleImmArrayImpl) ? ((DoubleImmArrayImpl) arr).values : arr.toArray();
+    }
+
+    private static double[] comoments(double[] a, double[] b, int from, int to) {
+        final int n = to - from;
+        double sx = 0d;
+        double sy = 0d;
+        for (int i = from; i < to; i++) {
+            sx += a[i];
+            sy += b[i];
+        }
+        final double mx = sx / n;
+        final double my = sy / n;
+        double m2x = 0d;
+        double m2y = 0d;
+        double c = 0d;
+        for (int i = from; i < to; i++) {
+            final double dx = a[i] - mx;
+            final double dy = b[i] - my;
+            m2x += dx * dx;
+            m2y += dy * dy;
+            c += dx * dy;
+        }
+        return new double[] { n, mx, my, m2x, m2y, c };
+    }
+
+    private static double[] mergeComoments(double[] s, double[] t) {
+        final double n = s[0] + t[0];
+        final double ratio = t[0] / n;
+        final double dx = t[1] - s[1];
+        final double dy = t[2] - s[2];
+        final double f = s[0] * ratio;
+        return new double[] { n, s[1] + dx * ratio, s[2] + dy * ratio,
+                              s[3] + t[3] + dx * dx * f, s[4] + t[4] + dy * dy * f, s[5] + t[5] + dx * dy * f };
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + Long.hashCode(count);
+        result = prime * result + Double.hashCode(sum);
+        result = prime * result + Double.hashCode(mean);
+        result = prime * result + Double.hashCode(m2);
+        result = prime * result + Double.hashCode(min);
+        result = prime * result + Double.hashCode(max);
+        result = prime * result + Boolean.hashCode(integral);
+        result = prime * result + Long.hashCode(longSum);
+        result = prime * result + Long.hashCode(longMin);
+        result = prime * result + Long.hashCode(longMax);
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        Statistics other = (Statistics) obj;
+        return count == other.count
+               && Double.compare(sum, other.sum) == 0
+               && Double.compare(mean, other.mean) == 0
+               && Double.compare(m2, other.m2) == 0
+               && Double.compare(min, other.min) == 0
+               && Double.compare(max, other.max) == 0
+               && integral == other.integral
+               && longSum == other.longSum
+               && longMin == other.longMin
+               && longMax == other.longMax;
+    }
+
+    @Override
+    public String toString() {
+        if (integral && count > 0) {
+            return "Statistics(count=" + count + ", sum=" + longSum + ", min=" + longMin + ", max=" + longMax
+                   + ", mean=" + mean() + ", variance=" + variance() + ")";
+        }
+        return "Statistics(count=" + count + ", sum=" + sum + ", min=" + min + ", max=" + max
+               + ", mean=" + mean() + ", variance=" + variance() + ")";
+    }
+
+}
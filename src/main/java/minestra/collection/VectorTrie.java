@@ -0,0 +1,107 @@
+package minestra.collection;
+
+/**
+ * Operations of the bit-partitioned trie used by the persistent vectors.
+ * The internal nodes are <code>Object[]</code> of 32 children, and the leaves are native arrays of 32 elements.
+ * The type of leaves depends on the vectors, so the leaves are treated as <code>Object</code> here.
+ * The nodes are never modified after published, the updates copy the nodes on the path to the leaf.
+ */
+final class VectorTrie {
+
+    static final int BITS = 5;
+    static final int WIDTH = 1 << BITS;
+    static final int MASK = WIDTH - 1;
+
+    /**
+     * The maximum shift of the root.
+     * The capacity of a trie is <code>1 &lt;&lt; (shift + BITS)</code>, and it must be in the range of int.
+     */
+    static final int MAX_SHIFT = 25;
+
+    private VectorTrie() {
+        // empty
+    }
+
+    /**
+     * Returns the capacity of the trie which has the specified shift.
+     * @param shift the shift of the root
+     * @return the capacity
+     */
+    static int capacity(int shift) {
+        return 1 << (shift + BITS);
+    }
+
+    /**
+     * Returns the leaf which contains the specified index.
+     * @param root the root node
+     * @param shift the shift of the root
+     * @param index the index in the trie
+     * @return the leaf, or <code>null</code> if it does not exist
+     */
+    static Object leafFor(Object[] root, int shift, int index) {
+        Object[] node = root;
+        for (int s = shift; s > BITS; s -= BITS) {
+            node = (Object[]) node[(index >>> s) & MASK];
+            if (node == null) {
+                return null;
+            }
+        }
+        return node[(index >>> BITS) & MASK];
+    }
+
+    /**
+     * Returns the new root that the leaf which contains the specified index is replaced.
+     * @param root the root node
+     * @param shift the shift of the root
+     * @param index the index in the trie
+     * @param leaf the new leaf
+     * @return the new root
+     */
+    static Object[] setLeaf(Object[] root, int shift, int index, Object leaf) {
+        Object[] copy = root.clone();
+        final int i = (index >>> shift) & MASK;
+        if (shift == BITS) {
+            copy[i] = leaf;
+        }
+        else {
+            Object[] child = (Object[]) root[i];
+            copy[i] = setLeaf((child == null) ? new Object[WIDTH] : child, shift - BITS, index, leaf);
+        }
+        return copy;
+    }
+
+    /**
+     * Returns the new root which has the specified root as the first child.
+     * The indices in the trie are not changed.
+     * @param root the root node
+     * @param shift the shift of the root
+     * @return the new root, its shift is <code>shift + BITS</code>
+     */
+    static Object[] growRight(Object[] root, int shift) {
+        checkShift(shift);
+        Object[] node = new Object[WIDTH];
+        node[0] = root;
+        return node;
+    }
+
+    /**
+     * Returns the new root which has the specified root as the last child.
+     * The indices in the trie are shifted by <code>MASK * capacity(shift)</code>.
+     * @param root the root node
+     * @param shift the shift of the root
+     * @return the new root, its shift is <code>shift + BITS</code>
+     */
+    static Object[] growLeft(Object[] root, int shift) {
+        checkShift(shift);
+        Object[] node = new Object[WIDTH];
+        node[MASK] = root;
+        return node;
+    }
+
+    private static void checkShift(int shift) {
+        if (shift + BITS > MAX_SHIFT) {
+            throw new IllegalStateException("too many elements");
+        }
+    }
+
+}
@@ -0,0 +1,101 @@
+package minestra.collection;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public final class DoubleImmArraySliceTest {
+
+    static DoubleImmArray arr(double... a) {
+        return DoubleImmArray.of(a);
+    }
+
+    static DoubleImmArray slice(int from, int to, double... a) {
+        return new DoubleImmArrayImpl(a).slice(from, to);
+    }
+
+    @Test
+    public void testAt() {
+        DoubleImmArray o = slice(1, 3, 4, 23, 33, 1, 5);
+        assertEquals(23, o.at(0), 0d);
+        assertEquals(1, o.at(2), 0d);
+        try {
+            o.at(3);
+            fail();
+        } catch (ArrayIndexOutOfBoundsException e) {
+            // ok
+        }
+    }
+
+    @Test
+    public void testCompact() {
+        DoubleImmArray o = slice(1, 2, 4, 23, 33, 1);
+        DoubleImmArray compacted = o.compact();
+        assertTrue(o instanceof DoubleImmArraySlice);
+        assertTrue(compacted instanceof DoubleImmArrayImpl);
+        assertEquals(o, compacted);
+        assertEquals(2, ((DoubleImmArrayImpl) compacted).values.length);
+    }
+
+    @Test
+    public void testEqualsObject() {
+        assertEquals(arr(23, 33), slice(1, 2, 4, 23, 33, 1));
+        assertEquals(slice(1, 2, 4, 23, 33, 1), arr(23, 33));
+        assertEquals(slice(1, 2, 4, 23, 33, 1), slice(0, 1, 23, 33));
+        assertNotEquals(slice(1, 2, 4, 23, 33, 1), arr(23, 33, 1));
+        assertNotEquals(slice(1, 2, 4, 23, 33, 1), null);
+        assertNotEquals(slice(1, 2, 4, 23, 33, 1), "");
+    }
+
+    @Test
+    public void testFilter() {
+        assertEquals(arr(2, 8), slice(1, 3, 3, 2, 8, 5, 6).filter(x -> x % 2 == 0d));
+    }
+
+    @Test
+    public void testHashCode() {
+        assertEquals(arr(23, 33).hashCode(), slice(1, 2, 4, 23, 33, 1).hashCode());
+    }
+
+    @Test
+    public void testMaxMin() {
+        DoubleImmArray o = slice(1, 4, 99, 23, -33, 1, 5, -99);
+        assertEquals(23, o.max().getAsDouble(), 0d);
+        assertEquals(-33, o.min().getAsDouble(), 0d);
+    }
+
+    @Test
+    public void testSlice() {
+        DoubleImmArrayImpl parent = new DoubleImmArrayImpl(1, 6, 2, 7, 5);
+        DoubleImmArray o = parent.slice(1, 3);
+        assertSame(parent.values, ((DoubleImmArraySlice) o).values);
+        assertEquals(arr(6, 2, 7), o);
+        assertEquals(arr(2, 7), o.slice(1, 9));
+        assertEquals(arr(2), o.tail().take(1));
+        assertEquals(arr(7), o.drop(2));
+        assertEquals(arr(), o.slice(3, 4));
+        assertSame(parent.values, ((DoubleImmArraySlice) o.tail()).values);
+    }
+
+    @Test
+    public void testSortWith() {
+        assertEquals(arr(8, 6, 2), slice(1, 3, 3, 2, 8, 6, 5).sortWith(DoubleComparator.REVERSE));
+    }
+
+    @Test
+    public void testSumProduct() {
+        DoubleImmArray o = slice(1, 3, 3, 2, 8, 5, 6);
+        assertEquals(15, o.sum(), 0d);
+        assertEquals(80, o.product(), 0d);
+    }
+
+    @Test
+    public void testToArray() {
+        assertArrayEquals(new double[] { 2, 8 }, slice(1, 2, 3, 2, 8, 5).toArray(), 0d);
+    }
+
+    @Test
+    public void testToString() {
+        assertEquals("[2.0, 8.0]", slice(1, 2, 3, 2, 8, 5).toString());
+    }
+
+}
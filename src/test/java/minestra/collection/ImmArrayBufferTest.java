@@ -0,0 +1,90 @@
+package minestra.collection;
+
+import static org.junit.Assert.*;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.junit.Test;
+
+public final class ImmArrayBufferTest {
+
+    static Path writeTempFile(ByteBuffer buffer) throws IOException {
+        Path path = Files.createTempFile("minestra", ".bin");
+        path.toFile().deleteOnExit();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        return path;
+    }
+
+    @Test
+    public void testIntMapFile() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(400);
+        for (int i = 0; i < 100; i++) {
+            buffer.putInt(i * 3 - 50);
+        }
+        buffer.flip();
+        IntImmArray arr = IntImmArray.mapFile(writeTempFile(buffer));
+        IntImmArray expected = IntImmArray.range(0, 99).map(x -> x * 3 - 50);
+        assertEquals(100, arr.size());
+        assertEquals(-50, arr.at(0));
+        assertEquals(247, arr.at(99));
+        assertEquals(expected, arr);
+        assertEquals(expected.hashCode(), arr.hashCode());
+        assertEquals(expected.sum(), arr.sum());
+        assertEquals(247, arr.max().getAsInt());
+        assertEquals(-50, arr.min().getAsInt());
+        assertEquals(expected.filter(x -> x % 2 == 0), arr.filter(x -> x % 2 == 0));
+        assertEquals(expected.reverse(), arr.sortWith(IntComparator.REVERSE));
+        assertEquals(expected.slice(10, 20), arr.slice(10, 20));
+        assertEquals(expected.slice(10, 20).slice(2, 4), arr.slice(10, 20).slice(2, 4));
+        assertEquals(expected.slice(10, 20).sum(), arr.slice(10, 20).sum());
+        assertArrayEquals(expected.slice(90, 200).toArray(), arr.slice(90, 200).toArray());
+        try {
+            arr.at(100);
+            fail();
+        } catch (ArrayIndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testMapFileWithByteOrder() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(24).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putLong(1L).putLong(-2L).putLong(Long.MAX_VALUE).flip();
+        Path path = writeTempFile(buffer);
+        assertEquals(LongImmArray.of(1L, -2L, Long.MAX_VALUE), LongImmArray.mapFile(path, ByteOrder.LITTLE_ENDIAN));
+        assertNotEquals(LongImmArray.of(1L, -2L, Long.MAX_VALUE), LongImmArray.mapFile(path));
+        try {
+            IntImmArray.mapFile(writeTempFile(ByteBuffer.allocate(6)));
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        assertEquals(0, DoubleImmArray.mapFile(writeTempFile(ByteBuffer.allocate(0))).size());
+    }
+
+    @Test
+    public void testWrap() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(8 * 5).order(ByteOrder.nativeOrder());
+        for (int i = 0; i < 5; i++) {
+            buffer.putDouble(i + 0.5);
+        }
+        buffer.flip();
+        DoubleImmArray arr = DoubleImmArray.wrap(buffer);
+        assertEquals(DoubleImmArray.of(0.5, 1.5, 2.5, 3.5, 4.5), arr);
+        assertEquals(12.5d, arr.sum(), 0d);
+        assertEquals(0, buffer.position());
+        assertEquals(DoubleImmArray.of(1.5, 2.5), arr.slice(1, 2));
+        assertEquals(IntImmArray.of(1, 2), IntImmArray.wrap(ByteBuffer.wrap(new byte[] { 0, 0, 0, 1, 0, 0, 0, 2 })));
+        buffer.position(16);
+        assertEquals(DoubleImmArray.of(2.5, 3.5, 4.5), DoubleImmArray.wrap(buffer));
+    }
+
+}
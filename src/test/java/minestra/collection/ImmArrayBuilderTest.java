@@ -0,0 +1,76 @@
+package minestra.collection;
+
+import static org.junit.Assert.*;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import org.junit.Test;
+
+public final class ImmArrayBuilderTest {
+
+    @Test
+    public void testIntImmArrayBuilder() {
+        IntImmArrayBuilder builder = IntImmArray.builder();
+        assertTrue(builder.build().isEmpty());
+        for (int i = 0; i < 1000; i++) {
+            builder.add(i);
+        }
+        builder.addAll(1000, 1001).addAll(IntImmArray.range(1002, 1100)).addAll(IntImmArray.range(0, 2000).slice(1101, 1199));
+        IntBuffer buffer = IntBuffer.wrap(IntImmArray.range(1200, 1299).toArray());
+        builder.addAll(buffer);
+        assertEquals(0, buffer.position());
+        builder.addAll(IntStream.range(1300, 100000).parallel());
+        assertEquals(100000, builder.size());
+        IntImmArray arr = builder.build();
+        assertEquals(IntImmArray.range(0, 99999), arr);
+        builder.add(-1);
+        assertEquals(IntImmArray.range(0, 99999), arr);
+        assertEquals(-1, builder.build().at(100000));
+        IntBuffer direct = ByteBuffer.allocateDirect(12).asIntBuffer().put(new int[] { 7, 8, 9 });
+        direct.position(1);
+        assertEquals(IntImmArray.of(8, 9), IntImmArray.builder().addAll(direct).build());
+    }
+
+    @Test
+    public void testBuildWithoutCopying() {
+        int[] a = IntImmArray.range(1, 100).toArray();
+        IntImmArrayBuilder builder = IntImmArray.builder(100).addAll(a);
+        IntImmArrayImpl arr = (IntImmArrayImpl) builder.build();
+        assertSame(arr.values, ((IntImmArrayImpl) builder.build()).values);
+        assertArrayEquals(a, arr.values);
+        builder.add(101);
+        assertEquals(100, arr.size());
+        assertEquals(101, builder.build().size());
+        try {
+            IntImmArray.builder(-1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("capacity must not be negative: -1", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testLongAndDoubleBuilders() {
+        LongImmArray longs = LongImmArray.builder(4).add(1L).addAll(2L, 3L).addAll(LongStream.of(4L, 5L)).build();
+        assertEquals(LongImmArray.of(1, 2, 3, 4, 5), longs);
+        assertEquals(longs, LongImmArray.builder().addAll(longs).addAll(LongImmArray.empty()).build());
+        DoubleImmArray doubles = DoubleImmArray.builder().addAll(DoubleBuffer.wrap(new double[] { 0.5, Double.NaN })).add(-0.0).build();
+        assertEquals(DoubleImmArray.of(0.5, Double.NaN, -0.0), doubles);
+    }
+
+    @Test
+    public void testImmArrayBuilder() {
+        ImmArrayBuilder<CharSequence> builder = ImmArray.builder();
+        builder.add("a").addAll(new String[] { "b", null }).addAll(Arrays.asList("d", "e"));
+        builder.addAll(ImmArray.of("x", "f", "g").drop(1)).addAll(Stream.of("h", "i").parallel());
+        ImmArray<CharSequence> arr = builder.build();
+        assertEquals(ImmArray.of("a", "b", null, "d", "e", "f", "g", "h", "i"), arr);
+        assertEquals(9, builder.size());
+        assertTrue(ImmArray.builder(10).build().isEmpty());
+    }
+
+}
@@ -0,0 +1,167 @@
+package minestra.collection;
+
+import static org.junit.Assert.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Test;
+
+public final class ImmArrayCodecTest {
+
+    static ReadableByteChannel in(ByteArrayOutputStream bos) {
+        return Channels.newChannel(new ByteArrayInputStream(bos.toByteArray()));
+    }
+
+    @Test
+    public void testIntArray() throws IOException {
+        IntImmArray arr = IntImmArray.random(100000, -1000, 1000);
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        ImmArrayCodec.write(arr, Channels.newChannel(bos));
+        assertEquals(ImmArrayCodec.HEADER_SIZE + 400000 + 4, bos.size());
+        assertEquals(arr, ImmArrayCodec.readIntArray(in(bos)));
+        bos.reset();
+        ImmArrayCodec.write(arr.slice(5, 70004), Channels.newChannel(bos), ByteOrder.LITTLE_ENDIAN, false);
+        assertEquals(ImmArrayCodec.HEADER_SIZE + 280000, bos.size());
+        assertEquals(arr.slice(5, 70004), ImmArrayCodec.readIntArray(in(bos)));
+    }
+
+    @Test
+    public void testLongAndDoubleArrays() throws IOException {
+        LongImmArray larr = LongImmArray.of(Long.MIN_VALUE, 0, 1, Long.MAX_VALUE);
+        DoubleImmArray darr = DoubleImmArray.of(Double.NaN, -0.0, 1e300, Double.NEGATIVE_INFINITY);
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        WritableByteChannel out = Channels.newChannel(bos);
+        ImmArrayCodec.write(larr, out, ByteOrder.LITTLE_ENDIAN, true);
+        ImmArrayCodec.write(darr, out);
+        ImmArrayCodec.write(DoubleImmArray.empty(), out);
+        ReadableByteChannel in = in(bos);
+        assertEquals(larr, ImmArrayCodec.readLongArray(in));
+        assertEquals(darr, ImmArrayCodec.readDoubleArray(in));
+        assertEquals(DoubleImmArray.empty(), ImmArrayCodec.readDoubleArray(in));
+    }
+
+    @Test
+    public void testStringArray() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 40000; i++) {
+            sb.append("あ");
+        }
+        ImmArray<String> arr = ImmArray.of("java", null, "", "日本語", sb.toString(), "x");
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        ImmArrayCodec.writeStrings(arr, Channels.newChannel(bos));
+        assertEquals(arr, ImmArrayCodec.readStringArray(in(bos)));
+        String[] a = new String[20000];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = "s" + i;
+        }
+        bos.reset();
+        ImmArrayCodec.writeStrings(ImmArray.of(a), Channels.newChannel(bos), ByteOrder.LITTLE_ENDIAN, false);
+        assertEquals(ImmArray.of(a), ImmArrayCodec.readStringArray(in(bos)));
+    }
+
+    @Test
+    public void testInvalidData() throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        ImmArrayCodec.write(IntImmArray.range(1, 10), Channels.newChannel(bos));
+        try {
+            ImmArrayCodec.readLongArray(in(bos));
+            fail();
+        } catch (IOException e) {
+            assertEquals("type mismatch: expected long, but was int", e.getMessage());
+        }
+        byte[] bytes = bos.toByteArray();
+        bytes[ImmArrayCodec.HEADER_SIZE + 3] ^= 1;
+        try {
+            ImmArrayCodec.readIntArray(Channels.newChannel(new ByteArrayInputStream(bytes)));
+            fail();
+        } catch (IOException e) {
+            assertEquals("checksum mismatch", e.getMessage());
+        }
+        try {
+            ImmArrayCodec.readIntArray(Channels.newChannel(new ByteArrayInputStream(bytes, 0, 30)));
+            fail();
+        } catch (IOException e) {
+            assertTrue(e instanceof java.io.EOFException);
+        }
+        try {
+            ImmArrayCodec.readIntArray(Channels.newChannel(new ByteArrayInputStream(new byte[16])));
+            fail();
+        } catch (IOException e) {
+            assertEquals("not an encoded array", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testCorruptLengths() throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        ImmArrayCodec.write(IntImmArray.range(1, 10), Channels.newChannel(bos));
+        byte[] bytes = bos.toByteArray();
+        // a huge length does not allocate the array at once
+        ByteBuffer.wrap(bytes).putLong(8, ImmArrayCodec.MAX_ARRAY_LENGTH);
+        try {
+            ImmArrayCodec.readIntArray(Channels.newChannel(new ByteArrayInputStream(bytes)));
+            fail();
+        } catch (IOException e) {
+            assertTrue(e instanceof java.io.EOFException);
+        }
+        ByteBuffer.wrap(bytes).putLong(8, 1L << 40);
+        try {
+            ImmArrayCodec.readIntArray(Channels.newChannel(new ByteArrayInputStream(bytes)));
+            fail();
+        } catch (IOException e) {
+            assertEquals("invalid length: " + (1L << 40), e.getMessage());
+        }
+        ByteBuffer.wrap(bytes).putLong(8, 100L);
+        Path path = Files.createTempFile("minestra", ".bin");
+        path.toFile().deleteOnExit();
+        Files.write(path, bytes);
+        try (FileChannel channel = FileChannel.open(path)) {
+            ImmArrayCodec.readIntArray(channel);
+            fail();
+        } catch (IOException e) {
+            // 40 bytes of the elements and 4 bytes of the checksum
+            assertEquals("invalid length: 100 (only 44 bytes remain)", e.getMessage());
+        }
+        // strings
+        bos.reset();
+        ImmArrayCodec.writeStrings(ImmArray.of("abc", "de"), Channels.newChannel(bos), ByteOrder.BIG_ENDIAN, false);
+        bytes = bos.toByteArray();
+        ByteBuffer.wrap(bytes).putInt(ImmArrayCodec.HEADER_SIZE + 4, 1000);
+        try {
+            ImmArrayCodec.readStringArray(Channels.newChannel(new ByteArrayInputStream(bytes)));
+            fail();
+        } catch (IOException e) {
+            assertEquals("invalid string length at index 0: 1000", e.getMessage());
+        }
+        ByteBuffer.wrap(bytes).putInt(ImmArrayCodec.HEADER_SIZE + 4, -2);
+        try {
+            ImmArrayCodec.readStringArray(Channels.newChannel(new ByteArrayInputStream(bytes)));
+            fail();
+        } catch (IOException e) {
+            assertEquals("invalid string length at index 0: -2", e.getMessage());
+        }
+        ByteBuffer.wrap(bytes).putInt(ImmArrayCodec.HEADER_SIZE, Integer.MAX_VALUE);
+        try {
+            ImmArrayCodec.readStringArray(Channels.newChannel(new ByteArrayInputStream(bytes)));
+            fail();
+        } catch (IOException e) {
+            assertTrue(e instanceof java.io.EOFException);
+        }
+        ByteBuffer.wrap(bytes).putInt(ImmArrayCodec.HEADER_SIZE, 2);
+        try {
+            ImmArrayCodec.readStringArray(Channels.newChannel(new ByteArrayInputStream(bytes)));
+            fail();
+        } catch (IOException e) {
+            assertEquals("truncated string entry at index 0", e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,118 @@
+package minestra.collection;
+
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public final class ImmArrayConcatTest {
+
+    @Test
+    public void testIntConcat() {
+        IntImmArray a = IntImmArray.range(0, 99);
+        IntImmArray b = IntImmArray.range(100, 149);
+        IntImmArray c = IntImmArray.range(150, 299);
+        IntImmArray x = a.concat(b, IntImmArray.empty(), c);
+        assertTrue(x instanceof IntImmArrayConcat);
+        assertEquals(IntImmArray.range(0, 299), x);
+        assertEquals(x, IntImmArray.range(0, 299));
+        assertEquals(IntImmArray.range(0, 299).hashCode(), x.hashCode());
+        assertEquals(300, x.size());
+        assertEquals(100, x.at(100));
+        assertEquals(299, x.at(299));
+        assertEquals(44850, x.sum());
+        assertEquals(0, x.min().getAsInt());
+        assertEquals(299, x.max().getAsInt());
+        assertArrayEquals(IntImmArray.range(0, 299).toArray(), x.toArray());
+        assertEquals(IntImmArray.range(0, 299).reverse(), x.reverse());
+        try {
+            x.at(300);
+            fail();
+        } catch (ArrayIndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testShortConcatIsCopied() {
+        IntImmArray x = IntImmArray.of(1, 2).concat(IntImmArray.of(3));
+        assertTrue(x instanceof IntImmArrayImpl);
+        assertEquals(IntImmArray.of(1, 2, 3), x);
+        IntImmArray a = IntImmArray.range(1, 100);
+        assertSame(a, a.concat(IntImmArray.empty()));
+    }
+
+    @Test
+    public void testSlice() {
+        IntImmArray x = IntImmArray.range(0, 99).concat(IntImmArray.range(100, 199), IntImmArray.range(200, 299));
+        assertEquals(IntImmArray.range(90, 210), x.slice(90, 210));
+        assertEquals(IntImmArray.range(120, 130), x.slice(120, 130));
+        assertEquals(IntImmArray.range(250, 299), x.slice(250, 500));
+        assertEquals(IntImmArray.range(0, 4), x.take(5));
+        assertEquals(0, x.slice(300, 310).size());
+        try {
+            x.slice(302, 310);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testDeepConcat() {
+        LongImmArray x = LongImmArray.empty();
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            x = x.concat(LongImmArray.of(i, -i, i * 2L));
+            expected.add((long) i);
+            expected.add((long) -i);
+            expected.add(i * 2L);
+        }
+        assertEquals(1500, x.size());
+        assertEquals(LongImmArray.of(expected), x);
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).longValue(), x.at(i));
+        }
+        LongImmArray y = LongImmArray.of(1, 2, 3);
+        for (int i = 0; i < 100; i++) {
+            y = LongImmArray.of(i).concat(y.concat(LongImmArray.of(-i)));
+        }
+        assertEquals(203, y.size());
+        assertEquals(99L, y.at(0));
+        assertEquals(-99L, y.at(202));
+        assertEquals(1L, y.at(100));
+    }
+
+    @Test
+    public void testDoubleConcat() {
+        DoubleImmArray a = DoubleImmArray.of(IntImmArray.range(1, 50).mapToDouble(x -> x / 2d).toArray());
+        DoubleImmArray x = a.concat(DoubleImmArray.of(Double.NaN), a);
+        assertEquals(101, x.size());
+        assertTrue(Double.isNaN(x.at(50)));
+        assertEquals(a.concat(DoubleImmArray.of(Double.NaN), a).hashCode(), x.hashCode());
+        assertEquals(0.5d, x.min().getAsDouble(), 0d);
+        assertEquals(25d, x.max().getAsDouble(), 0d);
+        assertTrue(Double.isNaN(x.sum()));
+    }
+
+    @Test
+    public void testObjectConcat() {
+        List<String> expected = new ArrayList<>();
+        ImmArray<String> x = ImmArray.empty();
+        for (int i = 0; i < 300; i++) {
+            x = x.concat(ImmArray.of("a" + i, "b" + i));
+            expected.add("a" + i);
+            expected.add("b" + i);
+        }
+        assertEquals(expected, x.toList());
+        assertEquals(ImmArray.of(expected), x);
+        assertEquals("b150", x.at(301));
+        List<String> a = new ArrayList<>();
+        for (String s : x) {
+            a.add(s);
+        }
+        assertEquals(expected, a);
+        assertEquals(expected.subList(99, 402), x.slice(99, 401).toList());
+    }
+
+}
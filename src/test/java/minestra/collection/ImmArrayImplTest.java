@@ -70,7 +70,24 @@ public final class ImmArrayImplTest {
 
     @Test
     public void testMapToInt() {
-        // fail("Not yet implemented");
+        assertEquals(IntImmArray.of(2, 0, 3), arr("11", "", "222").mapToInt(String::length));
+        assertEquals(LongImmArray.of(2, 0, 3), arr("11", "", "222").mapToLong(String::length));
+        assertEquals(DoubleImmArray.of(2, 0, 3), arr("11", "", "222").mapToDouble(String::length));
+    }
+
+    @Test
+    public void testSearch() {
+        ImmArray<String> arr = arr("a", null, "bc", "a");
+        assertTrue(arr.contains(null));
+        assertTrue(arr.contains("bc"));
+        assertFalse(arr.contains("b"));
+        assertEquals(1, arr.indexOf(null));
+        assertEquals(2, arr.indexWhere(x -> x != null && x.length() > 1));
+        assertEquals(Optional.of("a"), arr.find(x -> "a".equals(x), 1));
+        assertEquals(ImmArray.of("a", null, "bc"), arr.distinct());
+        assertEquals(ImmArray.of("a", "bc", null, "a"), arr.reverse());
+        assertEquals(ImmArray.of("A", "BC", "A"), arr.filterMap(x -> Optional.ofNullable(x).map(String::toUpperCase)));
+        assertEquals("abca", arr.filter(x -> x != null).reduce("", String::concat));
     }
 
     @Test
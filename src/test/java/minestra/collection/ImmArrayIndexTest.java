@@ -0,0 +1,59 @@
+package minestra.collection;
+
+import static org.junit.Assert.*;
+import java.util.Optional;
+import org.junit.Test;
+
+public final class ImmArrayIndexTest {
+
+    @Test
+    public void testIndexBy() {
+        ImmArray<String> arr = ImmArray.of("apple", "banana", "avocado", "cherry", "blueberry", "apricot");
+        ImmArrayIndex<Character, String> index = arr.indexBy(s -> s.charAt(0));
+        assertSame(arr, index.array());
+        assertEquals(3, index.keyCount());
+        assertEquals(ImmArray.of('a', 'b', 'c'), index.keys());
+        assertTrue(index.containsKey('b'));
+        assertFalse(index.containsKey('d'));
+        assertEquals(0, index.indexOf('a'));
+        assertEquals(3, index.indexOf('c'));
+        assertEquals(-1, index.indexOf('z'));
+        assertEquals(IntImmArray.of(0, 2, 5), index.indicesOf('a'));
+        assertTrue(index.indicesOf('z').isEmpty());
+        assertEquals(Optional.of("banana"), index.get('b'));
+        assertEquals(Optional.empty(), index.get('z'));
+        assertEquals(ImmArray.of("banana", "blueberry"), index.getAll('b'));
+        assertTrue(index.getAll('z').isEmpty());
+    }
+
+    @Test
+    public void testNullAndCollidingKeys() {
+        ImmArray<String> arr = ImmArray.of("Aa", null, "BB", "x", null, "Aa");
+        ImmArrayIndex<String, String> index = arr.indexBy(s -> s);
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        assertEquals(4, index.keyCount());
+        assertEquals(IntImmArray.of(0, 5), index.indicesOf("Aa"));
+        assertEquals(IntImmArray.of(2), index.indicesOf("BB"));
+        assertEquals(IntImmArray.of(1, 4), index.indicesOf(null));
+        assertTrue(index.containsKey(null));
+        assertEquals(Optional.empty(), index.get(null));
+        assertFalse(ImmArray.<String>empty().indexBy(s -> s).containsKey(null));
+    }
+
+    @Test
+    public void testLargeArray() {
+        ImmArray<Integer> arr = IntImmArray.range(1, 100000).boxed();
+        ImmArrayIndex<Integer, Integer> index = arr.indexBy(x -> x % 1000);
+        assertEquals(1000, index.keyCount());
+        for (int k = 0; k < 1000; k++) {
+            assertEquals((k == 0) ? 999 : k - 1, index.indexOf(k));
+            assertEquals(100, index.indicesOf(k).size());
+        }
+        assertEquals(arr.filter(x -> x % 1000 == 999), index.getAll(999));
+        assertEquals(-1, index.indexOf(1000));
+        ImmArrayIndex<Integer, Integer> unique = arr.indexBy(x -> x);
+        assertEquals(arr.size(), unique.keyCount());
+        assertEquals(54320, unique.indexOf(54321));
+    }
+
+}
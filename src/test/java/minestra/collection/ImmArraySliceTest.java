@@ -0,0 +1,53 @@
+package minestra.collection;
+
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public final class ImmArraySliceTest {
+
+    @SafeVarargs
+    static <T> ImmArray<T> slice(int from, int to, T... a) {
+        return new ImmArrayImpl<>(a).slice(from, to);
+    }
+
+    @Test
+    public void testCompact() {
+        ImmArray<String> o = slice(1, 2, "java", "scala", "perl", "ruby");
+        ImmArray<String> compacted = o.compact();
+        assertTrue(o instanceof ImmArraySlice);
+        assertTrue(compacted instanceof ImmArrayImpl);
+        assertEquals(o, compacted);
+    }
+
+    @Test
+    public void testEqualsObject() {
+        assertEquals(ImmArray.of("scala", "perl"), slice(1, 2, "java", "scala", "perl", "ruby"));
+        assertEquals(slice(1, 2, "java", "scala", "perl", "ruby"), ImmArray.of("scala", "perl"));
+        assertNotEquals(slice(1, 2, "java", "scala", "perl", "ruby"), ImmArray.of("scala"));
+        assertEquals(ImmArray.of("scala", "perl").hashCode(), slice(1, 2, "java", "scala", "perl", "ruby").hashCode());
+    }
+
+    @Test
+    public void testIterator() {
+        List<String> a = new ArrayList<>();
+        for (String s : slice(1, 2, "java", "scala", "perl", "ruby")) {
+            a.add(s);
+        }
+        assertEquals(ImmArray.of("scala", "perl").toList(), a);
+    }
+
+    @Test
+    public void testSlice() {
+        ImmArrayImpl<String> parent = new ImmArrayImpl<>("java", "scala", "perl", "ruby");
+        ImmArray<String> o = parent.tail();
+        assertSame(parent.values, ((ImmArraySlice<String>) o).values);
+        assertEquals(ImmArray.of("perl", "ruby"), o.tail());
+        assertEquals(ImmArray.of("scala"), o.take(1));
+        assertEquals(ImmArray.of("ruby"), o.drop(2));
+        assertEquals(ImmArray.of(), o.drop(3));
+        assertEquals(ImmArray.of("scala", "perl"), o.filter(x -> !x.equals("ruby")));
+    }
+
+}
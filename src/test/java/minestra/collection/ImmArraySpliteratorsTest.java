@@ -0,0 +1,84 @@
+package minestra.collection;
+
+import static org.junit.Assert.*;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import org.junit.Test;
+
+public final class ImmArraySpliteratorsTest {
+
+    static final int SIZED_IMMUTABLE = Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.IMMUTABLE
+                                       | Spliterator.ORDERED;
+
+    static void assertCharacteristics(Spliterator<?> sp, boolean nonNull) {
+        final int expected = nonNull ? SIZED_IMMUTABLE | Spliterator.NONNULL : SIZED_IMMUTABLE;
+        assertEquals(expected, sp.characteristics() & (expected | Spliterator.NONNULL));
+    }
+
+    @Test
+    public void testRefSpliterator() {
+        ImmArray<String> arr = ImmArray.of("a", "b", "c", "d", "e");
+        Spliterator<String> sp = new ImmArraySpliterators.RefSpliterator<>(arr, 0, arr.size());
+        assertCharacteristics(sp, false);
+        Spliterator<String> prefix = sp.trySplit();
+        assertEquals(2, prefix.estimateSize());
+        assertEquals(3, sp.estimateSize());
+        assertEquals("ab", StreamSupport.stream(prefix, false).collect(Collectors.joining()));
+        assertEquals("cde", StreamSupport.stream(sp, false).collect(Collectors.joining()));
+        assertCharacteristics(arr.spliterator(), false);
+        assertCharacteristics(arr.slice(1, 3).spliterator(), false);
+    }
+
+    @Test
+    public void testIntSpliterator() {
+        IntImmArray arr = IntImmArray.range(1, 100);
+        Spliterator.OfInt sp = new ImmArraySpliterators.IntSpliterator(arr, 0, arr.size());
+        assertCharacteristics(sp, true);
+        Spliterator.OfInt prefix = sp.trySplit();
+        assertEquals(50, prefix.estimateSize());
+        assertEquals(1275, StreamSupport.intStream(prefix, false).sum());
+        assertEquals(3775, StreamSupport.intStream(sp, false).sum());
+        assertCharacteristics(arr.spliterator(), true);
+        assertCharacteristics(arr.slice(10, 19).spliterator(), true);
+        assertEquals(5050, arr.parallelStream().sum());
+        assertEquals(155, arr.slice(10, 19).parallelStream().sum());
+    }
+
+    @Test
+    public void testLongSpliterator() {
+        LongImmArray arr = LongImmArray.of(1, 2, 3, 4, 5, 6, 7);
+        Spliterator.OfLong sp = new ImmArraySpliterators.LongSpliterator(arr, 0, arr.size());
+        assertCharacteristics(sp, true);
+        Spliterator.OfLong prefix = sp.trySplit();
+        assertEquals(6, StreamSupport.longStream(prefix, false).sum());
+        assertEquals(22, StreamSupport.longStream(sp, false).sum());
+        assertCharacteristics(arr.spliterator(), true);
+        assertEquals(28, arr.parallelStream().sum());
+    }
+
+    @Test
+    public void testDoubleSpliterator() {
+        DoubleImmArray arr = DoubleImmArray.of(1, 2, 3, 4, 5, 6, 7);
+        Spliterator.OfDouble sp = new ImmArraySpliterators.DoubleSpliterator(arr, 0, arr.size());
+        assertCharacteristics(sp, true);
+        Spliterator.OfDouble prefix = sp.trySplit();
+        assertEquals(6d, StreamSupport.doubleStream(prefix, false).sum(), 0d);
+        assertEquals(22d, StreamSupport.doubleStream(sp, false).sum(), 0d);
+        assertCharacteristics(arr.spliterator(), true);
+        assertEquals(28d, arr.parallelStream().sum(), 0d);
+    }
+
+    @Test
+    public void testPrimitiveIterator() {
+        PrimitiveIterator.OfInt it = IntImmArray.of(3, 5).iterator();
+        assertTrue(it.hasNext());
+        assertEquals(3, it.nextInt());
+        assertEquals(5, it.nextInt());
+        assertFalse(it.hasNext());
+        assertEquals(8L, LongImmArray.of(8).iterator().nextLong());
+        assertEquals(0.5d, DoubleImmArray.of(0.5).iterator().nextDouble(), 0d);
+    }
+
+}
@@ -118,6 +118,17 @@ public final class ImmArrayTest {
         assertEquals("F", arr("").tail().fold("F", (x, y) -> x + y));
     }
 
+    @Test
+    public void testFoldLeftAndRight() {
+        assertEquals("FACE", arr("A", "C", "E").foldLeft("F", (x, y) -> x + y));
+        assertEquals("ACEF", arr("A", "C", "E").foldRight("F", (x, y) -> x + y));
+        assertEquals(Integer.valueOf(9), arr("A", "CC", "EEE").foldLeft(3, (n, x) -> n + x.length()));
+        assertEquals("F", arr("").tail().foldRight("F", (x, y) -> x + y));
+        ImmArray<Integer> large = IntImmArray.range(1, 100000).boxed();
+        assertEquals(Integer.valueOf(705082704), large.fold(0, Integer::sum));
+        assertEquals(Integer.valueOf(705082704), large.foldRight(0, Integer::sum));
+    }
+
     @Test
     public void testForEach() {
         List<String> a = new ArrayList<>();
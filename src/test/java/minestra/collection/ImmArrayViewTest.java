@@ -0,0 +1,73 @@
+package minestra.collection;
+
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public final class ImmArrayViewTest {
+
+    static final ImmArray<String> LANGS = ImmArray.of("java", "scala", "perl", "ruby", "python");
+
+    @Test
+    public void testForce() {
+        assertEquals(ImmArray.of("JAVA", "PERL", "RUBY"),
+                     LANGS.view().filter(x -> x.length() == 4).map(String::toUpperCase).force());
+        assertEquals(ImmArray.of(), LANGS.view().filter(x -> x.isEmpty()).force());
+    }
+
+    @Test
+    public void testIsLazy() {
+        AtomicInteger counter = new AtomicInteger();
+        ImmArrayView<String> view = LANGS.view().map(x -> {
+            counter.incrementAndGet();
+            return x;
+        });
+        assertEquals(0, counter.get());
+        assertEquals(ImmArray.of("java", "scala"), view.take(2).force());
+        assertEquals(2, counter.get());
+    }
+
+    @Test
+    public void testTakeDrop() {
+        assertEquals(ImmArray.of("scala", "perl"), LANGS.view().drop(1).take(2).force());
+        assertEquals(ImmArray.of("perl"), LANGS.view().take(3).drop(2).force());
+        assertEquals(ImmArray.of(), LANGS.view().take(0).force());
+        assertEquals(LANGS, LANGS.view().drop(0).force());
+        assertEquals(ImmArray.of(), LANGS.view().drop(9).force());
+        assertEquals(ImmArray.of("perl", "ruby"), LANGS.view().filter(x -> x.length() == 4).drop(1).take(5).force());
+    }
+
+    @Test
+    public void testTerminals() {
+        ImmArrayView<String> view = LANGS.view().filter(x -> x.contains("a"));
+        assertEquals(2, view.count());
+        assertEquals("java/scala", view.reduce((x, y) -> x + "/" + y).get());
+        assertFalse(view.take(0).reduce((x, y) -> x + y).isPresent());
+        assertEquals(">javascala", view.reduce(">", (x, y) -> x + y));
+        assertArrayEquals(new String[] { "java", "scala" }, view.toArray(String[]::new));
+        List<String> a = new ArrayList<>();
+        view.forEach(a::add);
+        assertEquals(LANGS.take(2).toList(), a);
+        assertEquals(9, view.mapToInt(String::length).sum());
+    }
+
+    @Test
+    public void testPrimitiveViews() {
+        IntImmArray arr = IntImmArray.range(1, 10);
+        assertEquals(IntImmArray.of(4, 16, 36), arr.view().filter(x -> x % 2 == 0).map(x -> x * x).take(3).force());
+        assertEquals(24, arr.view().drop(5).filter(x -> x % 2 == 0).sum());
+        assertEquals(ImmArray.of("7", "8"), arr.view().drop(6).take(2).mapToObj(String::valueOf).force());
+        assertEquals(6, arr.view().take(3).reduce((x, y) -> x * y).getAsInt());
+        assertArrayEquals(new int[] { 3 }, arr.view().filter(x -> x == 3).toArray());
+        LongImmArray larr = LongImmArray.of(1, 2, 3, 4);
+        assertEquals(LongImmArray.of(20, 40), larr.view().drop(1).map(x -> x * 10).filter(x -> x != 30).force());
+        assertEquals(10L, larr.view().sum());
+        DoubleImmArray darr = DoubleImmArray.of(0.5, 1.5, 2.5);
+        assertEquals(DoubleImmArray.of(1.0, 3.0), darr.view().map(x -> x * 2).filter(x -> x < 4).force());
+        assertEquals(3, darr.view().count());
+        assertEquals(ImmArray.of(4, 6), LANGS.view().drop(3).take(2).mapToInt(String::length).mapToObj(x -> x).force());
+    }
+
+}
@@ -0,0 +1,97 @@
+package minestra.collection;
+
+import static org.junit.Assert.*;
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.Test;
+
+public final class ImmCollectorsTest {
+
+    @Test
+    public void testToImmArray() {
+        ImmArray<String> expected = IntImmArray.range(0, 99999).mapToObj(String::valueOf);
+        assertEquals(expected, IntStream.rangeClosed(0, 99999).mapToObj(String::valueOf).collect(ImmCollectors.toImmArray()));
+        assertEquals(expected,
+                     IntStream.rangeClosed(0, 99999).parallel().mapToObj(String::valueOf).collect(ImmCollectors.toImmArray()));
+        assertEquals(expected, ImmArray.of(IntStream.rangeClosed(0, 99999).parallel().mapToObj(String::valueOf)));
+        assertEquals(ImmArray.of("a", null), Stream.of("a", null).collect(ImmCollectors.toImmArray()));
+        assertEquals(ImmArray.empty(), Stream.empty().collect(ImmCollectors.toImmArray()));
+    }
+
+    @Test
+    public void testToPrimitiveImmArrays() {
+        IntImmArray expected = IntImmArray.range(-50000, 50000);
+        assertEquals(expected, expected.boxed().stream().collect(ImmCollectors.toIntImmArray()));
+        assertEquals(expected, expected.boxed().parallelStream().collect(ImmCollectors.toIntImmArray()));
+        assertEquals(expected, expected.mapToObj(String::valueOf).parallelStream().collect(ImmCollectors.toIntImmArray(Integer::parseInt)));
+        LongImmArray longs = expected.mapToLong(x -> x * 100000L);
+        assertEquals(longs, longs.boxed().parallelStream().collect(ImmCollectors.toLongImmArray()));
+        assertEquals(longs, expected.boxed().stream().collect(ImmCollectors.toLongImmArray(x -> x * 100000L)));
+        DoubleImmArray doubles = expected.mapToDouble(x -> x / 4d);
+        assertEquals(doubles, doubles.boxed().parallelStream().collect(ImmCollectors.toDoubleImmArray()));
+        assertEquals(doubles, expected.boxed().stream().collect(ImmCollectors.toDoubleImmArray(x -> x / 4d)));
+        assertTrue(Stream.<Integer>empty().collect(ImmCollectors.toIntImmArray()).isEmpty());
+        assertEquals(IntImmArray.of(3, 1, 2), IntImmArray.of(Arrays.asList(3, 1, 2)));
+        assertEquals(LongImmArray.of(3, 1, 2), LongImmArray.of(Arrays.asList(3L, 1L, 2L)));
+        assertEquals(DoubleImmArray.of(0.5), DoubleImmArray.of(Arrays.asList(0.5)));
+    }
+
+    @Test
+    public void testOfCollectionWithInconsistentSize() {
+        // the size is different from the number of the elements, as well as a collection modified concurrently
+        Collection<Integer> larger = inconsistent(Arrays.asList(1, 2, 3), 2);
+        Collection<Integer> smaller = inconsistent(Arrays.asList(1, 2, 3), 5);
+        assertEquals(IntImmArray.of(1, 2, 3), IntImmArray.of(larger));
+        assertEquals(IntImmArray.of(1, 2, 3), IntImmArray.of(smaller));
+        assertEquals(LongImmArray.of(1L, 2L), LongImmArray.of(inconsistent(Arrays.asList(1L, 2L), 1)));
+        assertEquals(DoubleImmArray.of(1d, 2d), DoubleImmArray.of(inconsistent(Arrays.asList(1d, 2d), 3)));
+    }
+
+    static <T> Collection<T> inconsistent(Collection<T> elements, int size) {
+        return new AbstractCollection<T>() {
+
+            @Override
+            public Iterator<T> iterator() {
+                return elements.iterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+        };
+    }
+
+    @Test
+    public void testChunks() {
+        IntChunks chunks = new IntChunks();
+        for (int i = 0; i < 100; i++) {
+            chunks.add(i);
+        }
+        IntChunks other = new IntChunks();
+        other.addAll(IntImmArray.range(100, 199).toArray(), 0, 100);
+        other.add(200);
+        chunks.append(other).append(new IntChunks());
+        chunks.add(201);
+        assertEquals(202, chunks.size());
+        assertArrayEquals(IntImmArray.range(0, 201).toArray(), chunks.toArray());
+        int[] a = IntImmArray.range(1, 1000).toArray();
+        IntChunks single = new IntChunks();
+        single.addAll(a, 0, a.length);
+        int[] b = single.toArray();
+        assertArrayEquals(a, b);
+        single.add(0);
+        assertEquals(1, b[0]);
+        assertEquals(1001, single.toArray().length);
+        ObjectChunks objects = new ObjectChunks().append(new ObjectChunks());
+        objects.add("x");
+        assertEquals(Arrays.asList("x"), Arrays.stream(objects.toArray()).collect(Collectors.toList()));
+    }
+
+}
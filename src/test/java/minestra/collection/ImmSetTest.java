@@ -0,0 +1,65 @@
+package minestra.collection;
+
+import static org.junit.Assert.*;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Test;
+
+public final class ImmSetTest {
+
+    @Test
+    public void testIntImmSet() {
+        IntImmSet set = IntImmSet.of(3, 0, -1, 3, 7, 0, Integer.MIN_VALUE);
+        assertEquals(5, set.size());
+        assertTrue(set.contains(0));
+        assertTrue(set.contains(-1));
+        assertTrue(set.contains(Integer.MIN_VALUE));
+        assertFalse(set.contains(1));
+        assertEquals(IntImmArray.of(3, 0, -1, 7, Integer.MIN_VALUE), set.toImmArray());
+        assertEquals(IntImmSet.of(7, -1, 0, 3, Integer.MIN_VALUE), set);
+        assertEquals(IntImmSet.of(7, -1, 0, 3, Integer.MIN_VALUE).hashCode(), set.hashCode());
+        assertNotEquals(IntImmSet.of(7, -1, 0, 3), set);
+        assertTrue(IntImmSet.empty().isEmpty());
+        assertFalse(IntImmSet.empty().contains(0));
+        assertEquals(IntImmSet.of(1, 2), IntImmArray.of(2, 1, 2).toSet());
+    }
+
+    @Test
+    public void testLongImmSet() {
+        LongImmSet set = LongImmArray.of(1L << 40, 0, 1L << 40, -5).toSet();
+        assertEquals(3, set.size());
+        assertTrue(set.contains(1L << 40));
+        assertFalse(set.contains(1L << 41));
+        assertTrue(set.contains(0L));
+        assertEquals(-5L + (1L << 40), set.stream().sum());
+    }
+
+    @Test
+    public void testRandomElements() {
+        Random r = new Random(3L);
+        int[] a = new int[100000];
+        Set<Integer> expected = new HashSet<>();
+        for (int i = 0; i < a.length; i++) {
+            a[i] = r.nextInt(30000) * 0x10000;
+            expected.add(a[i]);
+        }
+        IntImmSet set = IntImmSet.of(a);
+        assertEquals(expected.size(), set.size());
+        for (int i = 0; i < 1000; i++) {
+            final int x = r.nextInt(60000) * 0x10000;
+            assertEquals(expected.contains(x), set.contains(x));
+        }
+    }
+
+    @Test
+    public void testDistinct() {
+        assertEquals(IntImmArray.of(3, 1, 2, 0), IntImmArray.of(3, 1, 3, 2, 1, 0, 0).distinct());
+        assertEquals(IntImmArray.range(0, 999), IntImmArray.range(0, 999).concat(IntImmArray.range(0, 999)).distinct());
+        assertEquals(LongImmArray.of(5, -5, 0), LongImmArray.of(5, -5, 5, 0, -5).distinct());
+        assertEquals(DoubleImmArray.of(Double.NaN, 0.0, -0.0, 1.5),
+                     DoubleImmArray.of(Double.NaN, 0.0, Double.NaN, -0.0, 1.5, 0.0).distinct());
+        assertEquals(0, IntImmArray.empty().distinct().size());
+    }
+
+}
@@ -0,0 +1,144 @@
+package minestra.collection;
+
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+public final class ImmVectorTest {
+
+    @Test
+    public void testOf() {
+        assertEquals(0, ImmVector.of().size());
+        assertSame(ImmVector.empty(), ImmVector.of());
+        ImmVector<String> v = ImmVector.of("a", "b", "c");
+        assertEquals(3, v.size());
+        assertEquals("b", v.at(1));
+        assertEquals(ImmArray.of("a", "b", "c"), v);
+        assertEquals(v, ImmArray.of("a", "b", "c"));
+        assertEquals(ImmArray.of("a", "b", "c").hashCode(), v.hashCode());
+        assertEquals(ImmVector.of(Arrays.asList(1, 2, 3)), ImmArray.of(1, 2, 3));
+        assertEquals("[a, b, c]", v.toString());
+    }
+
+    @Test
+    public void testAppended() {
+        ImmVector<Integer> v = ImmVector.empty();
+        for (int i = 0; i < 5000; i++) {
+            v = v.appended(i);
+        }
+        assertEquals(5000, v.size());
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(i, v.at(i).intValue());
+        }
+        assertEquals(ImmArray.of(IntImmArray.range(0, 4999).boxed().toList()), v);
+    }
+
+    @Test
+    public void testPrepended() {
+        ImmVector<Integer> v = ImmVector.of(1, 2);
+        ImmVector<Integer> v2 = v.prepended(0);
+        assertEquals(ImmArray.of(0, 1, 2), v2);
+        assertEquals(ImmArray.of(1, 2), v);
+        ImmVector<Integer> w = ImmVector.empty();
+        for (int i = 0; i < 3000; i++) {
+            w = w.prepended(i).appended(-i);
+        }
+        assertEquals(6000, w.size());
+        assertEquals(2999, w.at(0).intValue());
+        assertEquals(-2999, w.at(5999).intValue());
+        assertEquals(0, w.at(2999).intValue());
+        assertEquals(0, w.at(3000).intValue());
+    }
+
+    @Test
+    public void testUpdated() {
+        ImmVector<String> v = ImmVector.of(ImmArray.of("x").toList());
+        for (int i = 0; i < 100; i++) {
+            v = v.appended("x");
+        }
+        ImmVector<String> v2 = v.updated(0, "a").updated(50, "b").updated(100, "c");
+        assertEquals("a", v2.at(0));
+        assertEquals("b", v2.at(50));
+        assertEquals("c", v2.at(100));
+        assertEquals("x", v.at(0));
+        assertEquals("x", v.at(50));
+        assertEquals("x", v.at(100));
+        try {
+            v.updated(101, "z");
+            fail();
+        } catch (ArrayIndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testRandomOperations() {
+        Random r = new Random(7L);
+        List<Integer> expected = new ArrayList<>();
+        ImmVector<Integer> v = ImmVector.empty();
+        for (int i = 0; i < 20000; i++) {
+            final int op = r.nextInt(3);
+            if (op == 0) {
+                expected.add(i);
+                v = v.appended(i);
+            }
+            else if (op == 1) {
+                expected.add(0, i);
+                v = v.prepended(i);
+            }
+            else if (!expected.isEmpty()) {
+                final int index = r.nextInt(expected.size());
+                expected.set(index, -i);
+                v = v.updated(index, -i);
+            }
+        }
+        assertEquals(expected, v.toList());
+        List<Integer> a = new ArrayList<>();
+        v.forEach(a::add);
+        assertEquals(expected, a);
+        a.clear();
+        for (Integer x : v) {
+            a.add(x);
+        }
+        assertEquals(expected, a);
+    }
+
+    @Test
+    public void testIntImmVector() {
+        IntImmVector v = IntImmVector.of(IntImmArray.range(1, 100).toArray());
+        assertEquals(IntImmArray.range(1, 100), v);
+        assertEquals(IntImmArray.range(1, 100).hashCode(), v.hashCode());
+        assertEquals(5050, v.sum());
+        assertEquals(100, v.max().getAsInt());
+        assertEquals(IntImmArray.of(0, 1, 2, 3), v.prepended(0).take(4));
+        IntImmVector w = IntImmVector.empty();
+        for (int i = 1; i <= 1000; i++) {
+            w = (i % 2 == 0) ? w.appended(i) : w.prepended(i);
+        }
+        assertEquals(1000, w.size());
+        assertEquals(999, w.at(0));
+        assertEquals(1000, w.at(999));
+        assertEquals(500500, w.sum());
+        assertEquals(1, w.min().getAsInt());
+        assertEquals(IntImmArray.range(1, 1000), w.sort());
+        assertEquals(-1, w.updated(500, -1).min().getAsInt());
+        assertEquals(0, IntImmVector.empty().product());
+        assertFalse(IntImmVector.empty().max().isPresent());
+    }
+
+    @Test
+    public void testLongAndDoubleImmVector() {
+        LongImmVector v = LongImmVector.of(1L, 2L).appended(3L).prepended(0L).updated(1, 10L);
+        assertEquals(LongImmArray.of(0, 10, 2, 3), v);
+        assertEquals(15L, v.sum());
+        assertArrayEquals(new long[] { 0, 10, 2, 3 }, v.toArray());
+        DoubleImmVector d = DoubleImmVector.of(0.5).appended(1.5).prepended(Double.NaN);
+        assertEquals(DoubleImmArray.of(Double.NaN, 0.5, 1.5), d);
+        assertEquals(DoubleImmArray.of(Double.NaN, 0.5, 1.5).hashCode(), d.hashCode());
+        assertEquals(0.5d, d.slice(1, 2).min().getAsDouble(), 0d);
+    }
+
+}
@@ -53,7 +53,8 @@ public final class IntImmArrayImplTest {
 
     @Test
     public void testMapToObj() {
-        // fail("Not yet implemented");
+        assertEquals(ImmArray.of("1", "-2", "3"), arr(1, -2, 3).mapToObj(String::valueOf));
+        assertEquals(0, arr().mapToObj(String::valueOf).size());
     }
 
     @Test
@@ -130,6 +131,25 @@ public final class IntImmArrayImplTest {
         int[] arg = iarr(134, -53, 343, 8, 3, -1);
         IntImmArray expected = arr(-1, 3, 8, 343, -53, 134);
         assertEquals(expected, arr(arg).reverse());
+        assertArrayEquals(arg, arr(arg).reverse().reverse().toArray());
+        assertEquals(arr(3), arr(3).reverse());
+        assertEquals(arr(), arr().reverse());
+    }
+
+    @Test
+    public void testSearch() {
+        IntImmArray arr = arr(4, -2, 7, -2, 9);
+        assertTrue(arr.contains(7));
+        assertFalse(arr.contains(8));
+        assertEquals(1, arr.indexOf(-2));
+        assertEquals(-1, arr.indexOf(0));
+        assertEquals(2, arr.indexWhere(x -> x > 5));
+        assertEquals(9, arr.find(x -> x > 5, 3).getAsInt());
+        assertFalse(arr.find(x -> x > 5, 5).isPresent());
+        assertTrue(arr.exists(x -> x < 0));
+        assertEquals(16, arr.reduce(0, Integer::sum));
+        assertEquals(9, arr.reduce(Math::max).getAsInt());
+        assertFalse(arr().reduce(Integer::sum).isPresent());
     }
 
     @Test
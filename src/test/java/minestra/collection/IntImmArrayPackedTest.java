@@ -0,0 +1,70 @@
+package minestra.collection;
+
+import static org.junit.Assert.*;
+import java.util.Random;
+import org.junit.Test;
+
+public final class IntImmArrayPackedTest {
+
+    static void assertPacked(IntImmArray expected) {
+        IntImmArray arr = expected.packed();
+        assertEquals(expected, arr);
+        assertEquals(arr, expected);
+        assertEquals(expected.hashCode(), arr.hashCode());
+        assertEquals(expected.size(), arr.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.at(i), arr.at(i));
+        }
+        assertArrayEquals(expected.toArray(), arr.toArray());
+        assertEquals(expected.sum(), arr.sum());
+        assertEquals(expected.sumAsLong(), arr.sumAsLong());
+        assertEquals(expected.product(), arr.product());
+        assertEquals(expected.max(), arr.max());
+        assertEquals(expected.min(), arr.min());
+        assertEquals(expected.stream().sum(), arr.stream().sum());
+        StringBuilder sb = new StringBuilder();
+        arr.forEach(x -> sb.append(x).append(','));
+        StringBuilder expectedSb = new StringBuilder();
+        expected.forEach(x -> expectedSb.append(x).append(','));
+        assertEquals(expectedSb.toString(), sb.toString());
+    }
+
+    @Test
+    public void testPacked() {
+        Random r = new Random(1L);
+        assertPacked(IntImmArray.generate(1000, () -> r.nextInt(16)));
+        assertPacked(IntImmArray.generate(1001, () -> 1000000 + r.nextInt(1000)));
+        assertPacked(IntImmArray.generate(127, () -> r.nextInt()));
+        assertPacked(IntImmArray.generate(129, () -> 7));
+        assertPacked(IntImmArray.range(-100000, 100000));
+        assertPacked(IntImmArray.of(Integer.MIN_VALUE, Integer.MAX_VALUE, 0, -1));
+        assertPacked(IntImmArray.of(42));
+        assertTrue(IntImmArray.empty().packed().isEmpty());
+        IntImmArray packed = IntImmArray.range(0, 1000).packed();
+        assertSame(packed, packed.packed());
+        try {
+            packed.at(1001);
+            fail();
+        } catch (ArrayIndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testSearchAndSlice() {
+        Random r = new Random(2L);
+        IntImmArray arr = IntImmArray.generate(10000, () -> r.nextInt(50) * 3);
+        IntImmArray packed = arr.packed();
+        for (int x = -1; x < 160; x++) {
+            assertEquals(arr.indexOf(x), packed.indexOf(x));
+            assertEquals(arr.contains(x), packed.contains(x));
+        }
+        assertEquals(arr.slice(100, 5000), packed.slice(100, 5000));
+        assertEquals(arr.slice(127, 128), packed.slice(127, 128));
+        assertEquals(arr.slice(9990, 20000), packed.slice(9990, 20000));
+        assertTrue(packed.slice(5, 4).isEmpty());
+        assertEquals(arr.sort(), packed.sort());
+        assertEquals(arr.reverse(), packed.reverse());
+    }
+
+}
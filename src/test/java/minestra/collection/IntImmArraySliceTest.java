@@ -0,0 +1,101 @@
+package minestra.collection;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public final class IntImmArraySliceTest {
+
+    static IntImmArray arr(int... a) {
+        return IntImmArray.of(a);
+    }
+
+    static IntImmArray slice(int from, int to, int... a) {
+        return new IntImmArrayImpl(a).slice(from, to);
+    }
+
+    @Test
+    public void testAt() {
+        IntImmArray o = slice(1, 3, 4, 23, 33, 1, 5);
+        assertEquals(23, o.at(0));
+        assertEquals(1, o.at(2));
+        try {
+            o.at(3);
+            fail();
+        } catch (ArrayIndexOutOfBoundsException e) {
+            // ok
+        }
+    }
+
+    @Test
+    public void testCompact() {
+        IntImmArray o = slice(1, 2, 4, 23, 33, 1);
+        IntImmArray compacted = o.compact();
+        assertTrue(o instanceof IntImmArraySlice);
+        assertTrue(compacted instanceof IntImmArrayImpl);
+        assertEquals(o, compacted);
+        assertEquals(2, ((IntImmArrayImpl) compacted).values.length);
+    }
+
+    @Test
+    public void testEqualsObject() {
+        assertEquals(arr(23, 33), slice(1, 2, 4, 23, 33, 1));
+        assertEquals(slice(1, 2, 4, 23, 33, 1), arr(23, 33));
+        assertEquals(slice(1, 2, 4, 23, 33, 1), slice(0, 1, 23, 33));
+        assertNotEquals(slice(1, 2, 4, 23, 33, 1), arr(23, 33, 1));
+        assertNotEquals(slice(1, 2, 4, 23, 33, 1), null);
+        assertNotEquals(slice(1, 2, 4, 23, 33, 1), "");
+    }
+
+    @Test
+    public void testFilter() {
+        assertEquals(arr(2, 8), slice(1, 3, 3, 2, 8, 5, 6).filter(x -> x % 2 == 0));
+    }
+
+    @Test
+    public void testHashCode() {
+        assertEquals(arr(23, 33).hashCode(), slice(1, 2, 4, 23, 33, 1).hashCode());
+    }
+
+    @Test
+    public void testMaxMin() {
+        IntImmArray o = slice(1, 4, 99, 23, -33, 1, 5, -99);
+        assertEquals(23, o.max().getAsInt());
+        assertEquals(-33, o.min().getAsInt());
+    }
+
+    @Test
+    public void testSlice() {
+        IntImmArrayImpl parent = new IntImmArrayImpl(1, 6, 2, 7, 5);
+        IntImmArray o = parent.slice(1, 3);
+        assertSame(parent.values, ((IntImmArraySlice) o).values);
+        assertEquals(arr(6, 2, 7), o);
+        assertEquals(arr(2, 7), o.slice(1, 9));
+        assertEquals(arr(2), o.tail().take(1));
+        assertEquals(arr(7), o.drop(2));
+        assertEquals(arr(), o.slice(3, 4));
+        assertSame(parent.values, ((IntImmArraySlice) o.tail()).values);
+    }
+
+    @Test
+    public void testSortWith() {
+        assertEquals(arr(8, 6, 2), slice(1, 3, 3, 2, 8, 6, 5).sortWith(IntComparator.REVERSE));
+    }
+
+    @Test
+    public void testSumProduct() {
+        IntImmArray o = slice(1, 3, 3, 2, 8, 5, 6);
+        assertEquals(15, o.sum());
+        assertEquals(80, o.product());
+    }
+
+    @Test
+    public void testToArray() {
+        assertArrayEquals(new int[] { 2, 8 }, slice(1, 2, 3, 2, 8, 5).toArray());
+    }
+
+    @Test
+    public void testToString() {
+        assertEquals("[2, 8]", slice(1, 2, 3, 2, 8, 5).toString());
+    }
+
+}
@@ -121,6 +121,15 @@ public final class IntImmArrayTest {
         assertEquals(5, arr().fold(5, (x, y) -> x + y));
     }
 
+    @Test
+    public void testFoldLeftAndRight() {
+        assertEquals(-1, arr(10, 5, 2).fold(6, (x, y) -> x - y));
+        assertEquals(-11, arr(10, 5, 2).foldLeft(6, (x, y) -> x - y));
+        assertEquals(1, arr(10, 5, 2).foldRight(6, (x, y) -> x - y));
+        assertEquals(5, arr().foldRight(5, (x, y) -> x - y));
+        assertEquals(705082704, IntImmArray.range(1, 100000).fold(0, (x, y) -> x + y));
+    }
+
     @Test
     public void testForEach() {
         StringBuilder sb = new StringBuilder();
@@ -0,0 +1,97 @@
+package minestra.collection;
+
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+
+public final class InternPoolTest {
+
+    @Test
+    public void testIntern() {
+        IntImmArray a = IntImmArray.range(1, 10000).intern();
+        IntImmArray b = IntImmArray.range(1, 10000);
+        assertNotSame(a, b);
+        assertSame(a, b.intern());
+        assertSame(a, a.intern());
+        assertSame(a, IntImmArray.range(0, 10001).slice(1, 10000).intern());
+        assertNotSame(a, IntImmArray.range(1, 9999).intern());
+        assertEquals(b.hashCode(), a.hashCode());
+        assertSame(LongImmArray.of(1L, 2L).intern(), LongImmArray.of(1L, 2L).intern());
+        assertSame(DoubleImmArray.of(Double.NaN).intern(), DoubleImmArray.of(Double.NaN).intern());
+        assertNotSame(DoubleImmArray.of(0.0).intern(), DoubleImmArray.of(-0.0).intern());
+        ImmArray<String> s = ImmArray.of("a", null, "b").intern();
+        assertSame(s, ImmArray.of("a", null, "b").intern());
+        assertSame(s, ImmArray.of("x", "a", null, "b").drop(1).intern());
+        assertEquals(ImmArray.of("a", null, "b").hashCode(), s.hashCode());
+    }
+
+    @Test
+    public void testCachedHashes() {
+        IntImmArray a = IntImmArray.of(1, 2, 3);
+        IntImmArray b = IntImmArray.of(1, 2, 4);
+        IntImmArray c = IntImmArray.of(1, 2, 3);
+        assertEquals(a.hashCode(), c.hashCode());
+        assertNotEquals(a.hashCode(), b.hashCode());
+        assertNotEquals(a, b);
+        assertEquals(a, c);
+        assertEquals(InternPool.hash(new int[] { 1, 2, 3 }), ((IntImmArrayImpl) a).contentHash());
+        assertNotEquals(InternPool.hash(new long[] { Long.MIN_VALUE, Long.MIN_VALUE }), InternPool.hash(new long[] { 0L, 0L }));
+        assertNotEquals(InternPool.hash(new int[0]), InternPool.hash(new int[] { 0 }));
+        List<String> list = new ArrayList<>();
+        ImmArray<List<String>> mutable = ImmArray.<List<String>>of(list);
+        final int h = mutable.hashCode();
+        list.add("x");
+        assertNotEquals(h, mutable.hashCode());
+    }
+
+    @Test
+    public void testNonCanonicalArrayDoesNotCacheHashes() {
+        List<String> list = new ArrayList<>();
+        list.add("x");
+        ImmArray<List<String>> canonical = ImmArray.<List<String>>of(new ArrayList<>(list)).intern();
+        ImmArray<List<String>> a = ImmArray.<List<String>>of(list);
+        assertSame(canonical, a.intern());
+        final int h = a.hashCode();
+        list.add("y");
+        ImmArray<List<String>> b = ImmArray.<List<String>>of(new ArrayList<>(list)).intern();
+        assertEquals(b, a);
+        assertEquals(a, b);
+        assertNotEquals(h, a.hashCode());
+        assertEquals(b.hashCode(), a.hashCode());
+    }
+
+    @Test
+    public void testConcurrentIntern() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<IntImmArray>> results = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                results.add(executor.submit(() -> IntImmArray.range(-500, 500).intern()));
+            }
+            IntImmArray canonical = IntImmArray.range(-500, 500).intern();
+            for (Future<IntImmArray> result : results) {
+                assertSame(canonical, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testWeakReferences() throws InterruptedException {
+        final int size0 = InternPool.LONG.size();
+        for (int i = 0; i < 1000; i++) {
+            LongImmArray.of(i, -i, Long.MAX_VALUE).intern();
+        }
+        for (int i = 0; i < 50 && InternPool.LONG.size() >= size0 + 1000; i++) {
+            System.gc();
+            Thread.sleep(10L);
+        }
+        assertTrue(InternPool.LONG.size() < size0 + 1000);
+    }
+
+}
@@ -0,0 +1,60 @@
+package minestra.collection;
+
+import static org.junit.Assert.*;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+
+public final class KernelsTest {
+
+    @Test
+    public void testIntKernels() {
+        Random r = new Random(1L);
+        int[] a = new int[100];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = r.nextInt();
+        }
+        for (int from = 0; from < 6; from++) {
+            for (int to = from; to <= a.length; to += 7) {
+                int[] b = Arrays.copyOfRange(a, from, to);
+                assertEquals(Arrays.stream(b).sum(), Kernels.sum(a, from, to));
+                if (b.length > 0) {
+                    assertEquals(Arrays.stream(b).max().getAsInt(), Kernels.max(a, from, to));
+                    assertEquals(Arrays.stream(b).min().getAsInt(), Kernels.min(a, from, to));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testLongKernels() {
+        Random r = new Random(2L);
+        long[] a = new long[100];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = r.nextLong();
+        }
+        for (int from = 0; from < 6; from++) {
+            for (int to = from; to <= a.length; to += 5) {
+                long[] b = Arrays.copyOfRange(a, from, to);
+                assertEquals(Arrays.stream(b).sum(), Kernels.sum(a, from, to));
+                if (b.length > 0) {
+                    assertEquals(Arrays.stream(b).max().getAsLong(), Kernels.max(a, from, to));
+                    assertEquals(Arrays.stream(b).min().getAsLong(), Kernels.min(a, from, to));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testReductionsOfSlices() {
+        IntImmArray arr = IntImmArray.of(5, -3, 9, 2, 7, 1, -8);
+        assertEquals(13, arr.sum());
+        assertEquals(9, arr.max().getAsInt());
+        assertEquals(-8, arr.min().getAsInt());
+        assertEquals(15, arr.slice(1, 4).sum());
+        assertEquals(-3, arr.slice(1, 4).min().getAsInt());
+        assertEquals(7, LongImmArray.of(1, 7, 3).slice(1, 1).max().getAsLong());
+        assertFalse(LongImmArray.empty().min().isPresent());
+    }
+
+}
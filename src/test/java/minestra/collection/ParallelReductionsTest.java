@@ -0,0 +1,149 @@
+package minestra.collection;
+
+import static org.junit.Assert.*;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+
+public final class ParallelReductionsTest {
+
+    static final ForkJoinPool[] POOLS = { new ForkJoinPool(1), new ForkJoinPool(3), new ForkJoinPool(8) };
+
+    @Test
+    public void testIntReductions() {
+        Random r = new Random(1L);
+        int[] a = new int[300001];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = r.nextInt();
+        }
+        IntImmArray arr = IntImmArray.of(a);
+        final long expected = Arrays.stream(a).asLongStream().sum();
+        assertEquals(expected, arr.sumAsLong());
+        assertEquals((int) expected, arr.sum());
+        assertEquals(expected * 1d / a.length, arr.average(), 0d);
+        for (ForkJoinPool pool : POOLS) {
+            assertEquals(expected, arr.parallelSum(pool));
+            assertEquals(arr.max(), arr.parallelMax(pool));
+            assertEquals(arr.min(), arr.parallelMin(pool));
+            assertEquals(arr.average(), arr.parallelAverage(pool), 0d);
+            assertEquals(arr.slice(7, 200000).sumAsLong(), arr.slice(7, 200000).parallelSum(pool));
+        }
+        assertEquals(2L * Integer.MAX_VALUE, IntImmArray.of(Integer.MAX_VALUE, Integer.MAX_VALUE).parallelSum());
+        assertEquals(0L, IntImmArray.empty().parallelSum());
+        assertFalse(IntImmArray.empty().parallelMax().isPresent());
+    }
+
+    @Test
+    public void testLongReductions() {
+        LongImmArray arr = LongImmArray.random(100000, Long.MIN_VALUE / 2, Long.MAX_VALUE / 2);
+        for (ForkJoinPool pool : POOLS) {
+            assertEquals(arr.sum(), arr.parallelSum(pool));
+            assertEquals(arr.max(), arr.parallelMax(pool));
+            assertEquals(arr.min(), arr.parallelMin(pool));
+            assertEquals(arr.slice(3, 99999).max(), arr.slice(3, 99999).parallelMax(pool));
+        }
+    }
+
+    @Test
+    public void testDoubleReductions() {
+        Random r = new Random(3L);
+        double[] a = new double[500000];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = (r.nextDouble() - 0.5) * Math.pow(10, r.nextInt(20));
+        }
+        DoubleImmArray arr = DoubleImmArray.of(a);
+        final double expected = arr.compensatedSum();
+        for (ForkJoinPool pool : POOLS) {
+            assertEquals(Double.doubleToLongBits(expected), Double.doubleToLongBits(arr.parallelSum(pool)));
+            assertEquals(expected / a.length, arr.parallelAverage(pool), 0d);
+            assertEquals(arr.max(), arr.parallelMax(pool));
+            assertEquals(arr.min(), arr.parallelMin(pool));
+        }
+        assertEquals(Arrays.stream(a).sum(), expected, Math.ulp(expected) * 4);
+    }
+
+    @Test
+    public void testCompensatedSum() {
+        double[] a = new double[10001];
+        a[0] = 1e16;
+        Arrays.fill(a, 1, a.length, 1d);
+        assertEquals(1e16 + 10000, DoubleImmArray.of(a).compensatedSum(), 0d);
+        assertEquals(1e16, DoubleImmArray.of(a).sum(), 0d);
+        assertEquals(2d, DoubleImmArray.of(1d, 1e100, 1d, -1e100).compensatedSum(), 0d);
+        assertEquals(Double.POSITIVE_INFINITY, DoubleImmArray.of(1d, Double.POSITIVE_INFINITY).compensatedSum(), 0d);
+        assertTrue(Double.isNaN(DoubleImmArray.of(Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY).compensatedSum()));
+        assertEquals(0d, DoubleImmArray.empty().parallelSum(), 0d);
+    }
+
+    @Test
+    public void testDoubleMaxWithNaN() {
+        DoubleImmArray arr = DoubleImmArray.of(1d, Double.NaN, 3d).concat(DoubleImmArray.random(100000, -5d, 5d));
+        assertEquals(arr.max(), arr.parallelMax(POOLS[2]));
+        DoubleImmArray nan = DoubleImmArray.of(Double.NaN).concat(arr);
+        assertTrue(Double.isNaN(nan.parallelMax(POOLS[2]).getAsDouble()));
+        assertTrue(Double.isNaN(nan.parallelMin(POOLS[2]).getAsDouble()));
+    }
+
+    @Test
+    public void testDoubleMaxWithNaNAtBlockBoundary() {
+        double[] a = new double[100000];
+        Arrays.fill(a, 1d);
+        final int b = ParallelReductions.BLOCK_SIZE;
+        a[b] = Double.NaN;
+        a[b + 1] = 5d;
+        a[b + 2] = -5d;
+        // the whole block is NaN
+        Arrays.fill(a, 3 * b, 4 * b, Double.NaN);
+        DoubleImmArray arr = DoubleImmArray.of(a);
+        assertEquals(5d, arr.max().getAsDouble(), 0d);
+        assertEquals(-5d, arr.min().getAsDouble(), 0d);
+        DoubleImmArray zeros = DoubleImmArray.of(0.0).concat(DoubleImmArray.of(new double[b * 2])).concat(DoubleImmArray.of(-0.0));
+        for (ForkJoinPool pool : POOLS) {
+            assertEquals(arr.max(), arr.parallelMax(pool));
+            assertEquals(arr.min(), arr.parallelMin(pool));
+            assertEquals(arr.slice(b, a.length - 1).max(), arr.slice(b, a.length - 1).parallelMax(pool));
+            assertEquals(zeros.max(), zeros.parallelMax(pool));
+            assertEquals(zeros.min(), zeros.parallelMin(pool));
+        }
+    }
+
+    @Test
+    public void testParallelFold() {
+        IntImmArray arr = IntImmArray.range(1, 200000);
+        ImmArray<String> strings = arr.slice(0, 39999).mapToObj(x -> String.valueOf(x % 10));
+        final String expected = strings.foldLeft("", (x, y) -> x + y);
+        for (ForkJoinPool pool : POOLS) {
+            assertEquals(arr.sum(), arr.parallelFold(0, (x, y) -> x + y, (x, y) -> x + y, pool));
+            assertEquals(arr.slice(5, 150000).sum(), arr.slice(5, 150000).parallelFold(0, Integer::sum, Integer::sum, pool));
+            assertEquals(arr.mapToLong(x -> x).sum(), arr.mapToLong(x -> x).parallelFold(0L, Long::sum, Long::sum, pool));
+            assertEquals(200000d, arr.mapToDouble(x -> x).parallelFold(0d, Math::max, Math::max, pool), 0d);
+            String s = strings.parallelFold("", (x, y) -> x + y, (x, y) -> x + y, pool);
+            assertEquals(expected, s);
+            assertEquals(Integer.valueOf(0), ImmArray.<Integer>empty().parallelFold(0, Integer::sum, Integer::sum, pool));
+        }
+    }
+
+    @Test
+    public void testReductionsOfNonArrayImplementations() {
+        IntImmArray arr = IntImmArray.random(100003, -1000, 1000);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(arr.size() * Integer.BYTES);
+        buffer.asIntBuffer().put(arr.toArray());
+        IntImmArray[] others = { IntImmArray.wrap(buffer), arr.slice(0, 49999).concat(arr.slice(50000, 100002)),
+                                 arr.packed() };
+        for (IntImmArray other : others) {
+            assertEquals(arr.sumAsLong(), other.sumAsLong());
+            assertEquals(arr.average(), other.average(), 0d);
+            assertEquals(arr.max(), other.max());
+            assertEquals(arr.stats(), other.stats());
+            for (ForkJoinPool pool : POOLS) {
+                assertEquals(arr.sumAsLong(), other.parallelSum(pool));
+                assertEquals(arr.min(), other.parallelMin(pool));
+                assertEquals(arr.sum(), other.parallelFold(0, Integer::sum, Integer::sum, pool));
+                assertEquals(arr.stats(), other.parallelStats(pool));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,89 @@
+package minestra.collection;
+
+import static org.junit.Assert.*;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+
+public final class ParallelSortingTest {
+
+    static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    static int[] randomInts(int n) {
+        Random r = new Random(n);
+        int[] a = new int[n];
+        for (int i = 0; i < n; i++) {
+            a[i] = r.nextInt(n);
+        }
+        return a;
+    }
+
+    @Test
+    public void testParallelSortIntImmArray() {
+        for (int n : new int[] { 0, 1, 17, 1000, 100003 }) {
+            int[] values = randomInts(n);
+            int[] expected = values.clone();
+            Arrays.sort(expected);
+            IntImmArray arr = IntImmArray.of(values);
+            assertArrayEquals(expected, arr.parallelSort().toArray());
+            assertArrayEquals(expected, arr.parallelSortWith((a, b) -> Integer.compare(a, b), POOL, 16).toArray());
+            assertEquals(arr.sortWith(IntComparator.REVERSE), arr.parallelSortWith(IntComparator.REVERSE, POOL, 7));
+        }
+    }
+
+    @Test
+    public void testParallelSortLongImmArray() {
+        int[] values = randomInts(50000);
+        LongImmArray arr = IntImmArray.of(values).mapToLong(x -> x * 5_000_000_000L);
+        long[] expected = arr.toArray();
+        Arrays.sort(expected);
+        assertArrayEquals(expected, arr.parallelSort().toArray());
+        assertArrayEquals(expected, arr.parallelSortWith((a, b) -> Long.compare(a, b), POOL, 100).toArray());
+        assertEquals(arr.sortWith(LongComparator.REVERSE), arr.parallelSortWith(LongComparator.REVERSE, POOL, 100));
+    }
+
+    @Test
+    public void testParallelSortDoubleImmArray() {
+        int[] values = randomInts(50000);
+        DoubleImmArray arr = IntImmArray.of(values).mapToDouble(x -> x / 3d);
+        double[] expected = arr.toArray();
+        Arrays.sort(expected);
+        assertArrayEquals(expected, arr.parallelSort().toArray(), 0d);
+        assertArrayEquals(expected, arr.parallelSortWith((a, b) -> Double.compare(a, b), POOL, 100).toArray(), 0d);
+    }
+
+    @Test
+    public void testParallelSortImmArray() {
+        int[] values = randomInts(20000);
+        ImmArray<String> arr = ImmArray.of(Arrays.stream(values).mapToObj(x -> String.format("%05d", x)).toArray(String[]::new));
+        String[] expected = arr.toArray();
+        Arrays.sort(expected);
+        assertArrayEquals(expected, arr.parallelSort().toArray());
+        assertEquals(arr.sortWith(Comparator.reverseOrder()), arr.parallelSortWith(Comparator.reverseOrder(), POOL, 50));
+    }
+
+    @Test
+    public void testParallelSortImmArrayIsStable() {
+        int[] values = randomInts(20000);
+        ImmArray<int[]> arr = IntImmArray.range(0, values.length - 1).mapToObj(i -> new int[] { values[i] % 10, i });
+        ImmArray<int[]> sorted = arr.parallelSortWith((x, y) -> Integer.compare(x[0], y[0]), POOL, 31);
+        for (int i = 1; i < sorted.size(); i++) {
+            int[] x = sorted.at(i - 1);
+            int[] y = sorted.at(i);
+            assertTrue(x[0] < y[0] || (x[0] == y[0] && x[1] < y[1]));
+        }
+    }
+
+    @Test
+    public void testIllegalThreshold() {
+        try {
+            IntImmArray.of(3, 1, 2).parallelSortWith(IntComparator.NATURAL, POOL, 0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("threshold must be positive: 0", e.getMessage());
+        }
+    }
+
+}
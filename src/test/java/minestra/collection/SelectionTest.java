@@ -0,0 +1,167 @@
+package minestra.collection;
+
+import static org.junit.Assert.*;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import org.junit.Test;
+
+public final class SelectionTest {
+
+    static final int[] COUNTS = { 0, 1, 7, 100, 12500, 50000, 99999, 100000, 100005 };
+
+    @Test
+    public void testIntTopK() {
+        IntImmArray arr = IntImmArray.of(new Random(1L).ints(100000, -5000, 5000).toArray());
+        IntImmArray sorted = arr.sort();
+        for (int k : COUNTS) {
+            assertEquals(sorted.take(Math.min(k, 100000)), arr.bottomK(k));
+            assertEquals(sorted.reverse().take(Math.min(k, 100000)), arr.topK(k));
+            assertEquals(arr.bottomK(k), arr.parallelBottomK(k, IntComparator.NATURAL));
+            assertEquals(arr.topK(k), arr.parallelTopK(k, IntComparator.NATURAL));
+        }
+        IntComparator byAbs = (x, y) -> Integer.compare(Math.abs(x), Math.abs(y));
+        assertEquals(arr.sortWith(byAbs).take(300).map(Math::abs), arr.bottomK(300, byAbs).map(Math::abs));
+        assertEquals(arr.sortWith(byAbs).reverse().take(30000).map(Math::abs), arr.topK(30000, byAbs).map(Math::abs));
+        assertEquals(IntImmArray.of(7, 5), IntImmArray.of(3, 5, 1, 7).slice(1, 3).topK(2));
+        assertEquals(0, IntImmArray.empty().topK(3).size());
+    }
+
+    @Test
+    public void testLongAndDoubleTopK() {
+        Random r = new Random(2L);
+        LongImmArray larr = LongImmArray.of(r.longs(100000).toArray());
+        DoubleImmArray darr = DoubleImmArray.of(r.doubles(100000).toArray());
+        for (int k : COUNTS) {
+            final int n = Math.min(k, 100000);
+            assertEquals(larr.sort().take(n), larr.bottomK(k));
+            assertEquals(larr.sort().reverse().take(n), larr.parallelTopK(k, LongComparator.NATURAL));
+            assertEquals(darr.sort().take(n), darr.parallelBottomK(k, DoubleComparator.NATURAL));
+            assertEquals(darr.sort().reverse().take(n), darr.topK(k));
+        }
+    }
+
+    @Test
+    public void testDoubleTopKWithNaNAndNegativeZero() {
+        DoubleImmArray small = DoubleImmArray.of(-9.0, 0.0, Double.NaN);
+        assertEquals(DoubleImmArray.of(-9.0, 0.0), small.bottomK(2));
+        assertEquals(DoubleImmArray.of(Double.NaN, 0.0), small.topK(2));
+        assertEquals(DoubleImmArray.of(-0.0, 0.0), DoubleImmArray.of(0.0, Double.NaN, -0.0).bottomK(2));
+        Random r = new Random(3L);
+        double[] a = new double[100000];
+        for (int i = 0; i < a.length; i++) {
+            final int x = r.nextInt(20);
+            a[i] = (x == 0) ? Double.NaN : (x == 1) ? -0.0 : (x == 2) ? 0.0 : r.nextInt(1000) - 500;
+        }
+        DoubleImmArray arr = DoubleImmArray.of(a);
+        DoubleImmArray sorted = arr.sort();
+        for (int k : COUNTS) {
+            final int n = Math.min(k, 100000);
+            assertEquals(sorted.take(n), arr.bottomK(k));
+            assertEquals(sorted.reverse().take(n), arr.topK(k));
+        }
+    }
+
+    @Test
+    public void testObjectTopK() {
+        Random r = new Random(3L);
+        String[] a = new String[100000];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = Integer.toString(r.nextInt(1000000), 36);
+        }
+        ImmArray<String> arr = ImmArray.of(a);
+        String[] sorted = a.clone();
+        Arrays.sort(sorted);
+        for (int k : COUNTS) {
+            final int n = Math.min(k, a.length);
+            assertArrayEquals(Arrays.copyOf(sorted, n), arr.bottomK(k, Comparator.naturalOrder()).toArray());
+            assertArrayEquals(Arrays.copyOf(sorted, n), arr.parallelBottomK(k, Comparator.naturalOrder()).toArray());
+            assertEquals(arr.bottomK(k, Comparator.reverseOrder()), arr.topK(k, Comparator.naturalOrder()));
+            assertEquals(arr.topK(k, Comparator.naturalOrder()), arr.parallelTopK(k, Comparator.naturalOrder()));
+        }
+        assertEquals(ImmArray.of("ccc", "bb"), ImmArray.of("a", "bb", "ccc", "d").topK(2, Comparator.comparing(String::length)));
+    }
+
+    @Test
+    public void testSelect() {
+        Random r = new Random(4L);
+        for (int n : new int[] { 1, 2, 17, 1000, 5000 }) {
+            for (int[] a : new int[][] { r.ints(n, 0, 10).toArray(), r.ints(n).toArray(), IntImmArray.range(1, n).toArray(),
+                                         IntImmArray.range(1, n).reverse().toArray(), new int[n] }) {
+                testSelect(a);
+            }
+        }
+    }
+
+    static void testSelect(int[] a) {
+        final int n = a.length;
+        int[] sorted = a.clone();
+        Arrays.sort(sorted);
+        for (int nth = 0; nth < n; nth += Math.max(1, n / 10)) {
+            int[] w = a.clone();
+            Selection.select(w, 0, n, nth, IntComparator.NATURAL);
+            assertEquals(sorted[nth], w[nth]);
+            for (int i = 0; i < n; i++) {
+                assertTrue((i < nth) ? w[i] <= w[nth] : w[i] >= w[nth]);
+            }
+        }
+    }
+
+    static double quantileBySort(double[] sorted, double q) {
+        final double h = (sorted.length - 1) * q;
+        final int lo = (int) Math.floor(h);
+        return (h == lo) ? sorted[lo] : sorted[lo] + (h - lo) * (sorted[lo + 1] - sorted[lo]);
+    }
+
+    @Test
+    public void testMedianAndQuantile() {
+        assertEquals(3d, IntImmArray.of(5, 1, 3).median().getAsDouble(), 0d);
+        assertEquals(2.5d, IntImmArray.of(4, 1, 3, 2).median().getAsDouble(), 0d);
+        assertEquals(1d, LongImmArray.of(4, 1, 3, 2).quantile(0d).getAsDouble(), 0d);
+        assertEquals(4d, LongImmArray.of(4, 1, 3, 2).quantile(1d).getAsDouble(), 0d);
+        assertEquals(3.25d, DoubleImmArray.of(4, 1, 3, 2).quantile(0.75d).getAsDouble(), 1e-12);
+        assertEquals(Double.NaN, DoubleImmArray.of(Double.NaN, 1, 2).quantile(1d).getAsDouble(), 0d);
+        assertEquals(1.5d, DoubleImmArray.of(Double.NaN, 1, 2).quantile(0.25d).getAsDouble(), 0d);
+        assertFalse(IntImmArray.empty().median().isPresent());
+        IntImmArray arr = IntImmArray.of(7, 3, 9);
+        arr.median();
+        assertEquals(IntImmArray.of(7, 3, 9), arr);
+    }
+
+    @Test
+    public void testQuantiles() {
+        Random r = new Random(5L);
+        double[] qs = { 0.99, 0.5, 0d, 1d, 0.5, 0.9, 0.999, 0.25, 0.001 };
+        for (int n : new int[] { 1, 2, 3, 10, 1000, 100001 }) {
+            IntImmArray arr = IntImmArray.of(r.ints(n, -1000, 1000).toArray());
+            double[] sorted = arr.sort().mapToDouble(x -> x).toArray();
+            DoubleImmArray result = arr.quantiles(qs);
+            for (int i = 0; i < qs.length; i++) {
+                assertEquals(quantileBySort(sorted, qs[i]), result.at(i), 1e-9);
+                assertEquals(result.at(i), arr.quantile(qs[i]).getAsDouble(), 0d);
+            }
+            LongImmArray larr = arr.mapToLong(x -> x * 3_000_000_000L);
+            assertEquals(larr.quantile(0.3).getAsDouble(), larr.quantiles(0.3, 0.7).at(0), 0d);
+        }
+        assertEquals(2, DoubleImmArray.empty().quantiles(0.5, 0.9).filter(Double::isNaN).size());
+        assertEquals(0, IntImmArray.of(1, 2).quantiles().size());
+        try {
+            IntImmArray.of(1).quantiles(0.5, 1.5);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("quantile must be between 0 and 1: 1.5", e.getMessage());
+        }
+        try {
+            IntImmArray.empty().quantile(Double.NaN);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeCount() {
+        IntImmArray.of(1, 2).topK(-1);
+    }
+
+}
@@ -0,0 +1,121 @@
+package minestra.collection;
+
+import static org.junit.Assert.*;
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.Test;
+
+public final class SetOperationsTest {
+
+    static SortedIntImmArray randomArray(Random r, int size, int bound) {
+        return IntImmArray.generate(size, () -> r.nextInt(bound)).sort();
+    }
+
+    static TreeSet<Integer> set(IntImmArray arr) {
+        TreeSet<Integer> set = new TreeSet<>();
+        arr.forEach(set::add);
+        return set;
+    }
+
+    static IntImmArray array(TreeSet<Integer> set) {
+        return IntImmArray.of(set.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    @Test
+    public void testRandomIntArrays() {
+        Random r = new Random(1L);
+        int[][] sizes = { { 1000, 1000 }, { 10, 5000 }, { 5000, 10 }, { 0, 100 }, { 100, 0 }, { 1, 1 } };
+        for (int[] size : sizes) {
+            for (int bound : new int[] { 50, 100000 }) {
+                SortedIntImmArray a = randomArray(r, size[0], bound);
+                SortedIntImmArray b = randomArray(r, size[1], bound);
+                TreeSet<Integer> union = set(a);
+                union.addAll(set(b));
+                TreeSet<Integer> intersection = set(a);
+                intersection.retainAll(set(b));
+                TreeSet<Integer> difference = set(a);
+                difference.removeAll(set(b));
+                TreeSet<Integer> symmetricDifference = new TreeSet<>(union);
+                symmetricDifference.removeAll(intersection);
+                assertEquals(array(union), a.union(b));
+                assertEquals(array(intersection), a.intersect(b));
+                assertEquals(array(difference), a.difference(b));
+                assertEquals(array(symmetricDifference), a.symmetricDifference(b));
+            }
+        }
+    }
+
+    @Test
+    public void testSortedIntImmArray() {
+        SortedIntImmArray a = SortedIntImmArray.of(1, 3, 3, 5, 7, 9);
+        SortedIntImmArray b = SortedIntImmArray.of(3, 4, 5, 5, 10);
+        assertEquals(IntImmArray.of(1, 3, 4, 5, 7, 9, 10), a.union(b));
+        assertEquals(IntImmArray.of(3, 5), a.intersect(b));
+        assertEquals(IntImmArray.of(1, 7, 9), a.difference(b));
+        assertEquals(IntImmArray.of(4, 10), b.difference(a));
+        assertEquals(IntImmArray.of(1, 4, 7, 9, 10), a.symmetricDifference(b));
+        assertEquals(IntImmArray.of(3, 5), a.slice(1, 3).union(b.slice(2, 2)));
+        assertEquals(IntImmArray.of(1, 3, 5, 7, 9), a.union(SortedIntImmArray.empty()));
+        assertTrue(a.intersect(SortedIntImmArray.empty()).isEmpty());
+    }
+
+    @Test
+    public void testSlices() {
+        Random r = new Random(2L);
+        SortedIntImmArray a = randomArray(r, 20000, 50000);
+        SortedIntImmArray b = randomArray(r, 20000, 50000);
+        SortedIntImmArray[][] pairs = { { a.slice(100, 15000), b.slice(7, 19990) },
+                                        { a.sliceByValue(1000, 1300), b.slice(3, 19000) },
+                                        { a.slice(5000, 18000), b.sliceByValue(20000, 20100) },
+                                        { a.sliceByValue(40000, 60000), b.sliceByValue(-5, 45000) } };
+        for (SortedIntImmArray[] pair : pairs) {
+            SortedIntImmArray x = pair[0];
+            SortedIntImmArray y = pair[1];
+            // the copies have no offsets
+            SortedIntImmArray x0 = IntImmArray.of(x.toArray()).sort();
+            SortedIntImmArray y0 = IntImmArray.of(y.toArray()).sort();
+            assertEquals(x0.union(y0), x.union(y));
+            assertEquals(x0.intersect(y0), x.intersect(y));
+            assertEquals(x0.intersect(y0), y.intersect(x));
+            assertEquals(x0.difference(y0), x.difference(y));
+            assertEquals(y0.difference(x0), y.difference(x));
+            assertEquals(x0.symmetricDifference(y0), x.symmetricDifference(y));
+            assertEquals(x0.intersect(y0), SortedIntImmArray.intersectAll(x, y, a));
+        }
+        SortedLongImmArray la = LongImmArray.of(1L, 2L, 3L, 4L, 5L, 6L).sort();
+        assertEquals(LongImmArray.of(3L, 4L), la.slice(1, 3).intersect(la.slice(2, 4)));
+        assertEquals(LongImmArray.of(2L), la.slice(1, 3).difference(la.slice(2, 4)));
+        SortedDoubleImmArray da = DoubleImmArray.of(1d, 2d, 3d, 4d, 5d, 6d).sort();
+        assertEquals(DoubleImmArray.of(2d, 3d, 4d, 5d), da.slice(1, 3).union(da.slice(2, 4)));
+        assertEquals(DoubleImmArray.of(2d, 5d), da.slice(1, 3).symmetricDifference(da.slice(2, 4)));
+    }
+
+    @Test
+    public void testIntersectAll() {
+        SortedIntImmArray a = IntImmArray.range(0, 100000).sort();
+        SortedIntImmArray b = IntImmArray.range(0, 100000).map(x -> x * 3).sort();
+        SortedIntImmArray c = SortedIntImmArray.of(0, 2, 6, 12, 18, 18, 99999, 200000);
+        assertEquals(IntImmArray.of(0, 6, 12, 18, 99999), SortedIntImmArray.intersectAll(a, b, c));
+        assertEquals(IntImmArray.of(0, 6, 12, 18, 99999), SortedIntImmArray.intersectAll(c, b, a));
+        assertEquals(IntImmArray.of(0, 2, 6, 12, 18, 99999, 200000), SortedIntImmArray.intersectAll(c));
+        assertTrue(SortedIntImmArray.intersectAll(a, b, SortedIntImmArray.empty()).isEmpty());
+        assertTrue(SortedIntImmArray.intersectAll().isEmpty());
+    }
+
+    @Test
+    public void testSortedLongAndDoubleImmArrays() {
+        SortedLongImmArray a = SortedLongImmArray.of(Long.MIN_VALUE, -1L, 0L, Long.MAX_VALUE);
+        SortedLongImmArray b = SortedLongImmArray.of(1L, -2L, 0L, -1L, 1L);
+        assertEquals(LongImmArray.of(-1L, 0L), a.intersect(b));
+        assertEquals(LongImmArray.of(Long.MIN_VALUE, -2L, -1L, 0L, 1L, Long.MAX_VALUE), a.union(b));
+        assertEquals(LongImmArray.of(Long.MIN_VALUE, Long.MAX_VALUE), a.difference(b));
+        assertEquals(LongImmArray.of(-1L, 0L), SortedLongImmArray.intersectAll(a, b, a));
+        SortedDoubleImmArray x = SortedDoubleImmArray.of(-0.0, 0.0, 1.5, Double.NaN);
+        SortedDoubleImmArray y = SortedDoubleImmArray.of(0.0, 1.5, 1.5, Double.NaN, Double.NaN);
+        assertEquals(DoubleImmArray.of(0.0, 1.5, Double.NaN), x.intersect(y));
+        assertEquals(DoubleImmArray.of(-0.0), x.difference(y));
+        assertEquals(DoubleImmArray.of(-0.0, 0.0, 1.5, Double.NaN), x.union(y));
+        assertEquals(DoubleImmArray.of(-0.0), x.symmetricDifference(y));
+    }
+
+}
@@ -0,0 +1,106 @@
+package minestra.collection;
+
+import static org.junit.Assert.*;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.Spliterator;
+import org.junit.Test;
+
+public final class SortedImmArrayTest {
+
+    @Test
+    public void testSortedIntImmArray() {
+        SortedIntImmArray arr = IntImmArray.of(9, 3, 5, 3, 1, 12).sort();
+        assertEquals(IntImmArray.of(1, 3, 3, 5, 9, 12), arr);
+        assertEquals(arr, IntImmArray.of(1, 3, 3, 5, 9, 12));
+        assertEquals(IntImmArray.of(1, 3, 3, 5, 9, 12).hashCode(), arr.hashCode());
+        assertTrue(arr.contains(5));
+        assertFalse(arr.contains(4));
+        assertEquals(1, arr.indexOf(3));
+        assertEquals(-1, arr.indexOf(13));
+        assertEquals(0, arr.rank(0));
+        assertEquals(3, arr.rank(4));
+        assertEquals(6, arr.rank(100));
+        assertEquals(5, arr.floor(8).getAsInt());
+        assertEquals(9, arr.floor(9).getAsInt());
+        assertFalse(arr.floor(0).isPresent());
+        assertEquals(9, arr.ceiling(6).getAsInt());
+        assertFalse(arr.ceiling(13).isPresent());
+        assertEquals(IntImmArray.of(3, 3, 5), arr.sliceByValue(2, 8));
+        assertEquals(IntImmArray.of(5, 9), arr.sliceByValue(5, 9));
+        assertEquals(0, arr.sliceByValue(6, 8).size());
+        assertEquals(IntImmArray.of(3, 5), arr.slice(2, 3));
+        assertEquals(3, arr.slice(2, 3).ceiling(2).getAsInt());
+        assertFalse(arr.slice(2, 3).floor(2).isPresent());
+        assertEquals(2, arr.slice(2, 4).rank(9));
+        assertEquals(IntImmArray.of(1, 3, 5, 9, 12), arr.distinct());
+        assertEquals(12, arr.max().getAsInt());
+        assertEquals(1, arr.min().getAsInt());
+        assertEquals(33, arr.sum());
+        assertSame(arr, arr.sort());
+        assertSame(arr, arr.asSorted());
+        assertTrue(arr.spliterator().hasCharacteristics(Spliterator.SORTED));
+        assertEquals(IntImmArray.of(12, 9, 5, 3, 3, 1), arr.sortWith(IntComparator.REVERSE));
+        try {
+            arr.sliceByValue(3, 2);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("3 > 2", e.getMessage());
+        }
+        assertFalse(SortedIntImmArray.empty().max().isPresent());
+        assertEquals(-1, SortedIntImmArray.empty().indexOf(0));
+        assertEquals(SortedIntImmArray.of(3, 1, 2), IntImmArray.of(1, 2, 3).asSorted());
+    }
+
+    @Test
+    public void testAsSorted() {
+        assertEquals(IntImmArray.of(1, 1, 2), IntImmArray.of(1, 1, 2).asSorted());
+        assertEquals(LongImmArray.of(5, 7), LongImmArray.of(3, 5, 7).slice(1, 2).asSorted());
+        try {
+            IntImmArray.of(1, 3, 2).asSorted();
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals("not sorted at index 2", e.getMessage());
+        }
+        try {
+            DoubleImmArray.of(Double.NaN, 1d).asSorted();
+            fail();
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testRandomLookups() {
+        Random r = new Random(1L);
+        long[] a = r.longs(10000, -1000000, 1000000).toArray();
+        SortedLongImmArray arr = LongImmArray.of(a).sort();
+        long[] sorted = a.clone();
+        Arrays.sort(sorted);
+        for (int i = 0; i < 1000; i++) {
+            final long x = r.nextInt(2100000) - 1050000;
+            final int p = Arrays.binarySearch(sorted, x);
+            assertEquals(p >= 0, arr.contains(x));
+            assertEquals(LongImmArray.of(sorted).filter(e -> e < x).size(), arr.rank(x));
+            assertEquals(LongImmArray.of(sorted).filter(e -> e <= x).max(), arr.floor(x));
+            assertEquals(LongImmArray.of(sorted).filter(e -> e >= x).min(), arr.ceiling(x));
+        }
+    }
+
+    @Test
+    public void testSortedDoubleImmArray() {
+        SortedDoubleImmArray arr = SortedDoubleImmArray.of(2.5, Double.NaN, -0.0, 0.0, -1.5);
+        assertEquals(DoubleImmArray.of(-1.5, -0.0, 0.0, 2.5, Double.NaN), arr);
+        assertTrue(arr.contains(Double.NaN));
+        assertEquals(1, arr.indexOf(-0.0));
+        assertEquals(2, arr.indexOf(0.0));
+        assertEquals(-1, arr.indexOf(1.0));
+        assertEquals(2.5, arr.max().getAsDouble(), 0d);
+        assertEquals(-1.5, arr.min().getAsDouble(), 0d);
+        assertEquals(0.0, arr.floor(1.0).getAsDouble(), 0d);
+        assertEquals(DoubleImmArray.of(-0.0, 0.0, 2.5), arr.sliceByValue(-1d, 3d));
+        assertTrue(Double.isNaN(SortedDoubleImmArray.of(Double.NaN).max().getAsDouble()));
+        assertEquals(DoubleImmArray.of(1d, 2d), DoubleImmArray.of(2d, 1d, 2d).sort().distinct());
+    }
+
+}
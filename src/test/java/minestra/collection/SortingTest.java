@@ -0,0 +1,150 @@
+package minestra.collection;
+
+import static org.junit.Assert.*;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+
+public final class SortingTest {
+
+    static final IntComparator INT_CMP = (a, b) -> Integer.compare(a, b);
+    static final LongComparator LONG_CMP = (a, b) -> Long.compare(a, b);
+    static final DoubleComparator DOUBLE_CMP = (a, b) -> Double.compare(a, b);
+
+    static int[][] intInputs() {
+        Random r = new Random(1L);
+        final int n = 10000;
+        int[] random = new int[n];
+        int[] sorted = new int[n];
+        int[] reversed = new int[n];
+        int[] duplicated = new int[n];
+        int[] organPipe = new int[n];
+        for (int i = 0; i < n; i++) {
+            random[i] = r.nextInt();
+            sorted[i] = i;
+            reversed[i] = n - i;
+            duplicated[i] = r.nextInt(4);
+            organPipe[i] = (i < n / 2) ? i : n - i;
+        }
+        return new int[][] { {}, { 1 }, { 2, 1 }, { 3, 1, 2 }, random, sorted, reversed, duplicated, organPipe };
+    }
+
+    @Test
+    public void testSortIntArray() {
+        for (int[] input : intInputs()) {
+            int[] expected = input.clone();
+            Arrays.sort(expected);
+            int[] actual = input.clone();
+            Sorting.sort(actual, 0, actual.length, INT_CMP);
+            assertArrayEquals(expected, actual);
+            int[] actual2 = input.clone();
+            Sorting.sort(actual2, 0, actual2.length, IntComparator.NATURAL);
+            assertArrayEquals(expected, actual2);
+            int[] actual3 = input.clone();
+            Sorting.sort(actual3, 0, actual3.length, IntComparator.REVERSE);
+            Sorting.reverse(actual3, 0, actual3.length);
+            assertArrayEquals(expected, actual3);
+        }
+    }
+
+    @Test
+    public void testSortIntArrayRange() {
+        int[] a = { 9, 8, 7, 6, 5, 4, 3, 2, 1 };
+        Sorting.sort(a, 2, 6, INT_CMP);
+        assertArrayEquals(new int[] { 9, 8, 4, 5, 6, 7, 3, 2, 1 }, a);
+    }
+
+    @Test
+    public void testHeapSortIntArray() {
+        for (int[] input : intInputs()) {
+            int[] expected = input.clone();
+            Arrays.sort(expected);
+            int[] actual = input.clone();
+            Sorting.heapSort(actual, 0, actual.length, INT_CMP);
+            assertArrayEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void testSortLongArray() {
+        for (int[] input : intInputs()) {
+            long[] expected = Arrays.stream(input).asLongStream().map(x -> x * 3_000_000_000L).toArray();
+            long[] actual = expected.clone();
+            Arrays.sort(expected);
+            Sorting.sort(actual, 0, actual.length, LONG_CMP);
+            assertArrayEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void testSortDoubleArray() {
+        for (int[] input : intInputs()) {
+            double[] expected = Arrays.stream(input).asDoubleStream().map(x -> x / 7d).toArray();
+            double[] actual = expected.clone();
+            Arrays.sort(expected);
+            Sorting.sort(actual, 0, actual.length, DOUBLE_CMP);
+            assertArrayEquals(expected, actual, 0d);
+        }
+    }
+
+    @Test
+    public void testRadixSortIntArray() {
+        for (int[] input : intInputs()) {
+            int[] expected = input.clone();
+            Arrays.sort(expected);
+            int[] actual = input.clone();
+            Sorting.radixSort(actual, 0, actual.length, false);
+            assertArrayEquals(expected, actual);
+            Sorting.radixSort(actual, 0, actual.length, true);
+            Sorting.reverse(actual, 0, actual.length);
+            assertArrayEquals(expected, actual);
+        }
+        int[] a = { 5, Integer.MIN_VALUE, -1, 0, Integer.MAX_VALUE, 3, 2, 1 };
+        Sorting.radixSort(a, 1, 7, false);
+        assertArrayEquals(new int[] { 5, Integer.MIN_VALUE, -1, 0, 2, 3, Integer.MAX_VALUE, 1 }, a);
+    }
+
+    @Test
+    public void testRadixSortLongArray() {
+        for (int[] input : intInputs()) {
+            long[] expected = Arrays.stream(input).asLongStream().map(x -> x * 3_000_000_000L).toArray();
+            long[] actual = expected.clone();
+            Arrays.sort(expected);
+            Sorting.radixSort(actual, 0, actual.length, false);
+            assertArrayEquals(expected, actual);
+            Sorting.radixSort(actual, 0, actual.length, true);
+            Sorting.reverse(actual, 0, actual.length);
+            assertArrayEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void testRadixSortDoubleArray() {
+        double[] input = { 1.5, Double.NaN, -0.0, 0.0, Double.NEGATIVE_INFINITY, -2.5, Double.POSITIVE_INFINITY,
+            Double.MIN_VALUE, -Double.MIN_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE, 0.0, -0.0 };
+        double[] expected = input.clone();
+        Arrays.sort(expected);
+        double[] actual = input.clone();
+        Sorting.radixSort(actual, 0, actual.length, false);
+        assertArrayEquals(expected, actual, 0d);
+        assertEquals(Double.doubleToLongBits(-0.0), Double.doubleToLongBits(actual[4]));
+        assertEquals(Double.doubleToLongBits(0.0), Double.doubleToLongBits(actual[6]));
+        Sorting.radixSort(actual, 0, actual.length, true);
+        assertTrue(Double.isNaN(actual[0]));
+        Sorting.reverse(actual, 0, actual.length);
+        assertArrayEquals(expected, actual, 0d);
+    }
+
+    @Test
+    public void testSortNatural() {
+        int[] values = intInputs()[4];
+        int[] expected = values.clone();
+        Arrays.sort(expected);
+        assertArrayEquals(expected, IntImmArray.of(values).sort().toArray());
+        IntImmArray reversed = IntImmArray.of(values).sortWith(IntComparator.REVERSE);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], reversed.at(expected.length - 1 - i));
+        }
+    }
+
+}
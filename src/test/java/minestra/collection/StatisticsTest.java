@@ -0,0 +1,138 @@
+package minestra.collection;
+
+import static org.junit.Assert.*;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+
+public final class StatisticsTest {
+
+    @Test
+    public void testStats() {
+        Statistics stats = IntImmArray.of(2, 4, 4, 4, 5, 5, 7, 9).stats();
+        assertEquals(8L, stats.count());
+        assertEquals(40d, stats.sum(), 0d);
+        assertEquals(2d, stats.min(), 0d);
+        assertEquals(9d, stats.max(), 0d);
+        assertEquals(5d, stats.mean(), 0d);
+        assertEquals(4d, stats.variance(), 1e-12);
+        assertEquals(2d, stats.standardDeviation(), 1e-12);
+        assertEquals(32d / 7, stats.sampleVariance(), 1e-12);
+        assertEquals(40L, stats.sumAsLong());
+        assertEquals(2L, stats.minAsLong());
+        assertEquals(9L, stats.maxAsLong());
+        assertEquals(stats, LongImmArray.of(2, 4, 4, 4, 5, 5, 7, 9).stats());
+        Statistics doubleStats = DoubleImmArray.of(2, 4, 4, 4, 5, 5, 7, 9).stats();
+        assertEquals(doubleStats, Statistics.of(2, 4, 4, 4, 5, 5, 7, 9));
+        assertEquals(stats.sum(), doubleStats.sum(), 0d);
+        assertEquals(stats.min(), doubleStats.min(), 0d);
+        assertEquals(stats.max(), doubleStats.max(), 0d);
+        assertEquals(stats.mean(), doubleStats.mean(), 0d);
+        assertEquals(stats.variance(), doubleStats.variance(), 0d);
+    }
+
+    @Test
+    public void testExactLongValues() {
+        final long base = 1L << 60;
+        LongImmArray arr = LongImmArray.of(base + 3, base + 1, base + 2).concat(LongImmArray.random(10000, base + 4, base + 100));
+        Statistics stats = arr.stats();
+        assertEquals(arr.min().getAsLong(), stats.minAsLong());
+        assertEquals(arr.max().getAsLong(), stats.maxAsLong());
+        assertEquals(arr.sum(), stats.sumAsLong());
+        assertEquals(base + 1, stats.minAsLong());
+        Statistics merged = arr.slice(0, 4999).stats().merge(arr.slice(5000, arr.size() - 1).stats());
+        assertEquals(stats.sumAsLong(), merged.sumAsLong());
+        assertEquals(stats.minAsLong(), merged.minAsLong());
+        assertEquals(stats.maxAsLong(), merged.maxAsLong());
+        for (ForkJoinPool pool : ParallelReductionsTest.POOLS) {
+            assertEquals(stats, arr.parallelStats(pool));
+        }
+        Statistics ints = IntImmArray.of(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE).stats();
+        assertEquals(Integer.MAX_VALUE - 1L, ints.sumAsLong());
+        assertEquals(Integer.MIN_VALUE, ints.minAsLong());
+        assertEquals(Long.MAX_VALUE, LongImmArray.empty().stats().minAsLong());
+        assertEquals(0L, IntImmArray.empty().stats().sumAsLong());
+        for (Statistics doubles : new Statistics[] { Statistics.of(1d), Statistics.of(), Statistics.empty() }) {
+            try {
+                doubles.sumAsLong();
+                fail();
+            } catch (IllegalStateException e) {
+                // ok
+            }
+        }
+    }
+
+    @Test
+    public void testLongSumOverflow() {
+        Statistics stats = LongImmArray.of(Long.MAX_VALUE, Long.MAX_VALUE).stats();
+        assertEquals(-2L, stats.sumAsLong());
+        assertEquals(2d * Long.MAX_VALUE, stats.sum(), 0d);
+        assertEquals(Long.MAX_VALUE, stats.mean(), 0d);
+        Statistics merged = stats.merge(LongImmArray.of(Long.MAX_VALUE).stats());
+        assertEquals(Long.MAX_VALUE - 2L, merged.sumAsLong());
+        assertEquals(3d * Long.MAX_VALUE, merged.sum(), 0d);
+        assertEquals(3d * Long.MAX_VALUE + 1d, merged.merge(Statistics.of(1d)).sum(), 0d);
+        LongImmArray large = LongImmArray.generate(100000, () -> Long.MAX_VALUE / 2);
+        for (ForkJoinPool pool : ParallelReductionsTest.POOLS) {
+            assertEquals(50000d * Long.MAX_VALUE, large.parallelStats(pool).sum(), 1e10);
+        }
+    }
+
+    @Test
+    public void testEmpty() {
+        Statistics stats = DoubleImmArray.empty().stats();
+        assertEquals(Statistics.empty(), stats);
+        assertEquals(0L, stats.count());
+        assertEquals(0d, stats.sum(), 0d);
+        assertTrue(Double.isNaN(stats.mean()));
+        assertTrue(Double.isNaN(stats.variance()));
+        assertTrue(Double.isNaN(Statistics.of(1d).sampleVariance()));
+        assertEquals(Double.POSITIVE_INFINITY, stats.min(), 0d);
+        assertEquals(Double.NEGATIVE_INFINITY, stats.max(), 0d);
+    }
+
+    @Test
+    public void testMergeAndParallel() {
+        Random r = new Random(1L);
+        double[] a = new double[200000];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = 1e9 + r.nextGaussian();
+        }
+        DoubleImmArray arr = DoubleImmArray.of(a);
+        Statistics stats = arr.stats();
+        assertEquals(1d, stats.variance(), 0.02);
+        assertEquals(arr.max().getAsDouble(), stats.max(), 0d);
+        assertEquals(arr.min().getAsDouble(), stats.min(), 0d);
+        Statistics merged = arr.slice(0, 12344).stats().merge(arr.slice(12345, a.length).stats());
+        assertEquals(stats.count(), merged.count());
+        assertEquals(stats.mean(), merged.mean(), 1e-6);
+        assertEquals(stats.variance(), merged.variance(), 1e-6);
+        assertEquals(merged, merged.merge(Statistics.empty()));
+        assertEquals(merged, Statistics.empty().merge(merged));
+        for (int parallelism : new int[] { 1, 3, 8 }) {
+            assertEquals(stats, arr.parallelStats(new ForkJoinPool(parallelism)));
+        }
+    }
+
+    @Test
+    public void testCovarianceAndCorrelation() {
+        DoubleImmArray x = DoubleImmArray.of(1, 2, 3, 4, 5);
+        DoubleImmArray y = DoubleImmArray.of(2, 4, 6, 8, 10);
+        assertEquals(4d, Statistics.covariance(x, y), 1e-12);
+        assertEquals(1d, Statistics.correlation(x, y), 1e-12);
+        assertEquals(-1d, Statistics.correlation(x, y.reverse()), 1e-12);
+        assertTrue(Double.isNaN(Statistics.correlation(x, DoubleImmArray.of(3, 3, 3, 3, 3))));
+        Random r = new Random(2L);
+        DoubleImmArray u = DoubleImmArray.generate(100000, r::nextDouble);
+        DoubleImmArray v = u.map(e -> e + r.nextGaussian() * 0.01);
+        assertEquals(u.stats().variance(), Statistics.covariance(u, v), 1e-3);
+        assertEquals(1d, Statistics.correlation(u, v), 0.01);
+        try {
+            Statistics.covariance(x, y.tail());
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("size mismatch: 5 != 4", e.getMessage());
+        }
+    }
+
+}